@@ -15,6 +15,8 @@ import tk.airshipcraft.commonlib.gui.events.HologramClickListener;
 import tk.airshipcraft.commonlib.gui.events.InventoryClickListener;
 import tk.airshipcraft.commonlib.gui.objects.impl.TeamManager;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.logging.Level;
 
 /**
@@ -38,6 +40,7 @@ public class CommonLib extends JavaPlugin implements Listener {
     private boolean debugEnabled; // Flag to control debug logging
     private TeamManager teamManager = new TeamManager();
     private PreferencesManager preferencesManager = new PreferencesManager();
+    private final Deque<AutoCloseable> databaseResources = new ArrayDeque<>();
 
     /**
      * Returns the single instance of CommonLib.
@@ -128,6 +131,20 @@ public class CommonLib extends JavaPlugin implements Listener {
         return preferencesManager;
     }
 
+    /**
+     * Registers a database resource (e.g. a connection manager, executor or write queue) to be closed
+     * when CommonLib is disabled. Resources are closed in reverse registration order, after all
+     * plugins extending CommonLib have been disabled, so register connection pools before the
+     * components that write through them.
+     *
+     * @param resource the resource to close on disable
+     */
+    public void registerDatabaseResource(AutoCloseable resource) {
+        synchronized (databaseResources) {
+            databaseResources.push(resource);
+        }
+    }
+
     /**
      * Returns a new instance of the teamManager.
      *
@@ -161,6 +178,23 @@ public class CommonLib extends JavaPlugin implements Listener {
         logInfo("CommonLib is being disabled");
         worldClock.saveState();
         ACRPlugin.disableSubclasses();
+        closeDatabaseResources();
+    }
+
+    /**
+     * Closes all registered database resources, most recently registered first.
+     */
+    private void closeDatabaseResources() {
+        synchronized (databaseResources) {
+            while (!databaseResources.isEmpty()) {
+                AutoCloseable resource = databaseResources.pop();
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    logException(e);
+                }
+            }
+        }
     }
 
     /**
@@ -2,21 +2,32 @@ package tk.airshipcraft.commonlib.configuration.impl;
 
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
+import tk.airshipcraft.commonlib.CommonLib;
 import tk.airshipcraft.commonlib.configuration.IPlayerPreference;
 import tk.airshipcraft.commonlib.configuration.PlayerPref;
+import tk.airshipcraft.commonlib.db.SqlDialect;
+import tk.airshipcraft.commonlib.db.SqlUtils;
+import tk.airshipcraft.commonlib.utils.FastUUID;
 
 import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Provides static utility methods to process player preferences using reflection.
  * This class handles loading and saving player preferences to and from various data stores (e.g., files, databases),
  * by dynamically interacting with fields annotated with {@link PlayerPref}.
  * The use of reflection allows for a flexible and extensible approach to preference management.
+ * Database failures are thrown to the caller; values that cannot be assigned are logged and skipped.
  *
  * @author notzune
  * @version 1.0.0
@@ -24,6 +35,29 @@ import java.util.UUID;
  */
 public class PreferenceProcessor {
 
+    /**
+     * The columns of the {@code player_preferences} table, and the ones forming its primary key.
+     */
+    private static final List<String> PREFERENCE_COLUMNS = List.of("player_uuid", "key", "value");
+    private static final List<String> PREFERENCE_KEY_COLUMNS = List.of("player_uuid", "key");
+
+    /**
+     * The {@link PlayerPref} fields of each preference class by name, made accessible once per class.
+     */
+    private static final ClassValue<Map<String, Field>> PREFERENCE_FIELDS = new ClassValue<>() {
+        @Override
+        protected Map<String, Field> computeValue(Class<?> type) {
+            Map<String, Field> fields = new LinkedHashMap<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(PlayerPref.class)) {
+                    field.setAccessible(true);
+                    fields.put(field.getName(), field);
+                }
+            }
+            return Collections.unmodifiableMap(fields);
+        }
+    };
+
     /**
      * Loads player preferences from a configuration file into an {@link IPlayerPreference} instance.
      * This method uses reflection to dynamically assign values to fields annotated with {@link PlayerPref} based on the stored config.
@@ -42,8 +76,8 @@ public class PreferenceProcessor {
                     field.setAccessible(true);
                     Object value = config.get(playerUuid + "." + field.getName());
                     field.set(preference, value);
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace(); // Handle exceptions appropriately
+                } catch (IllegalAccessException | IllegalArgumentException e) {
+                    logger().log(Level.WARNING, "Could not load preference " + field.getName() + " of " + playerUuid, e);
                 }
             }
         }
@@ -68,77 +102,142 @@ public class PreferenceProcessor {
                     Object value = field.get(preference);
                     config.set(playerUuid + "." + field.getName(), value);
                 } catch (IllegalAccessException e) {
-                    e.printStackTrace(); // Handle exceptions appropriately
+                    logger().log(Level.WARNING, "Could not save preference " + field.getName() + " of " + playerUuid, e);
                 }
             }
         }
     }
 
     /**
-     * Loads player preferences from a MySQL database into an {@link IPlayerPreference} instance.
-     * This method queries the database for each annotated field's value and assigns it dynamically.
+     * Loads player preferences from the database into an {@link IPlayerPreference} instance.
+     * All stored preferences of the player are read with a single query and assigned to the matching
+     * annotated fields; fields without a stored value keep their current value.
      *
      * @param player     The player whose preferences should be loaded.
      * @param preference The {@link IPlayerPreference} object containing the fields to be loaded.
      * @param connection The database connection.
+     * @throws SQLException If the preferences could not be read.
      */
-    public static void loadFromDatabase(Player player, IPlayerPreference preference, Connection connection) {
-        UUID playerUuid = player.getUniqueId();
-        Class<?> clazz = preference.getClass();
+    public static void loadFromDatabase(Player player, IPlayerPreference preference, Connection connection)
+            throws SQLException {
+        loadAllFromDatabase(Map.of(player.getUniqueId(), preference), connection);
+    }
 
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(PlayerPref.class)) {
-                try {
-                    field.setAccessible(true);
-                    String query = "SELECT value FROM player_preferences WHERE player_uuid = ? AND key = ?";
-                    try (PreparedStatement stmt = connection.prepareStatement(query)) {
-                        stmt.setString(1, playerUuid.toString());
-                        stmt.setString(2, field.getName());
-                        ResultSet rs = stmt.executeQuery();
-                        if (rs.next()) {
-                            // Assuming all values are stored as strings for simplicity
-                            String value = rs.getString("value");
-                            // Convert the string to the appropriate field type as needed
-                            field.set(preference, convertStringToFieldType(value, field.getType()));
+    /**
+     * Loads the preferences of many players at once, e.g. for the players already online when the server starts.
+     * Players are queried in chunks of {@link SqlUtils#DEFAULT_CHUNK_SIZE} with {@code IN (...)} lists, so the
+     * number of round-trips does not grow with the number of preference fields.
+     *
+     * @param preferences The preference objects to load, by player UUID.
+     * @param connection  The database connection.
+     * @throws SQLException If the preferences could not be read.
+     */
+    public static void loadAllFromDatabase(Map<UUID, ? extends IPlayerPreference> preferences, Connection connection)
+            throws SQLException {
+        if (preferences.isEmpty()) {
+            return;
+        }
+        for (List<UUID> chunk : SqlUtils.partition(preferences.keySet(), SqlUtils.DEFAULT_CHUNK_SIZE)) {
+            try (PreparedStatement stmt = connection.prepareStatement("SELECT player_uuid, "
+                    + SqlDialect.of(connection).quote("key") + ", value FROM player_preferences WHERE player_uuid IN ("
+                    + SqlUtils.placeholders(chunk.size()) + ")")) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setString(i + 1, FastUUID.toStringDashed(chunk.get(i)));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        IPlayerPreference preference = preferences.get(FastUUID.parseUUIDDashed(rs.getString("player_uuid")));
+                        if (preference != null) {
+                            applyValue(preference, rs.getString("key"), rs.getString("value"));
                         }
                     }
-                } catch (SQLException | IllegalAccessException e) {
-                    e.printStackTrace(); // Handle exceptions appropriately
                 }
             }
         }
     }
 
     /**
-     * Saves player preferences from an {@link IPlayerPreference} instance to a MySQL database.
-     * This method updates the database with the current values of fields annotated with {@link PlayerPref}.
+     * Saves player preferences from an {@link IPlayerPreference} instance to the database.
+     * All annotated fields are written with a single multi-row upsert. Fields whose value is null are skipped.
      *
      * @param player     The player whose preferences should be saved.
      * @param preference The {@link IPlayerPreference} object containing the fields to be saved.
      * @param connection The database connection.
+     * @throws SQLException If the preferences could not be written.
      */
-    public static void saveToDatabase(Player player, IPlayerPreference preference, Connection connection) {
-        UUID playerUuid = player.getUniqueId();
-        Class<?> clazz = preference.getClass();
+    public static void saveToDatabase(Player player, IPlayerPreference preference, Connection connection)
+            throws SQLException {
+        saveToDatabase(player.getUniqueId(), preference, connection);
+    }
 
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(PlayerPref.class)) {
-                try {
-                    field.setAccessible(true);
-                    Object value = field.get(preference);
-                    String query = "INSERT INTO player_preferences (player_uuid, key, value) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE value = ?";
-                    try (PreparedStatement stmt = connection.prepareStatement(query)) {
-                        stmt.setString(1, playerUuid.toString());
-                        stmt.setString(2, field.getName());
-                        stmt.setString(3, value.toString());
-                        stmt.setString(4, value.toString());
-                        stmt.executeUpdate();
-                    }
-                } catch (SQLException | IllegalAccessException e) {
-                    e.printStackTrace(); // Handle exceptions appropriately
+    /**
+     * Saves player preferences by player UUID, e.g. after the player has left.
+     * All annotated fields are written with a single multi-row upsert. Fields whose value is null are skipped.
+     *
+     * @param playerId   The UUID of the player whose preferences should be saved.
+     * @param preference The {@link IPlayerPreference} object containing the fields to be saved.
+     * @param connection The database connection.
+     * @throws SQLException If the preferences could not be written.
+     */
+    public static void saveToDatabase(UUID playerId, IPlayerPreference preference, Connection connection)
+            throws SQLException {
+        String playerUuid = FastUUID.toStringDashed(playerId);
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Field> entry : PREFERENCE_FIELDS.get(preference.getClass()).entrySet()) {
+            try {
+                Object value = entry.getValue().get(preference);
+                if (value != null) {
+                    values.put(entry.getKey(), value.toString());
                 }
+            } catch (IllegalAccessException e) {
+                logger().log(Level.WARNING, "Could not save preference " + entry.getKey() + " of " + playerUuid, e);
+            }
+        }
+        if (values.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement stmt = connection.prepareStatement(SqlDialect.of(connection).upsert("player_preferences",
+                PREFERENCE_COLUMNS, PREFERENCE_KEY_COLUMNS, values.size()))) {
+            int index = 1;
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                stmt.setString(index++, playerUuid);
+                stmt.setString(index++, entry.getKey());
+                stmt.setString(index++, entry.getValue());
             }
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Assigns a stored value to the annotated field with the given name, ignoring keys that no longer
+     * have a matching field. A value that does not convert to the field's type is logged and the field keeps
+     * its current value.
+     *
+     * @param preference The preference object to update.
+     * @param key        The field name the value was stored under.
+     * @param value      The stored value.
+     */
+    private static void applyValue(IPlayerPreference preference, String key, String value) {
+        Field field = PREFERENCE_FIELDS.get(preference.getClass()).get(key);
+        if (field == null || value == null) {
+            return;
         }
+        try {
+            field.set(preference, convertStringToFieldType(value, field.getType()));
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            logger().log(Level.WARNING, "Ignoring stored preference " + key + "=" + value, e);
+        }
+    }
+
+    /**
+     * Returns the plugin's logger, or a logger of this class when CommonLib is not running, e.g. in tests.
+     *
+     * @return The logger.
+     */
+    private static Logger logger() {
+        CommonLib commonLib = CommonLib.getInstance();
+        return commonLib != null ? commonLib.getLogger() : Logger.getLogger(PreferenceProcessor.class.getName());
     }
 
     /**
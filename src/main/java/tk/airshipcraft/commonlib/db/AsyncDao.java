@@ -0,0 +1,171 @@
+package tk.airshipcraft.commonlib.db;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * <p>Adapts a blocking {@link GenericDao} into an {@link AsyncGenericDao}.</p>
+ *
+ * <p>Every call is handed to a {@link DatabaseExecutor}, so the JDBC work never runs on the calling thread.
+ * If a callback executor is set, the returned futures complete on that executor instead of on the database
+ * worker, which lets event handlers continue their work safely on the main or Folia region thread.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * UserDao userDao = new SqlUserDao(connectionManager);
+ * AsyncDao<User, UUID> users = new AsyncDao<>(userDao, databaseExecutor)
+ *         .withCallbackExecutor(DatabaseExecutor.mainThread(plugin));
+ *
+ * users.findById(player.getUniqueId()).thenAccept(user -> ...); // runs on the main thread
+ * users.supply(() -> userDao.findByUsername("notzune"));     // DAO specific methods
+ * }</pre>
+ *
+ * @param <T>  the type of the model object
+ * @param <ID> the type of the model object's identifier
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class AsyncDao<T, ID> implements AsyncGenericDao<T, ID> {
+
+    private final GenericDao<T, ID> delegate;
+    private final DatabaseExecutor executor;
+    private final Executor callbackExecutor;
+
+    /**
+     * Creates an AsyncDao whose futures complete on the database worker threads.
+     *
+     * @param delegate The blocking DAO to wrap.
+     * @param executor The executor that runs the blocking calls.
+     */
+    public AsyncDao(GenericDao<T, ID> delegate, DatabaseExecutor executor) {
+        this(delegate, executor, null);
+    }
+
+    /**
+     * Creates an AsyncDao whose futures complete on the given callback executor.
+     *
+     * @param delegate         The blocking DAO to wrap.
+     * @param executor         The executor that runs the blocking calls.
+     * @param callbackExecutor The executor used to complete the returned futures, or null to complete them on the worker.
+     */
+    public AsyncDao(GenericDao<T, ID> delegate, DatabaseExecutor executor, Executor callbackExecutor) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Returns a view of this AsyncDao whose futures complete on the given executor.
+     *
+     * @param callbackExecutor The executor used to complete the returned futures,
+     *                         e.g. {@link DatabaseExecutor#mainThread(org.bukkit.plugin.Plugin)}.
+     * @return A new AsyncDao sharing this DAO's delegate and database executor.
+     */
+    public AsyncDao<T, ID> withCallbackExecutor(Executor callbackExecutor) {
+        return new AsyncDao<>(delegate, executor, callbackExecutor);
+    }
+
+    /**
+     * Returns the blocking DAO wrapped by this AsyncDao.
+     *
+     * @return The delegate DAO.
+     */
+    public GenericDao<T, ID> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public CompletableFuture<Optional<T>> findById(ID id) {
+        return supply(() -> delegate.findById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<T>> findAll() {
+        return supply(delegate::findAll);
+    }
+
+    @Override
+    public CompletableFuture<List<T>> findPage(ID afterId, int limit) {
+        return supply(() -> delegate.findPage(afterId, limit));
+    }
+
+    @Override
+    public CompletableFuture<T> create(T entity) {
+        return supply(() -> delegate.create(entity));
+    }
+
+    @Override
+    public CompletableFuture<T> update(T entity) {
+        return supply(() -> delegate.update(entity));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteById(ID id) {
+        return supply(() -> {
+            delegate.deleteById(id);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<T>> createAll(Collection<T> entities) {
+        return supply(() -> delegate.createAll(entities));
+    }
+
+    @Override
+    public CompletableFuture<List<T>> updateAll(Collection<T> entities) {
+        return supply(() -> delegate.updateAll(entities));
+    }
+
+    @Override
+    public CompletableFuture<List<T>> findAllById(Collection<ID> ids) {
+        return supply(() -> delegate.findAllById(ids));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAllById(Collection<ID> ids) {
+        return supply(() -> {
+            delegate.deleteAllById(ids);
+            return null;
+        });
+    }
+
+    /**
+     * Runs an arbitrary blocking query on the database executor, e.g. a DAO specific finder.
+     * If the callback executor refuses the completion, e.g. because the plugin has been disabled, the future
+     * completes exceptionally with the executor's exception on the worker thread instead.
+     *
+     * @param query The blocking query to run.
+     * @param <R>   The result type.
+     * @return A future completed with the query's result on the callback executor, if one is set.
+     */
+    public <R> CompletableFuture<R> supply(Supplier<R> query) {
+        CompletableFuture<R> future = executor.supply(query);
+        if (callbackExecutor == null) {
+            return future;
+        }
+        CompletableFuture<R> result = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            try {
+                callbackExecutor.execute(() -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            } catch (RuntimeException e) {
+                if (error != null) {
+                    e.addSuppressed(error);
+                }
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+package tk.airshipcraft.commonlib.db;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The AsyncGenericDao interface is the non-blocking counterpart of {@link GenericDao}.
+ * Every operation returns immediately with a {@link CompletableFuture} that is completed once the
+ * underlying database call has finished on a database worker thread.
+ *
+ * @param <T>  the type of the model object
+ * @param <ID> the type of the model object's identifier
+ * @author notzune
+ * @version 1.0.0
+ * @see GenericDao
+ * @see AsyncDao
+ * @since 2026-10-17
+ */
+public interface AsyncGenericDao<T, ID> {
+
+    /**
+     * Retrieves an entity by its identifier.
+     *
+     * @param id the entity's identifier.
+     * @return a future completed with the found entity, or an empty Optional if no entity is found.
+     */
+    CompletableFuture<Optional<T>> findById(ID id);
+
+    /**
+     * Retrieves all entities of type T.
+     *
+     * @return a future completed with a list of all entities of type T.
+     */
+    CompletableFuture<List<T>> findAll();
+
+    /**
+     * Retrieves the next page of entities in identifier order, using keyset pagination.
+     *
+     * @param afterId the identifier after which the page starts, or {@code null} for the first page.
+     * @param limit   the maximum number of entities to return.
+     * @return a future completed with the entities of the page.
+     * @see GenericDao#findPage(Object, int)
+     */
+    CompletableFuture<List<T>> findPage(ID afterId, int limit);
+
+    /**
+     * Creates and saves a new entity.
+     *
+     * @param entity the entity to be saved.
+     * @return a future completed with the saved entity.
+     */
+    CompletableFuture<T> create(T entity);
+
+    /**
+     * Updates an existing entity.
+     *
+     * @param entity the entity to update.
+     * @return a future completed with the updated entity.
+     */
+    CompletableFuture<T> update(T entity);
+
+    /**
+     * Deletes the entity with the given identifier.
+     *
+     * @param id the identifier of the entity to delete.
+     * @return a future completed once the entity has been deleted.
+     */
+    CompletableFuture<Void> deleteById(ID id);
+
+    /**
+     * Creates and saves several new entities.
+     *
+     * @param entities the entities to be saved.
+     * @return a future completed with the saved entities.
+     */
+    CompletableFuture<List<T>> createAll(Collection<T> entities);
+
+    /**
+     * Updates several existing entities.
+     *
+     * @param entities the entities to update.
+     * @return a future completed with the updated entities.
+     */
+    CompletableFuture<List<T>> updateAll(Collection<T> entities);
+
+    /**
+     * Retrieves all entities with the given identifiers.
+     *
+     * @param ids the identifiers of the entities to retrieve.
+     * @return a future completed with the entities found.
+     */
+    CompletableFuture<List<T>> findAllById(Collection<ID> ids);
+
+    /**
+     * Deletes all entities with the given identifiers.
+     *
+     * @param ids the identifiers of the entities to delete.
+     * @return a future completed once the entities have been deleted.
+     */
+    CompletableFuture<Void> deleteAllById(Collection<ID> ids);
+}
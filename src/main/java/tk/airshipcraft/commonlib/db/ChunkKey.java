@@ -0,0 +1,115 @@
+package tk.airshipcraft.commonlib.db;
+
+/**
+ * <p>Packs a world and chunk coordinates into one {@code long}, stored in an indexed {@code chunk_key} column so
+ * that spatial lookups are index range scans instead of table scans.</p>
+ *
+ * <p>The top 16 bits hold a hash of the world name, followed by 24 bits each for the chunk X and Z coordinates,
+ * offset by 2<sup>23</sup> so that keys sort by chunk X, then chunk Z, within a world. All chunks of one chunk
+ * column ({@code chunkX} fixed) therefore form a contiguous key range. Two worlds may share a hash, so queries
+ * must still compare the world name; the key only narrows the rows the database has to look at.</p>
+ *
+ * <p>The world hash is derived from {@link String#hashCode()}, whose value is fixed by the Java specification,
+ * so stored keys remain valid across restarts and JVMs.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public final class ChunkKey {
+
+    /**
+     * The smallest supported chunk coordinate, about 134 million blocks from the origin.
+     */
+    public static final int MIN_CHUNK = -(1 << 23);
+
+    /**
+     * The largest supported chunk coordinate.
+     */
+    public static final int MAX_CHUNK = (1 << 23) - 1;
+
+    private static final long COORDINATE_MASK = 0xFFFFFFL;
+
+    private ChunkKey() {
+        // Utility class
+    }
+
+    /**
+     * Packs a world and chunk coordinates.
+     *
+     * @param worldName The world name, or null.
+     * @param chunkX    The chunk X coordinate.
+     * @param chunkZ    The chunk Z coordinate.
+     * @return The chunk key.
+     * @throws IllegalArgumentException If a coordinate is outside {@link #MIN_CHUNK} and {@link #MAX_CHUNK}.
+     */
+    public static long of(String worldName, int chunkX, int chunkZ) {
+        return worldBits(worldName) | (offset(chunkX) << 24) | offset(chunkZ);
+    }
+
+    /**
+     * Packs the world and chunk of a block position.
+     *
+     * @param worldName The world name, or null.
+     * @param x         The X coordinate.
+     * @param z         The Z coordinate.
+     * @return The key of the chunk containing the position.
+     */
+    public static long ofPosition(String worldName, double x, double z) {
+        return of(worldName, toChunk(x), toChunk(z));
+    }
+
+    /**
+     * Returns the chunk coordinate containing a block coordinate.
+     *
+     * @param coordinate The block X or Z coordinate.
+     * @return The chunk coordinate.
+     */
+    public static int toChunk(double coordinate) {
+        return (int) Math.floor(coordinate) >> 4;
+    }
+
+    /**
+     * Extracts the chunk X coordinate of a key.
+     *
+     * @param key The chunk key.
+     * @return The chunk X coordinate.
+     */
+    public static int chunkX(long key) {
+        return (int) ((key >>> 24) & COORDINATE_MASK) + MIN_CHUNK;
+    }
+
+    /**
+     * Extracts the chunk Z coordinate of a key.
+     *
+     * @param key The chunk key.
+     * @return The chunk Z coordinate.
+     */
+    public static int chunkZ(long key) {
+        return (int) (key & COORDINATE_MASK) + MIN_CHUNK;
+    }
+
+    /**
+     * Returns the 16-bit world hash, shifted into the top bits of a key.
+     *
+     * @param worldName The world name, or null.
+     * @return The world bits of a key.
+     */
+    private static long worldBits(String worldName) {
+        int hash = worldName == null ? 0 : worldName.hashCode();
+        return ((long) ((hash ^ (hash >>> 16)) & 0xFFFF)) << 48;
+    }
+
+    /**
+     * Offsets a chunk coordinate into the unsigned 24-bit range.
+     *
+     * @param chunk The chunk coordinate.
+     * @return The offset coordinate.
+     */
+    private static long offset(int chunk) {
+        if (chunk < MIN_CHUNK || chunk > MAX_CHUNK) {
+            throw new IllegalArgumentException("Chunk coordinate " + chunk + " is out of range");
+        }
+        return (long) chunk - MIN_CHUNK;
+    }
+}
@@ -0,0 +1,299 @@
+package tk.airshipcraft.commonlib.db;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * <p>A count-based circuit breaker that stops callers from piling up on a database that is down or overloaded.</p>
+ *
+ * <p>The breaker remembers the outcome of the last {@code windowSize} calls. A call that failed, or that
+ * succeeded but took longer than the slow-call threshold, counts as failed. Once at least {@code minimumCalls}
+ * calls were seen and the share of failed calls reaches the failure rate threshold, the breaker opens and
+ * {@link #tryAcquirePermission()} refuses every call. After the open duration it becomes half-open and lets
+ * {@code halfOpenCalls} trial calls through: if all of them succeed it closes again, if one fails it reopens.</p>
+ *
+ * <p>Every call that was given permission must report its outcome with {@link #onSuccess(long)} or
+ * {@link #onFailure()}, otherwise a half-open breaker never closes. {@link ConnectionGuard} asks for permission and
+ * reports the outcome of every connection checkout. If a statement slow-call threshold is set, it also reports the
+ * statements executed on the connections it hands out with {@link #onStatement(long, boolean)}, so a database that
+ * still accepts connections but times out or stalls on queries opens the breaker as well. Statements hold no
+ * permission of their own: they only add to the window of a closed breaker and never count as trial calls.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class CircuitBreaker {
+
+    /**
+     * The state of a circuit breaker.
+     */
+    public enum State {
+        /**
+         * Calls are permitted and their outcomes recorded.
+         */
+        CLOSED,
+        /**
+         * Calls are refused until the open duration has passed.
+         */
+        OPEN,
+        /**
+         * A limited number of trial calls are permitted to probe whether the database recovered.
+         */
+        HALF_OPEN
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(CircuitBreaker.class.getName());
+
+    private final String name;
+    private final boolean[] outcomes;
+    private final int minimumCalls;
+    private final int failureRatePercent;
+    private final long slowCallNanos;
+    private final long statementSlowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private State state = State.CLOSED;
+    private int position;
+    private int recorded;
+    private int failed;
+    private long openedAt;
+    private int trialPermits;
+    private int trialSuccesses;
+    private long openCount;
+
+    /**
+     * Creates a circuit breaker using the thresholds of the given configuration.
+     *
+     * @param config The database configuration.
+     */
+    public CircuitBreaker(DatabaseConfig config) {
+        this(config.getPoolName(), config.getCircuitBreakerWindowSize(), config.getCircuitBreakerMinimumCalls(),
+                config.getCircuitBreakerFailureRatePercent(), config.getCircuitBreakerSlowCallMillis(),
+                config.getCircuitBreakerOpenMillis(), config.getCircuitBreakerHalfOpenCalls(),
+                config.getCircuitBreakerStatementSlowCallMillis());
+    }
+
+    /**
+     * Creates a circuit breaker that only records connection checkouts.
+     *
+     * @param name               The name used in log messages.
+     * @param windowSize         The number of recent calls the failure rate is computed over.
+     * @param minimumCalls       The number of calls needed before the breaker may open.
+     * @param failureRatePercent The percentage of failed or slow calls at which the breaker opens.
+     * @param slowCallMillis     The duration above which a successful call counts as failed, in milliseconds.
+     * @param openMillis         How long the breaker stays open before trial calls are let through, in milliseconds.
+     * @param halfOpenCalls      The number of trial calls that must succeed to close the breaker.
+     */
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRatePercent, long slowCallMillis,
+                          long openMillis, int halfOpenCalls) {
+        this(name, windowSize, minimumCalls, failureRatePercent, slowCallMillis, openMillis, halfOpenCalls, 0L);
+    }
+
+    /**
+     * Creates a circuit breaker.
+     *
+     * @param name                    The name used in log messages.
+     * @param windowSize              The number of recent calls the failure rate is computed over.
+     * @param minimumCalls            The number of calls needed before the breaker may open.
+     * @param failureRatePercent      The percentage of failed or slow calls at which the breaker opens.
+     * @param slowCallMillis          The connection wait above which a checkout counts as failed, in milliseconds.
+     * @param openMillis              How long the breaker stays open before trial calls are let through, in
+     *                                milliseconds.
+     * @param halfOpenCalls           The number of trial calls that must succeed to close the breaker.
+     * @param statementSlowCallMillis The execution time above which a statement counts as failed, in milliseconds,
+     *                                or 0 to not record statements.
+     */
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRatePercent, long slowCallMillis,
+                          long openMillis, int halfOpenCalls, long statementSlowCallMillis) {
+        this.name = name;
+        this.outcomes = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, outcomes.length));
+        this.failureRatePercent = Math.max(1, Math.min(100, failureRatePercent));
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, slowCallMillis));
+        this.statementSlowCallNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, statementSlowCallMillis));
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, openMillis));
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+    }
+
+    /**
+     * Asks whether a call may proceed. An open breaker whose open duration has passed becomes half-open.
+     *
+     * @return True if the call may proceed and must report its outcome.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialPermits = halfOpenCalls;
+                trialSuccesses = 0;
+                LOGGER.info("Circuit breaker " + name + " is half-open, probing the database");
+                // fall through to hand out the first trial permit
+            case HALF_OPEN:
+            default:
+                if (trialPermits == 0) {
+                    return false;
+                }
+                trialPermits--;
+                return true;
+        }
+    }
+
+    /**
+     * Records a call that completed without an error.
+     *
+     * @param durationNanos How long the call took, in nanoseconds.
+     */
+    public synchronized void onSuccess(long durationNanos) {
+        boolean slow = slowCallNanos > 0 && durationNanos > slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (slow) {
+                open();
+            } else if (++trialSuccesses >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        record(slow);
+    }
+
+    /**
+     * Records a call that failed.
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+    }
+
+    /**
+     * Records a statement executed on a connection that was checked out earlier. Statements hold no permission, so
+     * they are only recorded while the breaker is closed and never count as half-open trial calls.
+     *
+     * @param durationNanos How long the statement took, in nanoseconds.
+     * @param failed        Whether the statement failed because the database is unreachable or overloaded.
+     */
+    public synchronized void onStatement(long durationNanos, boolean failed) {
+        if (state == State.CLOSED && statementSlowCallNanos > 0) {
+            record(failed || durationNanos > statementSlowCallNanos);
+        }
+    }
+
+    /**
+     * Checks whether statements should be reported with {@link #onStatement(long, boolean)}.
+     *
+     * @return True if a statement slow-call threshold is set.
+     */
+    public boolean isRecordingStatements() {
+        return statementSlowCallNanos > 0;
+    }
+
+    /**
+     * Returns the current state. An open breaker only becomes half-open on the next permission request.
+     *
+     * @return The state.
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Returns the share of failed or slow calls in the current window, in percent.
+     *
+     * @return The failure rate, or 0 if no calls were recorded.
+     */
+    public synchronized int getFailureRatePercent() {
+        return recorded == 0 ? 0 : failed * 100 / recorded;
+    }
+
+    /**
+     * Returns how many times the breaker has opened.
+     *
+     * @return The open count.
+     */
+    public synchronized long getOpenCount() {
+        return openCount;
+    }
+
+    /**
+     * Returns how long an open breaker keeps refusing calls.
+     *
+     * @return The remaining open time in milliseconds, or 0 if the breaker is not open.
+     */
+    public synchronized long getRemainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0L;
+        }
+        return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(openNanos - (System.nanoTime() - openedAt)));
+    }
+
+    /**
+     * Closes the breaker and forgets all recorded calls, e.g. after an administrator fixed the database.
+     */
+    public synchronized void reset() {
+        state = State.CLOSED;
+        clearWindow();
+    }
+
+    /**
+     * Adds an outcome to the window of a closed breaker, opening it if the failure rate is reached.
+     *
+     * @param failure Whether the call failed or was slow.
+     */
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[position]) {
+                failed--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[position] = failure;
+        if (failure) {
+            failed++;
+        }
+        position = (position + 1) % outcomes.length;
+
+        if (state == State.CLOSED && recorded >= minimumCalls && failed * 100 >= failureRatePercent * recorded) {
+            open();
+        }
+    }
+
+    /**
+     * Opens the breaker.
+     */
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        openCount++;
+        LOGGER.warning("Circuit breaker " + name + " opened, failing database calls fast for "
+                + TimeUnit.NANOSECONDS.toMillis(openNanos) + " ms");
+        clearWindow();
+    }
+
+    /**
+     * Closes the breaker after successful trial calls.
+     */
+    private void close() {
+        state = State.CLOSED;
+        LOGGER.info("Circuit breaker " + name + " closed, the database is reachable again");
+        clearWindow();
+    }
+
+    /**
+     * Forgets all recorded outcomes.
+     */
+    private void clearWindow() {
+        position = 0;
+        recorded = 0;
+        failed = 0;
+    }
+}
@@ -0,0 +1,392 @@
+package tk.airshipcraft.commonlib.db;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.bukkit.Bukkit;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * <p>Decides whether a connection checkout may wait for the pool, so a slow or unreachable database degrades
+ * features instead of stalling server threads.</p>
+ *
+ * <p>Before a thread waits for a pooled connection, the guard checks, in order:</p>
+ * <ul>
+ *   <li>the caller's connection limit, configured as {@code callerLimit.<caller>} in {@link DatabaseConfig}.
+ *   Callers are named with {@link SqlConnectionManager#asCaller(String)}; server threads outside such a scope
+ *   count as {@value #SERVER_CALLER}. A plugin flooding the pool can then only use its share of it;</li>
+ *   <li>the number of threads already waiting for the pool, see {@link DatabaseConfig#getGuardMaxWaitingThreads()}.
+ *   Beyond it, requests are rejected instead of queueing behind work that will time out anyway;</li>
+ *   <li>for the main thread (or a Folia region thread), whether a connection is idle. Server threads never wait
+ *   for the pool unless {@link DatabaseConfig#isGuardServerThreadFailFast()} is disabled;</li>
+ *   <li>the {@link CircuitBreaker}, which fails every checkout fast while the database keeps timing out.</li>
+ * </ul>
+ *
+ * <p>The circuit breaker records the outcome and connection wait of every checkout. If
+ * {@link DatabaseConfig#getCircuitBreakerStatementSlowCallMillis()} is set, it also records the statements executed
+ * on the connections the guard hands out: statements that fail because the database is unreachable or overloaded
+ * (SQL state class 08, transient and recoverable errors such as timeouts) or run longer than that threshold count as
+ * failed; other errors, e.g. a constraint violation, show the database answered and count as successful calls.
+ * Without it, connections are only wrapped if the caller has a connection limit.</p>
+ *
+ * <p>A refused checkout throws a {@link DatabaseUnavailableException}. The DAOs treat it like any other
+ * {@link SQLException} and throw a {@link DataAccessException}, while cached reads, e.g. through
+ * {@link tk.airshipcraft.commonlib.db.cache.CachingDao}, keep being served.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class ConnectionGuard {
+
+    /**
+     * The caller name of server threads that did not name themselves with {@link SqlConnectionManager#asCaller(String)}.
+     */
+    public static final String SERVER_CALLER = "server";
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final Supplier<HikariPoolMXBean> pool;
+    private final CircuitBreaker circuitBreaker;
+    private final int maxWaitingThreads;
+    private final boolean serverThreadFailFast;
+    private final long callerWaitMillis;
+    private final Map<String, Semaphore> callerLimits = new ConcurrentHashMap<>();
+    private final ThreadLocal<String> currentCaller = new ThreadLocal<>();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * Creates a guard using the limits and circuit breaker settings of the given configuration.
+     *
+     * @param pool   Supplies the live state of the connection pool, or null if it is not available yet.
+     * @param config The database configuration.
+     */
+    public ConnectionGuard(Supplier<HikariPoolMXBean> pool, DatabaseConfig config) {
+        this(pool, config.isCircuitBreakerEnabled() ? new CircuitBreaker(config) : null,
+                config.getGuardMaxWaitingThreads(), config.isGuardServerThreadFailFast(),
+                config.getConnectionTimeoutMillis());
+        config.getCallerConnectionLimits().forEach(this::setCallerLimit);
+    }
+
+    /**
+     * Creates a guard.
+     *
+     * @param pool                 Supplies the live state of the connection pool, or null if it is not available yet.
+     * @param circuitBreaker       The circuit breaker, or null to never fail fast on errors.
+     * @param maxWaitingThreads    The number of threads that may wait for the pool at once.
+     * @param serverThreadFailFast Whether server threads are rejected instead of waiting when no connection is idle.
+     * @param callerWaitMillis     How long a thread off the server thread waits for its caller limit, in milliseconds.
+     */
+    public ConnectionGuard(Supplier<HikariPoolMXBean> pool, CircuitBreaker circuitBreaker, int maxWaitingThreads,
+                           boolean serverThreadFailFast, long callerWaitMillis) {
+        this.pool = pool;
+        this.circuitBreaker = circuitBreaker;
+        this.maxWaitingThreads = Math.max(1, maxWaitingThreads);
+        this.serverThreadFailFast = serverThreadFailFast;
+        this.callerWaitMillis = Math.max(0L, callerWaitMillis);
+    }
+
+    /**
+     * Limits the number of connections a caller may hold at once. Connections already checked out are not affected.
+     *
+     * @param caller The caller name.
+     * @param limit  The maximum number of connections.
+     */
+    public void setCallerLimit(String caller, int limit) {
+        callerLimits.put(caller, new Semaphore(Math.max(1, limit)));
+    }
+
+    /**
+     * Names the caller of the connections checked out on this thread until the returned scope is closed.
+     *
+     * @param caller The caller name, e.g. the plugin name.
+     * @return The scope, restoring the previous caller when closed.
+     */
+    public CallerScope enter(String caller) {
+        String previous = currentCaller.get();
+        currentCaller.set(caller);
+        return new CallerScope(previous);
+    }
+
+    /**
+     * Returns the circuit breaker, if enabled.
+     *
+     * @return The circuit breaker, or null if it is disabled.
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Checks whether checkouts are currently let through to the database.
+     *
+     * @return False while the circuit breaker is open.
+     */
+    public boolean isAvailable() {
+        return circuitBreaker == null || circuitBreaker.getState() != CircuitBreaker.State.OPEN;
+    }
+
+    /**
+     * Returns the number of checkouts refused by this guard.
+     *
+     * @return The rejected checkout count.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Checks out a connection if the guard allows it.
+     *
+     * @param source Checks out the pooled connection.
+     * @return The connection; closing it releases the caller's share, and its statements report to the circuit breaker.
+     * @throws SQLException If the guard refused the checkout or the pool failed to provide a connection.
+     */
+    Connection acquire(ConnectionSource source) throws SQLException {
+        boolean serverThread = isServerThread();
+        String caller = currentCaller.get();
+        if (caller == null && serverThread) {
+            caller = SERVER_CALLER;
+        }
+        Semaphore limit = caller == null ? null : callerLimits.get(caller);
+        if (limit != null && !tryAcquire(limit, serverThread)) {
+            throw reject("Caller " + caller + " has reached its connection limit");
+        }
+
+        boolean handedOut = false;
+        try {
+            HikariPoolMXBean poolState = pool == null ? null : pool.get();
+            if (poolState != null) {
+                if (poolState.getThreadsAwaitingConnection() >= maxWaitingThreads) {
+                    throw reject(maxWaitingThreads + " threads are already waiting for a database connection");
+                }
+                if (serverThread && serverThreadFailFast && poolState.getIdleConnections() == 0) {
+                    throw reject("No idle database connection for a server thread");
+                }
+            }
+            if (circuitBreaker != null && !circuitBreaker.tryAcquirePermission()) {
+                throw reject("Database circuit breaker is open, retrying in "
+                        + circuitBreaker.getRemainingOpenMillis() + " ms");
+            }
+
+            long start = System.nanoTime();
+            Connection connection;
+            try {
+                connection = source.get();
+            } catch (SQLException | RuntimeException e) {
+                if (circuitBreaker != null) {
+                    circuitBreaker.onFailure();
+                }
+                throw e;
+            }
+            if (circuitBreaker != null) {
+                circuitBreaker.onSuccess(System.nanoTime() - start);
+            }
+            handedOut = true;
+            return limit == null && !isRecordingStatements() ? connection : guarded(connection, limit);
+        } finally {
+            if (!handedOut && limit != null) {
+                limit.release();
+            }
+        }
+    }
+
+    /**
+     * Takes a share of a caller's limit, waiting for it only off the server thread.
+     *
+     * @param limit        The caller's limit.
+     * @param serverThread Whether the current thread is a server thread.
+     * @return True if a share was taken.
+     */
+    private boolean tryAcquire(Semaphore limit, boolean serverThread) {
+        if (serverThread) {
+            return limit.tryAcquire();
+        }
+        try {
+            return limit.tryAcquire(callerWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Counts and creates a rejection.
+     *
+     * @param reason The reason the checkout was refused.
+     * @return The exception to throw.
+     */
+    private DatabaseUnavailableException reject(String reason) {
+        rejectedCount.incrementAndGet();
+        return new DatabaseUnavailableException(reason);
+    }
+
+    /**
+     * Wraps a connection so that closing it returns the caller's share, exactly once, and the statements created
+     * from it report to the circuit breaker if it records statements.
+     *
+     * @param connection The connection.
+     * @param limit      The caller's limit, or null.
+     * @return The wrapped connection.
+     */
+    private Connection guarded(Connection connection, Semaphore limit) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionGuard.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    try {
+                        Object result = invoke(connection, method, args);
+                        if (isRecordingStatements() && result instanceof Statement statement
+                                && STATEMENT_FACTORIES.contains(method.getName())) {
+                            return reporting(statement, (Connection) proxy);
+                        }
+                        return result;
+                    } finally {
+                        if (limit != null && method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            limit.release();
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Wraps a statement so that its executions report their outcome and latency to the circuit breaker.
+     *
+     * @param statement  The statement.
+     * @param connection The connection proxy returned by {@link Statement#getConnection()}.
+     * @return The wrapped statement.
+     */
+    private Statement reporting(Statement statement, Connection connection) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(ConnectionGuard.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("getConnection")) {
+                        return connection;
+                    }
+                    if (!EXECUTE_METHODS.contains(name)) {
+                        return invoke(statement, method, args);
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        Object result = invoke(statement, method, args);
+                        circuitBreaker.onStatement(System.nanoTime() - start, false);
+                        return result;
+                    } catch (SQLException e) {
+                        circuitBreaker.onStatement(System.nanoTime() - start, indicatesUnavailable(e));
+                        throw e;
+                    }
+                });
+    }
+
+    /**
+     * Checks whether statements executed on the handed out connections are reported to the circuit breaker.
+     *
+     * @return True if the circuit breaker is enabled and has a statement slow-call threshold.
+     */
+    private boolean isRecordingStatements() {
+        return circuitBreaker != null && circuitBreaker.isRecordingStatements();
+    }
+
+    /**
+     * Checks whether a statement failed because the database is unreachable or overloaded, rather than because of
+     * the statement itself.
+     *
+     * @param e The exception thrown by the statement.
+     * @return True for connection errors, timeouts and other transient or recoverable failures.
+     */
+    static boolean indicatesUnavailable(SQLException e) {
+        String state = e.getSQLState();
+        return e instanceof SQLTransientException || e instanceof SQLRecoverableException
+                || e instanceof SQLNonTransientConnectionException || (state != null && state.startsWith("08"));
+    }
+
+    /**
+     * Invokes a method on the proxied object, rethrowing the method's own exception.
+     *
+     * @param target The proxied object.
+     * @param method The method to invoke.
+     * @param args   The arguments.
+     * @return The method's result.
+     * @throws Throwable The exception thrown by the method.
+     */
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Checks whether the current thread is the main server thread, or a region thread on Folia.
+     *
+     * @return False outside a running server.
+     */
+    static boolean isServerThread() {
+        return Bukkit.getServer() != null && Bukkit.isPrimaryThread();
+    }
+
+    /**
+     * Checks out a pooled connection.
+     */
+    @FunctionalInterface
+    interface ConnectionSource {
+
+        /**
+         * Checks out a connection.
+         *
+         * @return The connection.
+         * @throws SQLException If no connection could be acquired.
+         */
+        Connection get() throws SQLException;
+    }
+
+    /**
+     * The scope of a caller name on the current thread, see {@link #enter(String)}.
+     */
+    public final class CallerScope implements AutoCloseable {
+
+        private final String previous;
+
+        /**
+         * Creates a scope.
+         *
+         * @param previous The caller name to restore.
+         */
+        private CallerScope(String previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * Restores the caller name that was active before this scope.
+         */
+        @Override
+        public void close() {
+            if (previous == null) {
+                currentCaller.remove();
+            } else {
+                currentCaller.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package tk.airshipcraft.commonlib.db;
+
+/**
+ * Unchecked wrapper for a {@link java.sql.SQLException} raised where checked exceptions cannot be thrown,
+ * such as while iterating a database-backed {@link java.util.stream.Stream} or from the {@link GenericDao} methods
+ * of the SQL DAOs, which throw it instead of reporting a failed write as a success or a failed read as an empty
+ * result.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class DataAccessException extends RuntimeException {
+
+    /**
+     * Creates a new DataAccessException.
+     *
+     * @param message The detail message.
+     * @param cause   The underlying database exception.
+     */
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,7 +2,13 @@ package tk.airshipcraft.commonlib.db;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
 
 /**
  * Manages database configuration settings, providing methods to load from
@@ -16,6 +22,16 @@ import java.util.Properties;
  */
 public class DatabaseConfig {
 
+    /**
+     * The key prefix of properties passed straight to the JDBC driver.
+     */
+    private static final String DATA_SOURCE_PREFIX = "dataSource.";
+
+    /**
+     * The key prefix of per-caller connection limits.
+     */
+    private static final String CALLER_LIMIT_PREFIX = "callerLimit.";
+
     /**
      * The properties object to store the configuration settings.
      */
@@ -62,15 +78,74 @@ public class DatabaseConfig {
         this.properties.setProperty(key, value);
     }
 
+    /**
+     * Gets a configuration property parsed as an integer.
+     *
+     * @param key          The property key.
+     * @param defaultValue The value to return if the property is missing or malformed.
+     * @return The property value as an integer, or {@code defaultValue}.
+     */
+    public int getIntProperty(String key, int defaultValue) {
+        String value = getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Gets a configuration property parsed as a long.
+     *
+     * @param key          The property key.
+     * @param defaultValue The value to return if the property is missing or malformed.
+     * @return The property value as a long, or {@code defaultValue}.
+     */
+    public long getLongProperty(String key, long defaultValue) {
+        String value = getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Gets a configuration property parsed as a boolean.
+     *
+     * @param key          The property key.
+     * @param defaultValue The value to return if the property is missing.
+     * @return The property value as a boolean, or {@code defaultValue}.
+     */
+    public boolean getBooleanProperty(String key, boolean defaultValue) {
+        String value = getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+
     // Add setters and getters for individual properties here
 
     /**
      * Gets the JDBC URL from the properties.
+     * Without a JDBC URL, an {@link #getEmbeddedDatabaseFile() embedded database file} is opened with H2.
      *
      * @return The JDBC URL.
      */
     public String getJdbcUrl() {
-        return getProperty("jdbcUrl");
+        String jdbcUrl = getProperty("jdbcUrl");
+        String embeddedFile = getEmbeddedDatabaseFile();
+        if (jdbcUrl == null && embeddedFile != null) {
+            return SqlDialect.embeddedH2Url(Path.of(embeddedFile));
+        }
+        return jdbcUrl;
     }
 
     /**
@@ -82,6 +157,51 @@ public class DatabaseConfig {
         setProperty("jdbcUrl", jdbcUrl);
     }
 
+    /**
+     * Gets the file of an embedded H2 database, used when no JDBC URL is configured.
+     * Single-server setups can then run without a database server.
+     *
+     * @return The database file, without the {@code .mv.db} extension, or null to use {@link #getJdbcUrl()}.
+     */
+    public String getEmbeddedDatabaseFile() {
+        return getProperty("embeddedDatabaseFile");
+    }
+
+    /**
+     * Sets the file of an embedded H2 database, used when no JDBC URL is configured.
+     *
+     * @param file The database file to set, e.g. {@code plugins/CommonLib/database}.
+     */
+    public void setEmbeddedDatabaseFile(String file) {
+        setProperty("embeddedDatabaseFile", file);
+    }
+
+    /**
+     * Gets the SQL dialect of the database.
+     *
+     * @return The configured dialect, or the one matching {@link #getJdbcUrl()} if unset or unknown.
+     */
+    public SqlDialect getDialect() {
+        String value = getProperty("dialect");
+        if (value != null) {
+            try {
+                return SqlDialect.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                // fall back to the JDBC URL
+            }
+        }
+        return SqlDialect.fromJdbcUrl(getJdbcUrl());
+    }
+
+    /**
+     * Sets the SQL dialect of the database, for JDBC URLs it cannot be derived from.
+     *
+     * @param dialect The dialect to set.
+     */
+    public void setDialect(SqlDialect dialect) {
+        setProperty("dialect", dialect.name());
+    }
+
     /**
      * Gets the database username from the properties.
      *
@@ -136,41 +256,1131 @@ public class DatabaseConfig {
         setProperty("maximumPoolSize", maximumPoolSize);
     }
 
-    // Example for Redis Configuration
+    /**
+     * Gets the maximum number of pooled connections, parsed from {@code maximumPoolSize}.
+     *
+     * @return The maximum pool size, defaulting to 10.
+     */
+    public int getMaxPoolSize() {
+        return getIntProperty("maximumPoolSize", 10);
+    }
 
     /**
-     * Gets the Redis server URI from the properties.
+     * Sets the maximum number of pooled connections.
      *
-     * @return The Redis server URI.
+     * @param maxPoolSize The maximum pool size to set.
      */
-    public String getRedisUri() {
-        return getProperty("redisUri");
+    public void setMaxPoolSize(int maxPoolSize) {
+        setProperty("maximumPoolSize", String.valueOf(maxPoolSize));
     }
 
     /**
-     * Sets the Redis server URI in the properties.
+     * Gets the minimum number of idle connections kept in the pool, or -1 to keep the pool at its maximum size.
      *
-     * @param redisUri The Redis server URI to set.
+     * @return The minimum idle connection count, defaulting to -1.
      */
-    public void setRedisUri(String redisUri) {
-        setProperty("redisUri", redisUri);
+    public int getMinimumIdle() {
+        return getIntProperty("minimumIdle", -1);
     }
 
     /**
-     * Gets the Redis server password from the properties.
+     * Sets the minimum number of idle connections kept in the pool.
      *
-     * @return The Redis server password.
+     * @param minimumIdle The minimum idle connection count to set.
      */
-    public String getRedisPassword() {
-        return getProperty("redisPassword");
+    public void setMinimumIdle(int minimumIdle) {
+        setProperty("minimumIdle", String.valueOf(minimumIdle));
     }
 
     /**
-     * Sets the Redis server password in the properties.
+     * Gets how long a caller waits for a pooled connection before failing, in milliseconds.
      *
-     * @param redisPassword The Redis server password to set.
+     * @return The connection timeout, defaulting to 30000 milliseconds.
      */
-    public void setRedisPassword(String redisPassword) {
-        setProperty("redisPassword", redisPassword);
+    public long getConnectionTimeoutMillis() {
+        return getLongProperty("connectionTimeoutMillis", 30000L);
+    }
+
+    /**
+     * Sets how long a caller waits for a pooled connection before failing, in milliseconds.
+     *
+     * @param connectionTimeoutMillis The connection timeout to set.
+     */
+    public void setConnectionTimeoutMillis(long connectionTimeoutMillis) {
+        setProperty("connectionTimeoutMillis", String.valueOf(connectionTimeoutMillis));
+    }
+
+    /**
+     * Gets how long a connection may sit idle above the minimum before it is retired, in milliseconds.
+     *
+     * @return The idle timeout, defaulting to 600000 milliseconds.
+     */
+    public long getIdleTimeoutMillis() {
+        return getLongProperty("idleTimeoutMillis", 600000L);
+    }
+
+    /**
+     * Sets how long a connection may sit idle above the minimum before it is retired, in milliseconds.
+     *
+     * @param idleTimeoutMillis The idle timeout to set.
+     */
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+        setProperty("idleTimeoutMillis", String.valueOf(idleTimeoutMillis));
+    }
+
+    /**
+     * Gets the maximum lifetime of a pooled connection, in milliseconds. Keep it below MySQL's {@code wait_timeout}.
+     *
+     * @return The maximum connection lifetime, defaulting to 1800000 milliseconds.
+     */
+    public long getMaxLifetimeMillis() {
+        return getLongProperty("maxLifetimeMillis", 1800000L);
+    }
+
+    /**
+     * Sets the maximum lifetime of a pooled connection, in milliseconds.
+     *
+     * @param maxLifetimeMillis The maximum connection lifetime to set.
+     */
+    public void setMaxLifetimeMillis(long maxLifetimeMillis) {
+        setProperty("maxLifetimeMillis", String.valueOf(maxLifetimeMillis));
+    }
+
+    /**
+     * Gets how often idle connections are pinged to keep them alive, in milliseconds, or 0 to disable keepalives.
+     *
+     * @return The keepalive interval, defaulting to 0 (disabled).
+     */
+    public long getKeepaliveTimeMillis() {
+        return getLongProperty("keepaliveTimeMillis", 0L);
+    }
+
+    /**
+     * Sets how often idle connections are pinged to keep them alive, in milliseconds.
+     *
+     * @param keepaliveTimeMillis The keepalive interval to set.
+     */
+    public void setKeepaliveTimeMillis(long keepaliveTimeMillis) {
+        setProperty("keepaliveTimeMillis", String.valueOf(keepaliveTimeMillis));
+    }
+
+    /**
+     * Gets how long a connection may be checked out before a possible leak is logged, in milliseconds, or 0 to disable leak detection.
+     *
+     * @return The leak detection threshold, defaulting to 0 (disabled).
+     */
+    public long getLeakDetectionThresholdMillis() {
+        return getLongProperty("leakDetectionThresholdMillis", 0L);
+    }
+
+    /**
+     * Sets how long a connection may be checked out before a possible leak is logged, in milliseconds.
+     *
+     * @param leakDetectionThresholdMillis The leak detection threshold to set.
+     */
+    public void setLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) {
+        setProperty("leakDetectionThresholdMillis", String.valueOf(leakDetectionThresholdMillis));
+    }
+
+    /**
+     * Gets whether the MySQL driver caches prepared statements per connection.
+     *
+     * @return True if prepared statements are cached, defaulting to true.
+     */
+    public boolean isCachePrepStmts() {
+        return getBooleanProperty("cachePrepStmts", true);
+    }
+
+    /**
+     * Sets whether the MySQL driver caches prepared statements per connection.
+     *
+     * @param cachePrepStmts Whether to cache prepared statements.
+     */
+    public void setCachePrepStmts(boolean cachePrepStmts) {
+        setProperty("cachePrepStmts", String.valueOf(cachePrepStmts));
+    }
+
+    /**
+     * Gets the number of prepared statements the MySQL driver caches per connection.
+     *
+     * @return The prepared statement cache size, defaulting to 250.
+     */
+    public int getPrepStmtCacheSize() {
+        return getIntProperty("prepStmtCacheSize", 250);
+    }
+
+    /**
+     * Sets the number of prepared statements the MySQL driver caches per connection.
+     *
+     * @param prepStmtCacheSize The prepared statement cache size to set.
+     */
+    public void setPrepStmtCacheSize(int prepStmtCacheSize) {
+        setProperty("prepStmtCacheSize", String.valueOf(prepStmtCacheSize));
+    }
+
+    /**
+     * Gets the maximum length of a SQL statement the MySQL driver will cache.
+     *
+     * @return The cached SQL length limit, defaulting to 2048.
+     */
+    public int getPrepStmtCacheSqlLimit() {
+        return getIntProperty("prepStmtCacheSqlLimit", 2048);
+    }
+
+    /**
+     * Sets the maximum length of a SQL statement the MySQL driver will cache.
+     *
+     * @param prepStmtCacheSqlLimit The cached SQL length limit to set.
+     */
+    public void setPrepStmtCacheSqlLimit(int prepStmtCacheSqlLimit) {
+        setProperty("prepStmtCacheSqlLimit", String.valueOf(prepStmtCacheSqlLimit));
+    }
+
+    /**
+     * Gets whether the MySQL driver uses server-side prepared statements.
+     *
+     * @return True if server-side prepared statements are used, defaulting to true.
+     */
+    public boolean isUseServerPrepStmts() {
+        return getBooleanProperty("useServerPrepStmts", true);
+    }
+
+    /**
+     * Sets whether the MySQL driver uses server-side prepared statements.
+     *
+     * @param useServerPrepStmts Whether to use server-side prepared statements.
+     */
+    public void setUseServerPrepStmts(boolean useServerPrepStmts) {
+        setProperty("useServerPrepStmts", String.valueOf(useServerPrepStmts));
+    }
+
+    /**
+     * Gets whether the MySQL driver rewrites JDBC batches into multi-row statements.
+     *
+     * @return True if batches are rewritten, defaulting to true.
+     */
+    public boolean isRewriteBatchedStatements() {
+        return getBooleanProperty("rewriteBatchedStatements", true);
+    }
+
+    /**
+     * Sets whether the MySQL driver rewrites JDBC batches into multi-row statements.
+     *
+     * @param rewriteBatchedStatements Whether to rewrite batches.
+     */
+    public void setRewriteBatchedStatements(boolean rewriteBatchedStatements) {
+        setProperty("rewriteBatchedStatements", String.valueOf(rewriteBatchedStatements));
+    }
+
+    /**
+     * Gets the number of worker threads used by {@link DatabaseExecutor} for asynchronous DAO calls.
+     *
+     * @return The async pool size, defaulting to 4.
+     */
+    public int getAsyncPoolSize() {
+        return getIntProperty("asyncPoolSize", 4);
+    }
+
+    /**
+     * Sets the number of worker threads used by {@link DatabaseExecutor}.
+     *
+     * @param asyncPoolSize The async pool size to set.
+     */
+    public void setAsyncPoolSize(int asyncPoolSize) {
+        setProperty("asyncPoolSize", String.valueOf(asyncPoolSize));
+    }
+
+    /**
+     * Gets the maximum number of queued asynchronous DAO calls before new calls are rejected.
+     *
+     * @return The async queue capacity, defaulting to 1024.
+     */
+    public int getAsyncQueueCapacity() {
+        return getIntProperty("asyncQueueCapacity", 1024);
+    }
+
+    /**
+     * Sets the maximum number of queued asynchronous DAO calls.
+     *
+     * @param asyncQueueCapacity The async queue capacity to set.
+     */
+    public void setAsyncQueueCapacity(int asyncQueueCapacity) {
+        setProperty("asyncQueueCapacity", String.valueOf(asyncQueueCapacity));
+    }
+
+    /**
+     * Checks whether asynchronous DAO calls should run on virtual threads when the runtime supports them.
+     *
+     * @return True if virtual threads are preferred, defaulting to true.
+     */
+    public boolean isAsyncVirtualThreads() {
+        return getBooleanProperty("asyncVirtualThreads", true);
+    }
+
+    /**
+     * Sets whether asynchronous DAO calls should prefer virtual threads.
+     *
+     * @param asyncVirtualThreads True to prefer virtual threads.
+     */
+    public void setAsyncVirtualThreads(boolean asyncVirtualThreads) {
+        setProperty("asyncVirtualThreads", String.valueOf(asyncVirtualThreads));
+    }
+
+    /**
+     * Gets the interval between write-behind flushes in milliseconds.
+     *
+     * @return The flush interval, defaulting to 5000 ms.
+     */
+    public long getWriteBehindFlushIntervalMillis() {
+        return getLongProperty("writeBehindFlushIntervalMillis", 5000L);
+    }
+
+    /**
+     * Sets the interval between write-behind flushes in milliseconds.
+     *
+     * @param flushIntervalMillis The flush interval to set.
+     */
+    public void setWriteBehindFlushIntervalMillis(long flushIntervalMillis) {
+        setProperty("writeBehindFlushIntervalMillis", String.valueOf(flushIntervalMillis));
+    }
+
+    /**
+     * Gets the maximum number of rows sent to the database in a single write-behind batch.
+     * Reaching this many pending rows also triggers an early flush.
+     *
+     * @return The maximum batch size, defaulting to 500.
+     */
+    public int getWriteBehindMaxBatchSize() {
+        return getIntProperty("writeBehindMaxBatchSize", 500);
+    }
+
+    /**
+     * Sets the maximum number of rows sent to the database in a single write-behind batch.
+     *
+     * @param maxBatchSize The maximum batch size to set.
+     */
+    public void setWriteBehindMaxBatchSize(int maxBatchSize) {
+        setProperty("writeBehindMaxBatchSize", String.valueOf(maxBatchSize));
+    }
+
+    /**
+     * Gets the number of rows fetched per round-trip when streaming large result sets.
+     *
+     * @return The stream fetch size, defaulting to 1000.
+     */
+    public int getStreamFetchSize() {
+        return getIntProperty("streamFetchSize", 1000);
+    }
+
+    /**
+     * Sets the number of rows fetched per round-trip when streaming large result sets.
+     *
+     * @param streamFetchSize The stream fetch size to set.
+     */
+    public void setStreamFetchSize(int streamFetchSize) {
+        setProperty("streamFetchSize", String.valueOf(streamFetchSize));
+    }
+
+    /**
+     * Gets the maximum number of entities kept by each in-process DAO cache.
+     *
+     * @return The cache size limit, defaulting to 10000.
+     */
+    public long getCacheMaximumSize() {
+        return getLongProperty("cacheMaximumSize", 10000L);
+    }
+
+    /**
+     * Sets the maximum number of entities kept by each in-process DAO cache.
+     *
+     * @param cacheMaximumSize The cache size limit to set.
+     */
+    public void setCacheMaximumSize(long cacheMaximumSize) {
+        setProperty("cacheMaximumSize", String.valueOf(cacheMaximumSize));
+    }
+
+    /**
+     * Gets how long a cached entity may go unread before it is evicted, in seconds.
+     *
+     * @return The expire-after-access time, defaulting to 600 seconds.
+     */
+    public long getCacheExpireAfterAccessSeconds() {
+        return getLongProperty("cacheExpireAfterAccessSeconds", 600L);
+    }
+
+    /**
+     * Sets how long a cached entity may go unread before it is evicted, in seconds.
+     *
+     * @param seconds The expire-after-access time to set.
+     */
+    public void setCacheExpireAfterAccessSeconds(long seconds) {
+        setProperty("cacheExpireAfterAccessSeconds", String.valueOf(seconds));
+    }
+
+    /**
+     * Gets how long a lookup for a missing id is remembered as missing, in seconds.
+     *
+     * @return The negative cache time, defaulting to 30 seconds.
+     */
+    public long getCacheNegativeExpireSeconds() {
+        return getLongProperty("cacheNegativeExpireSeconds", 30L);
+    }
+
+    /**
+     * Sets how long a lookup for a missing id is remembered as missing, in seconds.
+     *
+     * @param seconds The negative cache time to set.
+     */
+    public void setCacheNegativeExpireSeconds(long seconds) {
+        setProperty("cacheNegativeExpireSeconds", String.valueOf(seconds));
+    }
+
+    /**
+     * Gets how many of the most recent warnings are cached per recipient by
+     * {@link tk.airshipcraft.commonlib.db.cache.CachingWarningDao}.
+     *
+     * @return The number of cached recent warnings, defaulting to 10.
+     */
+    public int getWarningCacheRecentSize() {
+        return getIntProperty("warningCacheRecentSize", 10);
+    }
+
+    /**
+     * Sets how many of the most recent warnings are cached per recipient.
+     *
+     * @param recentSize The number of cached recent warnings to set.
+     */
+    public void setWarningCacheRecentSize(int recentSize) {
+        setProperty("warningCacheRecentSize", String.valueOf(recentSize));
+    }
+
+    /**
+     * Gets how long the recent warnings of a recipient are cached before they are reloaded, in seconds.
+     * This bounds how long warnings issued by other servers can go unseen.
+     *
+     * @return The expire-after-write time, defaulting to 60 seconds.
+     */
+    public long getWarningCacheExpireSeconds() {
+        return getLongProperty("warningCacheExpireSeconds", 60L);
+    }
+
+    /**
+     * Sets how long the recent warnings of a recipient are cached before they are reloaded, in seconds.
+     *
+     * @param seconds The expire-after-write time to set.
+     */
+    public void setWarningCacheExpireSeconds(long seconds) {
+        setProperty("warningCacheExpireSeconds", String.valueOf(seconds));
+    }
+
+    /**
+     * Gets how long an account-linking token stays valid before it must be reissued, in seconds.
+     *
+     * @return The token lifetime, defaulting to 600 seconds.
+     */
+    public long getAuthTokenExpireSeconds() {
+        return getLongProperty("authTokenExpireSeconds", 600L);
+    }
+
+    /**
+     * Sets how long an account-linking token stays valid before it must be reissued, in seconds.
+     *
+     * @param seconds The token lifetime to set.
+     */
+    public void setAuthTokenExpireSeconds(long seconds) {
+        setProperty("authTokenExpireSeconds", String.valueOf(seconds));
+    }
+
+    /**
+     * Gets the directory holding the write journals of write-behind queues, see {@link WriteJournal}.
+     *
+     * @return The journal directory, or {@code null} if journaling is disabled (the default).
+     */
+    public String getJournalDirectory() {
+        return getProperty("journalDirectory");
+    }
+
+    /**
+     * Sets the directory holding the write journals of write-behind queues.
+     *
+     * @param journalDirectory The journal directory to set.
+     */
+    public void setJournalDirectory(String journalDirectory) {
+        setProperty("journalDirectory", journalDirectory);
+    }
+
+    /**
+     * Gets when queued writes are journaled.
+     *
+     * @return The journal mode, defaulting to {@link WriteJournal.Mode#OUTAGE} if unset or unknown.
+     */
+    public WriteJournal.Mode getJournalMode() {
+        String value = getProperty("journalMode");
+        if (value == null) {
+            return WriteJournal.Mode.OUTAGE;
+        }
+        try {
+            return WriteJournal.Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return WriteJournal.Mode.OUTAGE;
+        }
+    }
+
+    /**
+     * Sets when queued writes are journaled.
+     *
+     * @param mode The journal mode to set.
+     */
+    public void setJournalMode(WriteJournal.Mode mode) {
+        setProperty("journalMode", mode.name());
+    }
+
+    /**
+     * Gets the size a new journal file is mapped with, in bytes. The file grows as needed.
+     *
+     * @return The initial journal size, defaulting to 1 MiB.
+     */
+    public int getJournalInitialSizeBytes() {
+        return getIntProperty("journalInitialSizeBytes", 1 << 20);
+    }
+
+    /**
+     * Sets the size a new journal file is mapped with, in bytes.
+     *
+     * @param bytes The initial journal size to set.
+     */
+    public void setJournalInitialSizeBytes(int bytes) {
+        setProperty("journalInitialSizeBytes", String.valueOf(bytes));
+    }
+
+    /**
+     * Gets the size each of the two segment files of a journal may grow to, in bytes. Writes beyond it are only
+     * kept in memory.
+     *
+     * @return The maximum journal size, defaulting to 64 MiB.
+     */
+    public int getJournalMaxSizeBytes() {
+        return getIntProperty("journalMaxSizeBytes", 64 << 20);
+    }
+
+    /**
+     * Sets the size a journal file may grow to, in bytes.
+     *
+     * @param bytes The maximum journal size to set.
+     */
+    public void setJournalMaxSizeBytes(int bytes) {
+        setProperty("journalMaxSizeBytes", String.valueOf(bytes));
+    }
+
+    /**
+     * Gets the number of threads that may wait for a pooled connection at once. Further requests are rejected
+     * immediately instead of queueing behind them, see {@link ConnectionGuard}.
+     *
+     * @return The maximum number of waiting threads, defaulting to 32.
+     */
+    public int getGuardMaxWaitingThreads() {
+        return getIntProperty("guardMaxWaitingThreads", 32);
+    }
+
+    /**
+     * Sets the number of threads that may wait for a pooled connection at once.
+     *
+     * @param maxWaitingThreads The maximum number of waiting threads to set.
+     */
+    public void setGuardMaxWaitingThreads(int maxWaitingThreads) {
+        setProperty("guardMaxWaitingThreads", String.valueOf(maxWaitingThreads));
+    }
+
+    /**
+     * Gets whether a server thread asking for a connection while none is idle is rejected instead of waiting
+     * for one.
+     *
+     * @return True if server threads never wait for a connection, defaulting to true.
+     */
+    public boolean isGuardServerThreadFailFast() {
+        return getBooleanProperty("guardServerThreadFailFast", true);
+    }
+
+    /**
+     * Sets whether a server thread asking for a connection while none is idle is rejected.
+     *
+     * @param failFast Whether server threads never wait for a connection.
+     */
+    public void setGuardServerThreadFailFast(boolean failFast) {
+        setProperty("guardServerThreadFailFast", String.valueOf(failFast));
+    }
+
+    /**
+     * Gets whether connection checkouts go through a {@link CircuitBreaker}.
+     *
+     * @return True if the circuit breaker is enabled, defaulting to true.
+     */
+    public boolean isCircuitBreakerEnabled() {
+        return getBooleanProperty("circuitBreakerEnabled", true);
+    }
+
+    /**
+     * Sets whether connection checkouts go through a circuit breaker.
+     *
+     * @param enabled Whether to enable the circuit breaker.
+     */
+    public void setCircuitBreakerEnabled(boolean enabled) {
+        setProperty("circuitBreakerEnabled", String.valueOf(enabled));
+    }
+
+    /**
+     * Gets the number of recent connection checkouts the circuit breaker computes its failure rate over.
+     *
+     * @return The window size, defaulting to 20.
+     */
+    public int getCircuitBreakerWindowSize() {
+        return getIntProperty("circuitBreakerWindowSize", 20);
+    }
+
+    /**
+     * Sets the number of recent connection checkouts the circuit breaker computes its failure rate over.
+     *
+     * @param windowSize The window size to set.
+     */
+    public void setCircuitBreakerWindowSize(int windowSize) {
+        setProperty("circuitBreakerWindowSize", String.valueOf(windowSize));
+    }
+
+    /**
+     * Gets the number of checkouts the circuit breaker needs to see before it may open.
+     *
+     * @return The minimum number of calls, defaulting to 10.
+     */
+    public int getCircuitBreakerMinimumCalls() {
+        return getIntProperty("circuitBreakerMinimumCalls", 10);
+    }
+
+    /**
+     * Sets the number of checkouts the circuit breaker needs to see before it may open.
+     *
+     * @param minimumCalls The minimum number of calls to set.
+     */
+    public void setCircuitBreakerMinimumCalls(int minimumCalls) {
+        setProperty("circuitBreakerMinimumCalls", String.valueOf(minimumCalls));
+    }
+
+    /**
+     * Gets the percentage of failed or slow checkouts in the window at which the circuit breaker opens.
+     *
+     * @return The failure rate threshold in percent, defaulting to 50.
+     */
+    public int getCircuitBreakerFailureRatePercent() {
+        return getIntProperty("circuitBreakerFailureRatePercent", 50);
+    }
+
+    /**
+     * Sets the percentage of failed or slow checkouts in the window at which the circuit breaker opens.
+     *
+     * @param percent The failure rate threshold to set.
+     */
+    public void setCircuitBreakerFailureRatePercent(int percent) {
+        setProperty("circuitBreakerFailureRatePercent", String.valueOf(percent));
+    }
+
+    /**
+     * Gets the connection wait above which the circuit breaker counts a checkout as failed, in milliseconds.
+     *
+     * @return The slow-call threshold, defaulting to 1000 milliseconds.
+     */
+    public long getCircuitBreakerSlowCallMillis() {
+        return getLongProperty("circuitBreakerSlowCallMillis", 1000L);
+    }
+
+    /**
+     * Sets the connection wait above which the circuit breaker counts a checkout as failed, in milliseconds.
+     *
+     * @param millis The slow-call threshold to set.
+     */
+    public void setCircuitBreakerSlowCallMillis(long millis) {
+        setProperty("circuitBreakerSlowCallMillis", String.valueOf(millis));
+    }
+
+    /**
+     * Gets the execution time above which the circuit breaker counts a statement as failed, in milliseconds.
+     * Statements are only reported to the circuit breaker if this is positive; otherwise only connection checkouts
+     * are, and the connections are handed out without a reporting wrapper.
+     *
+     * @return The statement slow-call threshold, defaulting to 0, which disables statement reporting.
+     */
+    public long getCircuitBreakerStatementSlowCallMillis() {
+        return getLongProperty("circuitBreakerStatementSlowCallMillis", 0L);
+    }
+
+    /**
+     * Sets the execution time above which the circuit breaker counts a statement as failed, in milliseconds.
+     *
+     * @param millis The statement slow-call threshold to set, or 0 to disable statement reporting.
+     */
+    public void setCircuitBreakerStatementSlowCallMillis(long millis) {
+        setProperty("circuitBreakerStatementSlowCallMillis", String.valueOf(millis));
+    }
+
+    /**
+     * Gets how long an open circuit breaker rejects checkouts before it lets trial checkouts through,
+     * in milliseconds.
+     *
+     * @return The open duration, defaulting to 10000 milliseconds.
+     */
+    public long getCircuitBreakerOpenMillis() {
+        return getLongProperty("circuitBreakerOpenMillis", 10000L);
+    }
+
+    /**
+     * Sets how long an open circuit breaker rejects checkouts, in milliseconds.
+     *
+     * @param millis The open duration to set.
+     */
+    public void setCircuitBreakerOpenMillis(long millis) {
+        setProperty("circuitBreakerOpenMillis", String.valueOf(millis));
+    }
+
+    /**
+     * Gets the number of trial checkouts that must succeed before a half-open circuit breaker closes again.
+     *
+     * @return The number of trial calls, defaulting to 3.
+     */
+    public int getCircuitBreakerHalfOpenCalls() {
+        return getIntProperty("circuitBreakerHalfOpenCalls", 3);
+    }
+
+    /**
+     * Sets the number of trial checkouts that must succeed before a half-open circuit breaker closes again.
+     *
+     * @param calls The number of trial calls to set.
+     */
+    public void setCircuitBreakerHalfOpenCalls(int calls) {
+        setProperty("circuitBreakerHalfOpenCalls", String.valueOf(calls));
+    }
+
+    /**
+     * Gets the JDBC URLs of the read replicas, configured as a comma-separated list.
+     * Reads are only routed to replicas if at least one is configured, see {@link ReplicaRouter}.
+     *
+     * @return The replica JDBC URLs, empty if none are configured (the default).
+     */
+    public List<String> getReplicaJdbcUrls() {
+        String value = getProperty("replicaJdbcUrls");
+        List<String> urls = new ArrayList<>();
+        if (value != null) {
+            for (String url : value.split(",")) {
+                if (!url.isBlank()) {
+                    urls.add(url.trim());
+                }
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * Sets the JDBC URLs of the read replicas.
+     *
+     * @param jdbcUrls The replica JDBC URLs to set.
+     */
+    public void setReplicaJdbcUrls(List<String> jdbcUrls) {
+        setProperty("replicaJdbcUrls", String.join(",", jdbcUrls));
+    }
+
+    /**
+     * Gets the username for the read replicas.
+     *
+     * @return The replica username, defaulting to {@link #getUsername()}.
+     */
+    public String getReplicaUsername() {
+        String username = getProperty("replicaUsername");
+        return username == null ? getUsername() : username;
+    }
+
+    /**
+     * Sets the username for the read replicas.
+     *
+     * @param username The replica username to set.
+     */
+    public void setReplicaUsername(String username) {
+        setProperty("replicaUsername", username);
+    }
+
+    /**
+     * Gets the password for the read replicas.
+     *
+     * @return The replica password, defaulting to {@link #getPassword()}.
+     */
+    public String getReplicaPassword() {
+        String password = getProperty("replicaPassword");
+        return password == null ? getPassword() : password;
+    }
+
+    /**
+     * Sets the password for the read replicas.
+     *
+     * @param password The replica password to set.
+     */
+    public void setReplicaPassword(String password) {
+        setProperty("replicaPassword", password);
+    }
+
+    /**
+     * Gets how reads are spread over the replicas.
+     *
+     * @return The routing strategy, defaulting to {@link ReplicaRouter.Strategy#ROUND_ROBIN} if unset or unknown.
+     */
+    public ReplicaRouter.Strategy getReplicaRouting() {
+        String value = getProperty("replicaRouting");
+        if (value == null) {
+            return ReplicaRouter.Strategy.ROUND_ROBIN;
+        }
+        try {
+            return ReplicaRouter.Strategy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ReplicaRouter.Strategy.ROUND_ROBIN;
+        }
+    }
+
+    /**
+     * Sets how reads are spread over the replicas.
+     *
+     * @param strategy The routing strategy to set.
+     */
+    public void setReplicaRouting(ReplicaRouter.Strategy strategy) {
+        setProperty("replicaRouting", strategy.name());
+    }
+
+    /**
+     * Gets the maximum size of each replica's connection pool.
+     *
+     * @return The replica pool size, defaulting to {@link #getMaxPoolSize()}.
+     */
+    public int getReplicaMaxPoolSize() {
+        return getIntProperty("replicaMaxPoolSize", getMaxPoolSize());
+    }
+
+    /**
+     * Sets the maximum size of each replica's connection pool.
+     *
+     * @param maxPoolSize The replica pool size to set.
+     */
+    public void setReplicaMaxPoolSize(int maxPoolSize) {
+        setProperty("replicaMaxPoolSize", String.valueOf(maxPoolSize));
+    }
+
+    /**
+     * Gets how long a read waits for a replica connection before it falls back to the primary, in milliseconds.
+     *
+     * @return The replica connection timeout, defaulting to 1000 milliseconds.
+     */
+    public long getReplicaConnectionTimeoutMillis() {
+        return getLongProperty("replicaConnectionTimeoutMillis", 1000L);
+    }
+
+    /**
+     * Sets how long a read waits for a replica connection before it falls back to the primary, in milliseconds.
+     *
+     * @param millis The replica connection timeout to set.
+     */
+    public void setReplicaConnectionTimeoutMillis(long millis) {
+        setProperty("replicaConnectionTimeoutMillis", String.valueOf(millis));
+    }
+
+    /**
+     * Gets how long a replica that failed to provide a connection is skipped, in milliseconds.
+     *
+     * @return The replica retry delay, defaulting to 5000 milliseconds.
+     */
+    public long getReplicaRetryMillis() {
+        return getLongProperty("replicaRetryMillis", 5000L);
+    }
+
+    /**
+     * Sets how long a replica that failed to provide a connection is skipped, in milliseconds.
+     *
+     * @param millis The replica retry delay to set.
+     */
+    public void setReplicaRetryMillis(long millis) {
+        setProperty("replicaRetryMillis", String.valueOf(millis));
+    }
+
+    /**
+     * Gets how long reads of a key are sent to the primary after the key was written, so callers read their own
+     * writes despite replication lag, in milliseconds.
+     *
+     * @return The read-your-writes window, defaulting to 2000 milliseconds. 0 disables it.
+     */
+    public long getReadYourWritesMillis() {
+        return getLongProperty("readYourWritesMillis", 2000L);
+    }
+
+    /**
+     * Sets how long reads of a key are sent to the primary after the key was written, in milliseconds.
+     *
+     * @param millis The read-your-writes window to set.
+     */
+    public void setReadYourWritesMillis(long millis) {
+        setProperty("readYourWritesMillis", String.valueOf(millis));
+    }
+
+    /**
+     * Gets the number of threads {@link TableManager} sets up independent table configurations with at startup.
+     * Each thread holds one connection while it runs DDL.
+     *
+     * @return The schema setup thread count, defaulting to 4.
+     */
+    public int getSchemaSetupThreads() {
+        return getIntProperty("schemaSetupThreads", 4);
+    }
+
+    /**
+     * Sets the number of threads {@link TableManager} sets up independent table configurations with.
+     *
+     * @param threads The thread count to set.
+     */
+    public void setSchemaSetupThreads(int threads) {
+        setProperty("schemaSetupThreads", String.valueOf(threads));
+    }
+
+    /**
+     * Gets how long {@link tk.airshipcraft.commonlib.db.session.PlayerSessionManager} waits for a player's data
+     * at pre-login before the login is refused.
+     *
+     * @return The session load timeout in milliseconds, defaulting to 10000.
+     */
+    public long getSessionLoadTimeoutMillis() {
+        return getLongProperty("sessionLoadTimeoutMillis", 10000L);
+    }
+
+    /**
+     * Sets how long a player's data may take to load at pre-login.
+     *
+     * @param millis The timeout in milliseconds.
+     */
+    public void setSessionLoadTimeoutMillis(long millis) {
+        setProperty("sessionLoadTimeoutMillis", String.valueOf(millis));
+    }
+
+    /**
+     * Gets the name of the connection pool, used in thread names and log messages.
+     *
+     * @return The pool name, defaulting to {@code "CommonLib"}.
+     */
+    public String getPoolName() {
+        String poolName = getProperty("poolName");
+        return poolName == null ? "CommonLib" : poolName;
+    }
+
+    /**
+     * Sets the name of the connection pool.
+     *
+     * @param poolName The pool name to set.
+     */
+    public void setPoolName(String poolName) {
+        setProperty("poolName", poolName);
+    }
+
+    /**
+     * Gets the additional JDBC driver properties, configured as {@code dataSource.<name>=<value>}.
+     * They are passed to the driver as-is and override the defaults applied by {@link SqlConnectionManager}.
+     *
+     * @return The driver properties by name, without the {@code dataSource.} prefix.
+     */
+    public Map<String, String> getDataSourceProperties() {
+        Map<String, String> dataSourceProperties = new TreeMap<>();
+        for (String key : this.properties.stringPropertyNames()) {
+            if (key.startsWith(DATA_SOURCE_PREFIX) && key.length() > DATA_SOURCE_PREFIX.length()) {
+                dataSourceProperties.put(key.substring(DATA_SOURCE_PREFIX.length()), this.properties.getProperty(key));
+            }
+        }
+        return dataSourceProperties;
+    }
+
+    /**
+     * Gets the per-caller connection limits, configured as {@code callerLimit.<caller>=<connections>}.
+     * Callers are named with {@link SqlConnectionManager#asCaller(String)}; the name
+     * {@value ConnectionGuard#SERVER_CALLER} applies to server threads outside such a scope.
+     *
+     * @return The maximum number of connections each caller may hold at once, by caller name.
+     */
+    public Map<String, Integer> getCallerConnectionLimits() {
+        Map<String, Integer> limits = new TreeMap<>();
+        for (String key : this.properties.stringPropertyNames()) {
+            if (key.startsWith(CALLER_LIMIT_PREFIX) && key.length() > CALLER_LIMIT_PREFIX.length()) {
+                int limit = getIntProperty(key, -1);
+                if (limit > 0) {
+                    limits.put(key.substring(CALLER_LIMIT_PREFIX.length()), limit);
+                }
+            }
+        }
+        return limits;
+    }
+
+    /**
+     * Sets the maximum number of connections a caller may hold at once.
+     *
+     * @param caller The caller name.
+     * @param limit  The connection limit to set.
+     */
+    public void setCallerConnectionLimit(String caller, int limit) {
+        setProperty(CALLER_LIMIT_PREFIX + caller, String.valueOf(limit));
+    }
+
+    /**
+     * Gets whether connections handed out by {@link SqlConnectionManager} record per-statement latency.
+     *
+     * @return True if statement metrics are enabled, defaulting to false.
+     */
+    public boolean isStatementMetricsEnabled() {
+        return getBooleanProperty("statementMetricsEnabled", false);
+    }
+
+    /**
+     * Sets whether connections handed out by {@link SqlConnectionManager} record per-statement latency.
+     *
+     * @param enabled Whether to enable statement metrics.
+     */
+    public void setStatementMetricsEnabled(boolean enabled) {
+        setProperty("statementMetricsEnabled", String.valueOf(enabled));
+    }
+
+    /**
+     * Gets the execution time above which an instrumented statement is logged, in milliseconds.
+     *
+     * @return The slow-query threshold, defaulting to 50 milliseconds (one server tick). 0 disables the log.
+     */
+    public long getSlowQueryThresholdMillis() {
+        return getLongProperty("slowQueryThresholdMillis", 50L);
+    }
+
+    /**
+     * Sets the execution time above which an instrumented statement is logged, in milliseconds.
+     *
+     * @param slowQueryThresholdMillis The slow-query threshold to set.
+     */
+    public void setSlowQueryThresholdMillis(long slowQueryThresholdMillis) {
+        setProperty("slowQueryThresholdMillis", String.valueOf(slowQueryThresholdMillis));
+    }
+
+    /**
+     * Gets how UUID columns are stored. Must match the column types of the tables, see {@link UuidColumnMigration}.
+     *
+     * @return The UUID codec, defaulting to {@link UuidCodec#TEXT} if unset or unknown.
+     */
+    public UuidCodec getUuidCodec() {
+        String value = getProperty("uuidStorage");
+        if (value == null) {
+            return UuidCodec.TEXT;
+        }
+        try {
+            return UuidCodec.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return UuidCodec.TEXT;
+        }
+    }
+
+    /**
+     * Sets how UUID columns are stored.
+     *
+     * @param codec The UUID codec to use.
+     */
+    public void setUuidCodec(UuidCodec codec) {
+        setProperty("uuidStorage", codec.name());
+    }
+
+    // Example for Redis Configuration
+
+    /**
+     * Gets the Redis server URI from the properties.
+     *
+     * @return The Redis server URI.
+     */
+    public String getRedisUri() {
+        return getProperty("redisUri");
+    }
+
+    /**
+     * Sets the Redis server URI in the properties.
+     *
+     * @param redisUri The Redis server URI to set.
+     */
+    public void setRedisUri(String redisUri) {
+        setProperty("redisUri", redisUri);
+    }
+
+    /**
+     * Gets the Redis server password from the properties.
+     *
+     * @return The Redis server password.
+     */
+    public String getRedisPassword() {
+        return getProperty("redisPassword");
+    }
+
+    /**
+     * Sets the Redis server password in the properties.
+     *
+     * @param redisPassword The Redis server password to set.
+     */
+    public void setRedisPassword(String redisPassword) {
+        setProperty("redisPassword", redisPassword);
+    }
+
+    /**
+     * Gets the prefix prepended to every key written to Redis, so several networks can share one server.
+     *
+     * @return The Redis key prefix, defaulting to {@code "commonlib:"}.
+     */
+    public String getRedisKeyPrefix() {
+        String prefix = getProperty("redisKeyPrefix");
+        return prefix == null ? "commonlib:" : prefix;
+    }
+
+    /**
+     * Sets the prefix prepended to every key written to Redis.
+     *
+     * @param redisKeyPrefix The Redis key prefix to set.
+     */
+    public void setRedisKeyPrefix(String redisKeyPrefix) {
+        setProperty("redisKeyPrefix", redisKeyPrefix);
+    }
+
+    /**
+     * Gets the maximum number of pooled Redis connections.
+     *
+     * @return The Redis pool size, defaulting to 16.
+     */
+    public int getRedisPoolSize() {
+        return getIntProperty("redisPoolSize", 16);
+    }
+
+    /**
+     * Sets the maximum number of pooled Redis connections.
+     *
+     * @param redisPoolSize The Redis pool size to set.
+     */
+    public void setRedisPoolSize(int redisPoolSize) {
+        setProperty("redisPoolSize", String.valueOf(redisPoolSize));
+    }
+
+    /**
+     * Gets how long entities of the given type stay in the Redis cache, in seconds.
+     * A per-entity value set as {@code redisCacheTtlSeconds.<entity>} (e.g. {@code redisCacheTtlSeconds.user})
+     * overrides the global {@code redisCacheTtlSeconds}.
+     *
+     * @param entity The entity name used in the cache keys, e.g. {@code "user"}.
+     * @return The time to live, defaulting to 300 seconds.
+     */
+    public long getRedisCacheTtlSeconds(String entity) {
+        return getLongProperty("redisCacheTtlSeconds." + entity, getLongProperty("redisCacheTtlSeconds", 300L));
+    }
+
+    /**
+     * Sets how long entities of the given type stay in the Redis cache, in seconds.
+     *
+     * @param entity  The entity name used in the cache keys, e.g. {@code "user"}.
+     * @param seconds The time to live to set.
+     */
+    public void setRedisCacheTtlSeconds(String entity, long seconds) {
+        setProperty("redisCacheTtlSeconds." + entity, String.valueOf(seconds));
     }
 }
@@ -0,0 +1,309 @@
+package tk.airshipcraft.commonlib.db;
+
+import io.papermc.paper.threadedregions.scheduler.EntityScheduler;
+import io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler;
+import io.papermc.paper.threadedregions.scheduler.RegionScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * <p>A bounded executor dedicated to blocking database work.</p>
+ *
+ * <p>All JDBC calls issued through {@link AsyncDao} run on this executor so that they never block
+ * the main server thread or a Folia region thread. The pool has a fixed number of workers and a bounded
+ * queue; when the queue is full new work is rejected and the returned future completes exceptionally
+ * instead of running on the caller's thread.</p>
+ *
+ * <p>On Java 21+ runtimes the workers are virtual threads if {@link DatabaseConfig#isAsyncVirtualThreads()}
+ * is enabled. On older runtimes regular daemon platform threads are used.</p>
+ *
+ * <p>The static factory methods {@link #mainThread(Plugin)}, {@link #regionThread(Plugin, Location)} and
+ * {@link #entityThread(Plugin, Entity)} return executors that can be used to complete callbacks back on the
+ * appropriate server thread, on both Paper and Folia.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class DatabaseExecutor implements Executor, AutoCloseable {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+    private static final boolean FOLIA = classExists("io.papermc.paper.threadedregions.RegionizedServer");
+
+    private final ThreadPoolExecutor executor;
+    private final boolean virtualThreads;
+
+    /**
+     * Creates a new DatabaseExecutor using the async settings of the given configuration.
+     *
+     * @param config The database configuration.
+     */
+    public DatabaseExecutor(DatabaseConfig config) {
+        this(config.getAsyncPoolSize(), config.getAsyncQueueCapacity(), config.isAsyncVirtualThreads());
+    }
+
+    /**
+     * Creates a new DatabaseExecutor.
+     *
+     * @param poolSize              The number of worker threads, and therefore the maximum number of concurrent queries.
+     * @param queueCapacity         The maximum number of tasks waiting for a worker.
+     * @param preferVirtualThreads  Whether to use virtual threads when the runtime supports them.
+     */
+    public DatabaseExecutor(int poolSize, int queueCapacity, boolean preferVirtualThreads) {
+        ThreadFactory virtualFactory = preferVirtualThreads ? createVirtualThreadFactory() : null;
+        this.virtualThreads = virtualFactory != null;
+        ThreadFactory factory = virtualFactory != null ? virtualFactory : createPlatformThreadFactory();
+
+        this.executor = new ThreadPoolExecutor(
+                Math.max(1, poolSize), Math.max(1, poolSize),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                factory,
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Checks if the server is running Folia.
+     *
+     * @return True if Folia's regionised scheduler is available.
+     */
+    public static boolean isFolia() {
+        return FOLIA;
+    }
+
+    /**
+     * Returns an executor that runs tasks on the main server thread, or on the global region thread on Folia.
+     * Tasks submitted while already on the main thread run immediately.
+     *
+     * @param plugin The plugin owning the scheduled tasks.
+     * @return An executor bound to the main (or global region) thread.
+     */
+    public static Executor mainThread(Plugin plugin) {
+        if (FOLIA) {
+            GlobalRegionScheduler scheduler = (GlobalRegionScheduler) invokeServer("getGlobalRegionScheduler");
+            return task -> scheduler.execute(plugin, task);
+        }
+        return task -> {
+            if (Bukkit.isPrimaryThread()) {
+                task.run();
+            } else {
+                Bukkit.getScheduler().runTask(plugin, task);
+            }
+        };
+    }
+
+    /**
+     * Returns an executor that runs tasks on the region thread owning the given location.
+     * On non-Folia servers this is the main server thread.
+     *
+     * @param plugin   The plugin owning the scheduled tasks.
+     * @param location The location whose region should run the tasks.
+     * @return An executor bound to the location's region.
+     */
+    public static Executor regionThread(Plugin plugin, Location location) {
+        if (FOLIA) {
+            RegionScheduler scheduler = (RegionScheduler) invokeServer("getRegionScheduler");
+            return task -> scheduler.execute(plugin, location, task);
+        }
+        return mainThread(plugin);
+    }
+
+    /**
+     * Returns an executor that runs tasks on the thread currently owning the given entity.
+     * On non-Folia servers this is the main server thread. Tasks submitted after the entity was removed are
+     * rejected with a {@link RejectedExecutionException}; tasks still pending when it is removed run on the
+     * entity's retired callback instead of being dropped, so futures completed through this executor always complete.
+     *
+     * @param plugin The plugin owning the scheduled tasks.
+     * @param entity The entity whose owning thread should run the tasks.
+     * @return An executor bound to the entity's scheduler.
+     */
+    public static Executor entityThread(Plugin plugin, Entity entity) {
+        if (FOLIA) {
+            return task -> {
+                EntityScheduler scheduler = (EntityScheduler) invoke(entity, "getScheduler");
+                if (scheduler.run(plugin, scheduled -> task.run(), task) == null) {
+                    throw new RejectedExecutionException("Entity " + entity.getUniqueId() + " has been removed");
+                }
+            };
+        }
+        return mainThread(plugin);
+    }
+
+    /**
+     * Runs a task on the database executor and returns a future for its result.
+     * If the executor is saturated the returned future completes exceptionally with a
+     * {@link RejectedExecutionException}.
+     *
+     * @param task The task to run.
+     * @param <R>  The result type.
+     * @return A future completed with the task's result.
+     */
+    public <R> CompletableFuture<R> supply(Supplier<R> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Runs a task on the database executor.
+     *
+     * @param task The task to run.
+     * @return A future completed once the task has run.
+     */
+    public CompletableFuture<Void> run(Runnable task) {
+        try {
+            return CompletableFuture.runAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Executes a task on the database executor.
+     *
+     * @param command The task to execute.
+     * @throws RejectedExecutionException If the queue is full or the executor has been shut down.
+     */
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    /**
+     * Checks whether the workers of this executor are virtual threads.
+     *
+     * @return True if virtual threads are in use.
+     */
+    public boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Returns the number of tasks currently waiting for a worker.
+     *
+     * @return The current queue depth.
+     */
+    public int getQueuedTaskCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Returns the number of workers currently running a task.
+     *
+     * @return The active worker count.
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Stops accepting new work and waits for queued tasks to finish.
+     * Tasks still running after the shutdown timeout are interrupted.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates a virtual thread factory through reflection, so the library still runs on Java 17.
+     *
+     * @return A virtual thread factory, or null if the runtime does not support virtual threads.
+     */
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "CommonLib-DB-", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a factory for named daemon platform threads.
+     *
+     * @return The thread factory.
+     */
+    private static ThreadFactory createPlatformThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+        return runnable -> {
+            Thread thread = defaultFactory.newThread(runnable);
+            thread.setName("CommonLib-DB-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Invokes a no-argument method on the server. Folia's scheduler accessors are looked up reflectively
+     * because the Paper API on the compile classpath predates them.
+     *
+     * @param methodName The name of the server method.
+     * @return The method's return value.
+     */
+    private static Object invokeServer(String methodName) {
+        Server server = Bukkit.getServer();
+        return invoke(server, methodName);
+    }
+
+    /**
+     * Invokes a public no-argument method on the given target.
+     *
+     * @param target     The object to invoke the method on.
+     * @param methodName The name of the method.
+     * @return The method's return value.
+     */
+    private static Object invoke(Object target, String methodName) {
+        try {
+            Method method = target.getClass().getMethod(methodName);
+            return method.invoke(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to call " + methodName + " on " + target.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Checks if a class is present on the classpath.
+     *
+     * @param className The fully qualified class name.
+     * @return True if the class can be loaded.
+     */
+    private static boolean classExists(String className) {
+        try {
+            Class.forName(className);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
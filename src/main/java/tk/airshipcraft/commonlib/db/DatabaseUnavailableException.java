@@ -0,0 +1,30 @@
+package tk.airshipcraft.commonlib.db;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Thrown by {@link SqlConnectionManager#getConnection()} when the {@link ConnectionGuard} refuses a connection
+ * instead of letting the caller wait for one, e.g. because the circuit breaker is open or too many threads are
+ * already waiting. DAOs handle it like any other {@link java.sql.SQLException}, so the feature degrades instead
+ * of blocking the calling thread.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class DatabaseUnavailableException extends SQLTransientConnectionException {
+
+    /**
+     * SQLSTATE class 08 ("connection exception"), so callers that inspect the state treat it as a lost connection.
+     */
+    private static final String SQL_STATE = "08000";
+
+    /**
+     * Creates a new DatabaseUnavailableException.
+     *
+     * @param message The reason the connection was refused.
+     */
+    public DatabaseUnavailableException(String message) {
+        super(message, SQL_STATE);
+    }
+}
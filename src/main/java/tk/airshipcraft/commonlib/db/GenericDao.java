@@ -1,11 +1,18 @@
 package tk.airshipcraft.commonlib.db;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The GenericDao interface defines the standard CRUD operations to be performed on a model object.
  * This interface is generic and can be implemented for any type of model object.
+ * Implementations report failures by throwing an unchecked exception, the SQL implementations a
+ * {@link DataAccessException}, never by returning an empty result, so callers and caches can tell a missing
+ * entity from an unreachable database.
  *
  * @param <T>  the type of the model object
  * @param <ID> the type of the model object's identifier
@@ -27,6 +34,47 @@ public interface GenericDao<T, ID> {
      */
     List<T> findAll();
 
+    /**
+     * <p>Streams all entities of type T without loading them all into memory at once.</p>
+     *
+     * <p>The returned stream may hold a database connection until it is closed, so always consume it in a
+     * try-with-resources block. The default implementation streams the result of {@link #findAll()};
+     * SQL implementations override it with a forward-only cursor.</p>
+     *
+     * @return a stream of all entities of type T.
+     */
+    default Stream<T> streamAll() {
+        return findAll().stream();
+    }
+
+    /**
+     * <p>Retrieves the next page of entities in identifier order, using keyset pagination.
+     * Pass {@code null} to fetch the first page, then the identifier of the last entity of each page
+     * to fetch the following one. Unlike offset pagination, every page costs the same, so whole tables
+     * can be walked with constant memory.</p>
+     *
+     * <p>The default implementation is built on {@link #findById(Object)} and {@link #streamAll()}: it loads the
+     * entity of {@code afterId} and returns the entities that follow an equal one in the stream. It reads the
+     * stream up to the page for every call, pages in the order of {@link #streamAll()} rather than by identifier,
+     * which must be the same on every call, and ends the walk if the entity of {@code afterId} was deleted or
+     * changed in between. The SQL implementations override it with a keyed query.</p>
+     *
+     * @param afterId the identifier after which the page starts, or {@code null} for the first page.
+     * @param limit   the maximum number of entities to return.
+     * @return the entities of the page, ordered by identifier, or in stream order for the default implementation;
+     * empty once the end has been reached.
+     */
+    default List<T> findPage(ID afterId, int limit) {
+        Optional<T> after = afterId == null ? Optional.empty() : findById(afterId);
+        if (afterId != null && after.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try (Stream<T> all = streamAll()) {
+            Stream<T> remaining = after.isEmpty() ? all : all.dropWhile(entity -> !after.get().equals(entity)).skip(1);
+            return remaining.limit(Math.max(0, limit)).collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
     /**
      * Creates and saves a new entity.
      *
@@ -49,4 +97,66 @@ public interface GenericDao<T, ID> {
      * @param id the identifier of the entity to delete.
      */
     void deleteById(ID id);
+
+    /**
+     * Creates and saves several new entities.
+     * The default implementation calls {@link #create(Object)} for each entity; SQL implementations
+     * override it to use multi-row statements.
+     *
+     * @param entities the entities to be saved.
+     * @return the saved entities.
+     */
+    default List<T> createAll(Collection<T> entities) {
+        List<T> created = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            created.add(create(entity));
+        }
+        return created;
+    }
+
+    /**
+     * Updates several existing entities.
+     * The default implementation calls {@link #update(Object)} for each entity; SQL implementations
+     * override it to use batched statements.
+     *
+     * @param entities the entities to update.
+     * @return the updated entities.
+     */
+    default List<T> updateAll(Collection<T> entities) {
+        List<T> updated = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            updated.add(update(entity));
+        }
+        return updated;
+    }
+
+    /**
+     * Retrieves all entities with the given identifiers. Identifiers without a matching entity are
+     * skipped, and the order of the returned list is not guaranteed to match the order of the identifiers.
+     * The default implementation calls {@link #findById(Object)} for each identifier; SQL implementations
+     * override it to use chunked {@code IN (...)} queries.
+     *
+     * @param ids the identifiers of the entities to retrieve.
+     * @return a list of the entities found.
+     */
+    default List<T> findAllById(Collection<ID> ids) {
+        List<T> found = new ArrayList<>(ids.size());
+        for (ID id : ids) {
+            findById(id).ifPresent(found::add);
+        }
+        return found;
+    }
+
+    /**
+     * Deletes all entities with the given identifiers.
+     * The default implementation calls {@link #deleteById(Object)} for each identifier; SQL implementations
+     * override it to use chunked {@code IN (...)} statements.
+     *
+     * @param ids the identifiers of the entities to delete.
+     */
+    default void deleteAllById(Collection<ID> ids) {
+        for (ID id : ids) {
+            deleteById(id);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package tk.airshipcraft.commonlib.db;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -57,4 +58,26 @@ public interface ITableConfiguration {
      * @return the latest schema version number.
      */
     int getLatestVersion();
+
+    /**
+     * Returns the identifier under which {@link TableManager} records the applied version and checksum of this
+     * configuration in its schema ledger. It must stay the same across releases, or the tables are set up as
+     * if for the first time.
+     *
+     * @return the configuration identifier, the class name by default.
+     */
+    default String getConfigurationId() {
+        return getClass().getName();
+    }
+
+    /**
+     * Returns the identifiers of the configurations that must be set up before this one, e.g. because its
+     * tables reference theirs with foreign keys. Configurations without dependencies between them are set up
+     * in parallel.
+     *
+     * @return the {@link #getConfigurationId() identifiers} of the required configurations, none by default.
+     */
+    default Collection<String> getDependencies() {
+        return List.of();
+    }
 }
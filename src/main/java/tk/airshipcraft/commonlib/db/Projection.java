@@ -0,0 +1,105 @@
+package tk.airshipcraft.commonlib.db;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * <p>A fixed list of columns and the mapper that turns them into a result object.</p>
+ *
+ * <p>Projections let callers read only what they need instead of whole models, e.g. a username for a tab list or a
+ * single counter for a scoreboard line, which saves both bytes on the wire and allocations per row. The DAO
+ * implementations accept a projection in their finders and only select its columns:</p>
+ * <pre>{@code
+ * SqlUserDao users = new SqlUserDao(connectionManager);
+ * List<UserStatView> kills = users.findTop(UserStat.TOTAL_KILLS, 10, users.statProjection(UserStat.TOTAL_KILLS));
+ * Optional<String> name = users.findById(id, Projection.stringColumn("username"));
+ * }</pre>
+ *
+ * <p>A projection is itself a {@link RowMapper}, so it can also be passed to
+ * {@link SqlUtils#streamQuery(SqlConnectionManager, String, RowMapper, Object...)}.</p>
+ *
+ * @param <R> the type of the mapped rows
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public final class Projection<R> implements RowMapper<R> {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z0-9_]+");
+
+    private final List<String> columns;
+    private final String selectList;
+    private final RowMapper<R> mapper;
+
+    private Projection(List<String> columns, RowMapper<R> mapper) {
+        this.columns = columns;
+        this.selectList = String.join(", ", columns);
+        this.mapper = mapper;
+    }
+
+    /**
+     * Creates a projection of the given columns.
+     *
+     * @param mapper  Maps a row containing only the given columns.
+     * @param columns The column names to select.
+     * @param <R>     The type of the mapped rows.
+     * @return The projection.
+     * @throws IllegalArgumentException If no columns are given or a name is not a plain identifier.
+     */
+    public static <R> Projection<R> of(RowMapper<R> mapper, String... columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("A projection needs at least one column");
+        }
+        for (String column : columns) {
+            if (column == null || !IDENTIFIER.matcher(column).matches()) {
+                throw new IllegalArgumentException("Invalid column name: " + column);
+            }
+        }
+        return new Projection<>(List.of(columns), mapper);
+    }
+
+    /**
+     * Creates a projection of a single text column.
+     *
+     * @param column The column name.
+     * @return The projection.
+     */
+    public static Projection<String> stringColumn(String column) {
+        return of(rs -> rs.getString(1), column);
+    }
+
+    /**
+     * Creates a projection of a single numeric column. NULL is read as 0.
+     *
+     * @param column The column name.
+     * @return The projection.
+     */
+    public static Projection<Long> longColumn(String column) {
+        return of(rs -> rs.getLong(1), column);
+    }
+
+    /**
+     * Returns the selected column names, in order.
+     *
+     * @return An unmodifiable list of column names.
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the columns as a comma separated list for the SELECT clause.
+     *
+     * @return The select list, e.g. {@code "id, username"}.
+     */
+    public String getSelectList() {
+        return selectList;
+    }
+
+    @Override
+    public R mapRow(ResultSet rs) throws SQLException {
+        return mapper.mapRow(rs);
+    }
+}
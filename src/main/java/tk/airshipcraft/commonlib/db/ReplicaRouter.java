@@ -0,0 +1,336 @@
+package tk.airshipcraft.commonlib.db;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Routes reads to read-replica connection pools and falls back to the primary when no replica can serve them.</p>
+ *
+ * <p>{@link SqlConnectionManager#getReadConnection(Object)} asks the router for a connection. Reads go to a
+ * replica picked by the configured {@link Strategy}, unless:</p>
+ * <ul>
+ *   <li>the key was written within the read-your-writes window, see {@link #markWritten(Object)}. A player's
+ *   reads right after their own writes then see those writes, even if the replicas lag behind;</li>
+ *   <li>the read covers several keys and any of them was written within the window, see
+ *   {@link SqlConnectionManager#getBatchReadConnection(Collection)};</li>
+ *   <li>the read is not tied to a key, such as a scan, and any key was written within the window. Such a read
+ *   may return any row, so it cannot tell which writes it has to see;</li>
+ *   <li>every replica is skipped because it recently failed to provide a connection, see
+ *   {@link DatabaseConfig#getReplicaRetryMillis()};</li>
+ *   <li>the caller is a server thread and the chosen replica has no idle connection, so the server thread never
+ *   waits for a replica.</li>
+ * </ul>
+ * <p>In all of these cases, and when checking out a replica connection fails, the read is served by the primary.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class ReplicaRouter implements AutoCloseable {
+
+    /**
+     * How reads are spread over the replicas.
+     */
+    public enum Strategy {
+        /**
+         * Each read goes to the next replica in turn.
+         */
+        ROUND_ROBIN,
+        /**
+         * Each read goes to the replica with the fewest active and waiting connections.
+         */
+        LEAST_LOADED
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(ReplicaRouter.class.getName());
+
+    private final List<Replica> replicas;
+    private final Strategy strategy;
+    private final long retryNanos;
+    private final long readYourWritesNanos;
+    private final Cache<Object, Boolean> recentWrites;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong replicaReadCount = new AtomicLong();
+    private final AtomicLong primaryReadCount = new AtomicLong();
+    private final AtomicLong fallbackCount = new AtomicLong();
+    private volatile long lastWriteNanos;
+    private volatile boolean written;
+
+    /**
+     * Creates a router over the given replica pools.
+     *
+     * @param replicas             The replica connection pools, closed together with the router.
+     * @param strategy             How reads are spread over the replicas.
+     * @param retryMillis          How long a failed replica is skipped, in milliseconds.
+     * @param readYourWritesMillis How long reads of a written key go to the primary, in milliseconds, or 0 to disable.
+     * @param maximumKeys          The maximum number of recently written keys remembered.
+     */
+    public ReplicaRouter(List<HikariDataSource> replicas, Strategy strategy, long retryMillis,
+                         long readYourWritesMillis, long maximumKeys) {
+        this.replicas = new ArrayList<>(replicas.size());
+        for (HikariDataSource dataSource : replicas) {
+            this.replicas.add(new Replica(dataSource));
+        }
+        this.strategy = strategy;
+        this.retryNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, retryMillis));
+        this.readYourWritesNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, readYourWritesMillis));
+        this.recentWrites = readYourWritesMillis > 0 && !replicas.isEmpty()
+                ? CacheBuilder.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterWrite(Duration.ofMillis(readYourWritesMillis))
+                .build()
+                : null;
+    }
+
+    /**
+     * Records that a key was written, so its reads go to the primary for the read-your-writes window.
+     *
+     * @param key The written key, typically the player's UUID.
+     */
+    public void markWritten(Object key) {
+        if (recentWrites != null && key != null) {
+            recentWrites.put(key, Boolean.TRUE);
+            lastWriteNanos = System.nanoTime();
+            written = true;
+        }
+    }
+
+    /**
+     * Checks whether reads of a key currently go to the primary because it was written recently.
+     *
+     * @param key The key, or null for a read that is not tied to a key.
+     * @return True if the key is inside its read-your-writes window, or for a null key, if any key is.
+     */
+    public boolean isPinned(Object key) {
+        if (recentWrites == null) {
+            return false;
+        }
+        if (key == null) {
+            return written && System.nanoTime() - lastWriteNanos < readYourWritesNanos;
+        }
+        return recentWrites.getIfPresent(key) != null;
+    }
+
+    /**
+     * Checks whether a read of several keys currently goes to the primary because any of them was written
+     * recently.
+     *
+     * @param keys The keys; null elements are ignored.
+     * @return True if any of the keys is inside its read-your-writes window.
+     */
+    public boolean isAnyPinned(Collection<?> keys) {
+        if (recentWrites == null) {
+            return false;
+        }
+        for (Object key : keys) {
+            if (key != null && recentWrites.getIfPresent(key) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks out a connection for a read.
+     *
+     * @param key     The key being read, or null if the read is not tied to a key.
+     * @param primary Checks out a primary connection.
+     * @return A replica connection, or a primary connection if no replica can serve the read.
+     * @throws SQLException If the fallback to the primary failed.
+     */
+    Connection acquire(Object key, ConnectionGuard.ConnectionSource primary) throws SQLException {
+        return acquire(isPinned(key), primary);
+    }
+
+    /**
+     * Checks out a connection for a read of several keys.
+     *
+     * @param keys    The keys being read.
+     * @param primary Checks out a primary connection.
+     * @return A replica connection, or a primary connection if any key is pinned or no replica can serve the read.
+     * @throws SQLException If the fallback to the primary failed.
+     */
+    Connection acquire(Collection<?> keys, ConnectionGuard.ConnectionSource primary) throws SQLException {
+        return acquire(isAnyPinned(keys), primary);
+    }
+
+    /**
+     * Checks out a connection for a read.
+     *
+     * @param pinned  Whether the read must go to the primary.
+     * @param primary Checks out a primary connection.
+     * @return A replica connection, or a primary connection if the read is pinned or no replica can serve it.
+     * @throws SQLException If the fallback to the primary failed.
+     */
+    private Connection acquire(boolean pinned, ConnectionGuard.ConnectionSource primary) throws SQLException {
+        if (replicas.isEmpty() || pinned) {
+            primaryReadCount.incrementAndGet();
+            return primary.get();
+        }
+        Replica replica = choose(ConnectionGuard.isServerThread());
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaReadCount.incrementAndGet();
+                return connection;
+            } catch (SQLException e) {
+                replica.markDown(retryNanos);
+                LOGGER.log(Level.WARNING, "Read replica " + replica.dataSource.getPoolName()
+                        + " failed, reading from the primary for " + TimeUnit.NANOSECONDS.toMillis(retryNanos) + " ms", e);
+            }
+        }
+        fallbackCount.incrementAndGet();
+        primaryReadCount.incrementAndGet();
+        return primary.get();
+    }
+
+    /**
+     * Returns the number of configured replicas.
+     *
+     * @return The replica count.
+     */
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    /**
+     * Returns the number of replicas that are not being skipped after a failure.
+     *
+     * @return The available replica count.
+     */
+    public int getAvailableReplicaCount() {
+        long now = System.nanoTime();
+        int available = 0;
+        for (Replica replica : replicas) {
+            if (replica.isUp(now)) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Returns the number of reads served by a replica.
+     *
+     * @return The replica read count.
+     */
+    public long getReplicaReadCount() {
+        return replicaReadCount.get();
+    }
+
+    /**
+     * Returns the number of reads served by the primary, including pinned reads and fallbacks.
+     *
+     * @return The primary read count.
+     */
+    public long getPrimaryReadCount() {
+        return primaryReadCount.get();
+    }
+
+    /**
+     * Returns the number of reads that fell back to the primary because no replica could serve them.
+     *
+     * @return The fallback count.
+     */
+    public long getFallbackCount() {
+        return fallbackCount.get();
+    }
+
+    /**
+     * Closes the replica connection pools.
+     */
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (!replica.dataSource.isClosed()) {
+                replica.dataSource.close();
+            }
+        }
+    }
+
+    /**
+     * Picks the replica for the next read.
+     *
+     * @param serverThread Whether the read runs on a server thread, which must find an idle connection.
+     * @return The replica, or null if none can serve the read.
+     */
+    private Replica choose(boolean serverThread) {
+        long now = System.nanoTime();
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        Replica chosen = null;
+        int chosenLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.isUp(now)) {
+                continue;
+            }
+            HikariPoolMXBean pool = replica.dataSource.getHikariPoolMXBean();
+            if (serverThread && pool != null && pool.getIdleConnections() == 0) {
+                continue;
+            }
+            if (strategy == Strategy.ROUND_ROBIN) {
+                return replica;
+            }
+            int load = pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+            if (load < chosenLoad) {
+                chosen = replica;
+                chosenLoad = load;
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * A replica connection pool and whether it is being skipped.
+     */
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile long downUntil;
+        private volatile boolean down;
+
+        /**
+         * Creates a replica.
+         *
+         * @param dataSource The replica's connection pool.
+         */
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        /**
+         * Checks whether the replica may serve reads.
+         *
+         * @param now The current {@link System#nanoTime()}.
+         * @return False while the replica is skipped after a failure.
+         */
+        private boolean isUp(long now) {
+            return !down || now - downUntil >= 0;
+        }
+
+        /**
+         * Skips the replica for the given time.
+         *
+         * @param retryNanos How long to skip the replica.
+         */
+        private void markDown(long retryNanos) {
+            downUntil = System.nanoTime() + retryNanos;
+            down = true;
+        }
+    }
+}
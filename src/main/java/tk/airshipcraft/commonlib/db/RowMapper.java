@@ -0,0 +1,26 @@
+package tk.airshipcraft.commonlib.db;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a {@link ResultSet} to an object.
+ * Implementations must not advance the cursor.
+ *
+ * @param <T> the type of the mapped object
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Maps the current row of the result set.
+     *
+     * @param rs The result set, positioned on the row to map.
+     * @return The mapped object.
+     * @throws SQLException If a column cannot be read.
+     */
+    T mapRow(ResultSet rs) throws SQLException;
+}
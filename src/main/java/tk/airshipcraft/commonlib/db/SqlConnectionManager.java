@@ -2,23 +2,38 @@ package tk.airshipcraft.commonlib.db;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import tk.airshipcraft.commonlib.db.metrics.PoolMetrics;
+import tk.airshipcraft.commonlib.db.metrics.StatementMetrics;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Manages SQL database connections using HikariCP for connection pooling.
  * This manager is responsible for creating and configuring a pool of database
  * connections that can be reused for database operations, improving performance
  * by reducing the overhead of establishing connections for each operation.
+ * If read replicas are configured, reads taken with {@link #getReadConnection(Object)} are spread over them.
  *
  * @author notzune
  * @version 1.0.0
  * @since 2023-12-27
  */
-public class SqlConnectionManager {
+public class SqlConnectionManager implements AutoCloseable {
 
+    private final DatabaseConfig config;
+    private final PoolMetrics poolMetrics = new PoolMetrics();
+    private final StatementMetrics statementMetrics;
+    private final UuidCodec uuidCodec;
+    private final SqlDialect dialect;
+    private final ThreadLocal<TransactionContext> currentTransaction = new ThreadLocal<>();
+    private final ConnectionGuard guard;
+    private final ReplicaRouter replicaRouter;
     private HikariDataSource dataSource;
 
     /**
@@ -29,30 +44,376 @@ public class SqlConnectionManager {
      * @param config The database configuration object containing properties for setting up the connection pool.
      */
     public SqlConnectionManager(DatabaseConfig config) {
+        this.config = config;
+        this.statementMetrics = config.isStatementMetricsEnabled() ? new StatementMetrics(config) : null;
+        this.uuidCodec = config.getUuidCodec();
+        this.dialect = config.getDialect();
+
         // Initialize HikariCP configuration with database properties
+        HikariConfig hikariConfig = createHikariConfig(config, config.getJdbcUrl(), config.getUsername(),
+                config.getPassword(), config.getPoolName(), config.getMaxPoolSize());
+        hikariConfig.setConnectionTimeout(config.getConnectionTimeoutMillis());
+        hikariConfig.setMetricsTrackerFactory(this.poolMetrics);
+
+        // Initialize the data source with the HikariCP configuration
+        this.dataSource = new HikariDataSource(hikariConfig);
+
+        // Fail fast instead of letting callers pile up on the pool while the database is slow or down
+        this.guard = new ConnectionGuard(() -> this.dataSource.getHikariPoolMXBean(), config);
+
+        // Read replicas never block startup; a replica that cannot be reached is skipped until it recovers
+        List<HikariDataSource> replicas = new ArrayList<>();
+        List<String> replicaUrls = config.getReplicaJdbcUrls();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariConfig replicaConfig = createHikariConfig(config, replicaUrls.get(i), config.getReplicaUsername(),
+                    config.getReplicaPassword(), config.getPoolName() + "-replica-" + i, config.getReplicaMaxPoolSize());
+            replicaConfig.setConnectionTimeout(config.getReplicaConnectionTimeoutMillis());
+            replicaConfig.setReadOnly(true);
+            replicaConfig.setInitializationFailTimeout(-1L);
+            replicas.add(new HikariDataSource(replicaConfig));
+        }
+        this.replicaRouter = new ReplicaRouter(replicas, config.getReplicaRouting(), config.getReplicaRetryMillis(),
+                config.getReadYourWritesMillis(), config.getCacheMaximumSize());
+    }
+
+    /**
+     * Creates the pool configuration shared by the primary and the replicas.
+     *
+     * @param config      The database configuration.
+     * @param jdbcUrl     The JDBC URL of the database.
+     * @param username    The database username.
+     * @param password    The database password.
+     * @param poolName    The name of the pool.
+     * @param maxPoolSize The maximum number of connections.
+     * @return The HikariCP configuration.
+     */
+    private static HikariConfig createHikariConfig(DatabaseConfig config, String jdbcUrl, String username,
+                                                   String password, String poolName, int maxPoolSize) {
         HikariConfig hikariConfig = new HikariConfig();
 
         // Set the JDBC URL, username, and password from the config
-        hikariConfig.setJdbcUrl(config.getJdbcUrl());
-        hikariConfig.setUsername(config.getUsername());
-        hikariConfig.setPassword(config.getPassword());
+        hikariConfig.setJdbcUrl(jdbcUrl);
+        hikariConfig.setUsername(username);
+        hikariConfig.setPassword(password);
 
-        // Optionally set additional HikariCP settings if necessary
-        // Example: hikariConfig.setMaximumPoolSize(config.getMaxPoolSize());
+        // Pool sizing and timeouts
+        hikariConfig.setPoolName(poolName);
+        hikariConfig.setMaximumPoolSize(maxPoolSize);
+        if (config.getMinimumIdle() >= 0) {
+            hikariConfig.setMinimumIdle(Math.min(config.getMinimumIdle(), maxPoolSize));
+        }
+        hikariConfig.setIdleTimeout(config.getIdleTimeoutMillis());
+        hikariConfig.setMaxLifetime(config.getMaxLifetimeMillis());
+        hikariConfig.setKeepaliveTime(config.getKeepaliveTimeMillis());
+        hikariConfig.setLeakDetectionThreshold(config.getLeakDetectionThresholdMillis());
 
-        // Initialize the data source with the HikariCP configuration
-        this.dataSource = new HikariDataSource(hikariConfig);
+        // Driver tuning differs per database, e.g. the MySQL statement caches and cursor fetching
+        config.getDialect().configureDataSource(hikariConfig, config);
+
+        // Anything configured as dataSource.<name> is passed to the driver last and wins
+        config.getDataSourceProperties().forEach(hikariConfig::addDataSourceProperty);
+        return hikariConfig;
     }
 
     /**
      * Retrieves a database connection from the connection pool.
      * The connection is ready to be used for executing SQL statements.
+     * If statement metrics are enabled, the connection records the latency of every statement it runs.
+     * Inside {@link #inTransaction(TransactionCallback)} this returns the connection bound to the transaction.
+     * The checkout goes through the {@link ConnectionGuard}, which may refuse it rather than let the thread wait.
      *
      * @return A {@link Connection} object representing the database connection.
      * @throws SQLException If a database access error occurs or the data source has been closed.
+     * @throws DatabaseUnavailableException If the connection guard refused the checkout.
      */
     public Connection getConnection() throws SQLException {
-        return this.dataSource.getConnection();
+        TransactionContext transaction = currentTransaction.get();
+        if (transaction != null) {
+            return transaction.getConnection();
+        }
+        return acquireConnection();
+    }
+
+    /**
+     * Retrieves a connection for a read that is not tied to a single key, such as a scan or a leaderboard query.
+     * The connection comes from a read replica if any are configured, see {@link ReplicaRouter}, and from the
+     * primary otherwise, or while any key written through {@link #markWritten(Object)} is inside its
+     * read-your-writes window. Inside {@link #inTransaction(TransactionCallback)} this returns the connection bound
+     * to the transaction. Do not write through the returned connection.
+     *
+     * @return A connection to a replica or to the primary.
+     * @throws SQLException If no connection could be acquired.
+     */
+    public Connection getReadConnection() throws SQLException {
+        return getReadConnection(null);
+    }
+
+    /**
+     * Retrieves a connection for reading the given key, typically a player's UUID. Reads of a key written
+     * through {@link #markWritten(Object)} within the read-your-writes window go to the primary, so they see
+     * the write; other reads go to a read replica if any are configured.
+     *
+     * @param key The key being read, or null.
+     * @return A connection to a replica or to the primary.
+     * @throws SQLException If no connection could be acquired.
+     */
+    public Connection getReadConnection(Object key) throws SQLException {
+        TransactionContext transaction = currentTransaction.get();
+        if (transaction != null) {
+            return transaction.getConnection();
+        }
+        Connection connection = replicaRouter.acquire(key, () -> guard.acquire(this.dataSource::getConnection));
+        return statementMetrics == null ? connection : statementMetrics.wrap(connection);
+    }
+
+    /**
+     * Retrieves a connection for reading several keys at once, such as a {@code WHERE id IN (...)} batch. The
+     * read goes to the primary if any of the keys was written through {@link #markWritten(Object)} within the
+     * read-your-writes window, and to a read replica otherwise.
+     *
+     * @param keys The keys being read.
+     * @return A connection to a replica or to the primary.
+     * @throws SQLException If no connection could be acquired.
+     */
+    public Connection getBatchReadConnection(Collection<?> keys) throws SQLException {
+        TransactionContext transaction = currentTransaction.get();
+        if (transaction != null) {
+            return transaction.getConnection();
+        }
+        Connection connection = replicaRouter.acquire(keys, () -> guard.acquire(this.dataSource::getConnection));
+        return statementMetrics == null ? connection : statementMetrics.wrap(connection);
+    }
+
+    /**
+     * Records that a key was written, so that its reads are sent to the primary for the read-your-writes window,
+     * see {@link DatabaseConfig#getReadYourWritesMillis()}. Does nothing if no replicas are configured. Inside
+     * {@link #inTransaction(TransactionCallback)} the key is recorded once the transaction commits, so the window
+     * starts when the write becomes visible.
+     *
+     * @param key The written key, typically a player's UUID.
+     */
+    public void markWritten(Object key) {
+        TransactionContext transaction = currentTransaction.get();
+        if (transaction != null) {
+            transaction.afterCommit(() -> replicaRouter.markWritten(key));
+        } else {
+            replicaRouter.markWritten(key);
+        }
+    }
+
+    /**
+     * <p>Runs a unit of work in a transaction that all DAO calls made on this thread share.</p>
+     *
+     * <p>For the duration of {@code work}, {@link #getConnection()} returns the same connection on this thread,
+     * so any number of DAO calls cost one pool checkout and one commit. The transaction is committed when
+     * {@code work} returns and rolled back if it throws, or if any statement inside it failed, even when the
+     * DAO that ran the statement swallowed the exception. Calling this method again inside {@code work} opens
+     * a nested scope backed by a savepoint: if the nested scope fails only its changes are rolled back, and
+     * the caller may catch the exception and continue with the outer transaction.</p>
+     *
+     * <p>The work must run synchronously on the calling thread; DAO calls handed to another thread,
+     * e.g. through {@link AsyncDao}, do not join the transaction.</p>
+     *
+     * <p>Side effects outside the database, such as cache updates, should be registered with
+     * {@link TransactionSynchronization} so they only happen once the transaction has committed. They run after
+     * the connection was released.</p>
+     *
+     * <p>Example usage:</p>
+     * <pre>{@code
+     * connectionManager.inTransaction(connection -> {
+     *     userDao.create(user);
+     *     authDataDao.create(authData);
+     *     warningDao.create(welcomeWarning);
+     *     return null;
+     * });
+     * }</pre>
+     *
+     * @param work The unit of work.
+     * @param <R>  The result type.
+     * @return The result of the work.
+     * @throws SQLException If the work or a statement in it failed and the transaction was rolled back,
+     *                      or if the transaction could not be committed.
+     */
+    public <R> R inTransaction(TransactionCallback<R> work) throws SQLException {
+        TransactionContext transaction = currentTransaction.get();
+        if (transaction != null) {
+            return inSavepoint(transaction, work);
+        }
+
+        TransactionContext started = null;
+        boolean committed = false;
+        try (Connection connection = acquireConnection()) {
+            started = new TransactionContext(connection);
+            beginTransaction(connection);
+            currentTransaction.set(started);
+            TransactionContext enclosing = TransactionSynchronization.bind(started);
+            try {
+                R result = work.doInTransaction(started.getConnection());
+                failIfRollbackOnly(started);
+                commitTransaction(connection);
+                committed = true;
+                return result;
+            } catch (SQLException | RuntimeException | Error e) {
+                rollbackTransaction(connection);
+                throw e;
+            } finally {
+                currentTransaction.remove();
+                TransactionSynchronization.restore(enclosing);
+                resetConnection(connection);
+            }
+        } finally {
+            if (started != null) {
+                started.complete(committed);
+            }
+        }
+    }
+
+    /**
+     * Runs a nested unit of work in a savepoint of the current transaction.
+     *
+     * @param transaction The current transaction.
+     * @param work        The unit of work.
+     * @param <R>         The result type.
+     * @return The result of the work.
+     * @throws SQLException If the work failed and was rolled back to the savepoint.
+     */
+    private <R> R inSavepoint(TransactionContext transaction, TransactionCallback<R> work) throws SQLException {
+        transaction.pushSavepoint();
+        boolean committed = false;
+        try {
+            R result = work.doInTransaction(transaction.getConnection());
+            failIfRollbackOnly(transaction);
+            committed = true;
+            return result;
+        } finally {
+            transaction.popSavepoint(committed);
+        }
+    }
+
+    /**
+     * Throws if a statement in the innermost scope of the transaction failed.
+     *
+     * @param transaction The transaction.
+     * @throws SQLException If the scope was marked rollback-only.
+     */
+    private static void failIfRollbackOnly(TransactionContext transaction) throws SQLException {
+        SQLException cause = transaction.getRollbackCause();
+        if (cause != null) {
+            throw new SQLException("Unit of work rolled back because a statement failed", cause);
+        }
+    }
+
+    /**
+     * Checks out a new connection from the pool, instrumented if statement metrics are enabled.
+     *
+     * @return The pooled connection.
+     * @throws SQLException If no connection could be acquired.
+     */
+    private Connection acquireConnection() throws SQLException {
+        Connection connection = guard.acquire(this.dataSource::getConnection);
+        return statementMetrics == null ? connection : statementMetrics.wrap(connection);
+    }
+
+    /**
+     * <p>Names the caller of the connections checked out on this thread, so its connection limit applies,
+     * until the returned scope is closed. Limits are configured as {@code callerLimit.<caller>} in
+     * {@link DatabaseConfig}.</p>
+     *
+     * <p>Example usage:</p>
+     * <pre>{@code
+     * try (ConnectionGuard.CallerScope scope = connectionManager.asCaller("Shops")) {
+     *     shopDao.findAll();
+     * }
+     * }</pre>
+     *
+     * @param caller The caller name, e.g. the plugin name.
+     * @return The scope, restoring the previous caller when closed.
+     */
+    public ConnectionGuard.CallerScope asCaller(String caller) {
+        return guard.enter(caller);
+    }
+
+    /**
+     * Checks whether connections are currently handed out, i.e. the circuit breaker is not open.
+     * Features can check this to skip optional database work during an outage.
+     *
+     * @return True if the database is considered available.
+     */
+    public boolean isAvailable() {
+        return guard.isAvailable();
+    }
+
+    /**
+     * Returns the router that sends reads to the replicas, for its statistics.
+     *
+     * @return The replica router.
+     */
+    public ReplicaRouter getReplicaRouter() {
+        return replicaRouter;
+    }
+
+    /**
+     * Returns the guard that limits connection checkouts, for its circuit breaker and statistics.
+     *
+     * @return The connection guard.
+     */
+    public ConnectionGuard getConnectionGuard() {
+        return guard;
+    }
+
+    /**
+     * Returns the configuration this connection manager was created with.
+     *
+     * @return The database configuration.
+     */
+    public DatabaseConfig getDatabaseConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the live metrics of the connection pool: active, idle and pending connections,
+     * and histograms of connection wait and usage times.
+     *
+     * @return The pool metrics.
+     */
+    public PoolMetrics getPoolMetrics() {
+        return poolMetrics;
+    }
+
+    /**
+     * Returns the per-statement latency statistics, if {@link DatabaseConfig#isStatementMetricsEnabled()} is set.
+     *
+     * @return The statement metrics, or an empty Optional if instrumentation is disabled.
+     */
+    public Optional<StatementMetrics> getStatementMetrics() {
+        return Optional.ofNullable(statementMetrics);
+    }
+
+    /**
+     * Returns the codec the DAOs use to bind and read UUID columns.
+     *
+     * @return The configured UUID codec.
+     */
+    public UuidCodec getUuidCodec() {
+        return uuidCodec;
+    }
+
+    /**
+     * Returns the SQL dialect of the database, for the statements the DAOs cannot write in portable SQL.
+     *
+     * @return The configured dialect.
+     */
+    public SqlDialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * Returns the number of rows to fetch per round-trip when streaming result sets.
+     *
+     * @return The configured stream fetch size.
+     */
+    public int getStreamFetchSize() {
+        return config.getStreamFetchSize();
     }
 
     /**
@@ -60,10 +421,12 @@ public class SqlConnectionManager {
      * This method should be called when the connection manager is no longer needed,
      * typically at the application shutdown, to ensure that all resources are properly released.
      */
+    @Override
     public void close() {
         if (this.dataSource != null && !this.dataSource.isClosed()) {
             this.dataSource.close();
         }
+        replicaRouter.close();
     }
 
     /**
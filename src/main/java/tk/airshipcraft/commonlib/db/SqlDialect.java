@@ -0,0 +1,186 @@
+package tk.airshipcraft.commonlib.db;
+
+import com.zaxxer.hikari.HikariConfig;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * <p>The SQL flavour spoken by a database, covering the statements CommonLib cannot write in portable SQL.</p>
+ *
+ * <p>Besides MySQL, CommonLib supports an embedded H2 database stored in a single file, see
+ * {@link DatabaseConfig#setEmbeddedDatabaseFile(String)}. Small servers can then run without a separate database
+ * server, and DAO throughput can be measured on one machine without network round-trips. H2 is opened in its
+ * MySQL compatibility mode, so plain queries, {@code LIMIT} and backtick-quoted identifiers work unchanged;
+ * upserts and driver settings are the parts that differ and go through this class.</p>
+ *
+ * <p>The dialect of a pool is {@link DatabaseConfig#getDialect()}, available to DAOs through
+ * {@link SqlConnectionManager#getDialect()}.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public enum SqlDialect {
+
+    /**
+     * MySQL or MariaDB, through {@code mysql-connector-j}.
+     */
+    MYSQL("jdbc:mysql:") {
+        @Override
+        public String quote(String identifier) {
+            return '`' + identifier + '`';
+        }
+
+        @Override
+        public String upsert(String table, List<String> columns, List<String> keyColumns, int rows) {
+            StringJoiner updates = new StringJoiner(", ", " ON DUPLICATE KEY UPDATE ", "");
+            for (String column : columns) {
+                if (!keyColumns.contains(column)) {
+                    updates.add(quote(column) + " = VALUES(" + quote(column) + ")");
+                }
+            }
+            return "INSERT INTO " + table + " (" + columnList(columns) + ") VALUES "
+                    + SqlUtils.rowPlaceholders(rows, columns.size()) + updates;
+        }
+
+        @Override
+        void configureDataSource(HikariConfig hikariConfig, DatabaseConfig config) {
+            // MySQL driver tuning: cache prepared statements and send JDBC batches as multi-row statements
+            hikariConfig.addDataSourceProperty("cachePrepStmts", String.valueOf(config.isCachePrepStmts()));
+            hikariConfig.addDataSourceProperty("prepStmtCacheSize", String.valueOf(config.getPrepStmtCacheSize()));
+            hikariConfig.addDataSourceProperty("prepStmtCacheSqlLimit", String.valueOf(config.getPrepStmtCacheSqlLimit()));
+            hikariConfig.addDataSourceProperty("useServerPrepStmts", String.valueOf(config.isUseServerPrepStmts()));
+            hikariConfig.addDataSourceProperty("rewriteBatchedStatements", String.valueOf(config.isRewriteBatchedStatements()));
+            hikariConfig.addDataSourceProperty("useLocalSessionState", "true");
+            hikariConfig.addDataSourceProperty("cacheResultSetMetadata", "true");
+            hikariConfig.addDataSourceProperty("cacheServerConfiguration", "true");
+            hikariConfig.addDataSourceProperty("elideSetAutoCommits", "true");
+            hikariConfig.addDataSourceProperty("maintainTimeStats", "false");
+
+            // Let MySQL stream result sets through a server-side cursor when a fetch size is set,
+            // statements without a fetch size are unaffected
+            hikariConfig.addDataSourceProperty("useCursorFetch", "true");
+        }
+    },
+
+    /**
+     * An H2 database, usually embedded in the server process and stored in a file.
+     */
+    H2("jdbc:h2:") {
+        @Override
+        public String quote(String identifier) {
+            return '"' + identifier + '"';
+        }
+
+        @Override
+        public String upsert(String table, List<String> columns, List<String> keyColumns, int rows) {
+            return "MERGE INTO " + table + " (" + columnList(columns) + ") KEY (" + columnList(keyColumns) + ") VALUES "
+                    + SqlUtils.rowPlaceholders(rows, columns.size());
+        }
+
+        @Override
+        void configureDataSource(HikariConfig hikariConfig, DatabaseConfig config) {
+            // H2 rejects unknown connection settings, so none of the MySQL driver properties may be passed.
+            // Statements are cached by H2 itself and batches need no rewriting without a network hop.
+            hikariConfig.setDriverClassName("org.h2.Driver");
+        }
+    };
+
+    private final String urlPrefix;
+
+    /**
+     * Creates a dialect.
+     *
+     * @param urlPrefix The prefix of JDBC URLs pointing at this kind of database.
+     */
+    SqlDialect(String urlPrefix) {
+        this.urlPrefix = urlPrefix;
+    }
+
+    /**
+     * Quotes an identifier, e.g. a column named after a reserved word such as {@code key}.
+     *
+     * @param identifier The identifier, in lower case.
+     * @return The quoted identifier.
+     */
+    public abstract String quote(String identifier);
+
+    /**
+     * Builds a statement inserting rows, or updating every non-key column of the rows that already exist.
+     * The placeholders are bound row by row, in the order of {@code columns}.
+     *
+     * @param table      The table name.
+     * @param columns    The columns to insert, including the key columns.
+     * @param keyColumns The columns of the primary or unique key deciding whether a row exists.
+     * @param rows       The number of rows.
+     * @return The SQL statement.
+     */
+    public abstract String upsert(String table, List<String> columns, List<String> keyColumns, int rows);
+
+    /**
+     * Applies the driver settings of this dialect to a pool configuration.
+     *
+     * @param hikariConfig The pool configuration.
+     * @param config       The database configuration.
+     */
+    abstract void configureDataSource(HikariConfig hikariConfig, DatabaseConfig config);
+
+    /**
+     * Joins quoted column names with commas.
+     *
+     * @param columns The column names.
+     * @return The column list.
+     */
+    String columnList(List<String> columns) {
+        StringJoiner list = new StringJoiner(", ");
+        for (String column : columns) {
+            list.add(quote(column));
+        }
+        return list.toString();
+    }
+
+    /**
+     * Determines the dialect of a JDBC URL.
+     *
+     * @param jdbcUrl The JDBC URL, or null.
+     * @return The matching dialect, {@link #MYSQL} if none matches.
+     */
+    public static SqlDialect fromJdbcUrl(String jdbcUrl) {
+        if (jdbcUrl != null) {
+            String url = jdbcUrl.trim().toLowerCase(Locale.ROOT);
+            for (SqlDialect dialect : values()) {
+                if (url.startsWith(dialect.urlPrefix)) {
+                    return dialect;
+                }
+            }
+        }
+        return MYSQL;
+    }
+
+    /**
+     * Determines the dialect of the database a connection is open to, for code that only gets a connection.
+     *
+     * @param connection The connection.
+     * @return The matching dialect, {@link #MYSQL} if none matches.
+     * @throws SQLException If the connection metadata cannot be read.
+     */
+    public static SqlDialect of(Connection connection) throws SQLException {
+        return fromJdbcUrl(connection.getMetaData().getURL());
+    }
+
+    /**
+     * Builds the URL of an embedded H2 database stored in a file. The database is opened in MySQL compatibility
+     * mode with lower-case identifiers, so the schemas written for MySQL can be used as they are.
+     *
+     * @param file The database file, without the {@code .mv.db} extension H2 appends.
+     * @return The JDBC URL.
+     */
+    public static String embeddedH2Url(Path file) {
+        return H2.urlPrefix + "file:" + file.toAbsolutePath() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+    }
+}
@@ -0,0 +1,190 @@
+package tk.airshipcraft.commonlib.db;
+
+import com.google.common.collect.Lists;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Static helpers for building the bulk SQL statements and streaming queries used by the DAO implementations.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public final class SqlUtils {
+
+    /**
+     * The default number of rows per multi-row INSERT and ids per {@code IN (...)} list.
+     * Keeps statements well below driver parameter limits while still turning hundreds of
+     * single-row round-trips into a handful.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private SqlUtils() {
+        // Utility class
+    }
+
+    /**
+     * Builds a comma separated list of JDBC parameter placeholders, e.g. {@code "?, ?, ?"}.
+     *
+     * @param count The number of placeholders.
+     * @return The placeholder list.
+     */
+    public static String placeholders(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Placeholder count must be positive: " + count);
+        }
+        StringBuilder builder = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append('?');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Builds the VALUES tuples of a multi-row INSERT, e.g. {@code "(?, ?), (?, ?)"} for two rows of two columns.
+     *
+     * @param rows    The number of rows.
+     * @param columns The number of columns per row.
+     * @return The row placeholder list.
+     */
+    public static String rowPlaceholders(int rows, int columns) {
+        String row = "(" + placeholders(columns) + ")";
+        StringBuilder builder = new StringBuilder(rows * (row.length() + 2));
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(row);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Splits a collection into consecutive chunks of at most {@code size} elements.
+     *
+     * @param items The items to split.
+     * @param size  The maximum chunk size.
+     * @param <E>   The element type.
+     * @return The chunks, in iteration order of the collection.
+     */
+    public static <E> List<List<E>> partition(Collection<E> items, int size) {
+        List<E> list = items instanceof List<E> l ? l : new ArrayList<>(items);
+        return Lists.partition(list, size);
+    }
+
+    /**
+     * Splits a collection of identifiers into chunks, dropping nulls and duplicates so that
+     * {@code IN (...)} lists stay as short as possible.
+     *
+     * @param ids  The identifiers to split.
+     * @param size The maximum chunk size.
+     * @param <E>  The identifier type.
+     * @return The chunks of distinct, non-null identifiers.
+     */
+    public static <E> List<List<E>> partitionDistinct(Collection<E> ids, int size) {
+        LinkedHashSet<E> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        return partition(new ArrayList<>(distinct), size);
+    }
+
+    /**
+     * <p>Runs a query and returns its rows as a lazily populated stream backed by a forward-only cursor.</p>
+     *
+     * <p>The stream keeps a pooled connection checked out until it is closed, so it must always be used in a
+     * try-with-resources block. Rows are fetched {@link SqlConnectionManager#getStreamFetchSize()} at a time, so
+     * memory use stays constant no matter how large the table is. Exceptions raised while iterating are
+     * rethrown as {@link DataAccessException}. The connection is taken with
+     * {@link SqlConnectionManager#getReadConnection()}, so scans run on a read replica if one is configured and
+     * no key is inside its read-your-writes window.</p>
+     *
+     * @param connectionManager The connection manager to borrow the connection from.
+     * @param sql               The query to run.
+     * @param mapper            Maps each row to an object.
+     * @param parameters        Values bound to the query's parameters, in order.
+     * @param <T>               The type of the mapped rows.
+     * @return A stream of mapped rows that releases its connection when closed.
+     * @throws SQLException If the query could not be executed.
+     */
+    public static <T> Stream<T> streamQuery(SqlConnectionManager connectionManager, String sql,
+                                            RowMapper<T> mapper, Object... parameters) throws SQLException {
+        Connection connection = connectionManager.getReadConnection();
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(connectionManager.getStreamFetchSize());
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            ResultSet resultSet = statement.executeQuery();
+            return stream(resultSet, mapper).onClose(closer(resultSet, statement, connection));
+        } catch (SQLException | RuntimeException e) {
+            closer(statement, connection).run();
+            throw e;
+        }
+    }
+
+    /**
+     * Wraps a result set in a sequential, ordered stream of mapped rows. Closing the stream does not
+     * close the result set; see {@link #streamQuery(SqlConnectionManager, String, RowMapper, Object...)}.
+     *
+     * @param resultSet The result set to read.
+     * @param mapper    Maps each row to an object.
+     * @param <T>       The type of the mapped rows.
+     * @return A stream over the remaining rows of the result set.
+     */
+    public static <T> Stream<T> stream(ResultSet resultSet, RowMapper<T> mapper) {
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!resultSet.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.mapRow(resultSet));
+                    return true;
+                } catch (SQLException e) {
+                    throw new DataAccessException("Failed to read row from result set", e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Returns a task that closes the given resources in order, ignoring nulls and suppressing failures.
+     *
+     * @param resources The resources to close.
+     * @return The closing task.
+     */
+    private static Runnable closer(AutoCloseable... resources) {
+        return () -> {
+            for (AutoCloseable resource : resources) {
+                if (resource == null) {
+                    continue;
+                }
+                try {
+                    resource.close();
+                } catch (Exception ignored) {
+                    // Nothing sensible to do while releasing resources
+                }
+            }
+        };
+    }
+}
@@ -1,10 +1,29 @@
 package tk.airshipcraft.commonlib.db;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
 
 /**
  * <p>The TableManager class manages the creation and updating of database tables
@@ -18,6 +37,13 @@ import java.util.List;
  *     <li>Managing database migrations when plugins are updated with new schema requirements.</li>
  * </ul>
  *
+ * <p>The version and a checksum of the creation commands of every configuration are recorded in the
+ * {@value #LEDGER_TABLE} table. On startup, a configuration whose recorded version and checksum match is skipped
+ * without running any DDL. Otherwise its creation commands are run, followed by the migrations from the recorded
+ * version, or from version 0 for configurations without a ledger entry, which is why migrations must be
+ * idempotent. Configurations that do not depend on each other are set up in parallel, on
+ * {@link DatabaseConfig#getSchemaSetupThreads()} threads, and the time spent on each is logged.</p>
+ *
  * <p>This class ensures that all plugins extending CommonLib have a centralized
  * way to manage their data schemas without needing to implement boilerplate code
  * for database interactions.</p>
@@ -28,9 +54,70 @@ import java.util.List;
  */
 public class TableManager {
 
-    private final List<ITableConfiguration> tableConfigurations = new ArrayList<>();
+    /**
+     * The table recording the applied version and checksum of each table configuration.
+     */
+    public static final String LEDGER_TABLE = "commonlib_schema_ledger";
+
+    private static final Logger LOGGER = Logger.getLogger(TableManager.class.getName());
+    private static final List<String> LEDGER_COLUMNS =
+            List.of("configuration_id", "version", "checksum", "applied_at", "duration_millis");
+
+    private final Map<String, ITableConfiguration> tableConfigurations = new LinkedHashMap<>();
     private final SqlConnectionManager connectionManager;
 
+    /**
+     * What setting up a table configuration did.
+     */
+    public enum Outcome {
+        /**
+         * The recorded version and checksum matched, no DDL was run.
+         */
+        UP_TO_DATE,
+        /**
+         * The configuration had no ledger entry; its tables were created and all migrations were run.
+         */
+        CREATED,
+        /**
+         * The recorded version was older; the migrations from it were run.
+         */
+        MIGRATED,
+        /**
+         * The version matched but the creation commands changed, so they were run again.
+         */
+        REAPPLIED,
+        /**
+         * The recorded version is newer than the configuration's latest version, e.g. after a plugin downgrade.
+         */
+        SKIPPED,
+        /**
+         * A command failed, or a configuration it depends on could not be set up.
+         */
+        FAILED
+    }
+
+    /**
+     * The result of setting up one table configuration.
+     *
+     * @param configurationId The {@link ITableConfiguration#getConfigurationId() configuration identifier}.
+     * @param outcome         What was done.
+     * @param fromVersion     The version recorded before, or 0 if there was none.
+     * @param toVersion       The version recorded now.
+     * @param durationMillis  The time spent on this configuration, in milliseconds.
+     */
+    public record SetupResult(String configurationId, Outcome outcome, int fromVersion, int toVersion,
+                              long durationMillis) {
+    }
+
+    /**
+     * A configuration's row in the ledger.
+     *
+     * @param version  The applied version.
+     * @param checksum The checksum of the applied creation commands.
+     */
+    private record LedgerEntry(int version, long checksum) {
+    }
+
     /**
      * Creates a new TableManager instance with a specified connection manager.
      *
@@ -46,74 +133,297 @@ public class TableManager {
      * for table creation and migration.
      *
      * @param config An implementation of the ITableConfiguration interface.
+     * @throws IllegalArgumentException If a configuration with the same identifier is already registered.
      */
     public void registerPluginTableConfiguration(ITableConfiguration config) {
-        tableConfigurations.add(config);
+        String id = config.getConfigurationId();
+        if (tableConfigurations.putIfAbsent(id, config) != null) {
+            throw new IllegalArgumentException("A table configuration with id " + id + " is already registered");
+        }
     }
 
     /**
-     * Sets up the database tables for all registered plugins. It calls the
-     * {@link ITableConfiguration#getTableCreationCommands()} method for each
-     * registered configuration and executes the returned SQL commands to create
-     * the necessary tables.
+     * Sets up the database tables for all registered plugins and waits until they are done.
+     * Configurations that are current according to the ledger are skipped; the others run their
+     * {@link ITableConfiguration#getTableCreationCommands() creation commands} and
+     * {@link ITableConfiguration#getMigrationCommands(int) migrations}, in parallel where their
+     * {@link ITableConfiguration#getDependencies() dependencies} allow it.
+     *
+     * @return The result of each configuration, in registration order.
+     */
+    public List<SetupResult> setupPluginTables() {
+        long started = System.nanoTime();
+        Map<String, LedgerEntry> ledger;
+        try (Connection connection = connectionManager.getConnection()) {
+            ledger = readLedger(connection);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Could not read the schema ledger, no tables were set up", e);
+            List<SetupResult> failed = new ArrayList<>(tableConfigurations.size());
+            for (String id : tableConfigurations.keySet()) {
+                failed.add(new SetupResult(id, Outcome.FAILED, 0, 0, 0L));
+            }
+            return failed;
+        }
+
+        List<ITableConfiguration> ordered = dependencyOrder();
+        int threads = Math.max(1, Math.min(connectionManager.getDatabaseConfig().getSchemaSetupThreads(), ordered.size()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads, createThreadFactory());
+        Map<String, CompletableFuture<SetupResult>> futures = new HashMap<>();
+        try {
+            for (ITableConfiguration config : ordered) {
+                List<CompletableFuture<SetupResult>> dependencies = new ArrayList<>();
+                for (String dependency : config.getDependencies()) {
+                    CompletableFuture<SetupResult> future = futures.get(dependency);
+                    if (future != null) {
+                        dependencies.add(future);
+                    }
+                }
+                String id = config.getConfigurationId();
+                futures.put(id, CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[0]))
+                        .thenApplyAsync(ignored -> {
+                            for (CompletableFuture<SetupResult> dependency : dependencies) {
+                                if (dependency.join().outcome() == Outcome.FAILED) {
+                                    LOGGER.severe("Not setting up tables of " + id + ", its dependency "
+                                            + dependency.join().configurationId() + " failed");
+                                    return new SetupResult(id, Outcome.FAILED, 0, 0, 0L);
+                                }
+                            }
+                            return setup(config, ledger.get(id));
+                        }, pool));
+            }
+
+            List<SetupResult> results = new ArrayList<>(tableConfigurations.size());
+            int upToDate = 0;
+            int failed = 0;
+            for (String id : tableConfigurations.keySet()) {
+                CompletableFuture<SetupResult> future = futures.get(id);
+                SetupResult result = future == null ? new SetupResult(id, Outcome.FAILED, 0, 0, 0L) : future.join();
+                results.add(result);
+                if (result.outcome() == Outcome.UP_TO_DATE) {
+                    upToDate++;
+                } else if (result.outcome() == Outcome.FAILED) {
+                    failed++;
+                }
+            }
+            LOGGER.info(String.format("Set up %d table configurations in %d ms on %d threads (%d up to date, %d failed)",
+                    results.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), threads, upToDate, failed));
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Sets up a single configuration, unless its ledger entry shows it is current.
+     *
+     * @param config The table configuration.
+     * @param entry  The configuration's ledger entry, or null if it has none.
+     * @return The result.
      */
-    public void setupPluginTables() {
-        for (ITableConfiguration config : tableConfigurations) {
+    private SetupResult setup(ITableConfiguration config, LedgerEntry entry) {
+        long started = System.nanoTime();
+        String id = config.getConfigurationId();
+        int fromVersion = entry == null ? 0 : entry.version();
+        try {
+            List<String> creationCommands = config.getTableCreationCommands();
+            int latestVersion = config.getLatestVersion();
+            long checksum = checksum(creationCommands);
+
+            Outcome outcome;
+            if (entry == null) {
+                outcome = Outcome.CREATED;
+            } else if (entry.version() > latestVersion) {
+                LOGGER.warning("Tables of " + id + " are at version " + entry.version()
+                        + ", newer than the supported version " + latestVersion + ", leaving them untouched");
+                return new SetupResult(id, Outcome.SKIPPED, fromVersion, fromVersion, elapsedMillis(started));
+            } else if (entry.version() < latestVersion) {
+                outcome = Outcome.MIGRATED;
+            } else if (entry.checksum() != checksum) {
+                outcome = Outcome.REAPPLIED;
+            } else {
+                return new SetupResult(id, Outcome.UP_TO_DATE, fromVersion, fromVersion, elapsedMillis(started));
+            }
+
             try (Connection connection = connectionManager.getConnection();
                  Statement statement = connection.createStatement()) {
-                for (String sql : config.getTableCreationCommands()) {
+                for (String sql : creationCommands) {
                     statement.execute(sql);
                 }
-            } catch (SQLException e) {
-                // Log and handle exception
-                e.printStackTrace();
+                if (outcome != Outcome.REAPPLIED) {
+                    performMigrations(statement, config, fromVersion);
+                }
+                long durationMillis = elapsedMillis(started);
+                updateDatabaseVersion(connection, id, latestVersion, checksum, durationMillis);
+                LOGGER.info(String.format("Tables of %s %s, version %d -> %d, in %d ms", id,
+                        outcome.name().toLowerCase(Locale.ROOT).replace('_', ' '), fromVersion,
+                        latestVersion, durationMillis));
+                return new SetupResult(id, outcome, fromVersion, latestVersion, durationMillis);
             }
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Failed to set up the tables of " + id, e);
+            return new SetupResult(id, Outcome.FAILED, fromVersion, fromVersion, elapsedMillis(started));
         }
     }
 
     /**
-     * Checks the current version of the database tables and performs migrations to the latest version.
+     * Runs the migrations of a configuration from the given version to its latest version.
      *
-     * @param connection The database connection to use.
-     * @param statement  The statement to use for executing migration commands.
-     * @param config     The table configuration that provides migration commands.
-     * @throws SQLException If a database access error occurs or migration commands fail to execute.
+     * @param statement      The statement to use for executing migration commands.
+     * @param config         The table configuration that provides migration commands.
+     * @param currentVersion The version the tables are at.
+     * @throws SQLException If a migration command fails to execute.
      */
-    private void performMigrations(Connection connection, Statement statement, ITableConfiguration config) throws SQLException {
-        int currentVersion = getCurrentDatabaseVersion(connection); // Implement this method to get the current DB version
-        int latestVersion = config.getLatestVersion();
-
-        if (currentVersion < latestVersion) {
-            List<String> migrationCommands = config.getMigrationCommands(currentVersion);
-            for (String migrationCommand : migrationCommands) {
+    private void performMigrations(Statement statement, ITableConfiguration config, int currentVersion) throws SQLException {
+        if (currentVersion < config.getLatestVersion()) {
+            for (String migrationCommand : config.getMigrationCommands(currentVersion)) {
                 statement.execute(migrationCommand);
             }
-            updateDatabaseVersion(connection, latestVersion); // Implement this method to update the DB version
         }
     }
 
     /**
-     * Retrieves the current version of the database schema.
+     * Reads every entry of the ledger, creating the ledger table on first use.
      *
      * @param connection The database connection to use.
-     * @return The current version of the database schema.
+     * @return The ledger entries by configuration identifier.
      * @throws SQLException If a database access error occurs.
      */
-    private int getCurrentDatabaseVersion(Connection connection) throws SQLException {
-        // Implement the logic to retrieve the current database version
-        // This might involve querying a special table that tracks schema versions
-        return 0; // Placeholder return value
+    private Map<String, LedgerEntry> readLedger(Connection connection) throws SQLException {
+        Map<String, LedgerEntry> ledger = new HashMap<>();
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, LEDGER_TABLE, null)) {
+            if (!tables.next()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("CREATE TABLE IF NOT EXISTS " + LEDGER_TABLE + " ("
+                            + "configuration_id VARCHAR(255) NOT NULL PRIMARY KEY, "
+                            + "version INT NOT NULL, "
+                            + "checksum BIGINT NOT NULL, "
+                            + "applied_at BIGINT NOT NULL, "
+                            + "duration_millis BIGINT NOT NULL)");
+                }
+                return ledger;
+            }
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT configuration_id, version, checksum FROM " + LEDGER_TABLE)) {
+            while (rs.next()) {
+                ledger.put(rs.getString(1), new LedgerEntry(rs.getInt(2), rs.getLong(3)));
+            }
+        }
+        return ledger;
     }
 
     /**
-     * Updates the version of the database schema to the specified version.
+     * Records the version and checksum a configuration was set up with.
      *
-     * @param connection    The database connection to use.
-     * @param latestVersion The latest version number to set.
+     * @param connection      The database connection to use.
+     * @param configurationId The configuration identifier.
+     * @param version         The version the tables are at now.
+     * @param checksum        The checksum of the creation commands that were run.
+     * @param durationMillis  The time the setup took, in milliseconds.
      * @throws SQLException If a database access error occurs.
      */
-    private void updateDatabaseVersion(Connection connection, int latestVersion) throws SQLException {
-        // Implement the logic to update the database version
-        // This might involve updating a special table that tracks schema versions
+    private void updateDatabaseVersion(Connection connection, String configurationId, int version, long checksum,
+                                       long durationMillis) throws SQLException {
+        String sql = connectionManager.getDialect().upsert(LEDGER_TABLE, LEDGER_COLUMNS, LEDGER_COLUMNS.subList(0, 1), 1);
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, configurationId);
+            stmt.setInt(2, version);
+            stmt.setLong(3, checksum);
+            stmt.setLong(4, System.currentTimeMillis());
+            stmt.setLong(5, durationMillis);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Orders the registered configurations so that each comes after its dependencies. Unknown dependencies are
+     * ignored; configurations in a dependency cycle are left out and reported as failed.
+     *
+     * @return The configurations in dependency order.
+     */
+    private List<ITableConfiguration> dependencyOrder() {
+        Map<String, Integer> pending = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (ITableConfiguration config : tableConfigurations.values()) {
+            String id = config.getConfigurationId();
+            int count = 0;
+            for (String dependency : config.getDependencies()) {
+                if (!tableConfigurations.containsKey(dependency)) {
+                    LOGGER.warning("Table configuration " + id + " depends on " + dependency
+                            + ", which is not registered");
+                    continue;
+                }
+                dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(id);
+                count++;
+            }
+            pending.put(id, count);
+        }
+
+        Deque<String> ready = new ArrayDeque<>();
+        pending.forEach((id, count) -> {
+            if (count == 0) {
+                ready.add(id);
+            }
+        });
+        List<ITableConfiguration> ordered = new ArrayList<>(tableConfigurations.size());
+        while (!ready.isEmpty()) {
+            String id = ready.poll();
+            ordered.add(tableConfigurations.get(id));
+            for (String dependent : dependents.getOrDefault(id, List.of())) {
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (ordered.size() < tableConfigurations.size()) {
+            for (String id : tableConfigurations.keySet()) {
+                if (pending.get(id) > 0) {
+                    LOGGER.severe("Table configuration " + id + " is part of a dependency cycle and is not set up");
+                }
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Computes the checksum of a configuration's creation commands.
+     *
+     * @param commands The creation commands.
+     * @return The CRC32C of the commands.
+     */
+    private static long checksum(List<String> commands) {
+        CRC32C crc = new CRC32C();
+        for (String command : commands) {
+            crc.update(command.getBytes(StandardCharsets.UTF_8));
+            crc.update(0);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Returns the milliseconds elapsed since the given {@link System#nanoTime()}.
+     *
+     * @param started The start time.
+     * @return The elapsed time in milliseconds.
+     */
+    private static long elapsedMillis(long started) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+
+    /**
+     * Creates the factory of the schema setup threads.
+     *
+     * @return The thread factory.
+     */
+    private static ThreadFactory createThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+        return runnable -> {
+            Thread thread = defaultFactory.newThread(runnable);
+            thread.setName("CommonLib-Schema-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 }
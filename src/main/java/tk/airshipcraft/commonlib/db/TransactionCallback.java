@@ -0,0 +1,25 @@
+package tk.airshipcraft.commonlib.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A unit of work run by {@link SqlConnectionManager#inTransaction(TransactionCallback)}.
+ *
+ * @param <R> the type of the result
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+@FunctionalInterface
+public interface TransactionCallback<R> {
+
+    /**
+     * Performs the work. DAO calls made on the same thread share the given connection and its transaction.
+     *
+     * @param connection The connection bound to the transaction. It must not be closed or committed manually.
+     * @return The result of the work.
+     * @throws SQLException If the work fails, which rolls the transaction back.
+     */
+    R doInTransaction(Connection connection) throws SQLException;
+}
@@ -0,0 +1,248 @@
+package tk.airshipcraft.commonlib.db;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>The state of a transaction bound to a thread by {@link SqlConnectionManager#inTransaction(TransactionCallback)}.</p>
+ *
+ * <p>DAO code inside the transaction receives {@link #getConnection()}, a proxy of the real connection that
+ * ignores {@code close()}, {@code setAutoCommit(...)} and {@code commit()}, so DAO methods written for their own
+ * connection join the surrounding transaction unchanged. A {@code rollback()} or a statement that throws a
+ * {@link SQLException} marks the innermost scope as rollback-only, even if the DAO swallows the exception.</p>
+ *
+ * <p>Actions registered with {@link #afterCommit(Runnable)} and {@link #afterRollback(Runnable)} belong to the
+ * innermost scope. When a nested scope is released they move to the enclosing scope; when it is rolled back its
+ * rollback actions run at once and its commit actions are dropped. The actions of the outermost scope run once the
+ * transaction has completed, see {@link #complete(boolean)}.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+final class TransactionContext {
+
+    private static final Logger LOGGER = Logger.getLogger(TransactionContext.class.getName());
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> IGNORED_METHODS = Set.of("close", "setAutoCommit", "commit");
+
+    private final Connection connection;
+    private final Connection proxy;
+    private final Deque<Scope> scopes = new ArrayDeque<>();
+
+    /**
+     * Creates a transaction context for a connection that is already in manual commit mode.
+     *
+     * @param connection The connection holding the transaction.
+     */
+    TransactionContext(Connection connection) {
+        this.connection = connection;
+        this.proxy = (Connection) Proxy.newProxyInstance(TransactionContext.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, this::invokeConnection);
+        this.scopes.push(new Scope(null));
+    }
+
+    /**
+     * Returns the connection handed to DAO code inside the transaction.
+     *
+     * @return The non-closing connection proxy.
+     */
+    Connection getConnection() {
+        return proxy;
+    }
+
+    /**
+     * Opens a nested scope backed by a savepoint.
+     *
+     * @throws SQLException If the savepoint could not be set.
+     */
+    void pushSavepoint() throws SQLException {
+        scopes.push(new Scope(connection.setSavepoint()));
+    }
+
+    /**
+     * Closes the innermost nested scope.
+     *
+     * @param commit True to release the savepoint, false to roll back to it.
+     * @throws SQLException If the savepoint could not be released or rolled back to.
+     */
+    void popSavepoint(boolean commit) throws SQLException {
+        Scope scope = scopes.pop();
+        if (commit) {
+            connection.releaseSavepoint(scope.savepoint);
+            scopes.peek().inherit(scope);
+        } else {
+            try {
+                connection.rollback(scope.savepoint);
+            } finally {
+                run(scope.afterRollback);
+            }
+        }
+    }
+
+    /**
+     * Registers an action to run once the changes made so far in the innermost scope are committed.
+     *
+     * @param action The action.
+     */
+    void afterCommit(Runnable action) {
+        scopes.peek().afterCommit.add(action);
+    }
+
+    /**
+     * Registers an action to run if the changes made so far in the innermost scope are rolled back.
+     *
+     * @param action The action.
+     */
+    void afterRollback(Runnable action) {
+        scopes.peek().afterRollback.add(action);
+    }
+
+    /**
+     * Runs the commit or the rollback actions of the transaction, after its connection was released.
+     *
+     * @param committed True if the transaction was committed.
+     */
+    void complete(boolean committed) {
+        Scope scope = scopes.peekLast();
+        run(committed ? scope.afterCommit : scope.afterRollback);
+    }
+
+    /**
+     * Returns the failure that marked the innermost scope as rollback-only.
+     *
+     * @return The failure, or null if the scope can still be committed.
+     */
+    SQLException getRollbackCause() {
+        return scopes.peek().rollbackCause;
+    }
+
+    /**
+     * Runs completion actions in order, logging failures so that they cannot change the outcome of the transaction.
+     *
+     * @param actions The actions.
+     */
+    private static void run(List<Runnable> actions) {
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Transaction completion action failed", e);
+            }
+        }
+    }
+
+    /**
+     * Marks the innermost scope as rollback-only.
+     *
+     * @param cause The failure that caused it.
+     */
+    private void markRollbackOnly(SQLException cause) {
+        Scope scope = scopes.peek();
+        if (scope.rollbackCause == null) {
+            scope.rollbackCause = cause;
+        }
+    }
+
+    /**
+     * Handles calls on the connection proxy, wrapping the statements it creates.
+     *
+     * @param proxy  The connection proxy.
+     * @param method The called method.
+     * @param args   The arguments.
+     * @return The result of the call.
+     * @throws Throwable The exception thrown by the real connection.
+     */
+    private Object invokeConnection(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (IGNORED_METHODS.contains(name)) {
+            return null;
+        }
+        if (name.equals("getAutoCommit")) {
+            return false;
+        }
+        if (name.equals("isClosed")) {
+            return connection.isClosed();
+        }
+        if (name.equals("rollback") && (args == null || args.length == 0)) {
+            markRollbackOnly(new SQLException("Rollback requested inside a unit of work"));
+            return null;
+        }
+        Object result = invoke(connection, method, args);
+        if (result instanceof Statement statement && STATEMENT_FACTORIES.contains(name)) {
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return Proxy.newProxyInstance(TransactionContext.class.getClassLoader(), new Class<?>[]{type},
+                    (statementProxy, statementMethod, statementArgs) -> {
+                        if (statementMethod.getName().equals("getConnection")) {
+                            return proxy;
+                        }
+                        try {
+                            return invoke(statement, statementMethod, statementArgs);
+                        } catch (SQLException e) {
+                            if (statementMethod.getName().startsWith("execute")) {
+                                markRollbackOnly(e);
+                            }
+                            throw e;
+                        }
+                    });
+        }
+        return result;
+    }
+
+    /**
+     * Invokes a method on the proxied object, rethrowing the method's own exception.
+     *
+     * @param target The proxied object.
+     * @param method The method to invoke.
+     * @param args   The arguments.
+     * @return The method's result.
+     * @throws Throwable The exception thrown by the method.
+     */
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * A transaction scope: the outermost transaction, or a nested savepoint.
+     */
+    private static final class Scope {
+
+        private final Savepoint savepoint;
+        private final List<Runnable> afterCommit = new ArrayList<>();
+        private final List<Runnable> afterRollback = new ArrayList<>();
+        private SQLException rollbackCause;
+
+        Scope(Savepoint savepoint) {
+            this.savepoint = savepoint;
+        }
+
+        /**
+         * Takes over the completion actions of a released nested scope.
+         *
+         * @param nested The nested scope.
+         */
+        void inherit(Scope nested) {
+            afterCommit.addAll(nested.afterCommit);
+            afterRollback.addAll(nested.afterRollback);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package tk.airshipcraft.commonlib.db;
+
+/**
+ * <p>Defers side effects of a write until the transaction around it has completed.</p>
+ *
+ * <p>Decorators such as {@link tk.airshipcraft.commonlib.db.cache.CachingDao} do not know whether the DAO call they
+ * wrap runs inside {@link SqlConnectionManager#inTransaction(TransactionCallback)}. Updating a cache or an in-memory
+ * index as soon as the call returns would expose changes that may still be rolled back, so they register the update
+ * here instead. Outside a transaction the update runs at once, because the write is already committed.</p>
+ *
+ * <p>Actions belong to the innermost transaction on the calling thread, including nested scopes: the actions of a
+ * nested scope that is rolled back to its savepoint run or are dropped right away. Actions run on the thread that
+ * ran the transaction, after its connection was released; exceptions they throw are logged.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * User updated = delegate.update(user);
+ * TransactionSynchronization.afterCommit(() -> cache.put(updated.getId(), updated));
+ * TransactionSynchronization.afterRollback(() -> cache.invalidate(updated.getId()));
+ * }</pre>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public final class TransactionSynchronization {
+
+    private static final ThreadLocal<TransactionContext> CURRENT = new ThreadLocal<>();
+
+    private TransactionSynchronization() {
+    }
+
+    /**
+     * Runs an action once the current transaction commits, or at once if the calling thread is not in one.
+     *
+     * @param action The action.
+     */
+    public static void afterCommit(Runnable action) {
+        TransactionContext transaction = CURRENT.get();
+        if (transaction != null) {
+            transaction.afterCommit(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Runs an action if the current transaction, or the nested scope the call is made in, is rolled back. Does
+     * nothing if the calling thread is not in a transaction.
+     *
+     * @param action The action.
+     */
+    public static void afterRollback(Runnable action) {
+        TransactionContext transaction = CURRENT.get();
+        if (transaction != null) {
+            transaction.afterRollback(action);
+        }
+    }
+
+    /**
+     * Makes a transaction the current one on this thread.
+     *
+     * @param transaction The transaction that was started.
+     * @return The transaction that was current before, to be restored with {@link #restore(TransactionContext)}.
+     */
+    static TransactionContext bind(TransactionContext transaction) {
+        TransactionContext previous = CURRENT.get();
+        CURRENT.set(transaction);
+        return previous;
+    }
+
+    /**
+     * Restores the transaction that was current before {@link #bind(TransactionContext)}.
+     *
+     * @param previous The previous transaction, or null.
+     */
+    static void restore(TransactionContext previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
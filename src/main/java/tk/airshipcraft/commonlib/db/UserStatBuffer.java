@@ -0,0 +1,195 @@
+package tk.airshipcraft.commonlib.db;
+
+import tk.airshipcraft.commonlib.db.cache.CachingUserDao;
+import tk.airshipcraft.commonlib.db.codec.UserStatDeltaCodec;
+import tk.airshipcraft.commonlib.db.dao.impl.SqlUserDao;
+import tk.airshipcraft.commonlib.db.model.UserStat;
+import tk.airshipcraft.commonlib.db.model.UserStatDelta;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Collects player counter increments in memory and flushes them as batched atomic
+ * {@code SET col = col + ?} updates.</p>
+ *
+ * <p>Each increment is merged into the player's pending delta, so a player who breaks a thousand blocks between
+ * two flushes costs one row update. Because the database adds the delta to the stored value instead of
+ * overwriting it, increments made on several servers for the same player are never lost. Flushing is handled
+ * by a {@link WriteBehindQueue} and follows its interval, batch size and shutdown behaviour.</p>
+ *
+ * <p>If a {@link CachingUserDao} is given, increments are also applied to its cached copy of the player
+ * immediately, so reads on this server reflect them before they are flushed.</p>
+ *
+ * <p>If {@link DatabaseConfig#getJournalDirectory()} is set, pending deltas are journaled to
+ * {@code user-stats.journal} in that directory and replayed on the next start if the database could not be
+ * reached before shutdown. Replaying a journal may repeat deltas that reached the database just before a crash, so
+ * every journaled delta gets a sequence number, increasing per journal, and the database records the highest
+ * sequence it applied per player and journal in the same transaction as the counters. Replayed deltas at or below it
+ * are skipped, so each increment is applied exactly once. The sequences are kept in the {@code user_stat_sequences}
+ * table, which is created on startup with the column type of the configured {@link UuidCodec}, see
+ * {@link SqlUserDao#createSequenceTable()}. If the database cannot be reached on startup, it is created before the
+ * first flush instead.</p>
+ *
+ * <p>Sequences do not depend on the system clock: they are reserved in blocks whose end is stored in the journal's
+ * header, see {@link JournalSequence}, so they keep increasing across restarts even if the clock is set back.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * UserStatBuffer stats = new UserStatBuffer(connectionManager, sqlUserDao, dbConfig);
+ *
+ * @EventHandler
+ * public void onBlockBreak(BlockBreakEvent event) {
+ *     stats.increment(event.getPlayer().getUniqueId(), UserStat.TOTAL_BLOCKS_BROKEN, 1);
+ * }
+ * }</pre>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class UserStatBuffer implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(UserStatBuffer.class.getName());
+
+    private final WriteBehindQueue<UserStatDelta, UUID> queue;
+    private final CachingUserDao cache;
+    private final List<Consumer<UserStatDelta>> listeners = new CopyOnWriteArrayList<>();
+    private final Object sequenceLock = new Object();
+    private final JournalSequence sequence;
+
+    /**
+     * Creates a buffer flushing through the given DAO.
+     *
+     * @param connectionManager The connection manager used for flushing.
+     * @param userDao           The DAO writing the batches.
+     * @param config            The database configuration, for the flush interval and batch size.
+     */
+    public UserStatBuffer(SqlConnectionManager connectionManager, SqlUserDao userDao, DatabaseConfig config) {
+        this(connectionManager, userDao, null, config);
+    }
+
+    /**
+     * Creates a buffer flushing through the given DAO and keeping the given cache current.
+     *
+     * @param connectionManager The connection manager used for flushing.
+     * @param userDao           The DAO writing the batches.
+     * @param cache             The cache whose users receive increments immediately, or null.
+     * @param config            The database configuration, for the flush interval, batch size and journal.
+     */
+    public UserStatBuffer(SqlConnectionManager connectionManager, SqlUserDao userDao, CachingUserDao cache,
+                          DatabaseConfig config) {
+        this.cache = cache;
+
+        WriteJournal<UserStatDelta> journal = null;
+        String journalDirectory = config.getJournalDirectory();
+        if (journalDirectory != null) {
+            try {
+                journal = new WriteJournal<>(Paths.get(journalDirectory, "user-stats.journal"),
+                        new UserStatDeltaCodec(), config);
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Failed to open the stat journal, increments are only kept in memory", e);
+            }
+        }
+
+        if (journal == null) {
+            this.sequence = null;
+            this.queue = new WriteBehindQueue<>(connectionManager, UserStatDelta::getId, userDao::incrementBatch,
+                    UserStatDelta::plus, config);
+        } else {
+            try {
+                userDao.createSequenceTable();
+            } catch (SQLException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Failed to create the stat sequence table, retrying on the first flush", e);
+            }
+            UUID source = journal.getId();
+            long next = 1L;
+            for (UserStatDelta recovered : journal.readAll()) {
+                next = Math.max(next, recovered.getSequence() + 1);
+            }
+            this.sequence = new JournalSequence(journal, next, JournalSequence.DEFAULT_BLOCK_SIZE);
+            this.queue = new WriteBehindQueue<>(connectionManager, UserStatDelta::getId,
+                    (conn, batch) -> userDao.incrementBatch(conn, batch, source), UserStatDelta::plus, config);
+            queue.attachJournal(journal, config.getJournalMode());
+        }
+    }
+
+    /**
+     * Adds a delta to one counter of a player. The database is updated on the next flush.
+     *
+     * @param id    The player's id.
+     * @param stat  The counter to change.
+     * @param delta The amount to add, may be negative.
+     */
+    public void increment(UUID id, UserStat stat, long delta) {
+        increment(UserStatDelta.of(id, stat, delta));
+    }
+
+    /**
+     * Adds a delta to the counters of a player. The database is updated on the next flush.
+     *
+     * @param delta The delta to add.
+     */
+    public void increment(UserStatDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        if (sequence != null) {
+            // Sequences must reach the queue in order, so a delta never merges behind one that was already written
+            synchronized (sequenceLock) {
+                queue.submit(delta.withSequence(sequence.next()));
+            }
+        } else {
+            queue.submit(delta);
+        }
+        if (cache != null) {
+            cache.getCached(delta.getId()).ifPresent(delta::applyTo);
+        }
+        for (Consumer<UserStatDelta> listener : listeners) {
+            listener.accept(delta);
+        }
+    }
+
+    /**
+     * Registers a listener notified of every increment as it is buffered, before it is flushed,
+     * e.g. {@link tk.airshipcraft.commonlib.db.leaderboard.Leaderboard#apply(UserStatDelta)}.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(Consumer<UserStatDelta> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Writes all pending deltas to the database now, e.g. when a player leaves.
+     *
+     * @return The number of players whose counters were written.
+     */
+    public int flush() {
+        return queue.flush();
+    }
+
+    /**
+     * Returns the write-behind queue used for flushing, for its statistics.
+     *
+     * @return The underlying queue.
+     */
+    public WriteBehindQueue<UserStatDelta, UUID> getQueue() {
+        return queue;
+    }
+
+    /**
+     * Flushes the remaining deltas and stops the periodic flush.
+     */
+    @Override
+    public void close() {
+        queue.close();
+    }
+}
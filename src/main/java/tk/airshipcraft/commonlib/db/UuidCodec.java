@@ -0,0 +1,195 @@
+package tk.airshipcraft.commonlib.db;
+
+import tk.airshipcraft.commonlib.utils.FastUUID;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.UUID;
+
+/**
+ * <p>Defines how UUID columns are stored, so every DAO binds and reads them the same way.</p>
+ *
+ * <ul>
+ *   <li>{@link #TEXT} - 36 character dashed strings in a {@code CHAR(36)} column. Compatible with existing
+ *   tables, and the default.</li>
+ *   <li>{@link #BINARY} - the 16 raw bytes in a {@code BINARY(16)} column, compatible with MySQL's
+ *   {@code UUID_TO_BIN(uuid)}. Less than half the size in the table and in every index.</li>
+ *   <li>{@link #BINARY_TIME_ORDERED} - 16 bytes with the timestamp fields of a version 1 UUID moved to the
+ *   front, compatible with MySQL's {@code UUID_TO_BIN(uuid, 1)}, so time-based ids are inserted in index
+ *   order.</li>
+ * </ul>
+ *
+ * <p>The codec is selected with {@link DatabaseConfig#getUuidCodec()} and must match the column types; use
+ * {@link UuidColumnMigration} to convert existing text columns. Binary codecs still read text values, so
+ * rows written before a migration remain readable. Ids generated by CommonLib itself should come from
+ * {@link #newTimeOrderedUuid()}, whose leading bytes are a timestamp in either binary layout.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public enum UuidCodec {
+
+    TEXT("CHAR(36)"),
+    BINARY("BINARY(16)"),
+    BINARY_TIME_ORDERED("BINARY(16)");
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final String columnType;
+
+    UuidCodec(String columnType) {
+        this.columnType = columnType;
+    }
+
+    /**
+     * Returns the SQL column type matching this codec.
+     *
+     * @return The column type, e.g. {@code BINARY(16)}.
+     */
+    public String getColumnType() {
+        return columnType;
+    }
+
+    /**
+     * Binds a UUID to a statement parameter.
+     *
+     * @param stmt  The statement.
+     * @param index The 1-based parameter index.
+     * @param uuid  The UUID, or null.
+     * @throws SQLException If the parameter cannot be set.
+     */
+    public void bind(PreparedStatement stmt, int index, UUID uuid) throws SQLException {
+        if (uuid == null) {
+            stmt.setNull(index, this == TEXT ? Types.CHAR : Types.BINARY);
+        } else if (this == TEXT) {
+            stmt.setString(index, FastUUID.toStringDashed(uuid));
+        } else {
+            stmt.setBytes(index, toBytes(uuid));
+        }
+    }
+
+    /**
+     * Reads a UUID column.
+     *
+     * @param rs     The result set positioned on a row.
+     * @param column The column label.
+     * @return The UUID, or null if the column is NULL.
+     * @throws SQLException If the column cannot be read or does not hold a UUID.
+     */
+    public UUID read(ResultSet rs, String column) throws SQLException {
+        return this == TEXT ? parse(rs.getString(column)) : decode(rs.getBytes(column));
+    }
+
+    /**
+     * Reads a UUID column by position, for mappers that resolved their column indexes up front.
+     *
+     * @param rs    The result set positioned on a row.
+     * @param index The 1-based column index.
+     * @return The UUID, or null if the column is NULL.
+     * @throws SQLException If the column cannot be read or does not hold a UUID.
+     */
+    public UUID read(ResultSet rs, int index) throws SQLException {
+        return this == TEXT ? parse(rs.getString(index)) : decode(rs.getBytes(index));
+    }
+
+    /**
+     * Decodes the value of a binary UUID column.
+     *
+     * @param bytes The column value, or null.
+     * @return The UUID, or null if the column is NULL.
+     * @throws SQLException If the value does not hold a UUID.
+     */
+    private UUID decode(byte[] bytes) throws SQLException {
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length == 16) {
+            return fromBytes(bytes);
+        }
+        // Not migrated yet, the column still holds the text form
+        return parse(new String(bytes, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Converts a UUID to the value bound by {@link #bind(PreparedStatement, int, UUID)},
+     * for APIs that take plain parameter objects such as {@link SqlUtils#streamQuery}.
+     *
+     * @param uuid The UUID, or null.
+     * @return A String or byte array, or null.
+     */
+    public Object toParameter(UUID uuid) {
+        if (uuid == null) {
+            return null;
+        }
+        return this == TEXT ? FastUUID.toStringDashed(uuid) : toBytes(uuid);
+    }
+
+    /**
+     * Encodes a UUID in this codec's binary layout. {@link #TEXT} uses the standard layout.
+     *
+     * @param uuid The UUID.
+     * @return The 16 bytes.
+     */
+    public byte[] toBytes(UUID uuid) {
+        long most = uuid.getMostSignificantBits();
+        if (this == BINARY_TIME_ORDERED) {
+            // time_low(32) time_mid(16) time_hi(16) -> time_hi time_mid time_low
+            most = (most << 48) | ((most << 16) & 0xFFFF_0000_0000L) | (most >>> 32);
+        }
+        return ByteBuffer.allocate(16).putLong(most).putLong(uuid.getLeastSignificantBits()).array();
+    }
+
+    /**
+     * Decodes a UUID from this codec's binary layout.
+     *
+     * @param bytes The 16 bytes.
+     * @return The UUID.
+     */
+    public UUID fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long most = buffer.getLong();
+        long least = buffer.getLong();
+        if (this == BINARY_TIME_ORDERED) {
+            // time_hi(16) time_mid(16) time_low(32) -> time_low time_mid time_hi
+            most = (most << 32) | ((most >>> 16) & 0xFFFF_0000L) | (most >>> 48);
+        }
+        return new UUID(most, least);
+    }
+
+    /**
+     * Creates a version 7 UUID: a 48-bit millisecond timestamp followed by random bits. New ids sort by
+     * creation time, so primary key inserts append to the index instead of splitting random pages.
+     *
+     * @return A new time-ordered UUID.
+     */
+    public static UUID newTimeOrderedUuid() {
+        long millis = System.currentTimeMillis();
+        long most = (millis << 16) | 0x7000L | (RANDOM.nextInt() & 0x0FFFL);
+        long least = (RANDOM.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(most, least);
+    }
+
+    /**
+     * Parses a UUID in dashed or undashed text form.
+     *
+     * @param text The text, or null.
+     * @return The UUID, or null.
+     * @throws SQLException If the text is not a UUID.
+     */
+    private static UUID parse(String text) throws SQLException {
+        if (text == null) {
+            return null;
+        }
+        try {
+            return text.length() == 32 ? FastUUID.parseUUIDUUndashed(text) : FastUUID.parseUUIDDashed(text);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Column does not contain a UUID: " + text, e);
+        }
+    }
+}
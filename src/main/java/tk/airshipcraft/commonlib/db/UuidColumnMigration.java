@@ -0,0 +1,181 @@
+package tk.airshipcraft.commonlib.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Converts text UUID columns ({@code CHAR(36)}/{@code VARCHAR(36)}) to {@code BINARY(16)} in place, so an
+ * existing MySQL database can switch to {@link UuidCodec#BINARY} or {@link UuidCodec#BINARY_TIME_ORDERED}.</p>
+ *
+ * <p>Each column is converted in three steps: it is widened to {@code VARBINARY(36)}, every value still in text
+ * form is rewritten to its 16 bytes, and the column is narrowed to {@code BINARY(16)}. Primary keys, indexes and
+ * nullability are kept. Rows that are already 16 bytes long are skipped, so an interrupted migration can simply
+ * be run again. Columns that are already {@code BINARY(16)} are left untouched.</p>
+ *
+ * <p>Run it once before switching {@code uuidStorage} and while no server is writing to the tables:</p>
+ * <pre>{@code
+ * new UuidColumnMigration(connectionManager, UuidCodec.BINARY)
+ *         .migrate(UuidColumnMigration.CORE_COLUMNS);
+ * }</pre>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class UuidColumnMigration {
+
+    /**
+     * The UUID columns of the tables shipped with CommonLib, by table.
+     */
+    public static final Map<String, List<String>> CORE_COLUMNS = Map.of(
+            "users", List.of("id"),
+            "warnings", List.of("id", "issuer", "minecraft_recipient"),
+            "auth_data", List.of("id", "token"));
+
+    private static final Logger LOGGER = Logger.getLogger(UuidColumnMigration.class.getName());
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z0-9_]+");
+
+    private final SqlConnectionManager connectionManager;
+    private final UuidCodec codec;
+
+    /**
+     * Creates a migration to the given binary layout.
+     *
+     * @param connectionManager The connection manager of the database to migrate.
+     * @param codec             The target codec, {@link UuidCodec#BINARY} or {@link UuidCodec#BINARY_TIME_ORDERED}.
+     */
+    public UuidColumnMigration(SqlConnectionManager connectionManager, UuidCodec codec) {
+        if (codec == UuidCodec.TEXT) {
+            throw new IllegalArgumentException("Target codec must be a binary codec");
+        }
+        this.connectionManager = connectionManager;
+        this.codec = codec;
+    }
+
+    /**
+     * Migrates the given columns, table by table.
+     *
+     * @param columns The UUID columns to convert, by table.
+     * @return The columns that were converted, as {@code table.column}.
+     * @throws SQLException If a column could not be converted. Columns converted before the failure stay converted.
+     */
+    public List<String> migrate(Map<String, List<String>> columns) throws SQLException {
+        List<String> migrated = new ArrayList<>();
+        for (Map.Entry<String, List<String>> table : columns.entrySet()) {
+            for (String column : table.getValue()) {
+                if (migrateColumn(table.getKey(), column)) {
+                    migrated.add(table.getKey() + "." + column);
+                }
+            }
+        }
+        return Collections.unmodifiableList(migrated);
+    }
+
+    /**
+     * Converts a single column to {@code BINARY(16)}.
+     *
+     * @param table  The table name.
+     * @param column The column name.
+     * @return True if the column was converted, false if it already was binary.
+     * @throws SQLException If the column does not exist or could not be converted.
+     * @throws SQLFeatureNotSupportedException If the database is not MySQL.
+     */
+    public boolean migrateColumn(String table, String column) throws SQLException {
+        requireIdentifier(table);
+        requireIdentifier(column);
+        if (connectionManager.getDialect() != SqlDialect.MYSQL) {
+            // Embedded databases are created with BINARY(16) columns from the start and never need converting
+            throw new SQLFeatureNotSupportedException("UUID column migration is only supported on MySQL");
+        }
+
+        try (Connection connection = connectionManager.getConnection();
+             Statement statement = connection.createStatement()) {
+            ColumnInfo info = describe(connection, table, column);
+            if (info.dataType.equalsIgnoreCase("binary") && info.length == 16) {
+                return false;
+            }
+
+            String nullability = info.nullable ? " NULL" : " NOT NULL";
+            long started = System.nanoTime();
+            statement.execute("ALTER TABLE " + table + " MODIFY " + column + " VARBINARY(36)" + nullability);
+            int rows = statement.executeUpdate("UPDATE " + table + " SET " + column + " = " + binaryExpression(column)
+                    + " WHERE LENGTH(" + column + ") = 36");
+            statement.execute("ALTER TABLE " + table + " MODIFY " + column + " BINARY(16)" + nullability);
+
+            LOGGER.info(() -> String.format("Converted %s.%s to BINARY(16) (%s), %d rows in %d ms", table, column,
+                    codec, rows, (System.nanoTime() - started) / 1_000_000L));
+            return true;
+        }
+    }
+
+    /**
+     * Builds the SQL expression turning a dashed text UUID into this migration's byte layout,
+     * matching {@link UuidCodec#toBytes(java.util.UUID)}.
+     *
+     * @param column The column holding the text.
+     * @return The SQL expression.
+     */
+    private String binaryExpression(String column) {
+        if (codec == UuidCodec.BINARY_TIME_ORDERED) {
+            // time_hi, time_mid, time_low, clock_seq, node
+            return "UNHEX(CONCAT(SUBSTR(" + column + ", 15, 4), SUBSTR(" + column + ", 10, 4), SUBSTR("
+                    + column + ", 1, 8), SUBSTR(" + column + ", 20, 4), SUBSTR(" + column + ", 25, 12)))";
+        }
+        return "UNHEX(REPLACE(" + column + ", '-', ''))";
+    }
+
+    /**
+     * Looks up the type and nullability of a column in the current schema.
+     *
+     * @param connection The connection to use.
+     * @param table      The table name.
+     * @param column     The column name.
+     * @return The column description.
+     * @throws SQLException If the column does not exist.
+     */
+    private static ColumnInfo describe(Connection connection, String table, String column) throws SQLException {
+        final String sql = "SELECT DATA_TYPE, CHARACTER_MAXIMUM_LENGTH, IS_NULLABLE FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, table);
+            stmt.setString(2, column);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Column not found: " + table + "." + column);
+                }
+                return new ColumnInfo(rs.getString(1), rs.getLong(2), "YES".equalsIgnoreCase(rs.getString(3)));
+            }
+        }
+    }
+
+    /**
+     * Rejects names that cannot safely be concatenated into DDL.
+     *
+     * @param name The table or column name.
+     */
+    private static void requireIdentifier(String name) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid identifier: " + name);
+        }
+    }
+
+    /**
+     * The parts of a column definition the migration has to preserve or check.
+     *
+     * @param dataType The SQL data type, e.g. {@code char}.
+     * @param length   The maximum length of the column.
+     * @param nullable Whether the column accepts NULL.
+     */
+    private record ColumnInfo(String dataType, long length, boolean nullable) {
+    }
+}
@@ -0,0 +1,557 @@
+package tk.airshipcraft.commonlib.db;
+
+import tk.airshipcraft.commonlib.CommonLib;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Buffers entity updates in memory and writes them to the database in periodic JDBC batches.</p>
+ *
+ * <p>Updates are keyed by the entity's identifier, so submitting the same entity many times between two
+ * flushes results in a single row write containing its latest state. Queues created with a merge function
+ * combine the pending and the new update instead, e.g. to add up counter deltas. Pending updates are flushed every
+ * flush interval, as soon as {@code maxBatchSize} distinct entities are pending, and when the queue is
+ * closed. Each batch is written with one pooled connection, one {@code executeBatch} and one commit.</p>
+ *
+ * <p>Queues register themselves with {@link CommonLib#registerDatabaseResource(AutoCloseable)} so they are
+ * drained when CommonLib is disabled. Register the {@link SqlConnectionManager} they write through with
+ * CommonLib as well, rather than closing it yourself, so the pool outlives the final flush.</p>
+ *
+ * <p>Pending updates only live in memory. Attach a {@link WriteJournal} with
+ * {@link #attachJournal(WriteJournal, WriteJournal.Mode)} to keep them on disk while the database is unreachable
+ * (or always), so they are replayed after a restart instead of being lost. Submitting only waits for the journal's
+ * append lock; forcing the journal to disk and discarding written records happen on the flush thread without
+ * holding up submitters.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * SqlUserDao userDao = new SqlUserDao(connectionManager);
+ * WriteBehindQueue<User, UUID> userWrites =
+ *         new WriteBehindQueue<>(connectionManager, User::getId, userDao::updateBatch, dbConfig);
+ *
+ * user.setTotalKills(user.getTotalKills() + 1);
+ * userWrites.submit(user); // no database round-trip here
+ * }</pre>
+ *
+ * @param <T>  the type of the model object
+ * @param <ID> the type of the model object's identifier
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class WriteBehindQueue<T, ID> implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(WriteBehindQueue.class.getName());
+
+    private final SqlConnectionManager connectionManager;
+    private final Function<T, ID> idFunction;
+    private final BatchWriter<T> writer;
+    private final BinaryOperator<T> merger;
+    private final int maxBatchSize;
+    private final Map<ID, T> pending = new ConcurrentHashMap<>();
+    private final Deque<T> recovered = new ConcurrentLinkedDeque<>();
+    private final ScheduledExecutorService scheduler;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong mergedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong failedBatchCount = new AtomicLong();
+    private final Object journalLock = new Object();
+    private volatile WriteJournal<T> journal;
+    private volatile WriteJournal.Mode journalMode;
+    private volatile boolean journalActive;
+    private volatile boolean journalFullLogged;
+    private volatile boolean closed;
+
+    /**
+     * Creates a write-behind queue using the flush interval and batch size of the given configuration.
+     *
+     * @param connectionManager The connection manager used for flushing.
+     * @param idFunction        Extracts the identifier used to merge updates to the same entity.
+     * @param writer            Writes a batch of entities using JDBC batching.
+     * @param config            The database configuration.
+     */
+    public WriteBehindQueue(SqlConnectionManager connectionManager, Function<T, ID> idFunction,
+                            BatchWriter<T> writer, DatabaseConfig config) {
+        this(connectionManager, idFunction, writer,
+                config.getWriteBehindFlushIntervalMillis(), config.getWriteBehindMaxBatchSize());
+    }
+
+    /**
+     * Creates a write-behind queue that keeps only the latest update per entity.
+     *
+     * @param connectionManager   The connection manager used for flushing.
+     * @param idFunction          Extracts the identifier used to merge updates to the same entity.
+     * @param writer              Writes a batch of entities using JDBC batching.
+     * @param flushIntervalMillis The interval between periodic flushes in milliseconds.
+     * @param maxBatchSize        The maximum number of entities written per batch.
+     */
+    public WriteBehindQueue(SqlConnectionManager connectionManager, Function<T, ID> idFunction,
+                            BatchWriter<T> writer, long flushIntervalMillis, int maxBatchSize) {
+        this(connectionManager, idFunction, writer, (pendingUpdate, latest) -> latest, flushIntervalMillis, maxBatchSize);
+    }
+
+    /**
+     * Creates a write-behind queue that combines updates to the same entity with a merge function,
+     * using the flush interval and batch size of the given configuration.
+     *
+     * @param connectionManager The connection manager used for flushing.
+     * @param idFunction        Extracts the identifier used to merge updates to the same entity.
+     * @param writer            Writes a batch of entities using JDBC batching.
+     * @param merger            Combines a pending update with a newer one, in that order.
+     * @param config            The database configuration.
+     */
+    public WriteBehindQueue(SqlConnectionManager connectionManager, Function<T, ID> idFunction,
+                            BatchWriter<T> writer, BinaryOperator<T> merger, DatabaseConfig config) {
+        this(connectionManager, idFunction, writer, merger,
+                config.getWriteBehindFlushIntervalMillis(), config.getWriteBehindMaxBatchSize());
+    }
+
+    /**
+     * Creates a write-behind queue that combines updates to the same entity with a merge function.
+     *
+     * @param connectionManager   The connection manager used for flushing.
+     * @param idFunction          Extracts the identifier used to merge updates to the same entity.
+     * @param writer              Writes a batch of entities using JDBC batching.
+     * @param merger              Combines a pending update with a newer one, in that order.
+     * @param flushIntervalMillis The interval between periodic flushes in milliseconds.
+     * @param maxBatchSize        The maximum number of entities written per batch.
+     */
+    public WriteBehindQueue(SqlConnectionManager connectionManager, Function<T, ID> idFunction,
+                            BatchWriter<T> writer, BinaryOperator<T> merger, long flushIntervalMillis,
+                            int maxBatchSize) {
+        this.connectionManager = connectionManager;
+        this.idFunction = idFunction;
+        this.writer = writer;
+        this.merger = merger;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CommonLib-WriteBehind");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long interval = Math.max(1L, flushIntervalMillis);
+        this.scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+
+        CommonLib commonLib = CommonLib.getInstance();
+        if (commonLib != null) {
+            commonLib.registerDatabaseResource(this);
+        }
+    }
+
+    /**
+     * <p>Attaches a journal that keeps pending updates on disk, and queues the updates it still holds from a
+     * previous run. Recovered updates are written before any other update, one by one in the order they were
+     * journaled and without merging, so a writer can tell which of them already reached the database before the
+     * restart (see {@link UserStatBuffer}). They stay in the journal until they are written.</p>
+     *
+     * <p>In {@link WriteJournal.Mode#OUTAGE} mode nothing is journaled until a flush fails; the queue then journals
+     * everything pending and every further update until a flush writes all of them. In
+     * {@link WriteJournal.Mode#ALWAYS} mode every update is journaled as it is submitted. The journal is closed
+     * together with the queue.</p>
+     *
+     * @param journal The journal.
+     * @param mode    When updates are journaled.
+     * @throws IllegalStateException If a journal is already attached.
+     */
+    public void attachJournal(WriteJournal<T> journal, WriteJournal.Mode mode) {
+        flushLock.lock();
+        try {
+            synchronized (journalLock) {
+                if (this.journal != null) {
+                    throw new IllegalStateException("WriteBehindQueue already has a journal");
+                }
+                List<T> updates = journal.readAll();
+                recovered.addAll(updates);
+                this.journal = journal;
+                this.journalMode = mode;
+                this.journalActive = mode == WriteJournal.Mode.ALWAYS || !journal.isEmpty();
+                if (journalActive) {
+                    // Updates submitted before attaching are only in memory so far
+                    appendAll(journal, pending.values());
+                }
+                if (!updates.isEmpty()) {
+                    LOGGER.info("Recovered " + updates.size() + " journaled updates from " + journal.getPath());
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Queues an entity to be written on the next flush. If an update for the same identifier is already
+     * pending it is replaced (or combined, if the queue has a merge function), and the saved write is
+     * counted as merged. While a journal is active the update is appended to it first; this never waits for
+     * the disk, nor for the flush thread forcing or compacting the journal.
+     *
+     * @param entity The entity whose current state should be persisted.
+     * @throws IllegalStateException If the queue has been closed.
+     */
+    public void submit(T entity) {
+        if (closed) {
+            throw new IllegalStateException("WriteBehindQueue has been closed");
+        }
+        submittedCount.incrementAndGet();
+        if (journal == null) {
+            enqueue(entity);
+        } else {
+            synchronized (journalLock) {
+                if (journalActive && !journal.append(entity)) {
+                    logJournalFull();
+                }
+                enqueue(entity);
+            }
+        }
+        if (pending.size() >= maxBatchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false); // closing, the final flush picks this update up
+            }
+        }
+    }
+
+    /**
+     * Writes all pending entities to the database, in batches of at most {@code maxBatchSize}, after any updates
+     * recovered from the journal. If a batch fails, its entities are put back in the queue, merged with any update
+     * submitted in the meantime, and flushing stops until the next attempt. With a journal attached, a failed flush
+     * starts journaling and a complete one discards the journaled updates it wrote.
+     *
+     * @return The number of entities written.
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+            long mark = -1L;
+            if (journal != null) {
+                synchronized (journalLock) {
+                    if (journalActive) {
+                        // Updates are appended and enqueued under the same lock, so everything before the mark is pending
+                        mark = journal.mark();
+                    }
+                }
+            }
+            int written = 0;
+            boolean failed = false;
+            while (!recovered.isEmpty()) {
+                List<T> batch = takeRecovered();
+                if (!writeBatch(batch)) {
+                    for (int i = batch.size() - 1; i >= 0; i--) {
+                        recovered.addFirst(batch.get(i));
+                    }
+                    failed = true;
+                    break;
+                }
+                written += batch.size();
+            }
+            while (!failed && !pending.isEmpty()) {
+                List<T> batch = takeBatch();
+                if (batch.isEmpty()) {
+                    break;
+                }
+                if (!writeBatch(batch)) {
+                    for (T entity : batch) {
+                        pending.merge(idFunction.apply(entity), entity, (newer, failedUpdate) -> merger.apply(failedUpdate, newer));
+                    }
+                    failed = true;
+                    break;
+                }
+                written += batch.size();
+            }
+            if (journal != null) {
+                updateJournal(failed, mark);
+            }
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of entities waiting to be written, plus the recovered updates not written yet.
+     *
+     * @return The pending entity count.
+     */
+    public int getPendingCount() {
+        return pending.size() + recovered.size();
+    }
+
+    /**
+     * Returns the total number of updates submitted to this queue.
+     *
+     * @return The submitted update count.
+     */
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    /**
+     * Returns the number of updates that were merged into an already pending update for the same entity.
+     * Each merged update is a database write that never had to happen.
+     *
+     * @return The merged update count.
+     */
+    public long getMergedCount() {
+        return mergedCount.get();
+    }
+
+    /**
+     * Returns the number of rows actually written to the database.
+     *
+     * @return The written row count.
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * Returns the number of batches successfully written to the database.
+     *
+     * @return The batch count.
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * Returns the number of batches that failed and were re-queued.
+     *
+     * @return The failed batch count.
+     */
+    public long getFailedBatchCount() {
+        return failedBatchCount.get();
+    }
+
+    /**
+     * Returns the fraction of submitted updates that were merged away, between 0 and 1.
+     *
+     * @return The merge ratio, or 0 if nothing has been submitted yet.
+     */
+    public double getMergeRatio() {
+        long submitted = submittedCount.get();
+        return submitted == 0 ? 0.0 : (double) mergedCount.get() / submitted;
+    }
+
+    /**
+     * Stops the periodic flush and writes everything still pending.
+     * Further calls to {@link #submit(Object)} will fail.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10L, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        WriteJournal<T> closing = journal;
+        int unwritten = getPendingCount();
+        if (unwritten > 0) {
+            if (closing != null && journalActive) {
+                LOGGER.severe("WriteBehindQueue closed with " + unwritten + " unwritten updates, kept in "
+                        + closing.getPath() + " for the next start");
+            } else {
+                LOGGER.severe("WriteBehindQueue closed with " + unwritten + " unwritten updates");
+            }
+        }
+        if (closing != null) {
+            closing.close();
+        }
+    }
+
+    /**
+     * Merges an update into the pending updates, counting merged writes.
+     *
+     * @param entity The update.
+     */
+    private void enqueue(T entity) {
+        pending.merge(idFunction.apply(entity), entity, (pendingUpdate, latest) -> {
+            mergedCount.incrementAndGet();
+            return merger.apply(pendingUpdate, latest);
+        });
+    }
+
+    /**
+     * Brings the journal in line with the outcome of a flush: a failed flush journals everything pending if it
+     * was not journaled yet, a complete one discards the records sealed by the mark taken before it started.
+     * Runs on the flushing thread, which may wait for the disk; the journal lock is only held for appends and
+     * state changes, never while the journal is compacted or forced, so submitters are not held up.
+     *
+     * @param failed Whether a batch failed.
+     * @param mark   The journal mark taken before the flush, or -1 if the journal was not active.
+     */
+    private void updateJournal(boolean failed, long mark) {
+        if (!failed && mark < 0) {
+            return;
+        }
+        if (failed) {
+            synchronized (journalLock) {
+                if (!journalActive) {
+                    appendAll(journal, pending.values());
+                    journalActive = true;
+                    LOGGER.warning("Database unreachable, journaling " + pending.size() + " pending updates to "
+                            + journal.getPath());
+                }
+            }
+        } else {
+            journal.discardBefore(mark);
+            synchronized (journalLock) {
+                if (journalMode == WriteJournal.Mode.OUTAGE && journal.isEmpty()) {
+                    journalActive = false;
+                    journalFullLogged = false;
+                    LOGGER.info("Database reachable again, journaled updates written");
+                }
+            }
+        }
+        journal.force();
+    }
+
+    /**
+     * Appends updates to a journal, logging once if it is full.
+     *
+     * @param target  The journal.
+     * @param updates The updates to append.
+     * @return True if every update was appended.
+     */
+    private boolean appendAll(WriteJournal<T> target, Iterable<T> updates) {
+        for (T update : updates) {
+            if (!target.append(update)) {
+                logJournalFull();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Logs that the journal is full, once per outage.
+     */
+    private void logJournalFull() {
+        if (!journalFullLogged) {
+            journalFullLogged = true;
+            LOGGER.severe("Write journal " + journal.getPath() + " is full, further updates are only kept in memory");
+        }
+    }
+
+    /**
+     * Removes up to {@code maxBatchSize} pending entities from the queue.
+     *
+     * @return The entities to write next.
+     */
+    private List<T> takeBatch() {
+        List<T> batch = new ArrayList<>(Math.min(maxBatchSize, pending.size()));
+        Iterator<ID> ids = pending.keySet().iterator();
+        while (ids.hasNext() && batch.size() < maxBatchSize) {
+            T entity = pending.remove(ids.next());
+            if (entity != null) {
+                batch.add(entity);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Removes up to {@code maxBatchSize} recovered updates from the queue, oldest first.
+     *
+     * @return The updates to write next.
+     */
+    private List<T> takeRecovered() {
+        List<T> batch = new ArrayList<>(maxBatchSize);
+        T update;
+        while (batch.size() < maxBatchSize && (update = recovered.pollFirst()) != null) {
+            batch.add(update);
+        }
+        return batch;
+    }
+
+    /**
+     * Writes a batch in its own transaction. The caller re-queues the batch if the write fails.
+     *
+     * @param batch The entities to write.
+     * @return True if the batch was committed.
+     */
+    private boolean writeBatch(List<T> batch) {
+        try (Connection connection = connectionManager.getConnection()) {
+            connectionManager.beginTransaction(connection);
+            try {
+                writer.write(connection, batch);
+                connectionManager.commitTransaction(connection);
+            } catch (SQLException e) {
+                connectionManager.rollbackTransaction(connection);
+                throw e;
+            } finally {
+                connectionManager.resetConnection(connection);
+            }
+            for (T entity : batch) {
+                connectionManager.markWritten(idFunction.apply(entity));
+            }
+            writtenCount.addAndGet(batch.size());
+            batchCount.incrementAndGet();
+            return true;
+        } catch (SQLException e) {
+            failedBatchCount.incrementAndGet();
+            LOGGER.log(Level.WARNING, "Write-behind flush of " + batch.size() + " rows failed, re-queued", e);
+            return false;
+        }
+    }
+
+    /**
+     * Flushes the queue from the scheduler thread without letting exceptions cancel the periodic task.
+     */
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Unexpected error during write-behind flush", e);
+        }
+    }
+
+    /**
+     * Writes a batch of entities on the given connection, typically with
+     * {@link java.sql.PreparedStatement#addBatch()} and {@link java.sql.PreparedStatement#executeBatch()}.
+     * The connection is already in a transaction that is committed after this method returns.
+     *
+     * @param <T> the type of the model object
+     */
+    @FunctionalInterface
+    public interface BatchWriter<T> {
+
+        /**
+         * Writes the given entities.
+         *
+         * @param connection The connection to write with.
+         * @param batch      The entities to write.
+         * @throws SQLException If the batch could not be written.
+         */
+        void write(Connection connection, List<T> batch) throws SQLException;
+    }
+}
@@ -0,0 +1,587 @@
+package tk.airshipcraft.commonlib.db;
+
+import tk.airshipcraft.commonlib.db.codec.BinaryCodec;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * <p>An append-only journal of pending writes, stored in two memory-mapped segment files.</p>
+ *
+ * <p>A {@link WriteBehindQueue} with a journal attached (see {@link WriteBehindQueue#attachJournal(WriteJournal, Mode)})
+ * appends the updates it could not write yet, so they survive a database outage followed by a restart or crash.
+ * On the next start the journal is read back into the queue and its updates are written again, in the order they
+ * were journaled. Once the updates are in the database they are discarded from the journal.</p>
+ *
+ * <p>Records are appended to the active segment. {@link #mark()} seals it and switches appends to the other,
+ * empty segment, so the records written by a flush can later be discarded by clearing the sealed segment as a
+ * whole. Appending encodes the record directly into the mapped file and only takes the append lock, which
+ * {@link #force()}, {@link #discardBefore(long)} and every other maintenance operation leave alone while they
+ * wait for the disk or clear a segment; it is safe on the main thread. The operating system writes the pages back
+ * on its own, so records survive a crash of the server process; {@link #force()} also protects them against a
+ * power loss and is called by the queue's flush thread.</p>
+ *
+ * <p>Each segment file starts with a magic number, a format version, the journal id, the segment's generation and
+ * the journal's {@link #getHighWaterMark() high-water mark}, followed by records of the form {@code [int length][int crc32c][payload]}, where the payload is produced by a
+ * {@link BinaryCodec}. A zero length marks the end of the segment. A record whose checksum does not match, e.g.
+ * because the server died while writing it, ends the segment as well. The first segment is stored in the given
+ * file, the second one next to it with a {@code .1} suffix.</p>
+ *
+ * <p>Replay is at-least-once: after a crash, updates written to the database but not yet discarded from the
+ * journal are written again. This is harmless for queues that store the latest state of an entity; queues of
+ * increments such as {@link tk.airshipcraft.commonlib.db.model.UserStatDelta} tag their records with a sequence
+ * that the database checks against the journal {@link #getId() id}, see
+ * {@link tk.airshipcraft.commonlib.db.UserStatBuffer}.</p>
+ *
+ * @param <T> the type of the journaled updates
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class WriteJournal<T> implements AutoCloseable {
+
+    /**
+     * When a write-behind queue journals its updates.
+     */
+    public enum Mode {
+        /**
+         * Only while the database is unreachable: from the first failed flush until everything is written.
+         */
+        OUTAGE,
+        /**
+         * Every update, as it is submitted.
+         */
+        ALWAYS
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(WriteJournal.class.getName());
+    private static final int MAGIC = 0x434C574A; // "CLWJ"
+    private static final int VERSION = 3;
+    private static final int HEADER_SIZE = 40;
+    private static final int GENERATION_OFFSET = 24;
+    private static final int HIGH_WATER_OFFSET = 32;
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private final Path path;
+    private final BinaryCodec<T> codec;
+    private final Segment[] segments = new Segment[2];
+    private final Object appendLock = new Object();
+    private final UUID id;
+    private volatile int active;
+
+    /**
+     * Opens or creates a journal using the sizes of the given configuration.
+     *
+     * @param path   The journal file.
+     * @param codec  Encodes and decodes the journaled updates.
+     * @param config The database configuration.
+     * @throws IOException If the files cannot be opened or are not a journal.
+     */
+    public WriteJournal(Path path, BinaryCodec<T> codec, DatabaseConfig config) throws IOException {
+        this(path, codec, config.getJournalInitialSizeBytes(), config.getJournalMaxSizeBytes());
+    }
+
+    /**
+     * Opens or creates a journal. Records already in the files are kept and can be read with {@link #readAll()}.
+     *
+     * @param path        The file of the first segment; the second one is stored next to it.
+     * @param codec       Encodes and decodes the journaled updates.
+     * @param initialSize The size a new segment file is mapped with, in bytes.
+     * @param maxSize     The size each segment file may grow to, in bytes.
+     * @throws IOException If the files cannot be opened or are not a journal.
+     */
+    public WriteJournal(Path path, BinaryCodec<T> codec, int initialSize, int maxSize) throws IOException {
+        this.path = path;
+        this.codec = codec;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        int max = Math.max(maxSize, HEADER_SIZE + RECORD_HEADER_SIZE);
+        int initial = Math.min(Math.max(initialSize, HEADER_SIZE + RECORD_HEADER_SIZE), max);
+        segments[0] = new Segment(path, initial, max);
+        try {
+            segments[1] = new Segment(path.resolveSibling(path.getFileName() + ".1"), initial, max);
+        } catch (IOException e) {
+            segments[0].channel.close();
+            throw e;
+        }
+
+        UUID existing = null;
+        for (Segment segment : segments) {
+            if (!segment.fresh) {
+                if (existing != null && !existing.equals(segment.readId())) {
+                    closeChannels();
+                    throw new IOException("The segments of write journal " + path + " belong to different journals");
+                }
+                existing = segment.readId();
+            }
+        }
+        this.id = existing != null ? existing : UUID.randomUUID();
+        for (Segment segment : segments) {
+            if (segment.fresh) {
+                segment.writeHeader(id);
+            } else {
+                segment.recover();
+            }
+        }
+        this.active = pickActive();
+    }
+
+    /**
+     * Appends an update to the active segment. Only waits for other appends, never for the disk.
+     *
+     * @param update The update.
+     * @return True if the update was journaled, false if the segment has reached its maximum size.
+     */
+    public boolean append(T update) {
+        synchronized (appendLock) {
+            return segments[active].append(update, codec);
+        }
+    }
+
+    /**
+     * Reads every record of the journal, oldest first. Records that can no longer be decoded are skipped.
+     *
+     * @return The journaled updates.
+     */
+    public synchronized List<T> readAll() {
+        synchronized (appendLock) {
+            Segment current = segments[active];
+            Segment other = segments[1 - active];
+            List<T> updates = new ArrayList<>(current.recordCount + other.recordCount);
+            other.readInto(updates, codec);
+            current.readInto(updates, codec);
+            return updates;
+        }
+    }
+
+    /**
+     * Seals the active segment and switches appends to the other one, so the records appended so far can be
+     * discarded with {@link #discardBefore(long)} once they are written. If the other segment still holds records
+     * that were never discarded, appends stay in the active segment and the mark only covers the other one; the
+     * records of the active segment are then discarded after a later mark.
+     *
+     * @return The generation of the newest sealed segment.
+     */
+    public synchronized long mark() {
+        synchronized (appendLock) {
+            Segment current = segments[active];
+            Segment other = segments[1 - active];
+            if (!other.isEmpty()) {
+                return other.generation;
+            }
+            other.setGeneration(current.generation + 1);
+            active = 1 - active;
+            return current.generation;
+        }
+    }
+
+    /**
+     * Discards the sealed segment if it was sealed by the given mark or an earlier one. Runs without the append
+     * lock, so appends continue while the segment is cleared.
+     *
+     * @param mark A generation returned by {@link #mark()}.
+     */
+    public synchronized void discardBefore(long mark) {
+        Segment sealed = segments[1 - active];
+        if (sealed.generation <= mark && !sealed.isEmpty()) {
+            sealed.clear();
+        }
+    }
+
+    /**
+     * Discards every record.
+     */
+    public synchronized void clear() {
+        synchronized (appendLock) {
+            for (Segment segment : segments) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes the mapped pages of both segments to the storage device. This blocks on disk I/O and must not be called
+     * on the main thread, but does not hold up appends.
+     */
+    public synchronized void force() {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+    }
+
+    /**
+     * Checks whether the journal holds no records.
+     *
+     * @return True if the journal is empty.
+     */
+    public boolean isEmpty() {
+        return segments[0].isEmpty() && segments[1].isEmpty();
+    }
+
+    /**
+     * Returns the number of records in the journal.
+     *
+     * @return The record count.
+     */
+    public int getRecordCount() {
+        return segments[0].recordCount + segments[1].recordCount;
+    }
+
+    /**
+     * Returns the number of bytes used by the headers and the records of both segments.
+     *
+     * @return The used size in bytes.
+     */
+    public int getSizeBytes() {
+        return segments[0].end + segments[1].end;
+    }
+
+    /**
+     * Returns the id stored in the journal's header. It is generated when the journal is created and kept for as
+     * long as its files exist, so it identifies the journal to a database checking for replayed records.
+     *
+     * @return The journal id.
+     */
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Returns the high-water mark stored in the journal's header, e.g. the highest sequence number its owner may
+     * have handed out. It is kept when records are discarded, so it survives restarts for as long as the journal's
+     * files exist.
+     *
+     * @return The high-water mark, 0 for a new journal.
+     */
+    public synchronized long getHighWaterMark() {
+        return Math.max(segments[0].highWater, segments[1].highWater);
+    }
+
+    /**
+     * Stores a high-water mark in the headers of both segments and writes the headers to the storage device, so it
+     * survives a power loss. This blocks on disk I/O for the two header pages, but does not hold up appends.
+     *
+     * @param highWater The high-water mark.
+     */
+    public synchronized void setHighWaterMark(long highWater) {
+        for (Segment segment : segments) {
+            segment.setHighWater(highWater);
+        }
+    }
+
+    /**
+     * Returns the file of the first segment.
+     *
+     * @return The path of the journal.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Forces the journal to disk and closes its files. Records are kept for the next start.
+     */
+    @Override
+    public synchronized void close() {
+        synchronized (appendLock) {
+            try {
+                for (Segment segment : segments) {
+                    segment.buffer.force();
+                }
+            } finally {
+                closeChannels();
+            }
+        }
+    }
+
+    /**
+     * Chooses the segment to append to after opening: the newer one holding records, or the newer one if both
+     * are empty.
+     *
+     * @return The index of the active segment.
+     */
+    private int pickActive() {
+        boolean empty0 = segments[0].isEmpty();
+        boolean empty1 = segments[1].isEmpty();
+        if (empty0 != empty1) {
+            return empty0 ? 1 : 0;
+        }
+        return segments[1].generation > segments[0].generation ? 1 : 0;
+    }
+
+    /**
+     * Closes the files of both segments, logging failures.
+     */
+    private void closeChannels() {
+        for (Segment segment : segments) {
+            if (segment == null) {
+                continue;
+            }
+            try {
+                segment.channel.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to close write journal " + segment.path, e);
+            }
+        }
+    }
+
+    /**
+     * One memory-mapped segment file. Appends to the active segment are guarded by the journal's append lock, every
+     * other access by the journal's monitor; a segment is only cleared or recovered while it is not active.
+     */
+    private static final class Segment {
+
+        private final Path path;
+        private final int maxSize;
+        private final FileChannel channel;
+        private final boolean fresh;
+        private volatile MappedByteBuffer buffer;
+        private volatile int end = HEADER_SIZE;
+        private volatile int recordCount;
+        private long generation;
+        private long highWater;
+
+        /**
+         * Opens or creates a segment file.
+         *
+         * @param path        The segment file.
+         * @param initialSize The size a new file is mapped with, in bytes.
+         * @param maxSize     The size the file may grow to, in bytes.
+         * @throws IOException If the file cannot be opened or is not a journal segment.
+         */
+        private Segment(Path path, int initialSize, int maxSize) throws IOException {
+            this.path = path;
+            this.maxSize = maxSize;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            long existing = channel.size();
+            if (existing > maxSize) {
+                channel.close();
+                throw new IOException("Journal " + path + " is larger than the maximum size of " + maxSize + " bytes");
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (int) Math.max(existing, initialSize));
+            this.fresh = existing < HEADER_SIZE;
+            if (!fresh && (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)) {
+                channel.close();
+                throw new IOException("Not a version " + VERSION + " write journal: " + path);
+            }
+        }
+
+        /**
+         * Reads the journal id from the header of an existing file.
+         *
+         * @return The journal id.
+         */
+        private UUID readId() {
+            return new UUID(buffer.getLong(8), buffer.getLong(16));
+        }
+
+        /**
+         * Writes the header of a new file.
+         *
+         * @param id The journal id.
+         */
+        private void writeHeader(UUID id) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(8, id.getMostSignificantBits());
+            buffer.putLong(16, id.getLeastSignificantBits());
+            buffer.putLong(GENERATION_OFFSET, 0L);
+            buffer.putLong(HIGH_WATER_OFFSET, 0L);
+        }
+
+        /**
+         * Sets the generation of an empty segment before it becomes active.
+         *
+         * @param generation The new generation.
+         */
+        private void setGeneration(long generation) {
+            this.generation = generation;
+            buffer.putLong(GENERATION_OFFSET, generation);
+        }
+
+        /**
+         * Stores the high-water mark in the header and forces the header to disk.
+         *
+         * @param highWater The high-water mark.
+         */
+        private void setHighWater(long highWater) {
+            this.highWater = highWater;
+            MappedByteBuffer mapped = buffer;
+            mapped.putLong(HIGH_WATER_OFFSET, highWater);
+            mapped.force(0, HEADER_SIZE);
+        }
+
+        /**
+         * Appends an update.
+         *
+         * @param update The update.
+         * @param codec  Encodes the update.
+         * @param <T>    The type of the update.
+         * @return False if the segment has reached its maximum size.
+         */
+        private <T> boolean append(T update, BinaryCodec<T> codec) {
+            int start = end + RECORD_HEADER_SIZE;
+            ByteBuffer payload;
+            while (true) {
+                // Encode straight into the mapped file, keeping room for the zero length that terminates the segment
+                int room = buffer.capacity() - start - 4;
+                if (room > 0) {
+                    payload = buffer.slice(start, room);
+                    try {
+                        codec.encode(update, payload);
+                        break;
+                    } catch (BufferOverflowException e) {
+                        zero(start, start + payload.position());
+                    }
+                }
+                if (!ensureCapacity(buffer.capacity() - end)) {
+                    return false;
+                }
+            }
+            payload.flip();
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            // Payload and checksum go in first and the length last, so a torn append reads as the end of the segment
+            buffer.putInt(end + 4, (int) crc.getValue());
+            buffer.putInt(end, payload.limit());
+            recordCount++;
+            end += RECORD_HEADER_SIZE + payload.limit();
+            return true;
+        }
+
+        /**
+         * Decodes every record of the segment into a list, skipping records that can no longer be decoded.
+         *
+         * @param updates The list to add the updates to.
+         * @param codec   Decodes the updates.
+         * @param <T>     The type of the updates.
+         */
+        private <T> void readInto(List<T> updates, BinaryCodec<T> codec) {
+            int position = HEADER_SIZE;
+            while (position < end) {
+                int length = buffer.getInt(position);
+                byte[] payload = new byte[length];
+                buffer.get(position + RECORD_HEADER_SIZE, payload);
+                try {
+                    updates.add(codec.decode(payload));
+                } catch (IllegalArgumentException e) {
+                    LOGGER.log(Level.WARNING, "Skipping undecodable record in write journal " + path, e);
+                }
+                position += RECORD_HEADER_SIZE + length;
+            }
+        }
+
+        /**
+         * Checks whether the segment holds no records.
+         *
+         * @return True if the segment is empty.
+         */
+        private boolean isEmpty() {
+            return end == HEADER_SIZE;
+        }
+
+        /**
+         * Discards every record of the segment.
+         */
+        private void clear() {
+            zero(HEADER_SIZE, end);
+            recordCount = 0;
+            end = HEADER_SIZE;
+        }
+
+        /**
+         * Reads the generation and the high-water mark and finds the end of the records in an existing file, truncating a torn or corrupt tail.
+         */
+        private void recover() {
+            generation = buffer.getLong(GENERATION_OFFSET);
+            highWater = buffer.getLong(HIGH_WATER_OFFSET);
+            int position = HEADER_SIZE;
+            int count = 0;
+            int capacity = buffer.capacity();
+            while (position + RECORD_HEADER_SIZE <= capacity) {
+                int length = buffer.getInt(position);
+                if (length == 0) {
+                    break;
+                }
+                if (length < 0 || length > capacity - position - RECORD_HEADER_SIZE || !checksumMatches(position, length)) {
+                    LOGGER.warning("Write journal " + path + " has a damaged record at offset " + position
+                            + ", discarding the rest of the file");
+                    zero(position, capacity);
+                    break;
+                }
+                position += RECORD_HEADER_SIZE + length;
+                count++;
+            }
+            recordCount = count;
+            end = position;
+        }
+
+        /**
+         * Verifies the checksum of a record.
+         *
+         * @param position The offset of the record.
+         * @param length   The payload length.
+         * @return True if the payload matches its checksum.
+         */
+        private boolean checksumMatches(int position, int length) {
+            CRC32C crc = new CRC32C();
+            ByteBuffer payload = buffer.duplicate();
+            payload.position(position + RECORD_HEADER_SIZE).limit(position + RECORD_HEADER_SIZE + length);
+            crc.update(payload);
+            return (int) crc.getValue() == buffer.getInt(position + 4);
+        }
+
+        /**
+         * Makes room for a record, remapping the file at twice its size if needed.
+         *
+         * @param required The record size in bytes.
+         * @return False if the record would exceed the maximum size.
+         */
+        private boolean ensureCapacity(int required) {
+            // Keep room for the zero length that terminates the segment
+            long needed = (long) end + required + 4;
+            if (needed <= buffer.capacity()) {
+                return true;
+            }
+            if (needed > maxSize) {
+                return false;
+            }
+            int size = (int) Math.min(maxSize, Math.max(needed, 2L * buffer.capacity()));
+            try {
+                // Both mappings share the page cache, so the old one needs no force before it is dropped
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                return true;
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to grow write journal " + path, e);
+                return false;
+            }
+        }
+
+        /**
+         * Overwrites a range of the mapped file with zeros.
+         *
+         * @param from The first offset to clear.
+         * @param to   The offset after the last one to clear.
+         */
+        private void zero(int from, int to) {
+            byte[] zeros = new byte[Math.min(8192, Math.max(0, to - from))];
+            for (int position = from; position < to; position += zeros.length) {
+                buffer.put(position, zeros, 0, Math.min(zeros.length, to - position));
+            }
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package tk.airshipcraft.commonlib.db.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
+import tk.airshipcraft.commonlib.db.DatabaseConfig;
+import tk.airshipcraft.commonlib.db.GenericDao;
+import tk.airshipcraft.commonlib.db.TransactionSynchronization;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * <p>A read-through, write-through caching decorator for any {@link GenericDao}.</p>
+ *
+ * <p>Lookups by id are served from a bounded in-process cache and only fall through to the wrapped DAO on a miss.
+ * Writes go to the wrapped DAO first and only refresh the cache once it returns. A write the wrapped DAO rejects
+ * with an exception, e.g. a {@link tk.airshipcraft.commonlib.db.DataAccessException} from the SQL DAOs, evicts the
+ * entity instead, because callers usually change the cached instance in place before updating it. Inside
+ * {@link tk.airshipcraft.commonlib.db.SqlConnectionManager#inTransaction(tk.airshipcraft.commonlib.db.TransactionCallback)}
+ * the cache is only refreshed once the transaction commits, and updated entities are evicted if it rolls back,
+ * see {@link TransactionSynchronization}. Ids that were
+ * looked up and not found are remembered for a short time, so repeated lookups of unknown players do not reach the
+ * database either. Only empty results are remembered: the wrapped DAO must report failures by throwing, as the SQL
+ * DAOs do, never by returning an empty result.</p>
+ *
+ * <p>A row loaded on a miss is only cached if no write went through the cache while it was being loaded, and never
+ * replaces an entity that is already cached, so a slow lookup cannot overwrite a newer entity stored by a concurrent
+ * write, or bring back one that was deleted.</p>
+ *
+ * <p>Entries are evicted once the cache exceeds its maximum size (least recently used first) or after they have
+ * not been read for the configured time. Hit, miss and eviction counts are available through {@link #getStats()}.</p>
+ *
+ * <p>Queries that return many rows, such as {@link #findAll()}, {@link #streamAll()} and {@link #findPage(Object, int)},
+ * always go to the database and do not populate the cache.</p>
+ *
+ * <p>During a database outage cached entities keep being served. Lookups that reach the database fail with the
+ * wrapped DAO's exception and are not remembered as missing, so they are looked up again once it recovers.</p>
+ *
+ * @param <T>  the type of the model object
+ * @param <ID> the type of the model object's identifier
+ * @author notzune
+ * @version 1.0.0
+ * @see CachingUserDao
+ * @since 2026-10-17
+ */
+public class CachingDao<T, ID> implements GenericDao<T, ID> {
+
+    private final GenericDao<T, ID> delegate;
+    private final Function<T, ID> idFunction;
+    private final Cache<ID, T> cache;
+    private final Cache<ID, Boolean> missing;
+    private final AtomicLong negativeHitCount = new AtomicLong();
+    private final AtomicLong writeCount = new AtomicLong();
+
+    /**
+     * Creates a caching DAO using the cache settings of the given configuration.
+     *
+     * @param delegate   The DAO to cache.
+     * @param idFunction Extracts the identifier of an entity.
+     * @param config     The database configuration.
+     */
+    public CachingDao(GenericDao<T, ID> delegate, Function<T, ID> idFunction, DatabaseConfig config) {
+        this(delegate, idFunction, config.getCacheMaximumSize(),
+                Duration.ofSeconds(config.getCacheExpireAfterAccessSeconds()),
+                Duration.ofSeconds(config.getCacheNegativeExpireSeconds()));
+    }
+
+    /**
+     * Creates a caching DAO.
+     *
+     * @param delegate          The DAO to cache.
+     * @param idFunction        Extracts the identifier of an entity.
+     * @param maximumSize       The maximum number of cached entities.
+     * @param expireAfterAccess How long an entity may go unread before it is evicted.
+     * @param negativeExpiry    How long an id that was not found is remembered as missing.
+     */
+    public CachingDao(GenericDao<T, ID> delegate, Function<T, ID> idFunction, long maximumSize,
+                      Duration expireAfterAccess, Duration negativeExpiry) {
+        this.delegate = delegate;
+        this.idFunction = idFunction;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .removalListener(this::handleRemoval)
+                .build();
+        this.missing = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(negativeExpiry)
+                .build();
+    }
+
+    /**
+     * Returns the DAO wrapped by this cache.
+     *
+     * @return The delegate DAO.
+     */
+    public GenericDao<T, ID> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        T cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        if (missing.getIfPresent(id) != null) {
+            negativeHitCount.incrementAndGet();
+            return Optional.empty();
+        }
+
+        long stamp = loadStamp();
+        Optional<T> loaded = delegate.findById(id);
+        if (loaded.isPresent()) {
+            cacheLoaded(loaded.get(), stamp);
+        } else {
+            cacheMissing(id, stamp);
+        }
+        return loaded;
+    }
+
+    /**
+     * Retrieves several entities, loading only the ids that are neither cached nor known to be missing
+     * with a single bulk call to the wrapped DAO.
+     *
+     * @param ids the identifiers of the entities to retrieve.
+     * @return the entities found, in no particular order.
+     */
+    @Override
+    public List<T> findAllById(Collection<ID> ids) {
+        List<T> found = new ArrayList<>(ids.size());
+        Set<ID> toLoad = new LinkedHashSet<>();
+        for (ID id : ids) {
+            T cached = cache.getIfPresent(id);
+            if (cached != null) {
+                found.add(cached);
+            } else if (missing.getIfPresent(id) != null) {
+                negativeHitCount.incrementAndGet();
+            } else {
+                toLoad.add(id);
+            }
+        }
+        if (toLoad.isEmpty()) {
+            return found;
+        }
+
+        long stamp = loadStamp();
+        List<T> loaded = delegate.findAllById(new ArrayList<>(toLoad));
+        for (T entity : loaded) {
+            cacheLoaded(entity, stamp);
+            toLoad.remove(idFunction.apply(entity));
+        }
+        for (ID id : toLoad) {
+            cacheMissing(id, stamp);
+        }
+        found.addAll(loaded);
+        return found;
+    }
+
+    @Override
+    public List<T> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<T> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public List<T> findPage(ID afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public T create(T entity) {
+        T created = delegate.create(entity);
+        if (created != null) {
+            TransactionSynchronization.afterCommit(() -> cacheEntity(created));
+        }
+        return created;
+    }
+
+    @Override
+    public List<T> createAll(Collection<T> entities) {
+        List<T> created = delegate.createAll(entities);
+        TransactionSynchronization.afterCommit(() -> created.forEach(this::cacheEntity));
+        return created;
+    }
+
+    @Override
+    public T update(T entity) {
+        T result;
+        try {
+            result = delegate.update(entity);
+        } catch (RuntimeException e) {
+            evict(idFunction.apply(entity));
+            throw e;
+        }
+        T updated = result;
+        TransactionSynchronization.afterCommit(() -> {
+            if (updated != null) {
+                cacheEntity(updated);
+            } else {
+                evict(idFunction.apply(entity));
+            }
+        });
+        // The caller may have changed the cached instance in place
+        TransactionSynchronization.afterRollback(() -> evict(idFunction.apply(entity)));
+        return updated;
+    }
+
+    @Override
+    public List<T> updateAll(Collection<T> entities) {
+        List<T> updated;
+        try {
+            updated = delegate.updateAll(entities);
+        } catch (RuntimeException e) {
+            for (T entity : entities) {
+                evict(idFunction.apply(entity));
+            }
+            throw e;
+        }
+        TransactionSynchronization.afterCommit(() -> updated.forEach(this::cacheEntity));
+        TransactionSynchronization.afterRollback(() -> entities.forEach(entity -> evict(idFunction.apply(entity))));
+        return updated;
+    }
+
+    @Override
+    public void deleteById(ID id) {
+        delegate.deleteById(id);
+        TransactionSynchronization.afterCommit(() -> {
+            evict(id);
+            missing.put(id, Boolean.TRUE);
+        });
+    }
+
+    @Override
+    public void deleteAllById(Collection<ID> ids) {
+        delegate.deleteAllById(ids);
+        TransactionSynchronization.afterCommit(() -> {
+            for (ID id : ids) {
+                evict(id);
+                missing.put(id, Boolean.TRUE);
+            }
+        });
+    }
+
+    /**
+     * Returns the cached entity for an id without touching the database.
+     *
+     * @param id The identifier of the entity.
+     * @return The cached entity, or an empty Optional if it is not cached.
+     */
+    public Optional<T> getCached(ID id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    /**
+     * Removes an entity from the cache, e.g. after it was changed by another server.
+     *
+     * @param id The identifier of the entity to forget.
+     */
+    public void invalidate(ID id) {
+        writeCount.incrementAndGet();
+        cache.invalidate(id);
+        missing.invalidate(id);
+    }
+
+    /**
+     * Removes all entities from the cache.
+     */
+    public void invalidateAll() {
+        writeCount.incrementAndGet();
+        cache.invalidateAll();
+        missing.invalidateAll();
+    }
+
+    /**
+     * Returns the number of entities currently cached.
+     *
+     * @return The approximate cache size.
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the hit, miss, load and eviction statistics of the entity cache.
+     * Lookups answered by the negative cache are counted as misses here and reported separately
+     * by {@link #getNegativeHitCount()}.
+     *
+     * @return A snapshot of the cache statistics.
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the number of lookups answered by remembering that an id does not exist.
+     *
+     * @return The negative hit count.
+     */
+    public long getNegativeHitCount() {
+        return negativeHitCount.get();
+    }
+
+    /**
+     * Stores a written entity in the cache, replacing any cached copy, and clears any negative entry for its id.
+     * Subclasses can override this to maintain secondary indexes, but must call the super method.
+     *
+     * @param entity The entity to cache.
+     */
+    protected void cacheEntity(T entity) {
+        ID id = idFunction.apply(entity);
+        writeCount.incrementAndGet();
+        cache.put(id, entity);
+        missing.invalidate(id);
+    }
+
+    /**
+     * Returns a stamp to take before loading entities from the wrapped DAO and pass to
+     * {@link #cacheLoaded(Object, long)} afterwards.
+     *
+     * @return The number of writes that went through the cache so far.
+     */
+    protected long loadStamp() {
+        return writeCount.get();
+    }
+
+    /**
+     * Stores an entity loaded from the wrapped DAO, unless an entity with the same id is already cached or a write
+     * went through the cache since the stamp was taken; the loaded row may then be older than the written one.
+     * Subclasses can override this to maintain secondary indexes, but must call the super method.
+     *
+     * @param entity The loaded entity.
+     * @param stamp  The {@link #loadStamp()} taken before the load.
+     * @return True if the entity was cached.
+     */
+    protected boolean cacheLoaded(T entity, long stamp) {
+        ID id = idFunction.apply(entity);
+        if (cache.asMap().putIfAbsent(id, entity) != null) {
+            return false;
+        }
+        // A write after the put replaces or evicts the entity itself; one before it is only visible in the count
+        if (writeCount.get() != stamp) {
+            cache.asMap().remove(id, entity);
+            return false;
+        }
+        missing.invalidate(id);
+        return true;
+    }
+
+    /**
+     * Remembers that an id was not found, unless a write went through the cache since the stamp was taken.
+     *
+     * @param id    The identifier that was not found.
+     * @param stamp The {@link #loadStamp()} taken before the load.
+     */
+    private void cacheMissing(ID id, long stamp) {
+        missing.put(id, Boolean.TRUE);
+        if (writeCount.get() != stamp) {
+            missing.invalidate(id);
+        }
+    }
+
+    /**
+     * Evicts a written entity from the cache.
+     *
+     * @param id The identifier of the entity.
+     */
+    private void evict(ID id) {
+        writeCount.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    /**
+     * Called whenever an entity leaves the cache, whether it was evicted, expired, replaced or invalidated.
+     * Subclasses can override this to keep secondary indexes in sync.
+     *
+     * @param id     The identifier of the removed entity.
+     * @param entity The removed entity.
+     */
+    protected void onRemoval(ID id, T entity) {
+        // No secondary state by default
+    }
+
+    /**
+     * Forwards Guava removal notifications to {@link #onRemoval(Object, Object)}.
+     *
+     * @param notification The removal notification.
+     */
+    private void handleRemoval(RemovalNotification<ID, T> notification) {
+        if (notification.getKey() != null && notification.getValue() != null) {
+            onRemoval(notification.getKey(), notification.getValue());
+        }
+    }
+}
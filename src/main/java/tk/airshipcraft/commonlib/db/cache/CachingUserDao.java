@@ -0,0 +1,145 @@
+package tk.airshipcraft.commonlib.db.cache;
+
+import tk.airshipcraft.commonlib.db.DatabaseConfig;
+import tk.airshipcraft.commonlib.db.TransactionSynchronization;
+import tk.airshipcraft.commonlib.db.dao.UserDao;
+import tk.airshipcraft.commonlib.db.model.User;
+import tk.airshipcraft.commonlib.db.model.UserStatDelta;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>A {@link CachingDao} for users that also caches lookups by username.</p>
+ *
+ * <p>Cached users are indexed by their lower-cased username, so {@link #findByUsername(String)} is answered
+ * from memory for any user already loaded by id (e.g. on join). The index only points at cached ids; if the
+ * user has since been evicted or renamed, the lookup falls through to the database and refreshes the cache.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * CachingUserDao users = new CachingUserDao(new SqlUserDao(connectionManager), dbConfig);
+ * users.findById(player.getUniqueId());   // loads and caches the user
+ * users.findByUsername(player.getName()); // served from memory
+ * }</pre>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class CachingUserDao extends CachingDao<User, UUID> implements UserDao {
+
+    private final UserDao delegate;
+    private final Map<String, UUID> usernameIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a caching user DAO using the cache settings of the given configuration.
+     *
+     * @param delegate The DAO to cache.
+     * @param config   The database configuration.
+     */
+    public CachingUserDao(UserDao delegate, DatabaseConfig config) {
+        super(delegate, User::getId, config);
+        this.delegate = delegate;
+    }
+
+    /**
+     * Creates a caching user DAO.
+     *
+     * @param delegate          The DAO to cache.
+     * @param maximumSize       The maximum number of cached users.
+     * @param expireAfterAccess How long a user may go unread before it is evicted.
+     * @param negativeExpiry    How long an id that was not found is remembered as missing.
+     */
+    public CachingUserDao(UserDao delegate, long maximumSize, Duration expireAfterAccess, Duration negativeExpiry) {
+        super(delegate, User::getId, maximumSize, expireAfterAccess, negativeExpiry);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        if (username == null) {
+            return null;
+        }
+        String key = normalize(username);
+        UUID id = usernameIndex.get(key);
+        if (id != null) {
+            Optional<User> cached = getCached(id);
+            if (cached.isPresent() && username.equalsIgnoreCase(cached.get().getUsername())) {
+                return cached.get();
+            }
+            usernameIndex.remove(key, id);
+        }
+
+        long stamp = loadStamp();
+        User user = delegate.findByUsername(username);
+        if (user != null) {
+            cacheLoaded(user, stamp);
+        }
+        return user;
+    }
+
+    /**
+     * Applies the deltas in the database and then, once committed, to the cached copies of the users, so the
+     * cache stays warm under frequent counter updates.
+     *
+     * @param deltas The deltas to apply.
+     */
+    @Override
+    public void incrementStats(Collection<UserStatDelta> deltas) {
+        delegate.incrementStats(deltas);
+        TransactionSynchronization.afterCommit(() -> {
+            for (UserStatDelta delta : deltas) {
+                getCached(delta.getId()).ifPresent(delta::applyTo);
+            }
+        });
+    }
+
+    @Override
+    protected void cacheEntity(User user) {
+        super.cacheEntity(user);
+        index(user);
+    }
+
+    @Override
+    protected boolean cacheLoaded(User user, long stamp) {
+        boolean cached = super.cacheLoaded(user, stamp);
+        if (cached) {
+            index(user);
+        }
+        return cached;
+    }
+
+    @Override
+    protected void onRemoval(UUID id, User user) {
+        if (user.getUsername() != null) {
+            usernameIndex.remove(normalize(user.getUsername()), id);
+        }
+    }
+
+    /**
+     * Adds a cached user to the username index.
+     *
+     * @param user The cached user.
+     */
+    private void index(User user) {
+        if (user.getUsername() != null) {
+            usernameIndex.put(normalize(user.getUsername()), user.getId());
+        }
+    }
+
+    /**
+     * Normalizes a username for case-insensitive lookups.
+     *
+     * @param username The username.
+     * @return The lower-cased username.
+     */
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
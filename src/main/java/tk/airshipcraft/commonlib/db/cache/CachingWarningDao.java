@@ -0,0 +1,241 @@
+package tk.airshipcraft.commonlib.db.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import tk.airshipcraft.commonlib.db.DataAccessException;
+import tk.airshipcraft.commonlib.db.DatabaseConfig;
+import tk.airshipcraft.commonlib.db.TransactionSynchronization;
+import tk.airshipcraft.commonlib.db.dao.WarningDao;
+import tk.airshipcraft.commonlib.db.model.Warning;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * <p>A {@link CachingDao} for warnings that also caches the most recent warnings and the warning count of each
+ * recipient.</p>
+ *
+ * <p>Checks that run on every chat message, such as {@link #countByUser(UUID, String)} or a look at the last few
+ * warnings, are answered from memory after the first lookup. Pages beyond the cached window fall through to the
+ * wrapped DAO. Creating a warning through this DAO refreshes its recipients; updates and deletes clear all
+ * recipient entries, since the old recipients may not be known. Warnings issued by other servers become visible
+ * once the entry expires.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * CachingWarningDao warnings = new CachingWarningDao(new SqlWarningDao(connectionManager), dbConfig);
+ * if (warnings.countByUser(player.getUniqueId(), null) >= 3) { ... } // served from memory after the first call
+ * }</pre>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class CachingWarningDao extends CachingDao<Warning, UUID> implements WarningDao {
+
+    private final WarningDao delegate;
+    private final int recentSize;
+    private final Cache<Recipient, RecentWarnings> recentByRecipient;
+
+    /**
+     * Creates a caching warning DAO using the cache settings of the given configuration.
+     *
+     * @param delegate The DAO to cache.
+     * @param config   The database configuration.
+     */
+    public CachingWarningDao(WarningDao delegate, DatabaseConfig config) {
+        this(delegate, config.getCacheMaximumSize(), Duration.ofSeconds(config.getCacheExpireAfterAccessSeconds()),
+                Duration.ofSeconds(config.getCacheNegativeExpireSeconds()), config.getWarningCacheRecentSize(),
+                Duration.ofSeconds(config.getWarningCacheExpireSeconds()));
+    }
+
+    /**
+     * Creates a caching warning DAO.
+     *
+     * @param delegate          The DAO to cache.
+     * @param maximumSize       The maximum number of cached warnings, and of cached recipients.
+     * @param expireAfterAccess How long a warning may go unread before it is evicted.
+     * @param negativeExpiry    How long an id that was not found is remembered as missing.
+     * @param recentSize        The number of most recent warnings cached per recipient.
+     * @param recentExpiry      How long the recent warnings of a recipient are cached before they are reloaded.
+     */
+    public CachingWarningDao(WarningDao delegate, long maximumSize, Duration expireAfterAccess, Duration negativeExpiry,
+                             int recentSize, Duration recentExpiry) {
+        super(delegate, Warning::getId, maximumSize, expireAfterAccess, negativeExpiry);
+        this.delegate = delegate;
+        this.recentSize = recentSize;
+        this.recentByRecipient = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(recentExpiry)
+                .build();
+    }
+
+    /**
+     * Retrieves all warnings of a recipient, from memory if the recipient has no more warnings than are cached.
+     *
+     * @param minecraftId The UUID of the Minecraft user.
+     * @param discordId   The Discord ID of the user.
+     * @return The warnings of the user.
+     */
+    @Override
+    public List<Warning> findByUser(UUID minecraftId, String discordId) {
+        RecentWarnings recent = recent(minecraftId, discordId);
+        if (recent.isComplete()) {
+            return new ArrayList<>(recent.warnings());
+        }
+        return delegate.findByUser(minecraftId, discordId);
+    }
+
+    @Override
+    public int countByUser(UUID minecraftId, String discordId) {
+        return recent(minecraftId, discordId).total();
+    }
+
+    @Override
+    public List<Warning> findRecentByUser(UUID minecraftId, String discordId, int offset, int limit) {
+        RecentWarnings recent = recent(minecraftId, discordId);
+        List<Warning> cached = recent.warnings();
+        if (recent.isComplete() || (long) offset + limit <= cached.size()) {
+            int from = Math.min(offset, cached.size());
+            int to = (int) Math.min((long) offset + limit, cached.size());
+            return new ArrayList<>(cached.subList(from, to));
+        }
+        return delegate.findRecentByUser(minecraftId, discordId, offset, limit);
+    }
+
+    /**
+     * Retrieves the most recent warnings of several users from the wrapped DAO in one batch, bypassing the
+     * per-recipient cache.
+     *
+     * @param minecraftIds The UUIDs of the Minecraft users.
+     * @param limit        The maximum number of warnings per user.
+     * @return The warnings by user UUID.
+     */
+    @Override
+    public Map<UUID, List<Warning>> findRecentByUsers(Collection<UUID> minecraftIds, int limit) {
+        return delegate.findRecentByUsers(minecraftIds, limit);
+    }
+
+    @Override
+    public Warning create(Warning entity) {
+        Warning created = super.create(entity);
+        TransactionSynchronization.afterCommit(() -> invalidateRecipients(entity));
+        return created;
+    }
+
+    @Override
+    public List<Warning> createAll(Collection<Warning> entities) {
+        List<Warning> created = super.createAll(entities);
+        TransactionSynchronization.afterCommit(() -> entities.forEach(this::invalidateRecipients));
+        return created;
+    }
+
+    @Override
+    public Warning update(Warning entity) {
+        Warning updated = super.update(entity);
+        TransactionSynchronization.afterCommit(recentByRecipient::invalidateAll);
+        return updated;
+    }
+
+    @Override
+    public List<Warning> updateAll(Collection<Warning> entities) {
+        List<Warning> updated = super.updateAll(entities);
+        TransactionSynchronization.afterCommit(recentByRecipient::invalidateAll);
+        return updated;
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        super.deleteById(id);
+        TransactionSynchronization.afterCommit(recentByRecipient::invalidateAll);
+    }
+
+    @Override
+    public void deleteAllById(Collection<UUID> ids) {
+        super.deleteAllById(ids);
+        TransactionSynchronization.afterCommit(recentByRecipient::invalidateAll);
+    }
+
+    @Override
+    public void invalidateAll() {
+        super.invalidateAll();
+        recentByRecipient.invalidateAll();
+    }
+
+    /**
+     * Returns the cached recent warnings of a recipient, loading them with two queries on a miss.
+     *
+     * @param minecraftId The UUID of the Minecraft user, or null.
+     * @param discordId   The Discord ID of the user, or null.
+     * @return The recent warnings and the total count.
+     */
+    private RecentWarnings recent(UUID minecraftId, String discordId) {
+        if (minecraftId == null && discordId == null) {
+            return new RecentWarnings(List.of(), 0);
+        }
+        try {
+            return recentByRecipient.get(new Recipient(minecraftId, discordId), () -> new RecentWarnings(
+                    List.copyOf(delegate.findRecentByUser(minecraftId, discordId, 0, recentSize)),
+                    delegate.countByUser(minecraftId, discordId)));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof DataAccessException failure) {
+                throw failure;
+            }
+            throw new DataAccessException("Failed to load recent warnings", e.getCause());
+        }
+    }
+
+    /**
+     * Drops the cached entries of every recipient lookup the warning belongs to.
+     *
+     * @param warning The new or changed warning.
+     */
+    private void invalidateRecipients(Warning warning) {
+        recentByRecipient.asMap().keySet().removeIf(recipient -> recipient.matches(warning));
+    }
+
+    /**
+     * The recipient arguments of a lookup.
+     *
+     * @param minecraftId The UUID of the Minecraft user, or null.
+     * @param discordId   The Discord ID of the user, or null.
+     */
+    private record Recipient(UUID minecraftId, String discordId) {
+
+        /**
+         * Checks whether a warning is part of this lookup's results.
+         *
+         * @param warning The warning.
+         * @return True if either recipient matches.
+         */
+        boolean matches(Warning warning) {
+            return (minecraftId != null && minecraftId.equals(warning.getMinecraftRecipient()))
+                    || (discordId != null && Objects.equals(discordId, warning.getDiscordRecipient()));
+        }
+    }
+
+    /**
+     * The newest warnings of a recipient and how many there are in total.
+     *
+     * @param warnings The newest warnings, newest first.
+     * @param total    The total number of warnings of the recipient.
+     */
+    private record RecentWarnings(List<Warning> warnings, int total) {
+
+        /**
+         * Returns whether every warning of the recipient is cached.
+         *
+         * @return True if no warnings were left out.
+         */
+        boolean isComplete() {
+            return warnings.size() >= total;
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package tk.airshipcraft.commonlib.db.cache;
+
+import tk.airshipcraft.commonlib.db.ChunkKey;
+import tk.airshipcraft.commonlib.db.TransactionSynchronization;
+import tk.airshipcraft.commonlib.db.dao.LocationDao;
+import tk.airshipcraft.commonlib.db.model.LocationObj;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * <p>A {@link LocationDao} decorator that keeps every location of selected worlds in an in-memory grid of chunks,
+ * so that chunk, box and radius lookups in those worlds never reach the database.</p>
+ *
+ * <p>Worlds are indexed explicitly with {@link #indexWorld(String)}, typically the few worlds players spend their
+ * time in; lookups in other worlds, and lookups in a world that is still loading, fall through to the wrapped DAO.
+ * Writes go to the wrapped DAO first and are then applied to the grid. The grid holds copies, so changing a
+ * returned location has no effect until it is passed to {@link #update(LocationObj)}. Locations written by other
+ * servers or through other DAOs are only seen after the world is indexed again.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * GridIndexedLocationDao homes = new GridIndexedLocationDao(new SqlLocationDao(connectionManager));
+ * homes.indexWorld("world");
+ * List<LocationObj> nearby = homes.findWithinRadius("world", x, z, 64); // answered from memory
+ * }</pre>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class GridIndexedLocationDao implements LocationDao {
+
+    private final LocationDao delegate;
+    private final Map<String, WorldGrid> grids = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a grid-indexed location DAO without any indexed world.
+     *
+     * @param delegate The DAO to index.
+     */
+    public GridIndexedLocationDao(LocationDao delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns the DAO wrapped by this index.
+     *
+     * @return The delegate DAO.
+     */
+    public LocationDao getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Loads all locations of a world into memory and answers its spatial lookups from then on.
+     * Indexing a world again reloads it. Blocks while the locations are loaded.
+     *
+     * @param worldName The name of the world.
+     */
+    public void indexWorld(String worldName) {
+        WorldGrid grid = new WorldGrid(worldName);
+        grids.put(worldName, grid);
+        grid.load(delegate.findByWorld(worldName));
+    }
+
+    /**
+     * Drops the grid of a world; its lookups go to the wrapped DAO again.
+     *
+     * @param worldName The name of the world.
+     */
+    public void unindexWorld(String worldName) {
+        grids.remove(worldName);
+    }
+
+    /**
+     * Checks whether the lookups of a world are answered from memory.
+     *
+     * @param worldName The name of the world.
+     * @return True if the world is indexed and loaded.
+     */
+    public boolean isIndexed(String worldName) {
+        WorldGrid grid = grids.get(worldName);
+        return grid != null && grid.isReady();
+    }
+
+    @Override
+    public List<LocationObj> findInChunk(String worldName, int chunkX, int chunkZ) {
+        WorldGrid grid = readyGrid(worldName);
+        if (grid == null) {
+            return delegate.findInChunk(worldName, chunkX, chunkZ);
+        }
+        return grid.findInBox(chunkX, chunkZ, chunkX, chunkZ, location -> true);
+    }
+
+    @Override
+    public List<LocationObj> findWithinRadius(String worldName, double x, double z, double radius) {
+        WorldGrid grid = readyGrid(worldName);
+        if (grid == null) {
+            return delegate.findWithinRadius(worldName, x, z, radius);
+        }
+        if (!(radius >= 0)) {
+            return new ArrayList<>();
+        }
+        double radiusSquared = radius * radius;
+        return grid.findInBox(ChunkKey.toChunk(x - radius), ChunkKey.toChunk(z - radius),
+                ChunkKey.toChunk(x + radius), ChunkKey.toChunk(z + radius), location -> {
+                    double dx = location.getX() - x;
+                    double dz = location.getZ() - z;
+                    return dx * dx + dz * dz <= radiusSquared;
+                });
+    }
+
+    @Override
+    public List<LocationObj> findInBox(String worldName, double minX, double minZ, double maxX, double maxZ) {
+        WorldGrid grid = readyGrid(worldName);
+        if (grid == null) {
+            return delegate.findInBox(worldName, minX, minZ, maxX, maxZ);
+        }
+        if (!(minX <= maxX && minZ <= maxZ)) {
+            return new ArrayList<>();
+        }
+        return grid.findInBox(ChunkKey.toChunk(minX), ChunkKey.toChunk(minZ), ChunkKey.toChunk(maxX),
+                ChunkKey.toChunk(maxZ), location -> location.getX() >= minX && location.getX() <= maxX
+                        && location.getZ() >= minZ && location.getZ() <= maxZ);
+    }
+
+    @Override
+    public List<LocationObj> findByWorld(String worldName) {
+        WorldGrid grid = readyGrid(worldName);
+        if (grid == null) {
+            return delegate.findByWorld(worldName);
+        }
+        return grid.findAll();
+    }
+
+    @Override
+    public Optional<LocationObj> findById(UUID id) {
+        for (WorldGrid grid : grids.values()) {
+            LocationObj location = grid.isReady() ? grid.get(id) : null;
+            if (location != null) {
+                return Optional.of(location);
+            }
+        }
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<LocationObj> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<LocationObj> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public List<LocationObj> findPage(UUID afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public List<LocationObj> findAllById(Collection<UUID> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public LocationObj create(LocationObj entity) {
+        LocationObj created = delegate.create(entity);
+        if (created != null) {
+            TransactionSynchronization.afterCommit(() -> apply(created));
+        }
+        return created;
+    }
+
+    @Override
+    public List<LocationObj> createAll(Collection<LocationObj> entities) {
+        List<LocationObj> created = delegate.createAll(entities);
+        TransactionSynchronization.afterCommit(() -> created.forEach(this::apply));
+        return created;
+    }
+
+    @Override
+    public LocationObj update(LocationObj entity) {
+        LocationObj updated = delegate.update(entity);
+        if (updated != null) {
+            TransactionSynchronization.afterCommit(() -> apply(updated));
+        }
+        return updated;
+    }
+
+    @Override
+    public List<LocationObj> updateAll(Collection<LocationObj> entities) {
+        List<LocationObj> updated = delegate.updateAll(entities);
+        TransactionSynchronization.afterCommit(() -> updated.forEach(this::apply));
+        return updated;
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        delegate.deleteById(id);
+        TransactionSynchronization.afterCommit(() -> grids.values().forEach(grid -> grid.remove(id)));
+    }
+
+    @Override
+    public void deleteAllById(Collection<UUID> ids) {
+        delegate.deleteAllById(ids);
+        TransactionSynchronization.afterCommit(() -> {
+            for (WorldGrid grid : grids.values()) {
+                ids.forEach(grid::remove);
+            }
+        });
+    }
+
+    /**
+     * Returns the grid of a world if it is indexed and loaded.
+     *
+     * @param worldName The name of the world.
+     * @return The grid, or null if lookups have to go to the wrapped DAO.
+     */
+    private WorldGrid readyGrid(String worldName) {
+        WorldGrid grid = worldName == null ? null : grids.get(worldName);
+        return grid != null && grid.isReady() ? grid : null;
+    }
+
+    /**
+     * Applies a written location to the grids, moving it if its world changed.
+     *
+     * @param location The written location.
+     */
+    private void apply(LocationObj location) {
+        grids.forEach((worldName, grid) -> {
+            if (worldName.equals(location.getWorldName())) {
+                grid.put(location);
+            } else {
+                grid.remove(location.getId());
+            }
+        });
+    }
+
+    /**
+     * Copies a location, so that the grid is not changed through instances held by callers.
+     *
+     * @param location The location.
+     * @return The copy.
+     */
+    private static LocationObj copy(LocationObj location) {
+        return new LocationObj(location.getId(), location.getWorldName(), location.getX(), location.getY(),
+                location.getZ(), location.getPitch(), location.getYaw());
+    }
+
+    /**
+     * A location filter.
+     */
+    @FunctionalInterface
+    private interface LocationFilter {
+
+        /**
+         * Checks whether a location is part of a result.
+         *
+         * @param location The location.
+         * @return True to include it.
+         */
+        boolean test(LocationObj location);
+    }
+
+    /**
+     * The locations of one world, bucketed by chunk. Writes made while the world is loading are remembered, so the
+     * loaded rows cannot overwrite them.
+     */
+    private static final class WorldGrid {
+
+        private final String worldName;
+        private final Map<Long, Map<UUID, LocationObj>> cells = new HashMap<>();
+        private final Map<UUID, LocationObj> byId = new HashMap<>();
+        private Set<UUID> writtenWhileLoading = new HashSet<>();
+
+        /**
+         * Creates the grid of a world.
+         *
+         * @param worldName The name of the world.
+         */
+        WorldGrid(String worldName) {
+            this.worldName = worldName;
+        }
+
+        /**
+         * Checks whether the initial load is done.
+         *
+         * @return True once the world is loaded.
+         */
+        synchronized boolean isReady() {
+            return writtenWhileLoading == null;
+        }
+
+        /**
+         * Adds the locations of the initial load, except those written since the load started.
+         *
+         * @param locations The loaded locations.
+         */
+        synchronized void load(List<LocationObj> locations) {
+            for (LocationObj location : locations) {
+                if (location.getId() != null && !writtenWhileLoading.contains(location.getId())) {
+                    add(copy(location));
+                }
+            }
+            writtenWhileLoading = null;
+        }
+
+        /**
+         * Adds or moves a location.
+         *
+         * @param location The location.
+         */
+        synchronized void put(LocationObj location) {
+            if (location.getId() == null) {
+                return;
+            }
+            remove(location.getId());
+            add(copy(location));
+        }
+
+        /**
+         * Removes a location.
+         *
+         * @param id The id of the location.
+         */
+        synchronized void remove(UUID id) {
+            if (writtenWhileLoading != null) {
+                writtenWhileLoading.add(id);
+            }
+            LocationObj previous = byId.remove(id);
+            if (previous != null) {
+                long key = previous.getChunkKey();
+                Map<UUID, LocationObj> cell = cells.get(key);
+                cell.remove(id);
+                if (cell.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+
+        /**
+         * Returns a copy of a location.
+         *
+         * @param id The id of the location.
+         * @return The copy, or null if the location is not in this world.
+         */
+        synchronized LocationObj get(UUID id) {
+            LocationObj location = byId.get(id);
+            return location == null ? null : copy(location);
+        }
+
+        /**
+         * Returns copies of all locations.
+         *
+         * @return The locations.
+         */
+        synchronized List<LocationObj> findAll() {
+            List<LocationObj> locations = new ArrayList<>(byId.size());
+            byId.values().forEach(location -> locations.add(copy(location)));
+            return locations;
+        }
+
+        /**
+         * Returns copies of the locations in a range of chunks that pass a filter. Visits the chunks of the range,
+         * or every occupied chunk when there are fewer of those.
+         *
+         * @param minChunkX The smallest chunk X coordinate.
+         * @param minChunkZ The smallest chunk Z coordinate.
+         * @param maxChunkX The largest chunk X coordinate.
+         * @param maxChunkZ The largest chunk Z coordinate.
+         * @param filter    The filter.
+         * @return The matching locations.
+         */
+        synchronized List<LocationObj> findInBox(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ,
+                                                 LocationFilter filter) {
+            List<LocationObj> found = new ArrayList<>();
+            long chunks = ((long) maxChunkX - minChunkX + 1) * ((long) maxChunkZ - minChunkZ + 1);
+            if (chunks <= cells.size()) {
+                for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                    for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                        Map<UUID, LocationObj> cell = cells.get(cellKey(chunkX, chunkZ));
+                        if (cell != null) {
+                            collect(cell.values(), filter, found);
+                        }
+                    }
+                }
+            } else {
+                for (Map.Entry<Long, Map<UUID, LocationObj>> cell : cells.entrySet()) {
+                    int chunkX = ChunkKey.chunkX(cell.getKey());
+                    int chunkZ = ChunkKey.chunkZ(cell.getKey());
+                    if (chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ) {
+                        collect(cell.getValue().values(), filter, found);
+                    }
+                }
+            }
+            return found;
+        }
+
+        /**
+         * Adds a location to its chunk.
+         *
+         * @param location The location, owned by the grid.
+         */
+        private void add(LocationObj location) {
+            byId.put(location.getId(), location);
+            cells.computeIfAbsent(location.getChunkKey(), key -> new HashMap<>()).put(location.getId(), location);
+        }
+
+        /**
+         * Returns the key of a chunk in this world, matching {@link LocationObj#getChunkKey()} of its locations.
+         *
+         * @param chunkX The chunk X coordinate.
+         * @param chunkZ The chunk Z coordinate.
+         * @return The key, or a key no location has if the chunk is out of range.
+         */
+        private long cellKey(int chunkX, int chunkZ) {
+            if (chunkX < ChunkKey.MIN_CHUNK || chunkX > ChunkKey.MAX_CHUNK
+                    || chunkZ < ChunkKey.MIN_CHUNK || chunkZ > ChunkKey.MAX_CHUNK) {
+                return Long.MIN_VALUE;
+            }
+            return ChunkKey.of(worldName, chunkX, chunkZ);
+        }
+
+        /**
+         * Copies the locations passing a filter.
+         *
+         * @param locations The locations of a chunk.
+         * @param filter    The filter.
+         * @param found     The list the copies are added to.
+         */
+        private static void collect(Collection<LocationObj> locations, LocationFilter filter, List<LocationObj> found) {
+            for (LocationObj location : locations) {
+                if (filter.test(location)) {
+                    found.add(copy(location));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package tk.airshipcraft.commonlib.db.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>A {@link KeyValueStore} held in the local JVM, with the same expiry semantics as Redis {@code SETEX}.</p>
+ *
+ * <p>Use it in place of {@link JedisKeyValueStore} when no Redis server is configured, or to exercise the Redis
+ * cache code paths locally. Expired entries are dropped when they are read and whenever the store has grown
+ * past the next purge threshold.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class InMemoryKeyValueStore implements KeyValueStore {
+
+    private static final int PURGE_THRESHOLD = 1024;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile int nextPurgeSize = PURGE_THRESHOLD;
+
+    @Override
+    public byte[] get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value().clone();
+    }
+
+    @Override
+    public List<byte[]> getAll(List<String> keys) {
+        List<byte[]> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            values.add(get(key));
+        }
+        return values;
+    }
+
+    @Override
+    public void set(String key, byte[] value, long ttlSeconds) {
+        long expiresAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds);
+        entries.put(key, new Entry(value.clone(), expiresAt));
+        if (entries.size() >= nextPurgeSize) {
+            purgeExpired();
+        }
+    }
+
+    @Override
+    public void setAll(Map<String, byte[]> values, long ttlSeconds) {
+        values.forEach((key, value) -> set(key, value, ttlSeconds));
+    }
+
+    @Override
+    public void delete(Collection<String> keys) {
+        for (String key : keys) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Returns the number of stored entries, including expired ones that have not been purged yet.
+     *
+     * @return The entry count.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public void close() {
+        entries.clear();
+    }
+
+    /**
+     * Drops all expired entries and raises the purge threshold to twice the remaining size.
+     */
+    private void purgeExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        nextPurgeSize = Math.max(PURGE_THRESHOLD, entries.size() * 2);
+    }
+
+    /**
+     * A stored value and the {@link System#nanoTime()} at which it expires.
+     *
+     * @param value     The stored bytes.
+     * @param expiresAt The expiry time.
+     */
+    private record Entry(byte[] value, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
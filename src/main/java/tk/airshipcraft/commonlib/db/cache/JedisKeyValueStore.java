@@ -0,0 +1,162 @@
+package tk.airshipcraft.commonlib.db.cache;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.util.JedisURIHelper;
+import tk.airshipcraft.commonlib.CommonLib;
+import tk.airshipcraft.commonlib.db.DatabaseConfig;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A {@link KeyValueStore} backed by a pooled Jedis connection to Redis.</p>
+ *
+ * <p>Values are stored as raw bytes with {@code SETEX}. Multi-key reads and writes are pipelined, so loading
+ * a hundred entities costs one network round-trip instead of a hundred. The pool is closed together with
+ * CommonLib's other database resources.</p>
+ *
+ * <p>The server is taken from {@link DatabaseConfig#getRedisUri()}, e.g. {@code redis://cache.internal:6379/0}.
+ * If {@link DatabaseConfig#getRedisPassword()} is set it takes precedence over a password in the URI.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class JedisKeyValueStore implements KeyValueStore {
+
+    private final JedisPool pool;
+
+    /**
+     * Creates a store connected to the Redis server of the given configuration.
+     *
+     * @param config The database configuration.
+     * @throws IllegalArgumentException If no Redis URI is configured.
+     */
+    public JedisKeyValueStore(DatabaseConfig config) {
+        this(createPool(config));
+    }
+
+    /**
+     * Creates a store using an existing Jedis pool. The pool is closed when this store is closed.
+     *
+     * @param pool The Jedis pool.
+     */
+    public JedisKeyValueStore(JedisPool pool) {
+        this.pool = pool;
+
+        CommonLib commonLib = CommonLib.getInstance();
+        if (commonLib != null) {
+            commonLib.registerDatabaseResource(this);
+        }
+    }
+
+    @Override
+    public byte[] get(String key) {
+        try (Jedis jedis = pool.getResource()) {
+            return jedis.get(encodeKey(key));
+        }
+    }
+
+    @Override
+    public List<byte[]> getAll(List<String> keys) {
+        List<byte[]> values = new ArrayList<>(keys.size());
+        if (keys.isEmpty()) {
+            return values;
+        }
+        try (Jedis jedis = pool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            List<Response<byte[]>> responses = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                responses.add(pipeline.get(encodeKey(key)));
+            }
+            pipeline.sync();
+            for (Response<byte[]> response : responses) {
+                values.add(response.get());
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void set(String key, byte[] value, long ttlSeconds) {
+        try (Jedis jedis = pool.getResource()) {
+            jedis.setex(encodeKey(key), toSeconds(ttlSeconds), value);
+        }
+    }
+
+    @Override
+    public void setAll(Map<String, byte[]> values, long ttlSeconds) {
+        if (values.isEmpty()) {
+            return;
+        }
+        int seconds = toSeconds(ttlSeconds);
+        try (Jedis jedis = pool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            values.forEach((key, value) -> pipeline.setex(encodeKey(key), seconds, value));
+            pipeline.sync();
+        }
+    }
+
+    @Override
+    public void delete(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        byte[][] encoded = new byte[keys.size()][];
+        int i = 0;
+        for (String key : keys) {
+            encoded[i++] = encodeKey(key);
+        }
+        try (Jedis jedis = pool.getResource()) {
+            jedis.del(encoded);
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    /**
+     * Creates a Jedis pool from the Redis settings of the configuration.
+     *
+     * @param config The database configuration.
+     * @return The Jedis pool.
+     */
+    private static JedisPool createPool(DatabaseConfig config) {
+        String redisUri = config.getRedisUri();
+        if (redisUri == null || redisUri.isBlank()) {
+            throw new IllegalArgumentException("No redisUri configured");
+        }
+        URI uri = URI.create(redisUri.trim());
+
+        JedisPoolConfig poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(config.getRedisPoolSize());
+        poolConfig.setMaxIdle(config.getRedisPoolSize());
+
+        String password = config.getRedisPassword();
+        if (password == null || password.isEmpty()) {
+            return new JedisPool(poolConfig, uri);
+        }
+        int port = uri.getPort() == -1 ? Protocol.DEFAULT_PORT : uri.getPort();
+        return new JedisPool(poolConfig, uri.getHost(), port, Protocol.DEFAULT_TIMEOUT, password,
+                JedisURIHelper.getDBIndex(uri));
+    }
+
+    private static byte[] encodeKey(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int toSeconds(long ttlSeconds) {
+        return (int) Math.max(1L, Math.min(Integer.MAX_VALUE, ttlSeconds));
+    }
+}
@@ -0,0 +1,65 @@
+package tk.airshipcraft.commonlib.db.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A minimal binary key-value store with expiring entries, as needed by {@link RedisCachingDao}.</p>
+ *
+ * <p>{@link JedisKeyValueStore} talks to a real Redis server; {@link InMemoryKeyValueStore} keeps everything in
+ * the local JVM and stands in for Redis on single servers and during development. Implementations must be
+ * thread-safe.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public interface KeyValueStore extends AutoCloseable {
+
+    /**
+     * Gets the value stored under a key.
+     *
+     * @param key The key.
+     * @return The value, or null if the key does not exist or has expired.
+     */
+    byte[] get(String key);
+
+    /**
+     * Gets the values stored under several keys in a single round-trip.
+     *
+     * @param keys The keys.
+     * @return The values in the order of the keys, with null for every missing key.
+     */
+    List<byte[]> getAll(List<String> keys);
+
+    /**
+     * Stores a value that expires after the given time.
+     *
+     * @param key        The key.
+     * @param value      The value.
+     * @param ttlSeconds The time to live in seconds, must be positive.
+     */
+    void set(String key, byte[] value, long ttlSeconds);
+
+    /**
+     * Stores several values that expire after the given time, in a single round-trip.
+     *
+     * @param values     The values by key.
+     * @param ttlSeconds The time to live in seconds, must be positive.
+     */
+    void setAll(Map<String, byte[]> values, long ttlSeconds);
+
+    /**
+     * Removes several keys. Keys that do not exist are ignored.
+     *
+     * @param keys The keys to remove.
+     */
+    void delete(Collection<String> keys);
+
+    /**
+     * Releases the resources held by this store.
+     */
+    @Override
+    void close();
+}
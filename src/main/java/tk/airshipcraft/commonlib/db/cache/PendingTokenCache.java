@@ -0,0 +1,200 @@
+package tk.airshipcraft.commonlib.db.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import tk.airshipcraft.commonlib.db.DataAccessException;
+import tk.airshipcraft.commonlib.db.DatabaseConfig;
+import tk.airshipcraft.commonlib.db.TransactionSynchronization;
+import tk.airshipcraft.commonlib.db.dao.AuthDataDao;
+import tk.airshipcraft.commonlib.db.model.AuthData;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>Keeps account-linking tokens that have not been verified yet in memory, so the linking flow only writes to
+ * the database once, when a token is verified.</p>
+ *
+ * <p>A player is issued a token in game and enters it on Discord; the bot then verifies it. Issuing, looking up and
+ * polling tokens never touch the database. Tokens expire after {@link DatabaseConfig#getAuthTokenExpireSeconds()};
+ * verified tokens are remembered for the same time, so polling clients still see the result. Tokens only live on
+ * the server that issued them and do not survive a restart; use {@link AuthDataDao#findByToken(UUID)} for
+ * tokens already stored in the database.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * PendingTokenCache tokens = new PendingTokenCache(new SqlAuthDataDao(connectionManager), dbConfig);
+ * UUID token = tokens.issue(player.getUniqueId(), player.getName(), null).getToken();
+ * // later, from the Discord bot
+ * tokens.verify(token, discordUsername).ifPresent(linked -> ...);
+ * }</pre>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class PendingTokenCache {
+
+    /**
+     * The state of a token as known to this cache.
+     */
+    public enum TokenState {
+        /**
+         * Issued and waiting for verification.
+         */
+        PENDING,
+        /**
+         * Verified and written to the database.
+         */
+        VERIFIED,
+        /**
+         * Never issued by this cache, expired or revoked.
+         */
+        UNKNOWN
+    }
+
+    private final AuthDataDao dao;
+    private final Cache<UUID, Entry> tokens;
+
+    /**
+     * Creates a token cache using the token lifetime and cache size of the given configuration.
+     *
+     * @param dao    The DAO verified tokens are written to.
+     * @param config The database configuration.
+     */
+    public PendingTokenCache(AuthDataDao dao, DatabaseConfig config) {
+        this(dao, Duration.ofSeconds(config.getAuthTokenExpireSeconds()), config.getCacheMaximumSize());
+    }
+
+    /**
+     * Creates a token cache.
+     *
+     * @param dao         The DAO verified tokens are written to.
+     * @param expiry      How long a token stays valid after it was issued.
+     * @param maximumSize The maximum number of tokens kept; the oldest are dropped first.
+     */
+    public PendingTokenCache(AuthDataDao dao, Duration expiry, long maximumSize) {
+        this.dao = dao;
+        this.tokens = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expiry)
+                .build();
+    }
+
+    /**
+     * Issues a new token for a player, replacing any token still pending for them.
+     *
+     * @param playerId The UUID of the player.
+     * @param ign      The in-game name of the player.
+     * @param username The Discord username, or null if it is only known once the token is verified.
+     * @return The unverified AuthData holding the new token.
+     */
+    public AuthData issue(UUID playerId, String ign, String username) {
+        ConcurrentMap<UUID, Entry> map = tokens.asMap();
+        map.values().removeIf(entry -> !entry.verified() && entry.playerId().equals(playerId));
+
+        UUID token = UUID.randomUUID();
+        Entry entry = new Entry(playerId, ign, username, false);
+        map.put(token, entry);
+        return entry.toAuthData(token);
+    }
+
+    /**
+     * Returns the state of a token without touching the database.
+     *
+     * @param token The token.
+     * @return The token state.
+     */
+    public TokenState getState(UUID token) {
+        Entry entry = tokens.getIfPresent(token);
+        if (entry == null) {
+            return TokenState.UNKNOWN;
+        }
+        return entry.verified() ? TokenState.VERIFIED : TokenState.PENDING;
+    }
+
+    /**
+     * Returns the unverified AuthData of a pending token.
+     *
+     * @param token The token.
+     * @return The pending AuthData, or an empty Optional if the token is not pending.
+     */
+    public Optional<AuthData> findPending(UUID token) {
+        Entry entry = tokens.getIfPresent(token);
+        return entry == null || entry.verified() ? Optional.empty() : Optional.of(entry.toAuthData(token));
+    }
+
+    /**
+     * Verifies a pending token and writes the linked account to the database with
+     * {@link AuthDataDao#saveVerified(AuthData)}. Only one caller can verify a token; if the write fails, or the
+     * transaction it runs in is rolled back, the token is pending again.
+     *
+     * @param token    The token.
+     * @param username The Discord username to store, or null to keep the one given when the token was issued.
+     * @return The verified AuthData, or an empty Optional if the token was not pending.
+     * @throws DataAccessException If the write failed. The token stays pending.
+     */
+    public Optional<AuthData> verify(UUID token, String username) {
+        ConcurrentMap<UUID, Entry> map = tokens.asMap();
+        Entry pending = map.get(token);
+        if (pending == null || pending.verified()) {
+            return Optional.empty();
+        }
+        Entry verified = new Entry(pending.playerId(), pending.ign(),
+                username != null ? username : pending.username(), true);
+        if (!map.replace(token, pending, verified)) {
+            return Optional.empty();
+        }
+
+        AuthData saved;
+        try {
+            saved = dao.saveVerified(verified.toAuthData(token));
+        } catch (RuntimeException e) {
+            map.replace(token, verified, pending);
+            throw e;
+        }
+        TransactionSynchronization.afterRollback(() -> map.replace(token, verified, pending));
+        return Optional.of(saved);
+    }
+
+    /**
+     * Forgets a token, e.g. when the player cancels linking.
+     *
+     * @param token The token.
+     */
+    public void revoke(UUID token) {
+        tokens.invalidate(token);
+    }
+
+    /**
+     * Returns the number of tokens held, pending or recently verified.
+     *
+     * @return The approximate number of tokens.
+     */
+    public long size() {
+        return tokens.size();
+    }
+
+    /**
+     * An immutable token entry.
+     *
+     * @param playerId The UUID of the player.
+     * @param ign      The in-game name of the player.
+     * @param username The Discord username, or null.
+     * @param verified Whether the token was verified.
+     */
+    private record Entry(UUID playerId, String ign, String username, boolean verified) {
+
+        /**
+         * Creates the AuthData described by this entry.
+         *
+         * @param token The token of the entry.
+         * @return A new AuthData.
+         */
+        AuthData toAuthData(UUID token) {
+            return new AuthData(playerId, ign, username, token, verified);
+        }
+    }
+}
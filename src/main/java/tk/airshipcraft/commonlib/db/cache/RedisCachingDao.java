@@ -0,0 +1,385 @@
+package tk.airshipcraft.commonlib.db.cache;
+
+import tk.airshipcraft.commonlib.db.DatabaseConfig;
+import tk.airshipcraft.commonlib.db.GenericDao;
+import tk.airshipcraft.commonlib.db.TransactionSynchronization;
+import tk.airshipcraft.commonlib.db.codec.BinaryCodec;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * <p>A second-level cache shared by every server of the network, sitting between an in-process
+ * {@link CachingDao} and the SQL DAO.</p>
+ *
+ * <p>Entities are stored in a {@link KeyValueStore} (normally Redis) under {@code <prefix><entity>:<id>},
+ * encoded with a {@link BinaryCodec} and expiring after a per-entity time to live. When a player switches
+ * servers, the new server finds their rows here instead of querying MySQL again. Bulk lookups fetch all keys
+ * in one pipelined round-trip and only load the misses from the database.</p>
+ *
+ * <p>The cache is write-through: creates and updates are stored after the database accepted them, deletes
+ * remove the key. If the store is unreachable, every operation silently falls back to the wrapped DAO, so an
+ * outage of Redis never takes the database path down with it.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * KeyValueStore redis = new JedisKeyValueStore(dbConfig);
+ * UserDao users = new CachingUserDao(
+ *         new RedisCachingUserDao(new SqlUserDao(connectionManager), redis, dbConfig), dbConfig);
+ * }</pre>
+ *
+ * @param <T>  the type of the model object
+ * @param <ID> the type of the model object's identifier
+ * @author notzune
+ * @version 1.0.0
+ * @see RedisCachingUserDao
+ * @since 2026-10-17
+ */
+public class RedisCachingDao<T, ID> implements GenericDao<T, ID> {
+
+    private static final Logger LOGGER = Logger.getLogger(RedisCachingDao.class.getName());
+
+    private final GenericDao<T, ID> delegate;
+    private final KeyValueStore store;
+    private final BinaryCodec<T> codec;
+    private final Function<T, ID> idFunction;
+    private final String keyPrefix;
+    private final long ttlSeconds;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+
+    /**
+     * Creates a Redis cache using the key prefix and the TTL for {@code entity} from the given configuration.
+     *
+     * @param delegate   The DAO to cache.
+     * @param store      The store holding the cached entities.
+     * @param codec      Encodes the entities.
+     * @param idFunction Extracts the identifier of an entity.
+     * @param entity     The entity name used in keys and for the per-entity TTL, e.g. {@code "user"}.
+     * @param config     The database configuration.
+     */
+    public RedisCachingDao(GenericDao<T, ID> delegate, KeyValueStore store, BinaryCodec<T> codec,
+                           Function<T, ID> idFunction, String entity, DatabaseConfig config) {
+        this(delegate, store, codec, idFunction, config.getRedisKeyPrefix() + entity + ":",
+                config.getRedisCacheTtlSeconds(entity));
+    }
+
+    /**
+     * Creates a Redis cache.
+     *
+     * @param delegate   The DAO to cache.
+     * @param store      The store holding the cached entities.
+     * @param codec      Encodes the entities.
+     * @param idFunction Extracts the identifier of an entity.
+     * @param keyPrefix  The prefix of every key written by this cache, e.g. {@code "commonlib:user:"}.
+     * @param ttlSeconds How long cached entities live, in seconds.
+     */
+    public RedisCachingDao(GenericDao<T, ID> delegate, KeyValueStore store, BinaryCodec<T> codec,
+                           Function<T, ID> idFunction, String keyPrefix, long ttlSeconds) {
+        this.delegate = delegate;
+        this.store = store;
+        this.codec = codec;
+        this.idFunction = idFunction;
+        this.keyPrefix = keyPrefix;
+        this.ttlSeconds = Math.max(1L, ttlSeconds);
+    }
+
+    /**
+     * Returns the DAO wrapped by this cache.
+     *
+     * @return The delegate DAO.
+     */
+    public GenericDao<T, ID> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        String key = key(id);
+        byte[] cached = null;
+        try {
+            cached = store.get(key);
+        } catch (RuntimeException e) {
+            storeFailed("read", e);
+        }
+        T entity = cached == null ? null : decode(key, cached);
+        if (entity != null) {
+            hitCount.incrementAndGet();
+            return Optional.of(entity);
+        }
+
+        missCount.incrementAndGet();
+        Optional<T> loaded = delegate.findById(id);
+        loaded.ifPresent(value -> put(Collections.singletonList(value)));
+        return loaded;
+    }
+
+    /**
+     * Retrieves several entities, reading all keys in one pipelined round-trip and loading only the misses
+     * from the wrapped DAO.
+     *
+     * @param ids the identifiers of the entities to retrieve.
+     * @return the entities found, in no particular order.
+     */
+    @Override
+    public List<T> findAllById(Collection<ID> ids) {
+        List<ID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.remove(null);
+        if (distinct.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<String> keys = new ArrayList<>(distinct.size());
+        for (ID id : distinct) {
+            keys.add(key(id));
+        }
+        List<byte[]> cached;
+        try {
+            cached = store.getAll(keys);
+        } catch (RuntimeException e) {
+            storeFailed("read", e);
+            cached = Collections.nCopies(keys.size(), null);
+        }
+
+        List<T> found = new ArrayList<>(distinct.size());
+        List<ID> misses = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i++) {
+            byte[] bytes = cached.get(i);
+            T entity = bytes == null ? null : decode(keys.get(i), bytes);
+            if (entity != null) {
+                found.add(entity);
+            } else {
+                misses.add(distinct.get(i));
+            }
+        }
+        hitCount.addAndGet(found.size());
+        missCount.addAndGet(misses.size());
+
+        if (!misses.isEmpty()) {
+            List<T> loaded = delegate.findAllById(misses);
+            put(loaded);
+            found.addAll(loaded);
+        }
+        return found;
+    }
+
+    @Override
+    public List<T> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<T> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public List<T> findPage(ID afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public T create(T entity) {
+        T created = delegate.create(entity);
+        if (created != null) {
+            TransactionSynchronization.afterCommit(() -> put(Collections.singletonList(created)));
+        }
+        return created;
+    }
+
+    @Override
+    public List<T> createAll(Collection<T> entities) {
+        List<T> created = delegate.createAll(entities);
+        TransactionSynchronization.afterCommit(() -> put(created));
+        return created;
+    }
+
+    @Override
+    public T update(T entity) {
+        T updated = delegate.update(entity);
+        TransactionSynchronization.afterCommit(() -> {
+            if (updated != null) {
+                put(Collections.singletonList(updated));
+            } else {
+                evict(Collections.singletonList(idFunction.apply(entity)));
+            }
+        });
+        return updated;
+    }
+
+    @Override
+    public List<T> updateAll(Collection<T> entities) {
+        List<T> updated = delegate.updateAll(entities);
+        TransactionSynchronization.afterCommit(() -> put(updated));
+        return updated;
+    }
+
+    @Override
+    public void deleteById(ID id) {
+        delegate.deleteById(id);
+        TransactionSynchronization.afterCommit(() -> evict(Collections.singletonList(id)));
+    }
+
+    @Override
+    public void deleteAllById(Collection<ID> ids) {
+        delegate.deleteAllById(ids);
+        TransactionSynchronization.afterCommit(() -> evict(ids));
+    }
+
+    /**
+     * Removes entities from the shared cache without touching the database.
+     *
+     * @param ids The identifiers of the entities to remove.
+     */
+    public void evict(Collection<ID> ids) {
+        List<String> keys = new ArrayList<>(ids.size());
+        for (ID id : ids) {
+            keys.add(key(id));
+        }
+        try {
+            store.delete(keys);
+        } catch (RuntimeException e) {
+            storeFailed("delete", e);
+        }
+    }
+
+    /**
+     * Returns the number of lookups answered by the shared cache.
+     *
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of lookups that had to go to the wrapped DAO.
+     *
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Returns the number of store operations that failed and fell back to the wrapped DAO.
+     *
+     * @return The error count.
+     */
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    /**
+     * Returns the key under which the entity with the given identifier is stored.
+     *
+     * @param id The identifier.
+     * @return The store key.
+     */
+    protected String key(ID id) {
+        return keyPrefix + id;
+    }
+
+    /**
+     * Returns the prefix of every key written by this cache.
+     *
+     * @return The key prefix.
+     */
+    protected String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    /**
+     * Returns the time to live of cached entries, in seconds.
+     *
+     * @return The TTL.
+     */
+    protected long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * Returns the store holding the cached entities.
+     *
+     * @return The key-value store.
+     */
+    protected KeyValueStore getStore() {
+        return store;
+    }
+
+    /**
+     * Adds the entries to write for an entity. Subclasses can override this to write secondary index
+     * entries in the same pipeline, but must call the super method.
+     *
+     * @param entity  The entity being cached.
+     * @param entries The entries to write, by key.
+     */
+    protected void collectEntries(T entity, Map<String, byte[]> entries) {
+        entries.put(key(idFunction.apply(entity)), codec.encode(entity));
+    }
+
+    /**
+     * Writes entities to the store in one round-trip.
+     *
+     * @param entities The entities to cache.
+     */
+    protected void put(Collection<T> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        for (T entity : entities) {
+            collectEntries(entity, entries);
+        }
+        try {
+            store.setAll(entries, ttlSeconds);
+        } catch (RuntimeException e) {
+            storeFailed("write", e);
+        }
+    }
+
+    /**
+     * Records and logs a failed store operation.
+     *
+     * @param operation The kind of operation, used in the log message.
+     * @param e         The failure.
+     */
+    protected void storeFailed(String operation, RuntimeException e) {
+        if (errorCount.incrementAndGet() % 100 == 1) {
+            LOGGER.log(Level.WARNING, "Redis cache " + operation + " failed for " + keyPrefix
+                    + "*, falling back to the database", e);
+        }
+    }
+
+    /**
+     * Decodes a cached value, evicting it if it cannot be decoded (e.g. after a format change).
+     *
+     * @param key   The key the value was read from.
+     * @param bytes The cached bytes.
+     * @return The decoded entity, or null if the value was malformed.
+     */
+    private T decode(String key, byte[] bytes) {
+        try {
+            return codec.decode(bytes);
+        } catch (IllegalArgumentException e) {
+            try {
+                store.delete(Collections.singletonList(key));
+            } catch (RuntimeException deleteFailure) {
+                storeFailed("delete", deleteFailure);
+            }
+            return null;
+        }
+    }
+}
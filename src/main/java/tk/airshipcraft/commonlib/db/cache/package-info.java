@@ -0,0 +1,23 @@
+/**
+ * Provides caching decorators for the DAOs in {@link tk.airshipcraft.commonlib.db.dao}: a bounded in-process
+ * first-level cache and a second-level cache shared by all servers through Redis. A typical stack is
+ * {@code CachingUserDao -> RedisCachingUserDao -> SqlUserDao}.
+ *
+ * <ul>
+ *   <li>{@link tk.airshipcraft.commonlib.db.cache.CachingDao} - Bounded read-through, write-through cache for any GenericDao.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.cache.CachingUserDao} - Caches users by id and by username.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.cache.CachingWarningDao} - Caches warnings and the recent warnings of each recipient.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.cache.GridIndexedLocationDao} - Keeps the locations of hot worlds in an in-memory chunk grid.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.cache.PendingTokenCache} - Keeps unverified account-linking tokens in memory.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.cache.RedisCachingDao} - Network-wide cache stored in a KeyValueStore.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.cache.RedisCachingUserDao} - Shares users and the username index across servers.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.cache.KeyValueStore} - Binary key-value store with expiring entries.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.cache.JedisKeyValueStore} - KeyValueStore backed by Redis via Jedis.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.cache.InMemoryKeyValueStore} - In-process stand-in for Redis.</li>
+ * </ul>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+package tk.airshipcraft.commonlib.db.cache;
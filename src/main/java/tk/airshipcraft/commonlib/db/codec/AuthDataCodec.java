@@ -0,0 +1,45 @@
+package tk.airshipcraft.commonlib.db.codec;
+
+import tk.airshipcraft.commonlib.db.model.AuthData;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary codec for {@link AuthData} rows.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class AuthDataCodec extends CompactBinaryCodec<AuthData> {
+
+    /**
+     * Creates the codec, writing format version 1.
+     */
+    public AuthDataCodec() {
+        super(1);
+    }
+
+    @Override
+    protected void write(ByteBuffer out, AuthData authData) {
+        writeUuid(out, authData.getId());
+        writeNullableString(out, authData.getIGN());
+        writeNullableString(out, authData.getUsername());
+        writeNullableUuid(out, authData.getToken());
+        writeBoolean(out, authData.isVerified());
+    }
+
+    @Override
+    protected AuthData read(ByteBuffer in, int version) {
+        return new AuthData(readUuid(in), readNullableString(in), readNullableString(in),
+                readNullableUuid(in), readBoolean(in));
+    }
+
+    @Override
+    protected AuthData readLegacy(DataInput in) throws IOException {
+        return new AuthData(AbstractBinaryCodec.readUuid(in), AbstractBinaryCodec.readNullableString(in),
+                AbstractBinaryCodec.readNullableString(in), AbstractBinaryCodec.readNullableUuid(in), in.readBoolean());
+    }
+}
@@ -0,0 +1,58 @@
+package tk.airshipcraft.commonlib.db.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts model objects to and from a compact binary representation, e.g. for storing them in Redis.
+ * New codecs should extend {@link CompactBinaryCodec}.
+ *
+ * @param <T> the type of the model object
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public interface BinaryCodec<T> {
+
+    /**
+     * Encodes a value.
+     *
+     * @param value The value to encode.
+     * @return The encoded bytes.
+     */
+    byte[] encode(T value);
+
+    /**
+     * Decodes a value previously produced by {@link #encode(Object)}.
+     *
+     * @param bytes The encoded bytes.
+     * @return The decoded value.
+     * @throws IllegalArgumentException If the bytes are not a valid encoding.
+     */
+    T decode(byte[] bytes);
+
+    /**
+     * Encodes a value into a buffer, starting at its position. The default implementation encodes to an array
+     * and copies it; {@link CompactBinaryCodec} writes straight into the buffer.
+     *
+     * @param value The value to encode.
+     * @param out   The buffer to write to. Its position is undefined if it is too small.
+     * @throws java.nio.BufferOverflowException If the buffer is too small.
+     */
+    default void encode(T value, ByteBuffer out) {
+        out.put(encode(value));
+    }
+
+    /**
+     * Decodes a value from a buffer, starting at its position. The default implementation consumes all remaining
+     * bytes; {@link CompactBinaryCodec} reads exactly one value, so several values can be read in a row.
+     *
+     * @param in The buffer to read from.
+     * @return The decoded value.
+     * @throws IllegalArgumentException If the bytes are not a valid encoding.
+     */
+    default T decode(ByteBuffer in) {
+        byte[] bytes = new byte[in.remaining()];
+        in.get(bytes);
+        return decode(bytes);
+    }
+}
@@ -0,0 +1,100 @@
+package tk.airshipcraft.commonlib.db.codec;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>A bounded pool of heap {@link ByteBuffer}s that codecs encode into, so that encoding a value allocates
+ * nothing but the resulting byte array.</p>
+ *
+ * <p>The pool is shared by all threads rather than kept per thread, because the database executor may run on
+ * virtual threads, of which there can be many more than there are buffers worth keeping. Buffers larger than the
+ * pooled size are allocated on demand and dropped on release.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public final class BufferPool {
+
+    private static final BufferPool SHARED = new BufferPool(4096, 64);
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final ConcurrentLinkedDeque<ByteBuffer> buffers = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    /**
+     * Creates a pool.
+     *
+     * @param bufferSize The capacity of the pooled buffers.
+     * @param maxPooled  The maximum number of idle buffers kept.
+     */
+    public BufferPool(int bufferSize, int maxPooled) {
+        if (bufferSize <= 0 || maxPooled < 0) {
+            throw new IllegalArgumentException("Invalid buffer pool size " + bufferSize + " x " + maxPooled);
+        }
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * Returns the pool used by the built-in codecs, holding up to 64 buffers of 4 KiB.
+     *
+     * @return The shared pool.
+     */
+    public static BufferPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Takes a cleared buffer of the pooled size.
+     *
+     * @return A buffer, to be given back with {@link #release(ByteBuffer)}.
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.pollFirst();
+        if (buffer == null) {
+            return ByteBuffer.allocate(bufferSize);
+        }
+        pooled.decrementAndGet();
+        return buffer;
+    }
+
+    /**
+     * Takes a cleared buffer with at least the given capacity.
+     *
+     * @param minCapacity The required capacity.
+     * @return A buffer, to be given back with {@link #release(ByteBuffer)}.
+     */
+    public ByteBuffer acquire(int minCapacity) {
+        return minCapacity <= bufferSize ? acquire() : ByteBuffer.allocate(minCapacity);
+    }
+
+    /**
+     * Gives a buffer back to the pool. The buffer must not be used afterwards.
+     *
+     * @param buffer The buffer.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer.capacity() != bufferSize || buffer.isDirect() || buffer.isReadOnly()) {
+            return;
+        }
+        if (pooled.incrementAndGet() > maxPooled) {
+            pooled.decrementAndGet();
+            return;
+        }
+        buffer.clear();
+        buffers.offerFirst(buffer);
+    }
+
+    /**
+     * Returns the capacity of the pooled buffers.
+     *
+     * @return The buffer size in bytes.
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
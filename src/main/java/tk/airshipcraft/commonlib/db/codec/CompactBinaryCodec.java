@@ -0,0 +1,458 @@
+package tk.airshipcraft.commonlib.db.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * <p>Base class for versioned codecs that write their fields straight into a {@link ByteBuffer}.</p>
+ *
+ * <p>Every payload starts with the byte {@code 0xAC} and the format version of the codec, followed by the fields
+ * in a fixed order without names. Integers are written as varints, so small counters take one or two bytes;
+ * signed values that may be negative use zig-zag varints. UUIDs take 16 bytes, timestamps a zig-zag varint of their epoch
+ * milliseconds, and strings a varint length followed by their UTF-8 bytes. Nullable values cost one extra byte
+ * at most.</p>
+ *
+ * <p>A codec reads every format version up to its own, passing the version to {@link #read(ByteBuffer, int)} so
+ * that fields added later can be defaulted for older payloads. Payloads from before the versioned format, written
+ * by {@link AbstractBinaryCodec}, are still read through {@link #readLegacy(DataInput)}.</p>
+ *
+ * <p>{@link #encode(Object)} writes into a buffer taken from a {@link BufferPool} and only allocates the returned
+ * array; {@link #encode(Object, ByteBuffer)} writes into the caller's buffer and allocates nothing.</p>
+ *
+ * @param <T> the type of the model object
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public abstract class CompactBinaryCodec<T> implements BinaryCodec<T> {
+
+    /**
+     * The first byte of every payload written by a compact codec.
+     */
+    public static final byte MAGIC = (byte) 0xAC;
+
+    private final int version;
+    private final BufferPool pool;
+
+    /**
+     * Creates a codec using the shared buffer pool.
+     *
+     * @param version The format version written by this codec, from 1 to 255.
+     */
+    protected CompactBinaryCodec(int version) {
+        this(version, BufferPool.shared());
+    }
+
+    /**
+     * Creates a codec.
+     *
+     * @param version The format version written by this codec, from 1 to 255.
+     * @param pool    The pool {@link #encode(Object)} takes its buffers from.
+     */
+    protected CompactBinaryCodec(int version, BufferPool pool) {
+        if (version < 1 || version > 255) {
+            throw new IllegalArgumentException("Codec version must be between 1 and 255: " + version);
+        }
+        this.version = version;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the format version written by this codec.
+     *
+     * @return The version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public byte[] encode(T value) {
+        ByteBuffer buffer = pool.acquire();
+        try {
+            while (true) {
+                try {
+                    encode(value, buffer);
+                    break;
+                } catch (BufferOverflowException e) {
+                    int capacity = buffer.capacity() * 2;
+                    pool.release(buffer);
+                    buffer = pool.acquire(capacity);
+                }
+            }
+            byte[] bytes = new byte[buffer.position()];
+            buffer.flip().get(bytes);
+            return bytes;
+        } finally {
+            pool.release(buffer);
+        }
+    }
+
+    @Override
+    public void encode(T value, ByteBuffer out) {
+        out.put(MAGIC);
+        out.put((byte) version);
+        write(out, value);
+    }
+
+    @Override
+    public T decode(byte[] bytes) {
+        if (bytes.length >= 2 && bytes[0] == MAGIC) {
+            ByteBuffer in = ByteBuffer.wrap(bytes);
+            try {
+                T value = decode(in);
+                if (!in.hasRemaining()) {
+                    return value;
+                }
+            } catch (IllegalArgumentException e) {
+                // Fall through, a legacy payload may start with the magic byte by chance
+            }
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            T value = readLegacy(in);
+            if (in.available() == 0) {
+                return value;
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed " + getClass().getSimpleName() + " payload", e);
+        }
+        throw new IllegalArgumentException("Malformed " + getClass().getSimpleName() + " payload: trailing bytes");
+    }
+
+    @Override
+    public T decode(ByteBuffer in) {
+        try {
+            if (in.get() != MAGIC) {
+                throw new IllegalArgumentException("Not a " + getClass().getSimpleName() + " payload");
+            }
+            int payloadVersion = in.get() & 0xFF;
+            if (payloadVersion < 1 || payloadVersion > version) {
+                throw new IllegalArgumentException("Unsupported " + getClass().getSimpleName() + " version "
+                        + payloadVersion + ", this codec reads up to " + version);
+            }
+            return read(in, payloadVersion);
+        } catch (BufferUnderflowException | IllegalStateException e) {
+            throw new IllegalArgumentException("Malformed " + getClass().getSimpleName() + " payload", e);
+        }
+    }
+
+    /**
+     * Writes the fields of a value in the current format.
+     *
+     * @param out   The buffer to write to.
+     * @param value The value to write.
+     * @throws BufferOverflowException If the buffer is too small.
+     */
+    protected abstract void write(ByteBuffer out, T value);
+
+    /**
+     * Reads the fields of a value in the order they were written.
+     *
+     * @param in      The buffer to read from.
+     * @param version The format version of the payload, at most {@link #getVersion()}.
+     * @return The value read.
+     * @throws BufferUnderflowException If the payload is truncated.
+     * @throws IllegalStateException    If the payload is malformed.
+     */
+    protected abstract T read(ByteBuffer in, int version);
+
+    /**
+     * Reads a payload written before the versioned format. The default implementation rejects it.
+     *
+     * @param in The input to read from.
+     * @return The value read.
+     * @throws IOException If the codec has no legacy format or the input is malformed.
+     */
+    protected T readLegacy(DataInput in) throws IOException {
+        throw new IOException(getClass().getSimpleName() + " has no legacy format");
+    }
+
+    /**
+     * Writes an int as an unsigned varint, 7 bits per byte. Negative values take five bytes.
+     *
+     * @param out   The buffer to write to.
+     * @param value The value to write.
+     */
+    protected static void writeVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Reads a varint written by {@link #writeVarInt(ByteBuffer, int)}.
+     *
+     * @param in The buffer to read from.
+     * @return The value read.
+     * @throws IllegalStateException If the varint is longer than five bytes.
+     */
+    protected static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    /**
+     * Writes a long as an unsigned varint, 7 bits per byte. Negative values take ten bytes.
+     *
+     * @param out   The buffer to write to.
+     * @param value The value to write.
+     */
+    protected static void writeVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Reads a varint written by {@link #writeVarLong(ByteBuffer, long)}.
+     *
+     * @param in The buffer to read from.
+     * @return The value read.
+     * @throws IllegalStateException If the varint is longer than ten bytes.
+     */
+    protected static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    /**
+     * Writes a long that may be negative as a zig-zag varint, so small negative values stay short.
+     *
+     * @param out   The buffer to write to.
+     * @param value The value to write.
+     */
+    protected static void writeSignedVarLong(ByteBuffer out, long value) {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Reads a value written by {@link #writeSignedVarLong(ByteBuffer, long)}.
+     *
+     * @param in The buffer to read from.
+     * @return The value read.
+     */
+    protected static long readSignedVarLong(ByteBuffer in) {
+        long encoded = readVarLong(in);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    /**
+     * Writes a boolean as one byte.
+     *
+     * @param out   The buffer to write to.
+     * @param value The value to write.
+     */
+    protected static void writeBoolean(ByteBuffer out, boolean value) {
+        out.put(value ? (byte) 1 : (byte) 0);
+    }
+
+    /**
+     * Reads a boolean written by {@link #writeBoolean(ByteBuffer, boolean)}.
+     *
+     * @param in The buffer to read from.
+     * @return The value read.
+     */
+    protected static boolean readBoolean(ByteBuffer in) {
+        return in.get() != 0;
+    }
+
+    /**
+     * Writes a UUID as 16 bytes.
+     *
+     * @param out  The buffer to write to.
+     * @param uuid The UUID to write, never null.
+     */
+    protected static void writeUuid(ByteBuffer out, UUID uuid) {
+        out.putLong(uuid.getMostSignificantBits());
+        out.putLong(uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Reads a UUID written by {@link #writeUuid(ByteBuffer, UUID)}.
+     *
+     * @param in The buffer to read from.
+     * @return The UUID read.
+     */
+    protected static UUID readUuid(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    /**
+     * Writes a UUID that may be null.
+     *
+     * @param out  The buffer to write to.
+     * @param uuid The UUID to write, or null.
+     */
+    protected static void writeNullableUuid(ByteBuffer out, UUID uuid) {
+        writeBoolean(out, uuid != null);
+        if (uuid != null) {
+            writeUuid(out, uuid);
+        }
+    }
+
+    /**
+     * Reads a UUID written by {@link #writeNullableUuid(ByteBuffer, UUID)}.
+     *
+     * @param in The buffer to read from.
+     * @return The UUID read, or null.
+     */
+    protected static UUID readNullableUuid(ByteBuffer in) {
+        return readBoolean(in) ? readUuid(in) : null;
+    }
+
+    /**
+     * Writes a timestamp that may be null, as a zig-zag varint of its epoch milliseconds plus one, zero meaning null.
+     *
+     * @param out       The buffer to write to.
+     * @param timestamp The timestamp to write, or null.
+     */
+    protected static void writeNullableTimestamp(ByteBuffer out, Timestamp timestamp) {
+        if (timestamp == null) {
+            writeVarLong(out, 0);
+        } else {
+            long millis = timestamp.getTime();
+            writeVarLong(out, ((millis << 1) ^ (millis >> 63)) + 1);
+        }
+    }
+
+    /**
+     * Reads a timestamp written by {@link #writeNullableTimestamp(ByteBuffer, Timestamp)}.
+     *
+     * @param in The buffer to read from.
+     * @return The timestamp read, or null.
+     */
+    protected static Timestamp readNullableTimestamp(ByteBuffer in) {
+        long encoded = readVarLong(in);
+        if (encoded == 0) {
+            return null;
+        }
+        encoded--;
+        return new Timestamp((encoded >>> 1) ^ -(encoded & 1));
+    }
+
+    /**
+     * Writes a string that may be null, as a varint of its UTF-8 length plus one, zero meaning null,
+     * followed by the UTF-8 bytes. The bytes are written directly into the buffer.
+     *
+     * @param out   The buffer to write to.
+     * @param value The string to write, or null.
+     */
+    protected static void writeNullableString(ByteBuffer out, String value) {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        writeVarInt(out, utf8Length(value) + 1);
+        putUtf8(out, value);
+    }
+
+    /**
+     * Reads a string written by {@link #writeNullableString(ByteBuffer, String)}.
+     *
+     * @param in The buffer to read from.
+     * @return The string read, or null.
+     */
+    protected static String readNullableString(ByteBuffer in) {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    /**
+     * Computes the number of bytes {@link String#getBytes(java.nio.charset.Charset)} would produce in UTF-8,
+     * without encoding the string. Unpaired surrogates count as the one-byte replacement character.
+     *
+     * @param value The string.
+     * @return The UTF-8 length.
+     */
+    static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 2;
+                i++;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the UTF-8 bytes of a string, matching {@link String#getBytes(java.nio.charset.Charset)}.
+     *
+     * @param out   The buffer to write to.
+     * @param value The string.
+     */
+    static void putUtf8(ByteBuffer out, String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (!Character.isSurrogate(c)) {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xF0 | (codePoint >> 18)));
+                out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                out.put((byte) '?');
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package tk.airshipcraft.commonlib.db.codec;
+
+import tk.airshipcraft.commonlib.db.model.LocationObj;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>Binary codec for {@link LocationObj} rows.</p>
+ *
+ * <p>World names are interned: the codec remembers the UTF-8 form of the first {@value #MAX_WORLDS} world names it
+ * sees, so encoding does not re-encode the name and decoding returns the same {@link String} instance for every
+ * location in a world instead of allocating one per row. Coordinates keep their full precision.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class LocationObjCodec extends CompactBinaryCodec<LocationObj> {
+
+    private static final int MAX_WORLDS = 64;
+
+    private volatile World[] worlds = new World[0];
+
+    /**
+     * Creates the codec, writing format version 1.
+     */
+    public LocationObjCodec() {
+        super(1);
+    }
+
+    @Override
+    protected void write(ByteBuffer out, LocationObj location) {
+        writeNullableUuid(out, location.getId());
+        writeWorldName(out, location.getWorldName());
+        out.putDouble(location.getX());
+        out.putDouble(location.getY());
+        out.putDouble(location.getZ());
+        out.putFloat(location.getPitch());
+        out.putFloat(location.getYaw());
+    }
+
+    @Override
+    protected LocationObj read(ByteBuffer in, int version) {
+        return new LocationObj(readNullableUuid(in), readWorldName(in), in.getDouble(), in.getDouble(),
+                in.getDouble(), in.getFloat(), in.getFloat());
+    }
+
+    /**
+     * Writes a world name in the format of {@link #writeNullableString(ByteBuffer, String)}, using the cached
+     * UTF-8 bytes of known worlds.
+     *
+     * @param out       The buffer to write to.
+     * @param worldName The world name, may be null.
+     */
+    private void writeWorldName(ByteBuffer out, String worldName) {
+        if (worldName == null) {
+            writeNullableString(out, null);
+            return;
+        }
+        for (World world : worlds) {
+            if (world.name.equals(worldName)) {
+                writeVarInt(out, world.utf8.length + 1);
+                out.put(world.utf8);
+                return;
+            }
+        }
+        byte[] utf8 = worldName.getBytes(StandardCharsets.UTF_8);
+        intern(new World(worldName, utf8));
+        writeVarInt(out, utf8.length + 1);
+        out.put(utf8);
+    }
+
+    /**
+     * Reads a world name written by {@link #writeWorldName(ByteBuffer, String)}, returning the interned instance
+     * of known worlds without copying the bytes.
+     *
+     * @param in The buffer to read from.
+     * @return The world name, or null.
+     */
+    private String readWorldName(ByteBuffer in) {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        int start = in.position();
+        for (World world : worlds) {
+            if (world.matches(in, start, length)) {
+                in.position(start + length);
+                return world.name;
+            }
+        }
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        World world = new World(new String(utf8, StandardCharsets.UTF_8), utf8);
+        intern(world);
+        return world.name;
+    }
+
+    /**
+     * Adds a world to the interned names, unless the table is full or another thread added it first.
+     *
+     * @param world The world.
+     */
+    private synchronized void intern(World world) {
+        World[] current = worlds;
+        if (current.length >= MAX_WORLDS) {
+            return;
+        }
+        for (World known : current) {
+            if (known.name.equals(world.name)) {
+                return;
+            }
+        }
+        World[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = world;
+        worlds = updated;
+    }
+
+    /**
+     * An interned world name with its UTF-8 bytes.
+     */
+    private record World(String name, byte[] utf8) {
+
+        /**
+         * Checks whether the bytes at a position of a buffer are this world's name.
+         *
+         * @param in     The buffer.
+         * @param start  The absolute position of the name.
+         * @param length The length of the name in bytes.
+         * @return True if the bytes match.
+         */
+        boolean matches(ByteBuffer in, int start, int length) {
+            if (utf8.length != length) {
+                return false;
+            }
+            if (in.hasArray()) {
+                int offset = in.arrayOffset() + start;
+                return Arrays.equals(in.array(), offset, offset + length, utf8, 0, length);
+            }
+            for (int i = 0; i < length; i++) {
+                if (in.get(start + i) != utf8[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package tk.airshipcraft.commonlib.db.codec;
+
+import tk.airshipcraft.commonlib.db.model.User;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary codec for {@link User} rows. Counters are written as varints, so most players' statistics take
+ * a few bytes each.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class UserCodec extends CompactBinaryCodec<User> {
+
+    /**
+     * Creates the codec, writing format version 1.
+     */
+    public UserCodec() {
+        super(1);
+    }
+
+    @Override
+    protected void write(ByteBuffer out, User user) {
+        writeUuid(out, user.getId());
+        writeNullableString(out, user.getUsername());
+        writeNullableTimestamp(out, user.getJoinDate());
+        writeNullableTimestamp(out, user.getLastJoin());
+        writeNullableTimestamp(out, user.getLastSeen());
+        writeVarLong(out, user.getTotalPlaytime());
+        writeVarInt(out, user.getTotalDeaths());
+        writeVarInt(out, user.getTotalKills());
+        writeVarInt(out, user.getTotalBlocksBroken());
+        writeVarInt(out, user.getFishCaught());
+    }
+
+    @Override
+    protected User read(ByteBuffer in, int version) {
+        return new User(readUuid(in), readNullableString(in), readNullableTimestamp(in),
+                readNullableTimestamp(in), readNullableTimestamp(in), readVarLong(in),
+                readVarInt(in), readVarInt(in), readVarInt(in), readVarInt(in));
+    }
+
+    @Override
+    protected User readLegacy(DataInput in) throws IOException {
+        return new User(AbstractBinaryCodec.readUuid(in), AbstractBinaryCodec.readNullableString(in),
+                AbstractBinaryCodec.readNullableTimestamp(in), AbstractBinaryCodec.readNullableTimestamp(in),
+                AbstractBinaryCodec.readNullableTimestamp(in), in.readLong(),
+                in.readInt(), in.readInt(), in.readInt(), in.readInt());
+    }
+}
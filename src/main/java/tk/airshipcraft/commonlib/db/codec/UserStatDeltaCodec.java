@@ -0,0 +1,66 @@
+package tk.airshipcraft.commonlib.db.codec;
+
+import tk.airshipcraft.commonlib.db.model.UserStat;
+import tk.airshipcraft.commonlib.db.model.UserStatDelta;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Binary codec for {@link UserStatDelta} values. Only the changed counters are written, each as its stable
+ * {@link UserStat#getId() id} followed by the delta as a zig-zag varint. Version 2 appends the delta's sequence
+ * number as a varint; version 1 payloads are read without one. The ids equal the ordinals the counters had when
+ * earlier payloads were written by ordinal, so those payloads still decode to the same counters.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class UserStatDeltaCodec extends CompactBinaryCodec<UserStatDelta> {
+
+    /**
+     * Creates the codec, writing format version 2.
+     */
+    public UserStatDeltaCodec() {
+        super(2);
+    }
+
+    @Override
+    protected void write(ByteBuffer out, UserStatDelta delta) {
+        writeUuid(out, delta.getId());
+        Map<UserStat, Long> changes = delta.asMap();
+        writeVarInt(out, changes.size());
+        for (Map.Entry<UserStat, Long> change : changes.entrySet()) {
+            writeVarInt(out, change.getKey().getId());
+            writeSignedVarLong(out, change.getValue());
+        }
+        writeVarLong(out, delta.getSequence());
+    }
+
+    @Override
+    protected UserStatDelta read(ByteBuffer in, int version) {
+        UUID id = readUuid(in);
+        int count = readVarInt(in);
+        Map<UserStat, Long> changes = new EnumMap<>(UserStat.class);
+        for (int i = 0; i < count; i++) {
+            changes.put(UserStat.byId(readVarInt(in)), readSignedVarLong(in));
+        }
+        UserStatDelta delta = UserStatDelta.of(id, changes);
+        return version >= 2 ? delta.withSequence(readVarLong(in)) : delta;
+    }
+
+    @Override
+    protected UserStatDelta readLegacy(DataInput in) throws IOException {
+        UUID id = AbstractBinaryCodec.readUuid(in);
+        int count = in.readUnsignedByte();
+        Map<UserStat, Long> changes = new EnumMap<>(UserStat.class);
+        for (int i = 0; i < count; i++) {
+            changes.put(UserStat.byId(in.readUnsignedByte()), in.readLong());
+        }
+        return UserStatDelta.of(id, changes);
+    }
+}
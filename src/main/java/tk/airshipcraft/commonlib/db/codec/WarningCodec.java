@@ -0,0 +1,47 @@
+package tk.airshipcraft.commonlib.db.codec;
+
+import tk.airshipcraft.commonlib.db.model.Warning;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary codec for {@link Warning} rows.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class WarningCodec extends CompactBinaryCodec<Warning> {
+
+    /**
+     * Creates the codec, writing format version 1.
+     */
+    public WarningCodec() {
+        super(1);
+    }
+
+    @Override
+    protected void write(ByteBuffer out, Warning warning) {
+        writeUuid(out, warning.getId());
+        writeUuid(out, warning.getIssuer());
+        writeNullableUuid(out, warning.getMinecraftRecipient());
+        writeNullableString(out, warning.getDiscordRecipient());
+        writeNullableString(out, warning.getReason());
+        writeSignedVarLong(out, warning.getTimestamp());
+    }
+
+    @Override
+    protected Warning read(ByteBuffer in, int version) {
+        return new Warning(readUuid(in), readUuid(in), readNullableUuid(in),
+                readNullableString(in), readNullableString(in), readSignedVarLong(in));
+    }
+
+    @Override
+    protected Warning readLegacy(DataInput in) throws IOException {
+        return new Warning(AbstractBinaryCodec.readUuid(in), AbstractBinaryCodec.readUuid(in),
+                AbstractBinaryCodec.readNullableUuid(in), AbstractBinaryCodec.readNullableString(in),
+                AbstractBinaryCodec.readNullableString(in), in.readLong());
+    }
+}
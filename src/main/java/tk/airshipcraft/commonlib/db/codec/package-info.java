@@ -0,0 +1,21 @@
+/**
+ * Provides compact binary encodings of the database models, used wherever rows leave the JVM
+ * without going through SQL, such as the Redis second-level cache or the write journal.
+ *
+ * <ul>
+ *   <li>{@link tk.airshipcraft.commonlib.db.codec.BinaryCodec} - Encodes and decodes a model to and from bytes.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.codec.CompactBinaryCodec} - Versioned varint encoding into pooled buffers.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.codec.AbstractBinaryCodec} - The earlier fixed-width encoding, still readable.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.codec.BufferPool} - Shares encoding buffers between threads.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.codec.UserCodec} - Encodes User rows.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.codec.WarningCodec} - Encodes Warning rows.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.codec.AuthDataCodec} - Encodes AuthData rows.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.codec.UserStatDeltaCodec} - Encodes pending counter increments.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.codec.LocationObjCodec} - Encodes LocationObj rows with interned world names.</li>
+ * </ul>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+package tk.airshipcraft.commonlib.db.codec;
@@ -3,7 +3,9 @@ package tk.airshipcraft.commonlib.db.dao;
 import tk.airshipcraft.commonlib.db.GenericDao;
 import tk.airshipcraft.commonlib.db.model.AuthData;
 
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Interface for data access operations related to AuthData.
@@ -40,4 +42,45 @@ public interface AuthDataDao extends GenericDao<AuthData, UUID> {
      * @param id The UUID of the player.
      */
     void deleteById(UUID id);
+
+    /**
+     * Finds the AuthData holding a verification token, using the unique index on {@code token}.
+     * The default implementation scans {@link #streamAll()}; {@link tk.airshipcraft.commonlib.db.dao.impl.SqlAuthDataDao}
+     * overrides it with an indexed query.
+     *
+     * @param token The verification token.
+     * @return The AuthData with the token, or an empty Optional if there is none.
+     */
+    default Optional<AuthData> findByToken(UUID token) {
+        try (Stream<AuthData> all = streamAll()) {
+            return all.filter(authData -> token.equals(authData.getToken())).findFirst();
+        }
+    }
+
+    /**
+     * Finds the AuthData of a player by in-game name, using the unique index on {@code IGN}.
+     * The default implementation scans {@link #streamAll()}; {@link tk.airshipcraft.commonlib.db.dao.impl.SqlAuthDataDao}
+     * overrides it with an indexed query.
+     *
+     * @param ign The in-game name of the player.
+     * @return The AuthData of the player, or an empty Optional if there is none.
+     */
+    default Optional<AuthData> findByIgn(String ign) {
+        try (Stream<AuthData> all = streamAll()) {
+            return all.filter(authData -> ign.equals(authData.getIGN())).findFirst();
+        }
+    }
+
+    /**
+     * Stores AuthData as verified, inserting it if the player has no record yet.
+     * Used by {@link tk.airshipcraft.commonlib.db.cache.PendingTokenCache}, which keeps unverified tokens in memory
+     * and only writes the final transition.
+     *
+     * @param authData The AuthData to store. Its verified flag is set to true.
+     * @return The stored AuthData.
+     */
+    default AuthData saveVerified(AuthData authData) {
+        authData.setVerified(true);
+        return findById(authData.getId()).isPresent() ? update(authData) : create(authData);
+    }
 }
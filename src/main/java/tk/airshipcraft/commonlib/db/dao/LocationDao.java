@@ -0,0 +1,62 @@
+package tk.airshipcraft.commonlib.db.dao;
+
+import tk.airshipcraft.commonlib.db.GenericDao;
+import tk.airshipcraft.commonlib.db.model.LocationObj;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The LocationDao interface defines the data access methods for LocationObj objects, such as homes, waypoints and
+ * claim markers. Extends GenericDao to provide standard CRUD operations, and adds spatial lookups answered through
+ * the indexed chunk key of each location.
+ *
+ * <p>Spatial lookups are horizontal: they compare the X and Z coordinates and ignore Y.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public interface LocationDao extends GenericDao<LocationObj, UUID> {
+
+    /**
+     * Retrieves all locations within a chunk.
+     *
+     * @param worldName The name of the world.
+     * @param chunkX    The chunk X coordinate.
+     * @param chunkZ    The chunk Z coordinate.
+     * @return The locations in the chunk.
+     */
+    List<LocationObj> findInChunk(String worldName, int chunkX, int chunkZ);
+
+    /**
+     * Retrieves all locations whose horizontal distance to a point is at most the given radius.
+     *
+     * @param worldName The name of the world.
+     * @param x         The X coordinate of the center.
+     * @param z         The Z coordinate of the center.
+     * @param radius    The radius in blocks.
+     * @return The locations within the radius, in no particular order.
+     */
+    List<LocationObj> findWithinRadius(String worldName, double x, double z, double radius);
+
+    /**
+     * Retrieves all locations within a horizontal box, bounds included.
+     *
+     * @param worldName The name of the world.
+     * @param minX      The smallest X coordinate.
+     * @param minZ      The smallest Z coordinate.
+     * @param maxX      The largest X coordinate.
+     * @param maxZ      The largest Z coordinate.
+     * @return The locations within the box, in no particular order.
+     */
+    List<LocationObj> findInBox(String worldName, double minX, double minZ, double maxX, double maxZ);
+
+    /**
+     * Retrieves all locations of a world.
+     *
+     * @param worldName The name of the world.
+     * @return The locations of the world.
+     */
+    List<LocationObj> findByWorld(String worldName);
+}
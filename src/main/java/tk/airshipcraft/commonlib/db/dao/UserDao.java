@@ -2,7 +2,11 @@ package tk.airshipcraft.commonlib.db.dao;
 
 import tk.airshipcraft.commonlib.db.GenericDao;
 import tk.airshipcraft.commonlib.db.model.User;
+import tk.airshipcraft.commonlib.db.model.UserStat;
+import tk.airshipcraft.commonlib.db.model.UserStatDelta;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.UUID;
 
 /**
@@ -23,5 +27,38 @@ public interface UserDao extends GenericDao<User, UUID> {
      */
     User findByUsername(String username);
 
+    /**
+     * Adds a delta to one counter of a user. See {@link #incrementStats(Collection)} for when this is atomic.
+     *
+     * @param id    The id of the user.
+     * @param stat  The counter to change.
+     * @param delta The amount to add, may be negative.
+     */
+    default void incrementStat(UUID id, UserStat stat, long delta) {
+        incrementStats(Collections.singletonList(UserStatDelta.of(id, stat, delta)));
+    }
+
+    /**
+     * Adds the given deltas to the counters of several users.
+     * The default implementation is a read-modify-write: it reads each user with {@link #findById(Object)}, applies
+     * the delta and writes the whole row back with {@link #update(Object)}, so increments made concurrently by another
+     * server can be lost. Only {@link tk.airshipcraft.commonlib.db.dao.impl.SqlUserDao} is atomic, as it overrides
+     * this with {@code SET col = col + ?} statements in a single batch; the caching decorators are atomic when they
+     * wrap it.
+     *
+     * @param deltas The deltas to apply, at most one per user for best performance.
+     */
+    default void incrementStats(Collection<UserStatDelta> deltas) {
+        for (UserStatDelta delta : deltas) {
+            if (delta.isEmpty()) {
+                continue;
+            }
+            findById(delta.getId()).ifPresent(user -> {
+                delta.applyTo(user);
+                update(user);
+            });
+        }
+    }
+
     // Any additional user-specific methods can be defined here
 }
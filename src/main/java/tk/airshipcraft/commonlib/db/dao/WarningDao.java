@@ -3,9 +3,14 @@ package tk.airshipcraft.commonlib.db.dao;
 import tk.airshipcraft.commonlib.db.GenericDao;
 import tk.airshipcraft.commonlib.db.model.Warning;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * The WarningDao interface defines the data access methods for Warning objects.
@@ -40,4 +45,51 @@ public interface WarningDao extends GenericDao<Warning, UUID> {
      * @return A List of Warning objects.
      */
     List<Warning> findByUser(UUID minecraftId, String discordId);
+
+    /**
+     * Counts the warnings issued to a specific Minecraft or Discord user.
+     * The default implementation loads all warnings of the user; implementations should count in the database.
+     *
+     * @param minecraftId The UUID of the Minecraft user, or null.
+     * @param discordId   The Discord ID of the user, or null.
+     * @return The number of warnings.
+     */
+    default int countByUser(UUID minecraftId, String discordId) {
+        return findByUser(minecraftId, discordId).size();
+    }
+
+    /**
+     * Retrieves a page of the warnings issued to a specific Minecraft or Discord user, newest first.
+     * The default implementation loads all warnings of the user; implementations should page in the database.
+     *
+     * @param minecraftId The UUID of the Minecraft user, or null.
+     * @param discordId   The Discord ID of the user, or null.
+     * @param offset      The number of newer warnings to skip.
+     * @param limit       The maximum number of warnings to return.
+     * @return The warnings of the page, newest first.
+     */
+    default List<Warning> findRecentByUser(UUID minecraftId, String discordId, int offset, int limit) {
+        return findByUser(minecraftId, discordId).stream()
+                .sorted(Comparator.comparingLong(Warning::getTimestamp).reversed())
+                .skip(offset)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves the most recent warnings issued to each of several Minecraft users, newest first.
+     * The default implementation runs {@link #findRecentByUser(UUID, String, int, int)} once per user;
+     * implementations should load all users with one query.
+     *
+     * @param minecraftIds The UUIDs of the Minecraft users.
+     * @param limit        The maximum number of warnings per user.
+     * @return The warnings by user UUID; users without warnings may be left out.
+     */
+    default Map<UUID, List<Warning>> findRecentByUsers(Collection<UUID> minecraftIds, int limit) {
+        Map<UUID, List<Warning>> warnings = new HashMap<>();
+        for (UUID minecraftId : minecraftIds) {
+            warnings.put(minecraftId, findRecentByUser(minecraftId, null, 0, limit));
+        }
+        return warnings;
+    }
 }
@@ -1,7 +1,12 @@
 package tk.airshipcraft.commonlib.db.dao.impl;
 
+import tk.airshipcraft.commonlib.db.DataAccessException;
+import tk.airshipcraft.commonlib.db.Projection;
 import tk.airshipcraft.commonlib.db.SqlConnectionManager;
+import tk.airshipcraft.commonlib.db.SqlUtils;
+import tk.airshipcraft.commonlib.db.UuidCodec;
 import tk.airshipcraft.commonlib.db.dao.AuthDataDao;
+import tk.airshipcraft.commonlib.db.mapping.EntityMapping;
 import tk.airshipcraft.commonlib.db.model.AuthData;
 
 import java.sql.Connection;
@@ -9,9 +14,11 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * SQL implementation of the AuthDataDao interface.
@@ -23,7 +30,14 @@ import java.util.UUID;
  */
 public class SqlAuthDataDao implements AuthDataDao {
 
+    private static final String INSERT_PREFIX = "INSERT INTO auth_data (id, ign, username, token, verified) VALUES ";
+    private static final int INSERT_COLUMNS = 5;
+    private static final String UPDATE_SQL = "UPDATE auth_data SET ign = ?, username = ?, token = ?, verified = ? WHERE id = ?";
+
     private final SqlConnectionManager connectionManager;
+    private final UuidCodec uuids;
+    private final Projection<AuthData> fullProjection;
+    private final String upsertVerifiedSql;
 
     /**
      * Constructs an instance of SqlAuthDataDao with a given SqlConnectionManager.
@@ -32,6 +46,10 @@ public class SqlAuthDataDao implements AuthDataDao {
      */
     public SqlAuthDataDao(SqlConnectionManager connectionManager) {
         this.connectionManager = connectionManager;
+        this.uuids = connectionManager.getUuidCodec();
+        this.fullProjection = EntityMapping.of(AuthData.class).projection(uuids);
+        this.upsertVerifiedSql = connectionManager.getDialect().upsert("auth_data",
+                List.of("id", "ign", "username", "token", "verified"), List.of("id"), 1);
     }
 
     /**
@@ -42,18 +60,31 @@ public class SqlAuthDataDao implements AuthDataDao {
      */
     @Override
     public Optional<AuthData> findById(UUID id) {
-        // SQL query to find AuthData by ID
-        String sql = "SELECT * FROM auth_data WHERE id = ?";
-        try (Connection conn = connectionManager.getConnection();
+        return findById(id, fullProjection);
+    }
+
+    /**
+     * Finds only the projected columns of an AuthData record.
+     *
+     * @param id         the entity's identifier.
+     * @param projection The columns to select and how to map them.
+     * @param <R>        The type of the mapped row.
+     * @return An {@code Optional} containing the mapped row if the record exists, otherwise empty.
+     * @throws DataAccessException If the query failed.
+     */
+    public <R> Optional<R> findById(UUID id, Projection<R> projection) {
+        String sql = "SELECT " + projection.getSelectList() + " FROM auth_data WHERE id = ?";
+        try (Connection conn = connectionManager.getReadConnection(id);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setObject(1, id);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return Optional.of(mapResultSetToAuthData(rs));
+            uuids.bind(stmt, 1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.ofNullable(projection.mapRow(rs));
+                }
             }
         } catch (SQLException e) {
-            e.printStackTrace();  // Replace with proper error handling
+            throw new DataAccessException("Failed to load auth data " + id, e);
         }
         return Optional.empty();
     }
@@ -62,45 +93,162 @@ public class SqlAuthDataDao implements AuthDataDao {
      * Finds all AuthData records.
      *
      * @return A list of all AuthData records.
+     * @throws DataAccessException If the query failed.
      */
     @Override
     public List<AuthData> findAll() {
         // SQL query to find all AuthData records
         List<AuthData> authDataList = new ArrayList<>();
-        String sql = "SELECT * FROM auth_data";
-        try (Connection conn = connectionManager.getConnection();
+        String sql = "SELECT " + fullProjection.getSelectList() + " FROM auth_data";
+        try (Connection conn = connectionManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                authDataList.add(mapResultSetToAuthData(rs));
+                authDataList.add(fullProjection.mapRow(rs));
             }
         } catch (SQLException e) {
-            e.printStackTrace();  // Replace with proper error handling
+            throw new DataAccessException("Failed to load auth data", e);
         }
         return authDataList;
     }
 
+    /**
+     * Streams all AuthData records through a forward-only cursor instead of loading the whole table into memory.
+     * The stream holds a pooled connection until it is closed, so use it in a try-with-resources block.
+     *
+     * @return A stream of all AuthData records.
+     */
+    @Override
+    public Stream<AuthData> streamAll() {
+        return streamAll(fullProjection);
+    }
+
+    /**
+     * Streams the projected columns of all AuthData records through a forward-only cursor.
+     * The stream holds a pooled connection until it is closed, so use it in a try-with-resources block.
+     *
+     * @param projection The columns to select and how to map them.
+     * @param <R>        The type of the mapped rows.
+     * @return A stream of mapped rows.
+     * @throws DataAccessException If the query failed.
+     */
+    public <R> Stream<R> streamAll(Projection<R> projection) {
+        try {
+            return SqlUtils.streamQuery(connectionManager,
+                    "SELECT " + projection.getSelectList() + " FROM auth_data", projection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to stream auth data", e);
+        }
+    }
+
+    /**
+     * Retrieves the next page of AuthData records ordered by id, starting after the given id.
+     *
+     * @param afterId The id of the last AuthData record of the previous page, or {@code null} for the first page.
+     * @param limit   The maximum number of AuthData records to return.
+     * @return The AuthData records of the page, ordered by id.
+     */
+    @Override
+    public List<AuthData> findPage(UUID afterId, int limit) {
+        return findPage(afterId, limit, fullProjection);
+    }
+
+    /**
+     * Retrieves the projected columns of the next page of AuthData records ordered by id, starting after the given id.
+     *
+     * @param afterId    The id of the last AuthData record of the previous page, or {@code null} for the first page.
+     * @param limit      The maximum number of rows to return.
+     * @param projection The columns to select and how to map them.
+     * @param <R>        The type of the mapped rows.
+     * @return The mapped rows of the page, ordered by id.
+     * @throws DataAccessException If the query failed.
+     */
+    public <R> List<R> findPage(UUID afterId, int limit, Projection<R> projection) {
+        String select = "SELECT " + projection.getSelectList() + " FROM auth_data";
+        String sql = afterId == null
+                ? select + " ORDER BY id LIMIT ?"
+                : select + " WHERE id > ? ORDER BY id LIMIT ?";
+        List<R> page = new ArrayList<>(Math.max(0, limit));
+        try (Connection conn = connectionManager.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (afterId != null) {
+                uuids.bind(stmt, index++, afterId);
+            }
+            stmt.setInt(index, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(projection.mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load a page of auth data", e);
+        }
+        return page;
+    }
+
     /**
      * Creates a new AuthData record.
      *
      * @param authData The AuthData object to create.
      * @return The created AuthData object.
+     * @throws DataAccessException If the statement failed.
      */
     @Override
     public AuthData create(AuthData authData) {
         // SQL query to create new AuthData record
-        String sql = "INSERT INTO auth_data (id, ign, username, token, verified) VALUES (?, ?, ?, ?, ?)";
+        String sql = INSERT_PREFIX + SqlUtils.rowPlaceholders(1, INSERT_COLUMNS);
         try (Connection conn = connectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            prepareStatementForAuthData(stmt, authData);
+            prepareStatementForAuthData(stmt, 1, authData);
             stmt.executeUpdate();
+            markWritten(authData);
             return authData;
         } catch (SQLException e) {
-            e.printStackTrace();  // Replace with proper error handling
+            throw new DataAccessException("Failed to create auth data " + authData.getId(), e);
+        }
+    }
+
+    /**
+     * Creates several AuthData records using multi-row INSERT statements, on one connection and in one transaction.
+     *
+     * @param authDataList The AuthData objects to create.
+     * @return The created AuthData objects.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public List<AuthData> createAll(Collection<AuthData> authDataList) {
+        if (authDataList.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try (Connection conn = connectionManager.getConnection()) {
+            connectionManager.beginTransaction(conn);
+            try {
+                for (List<AuthData> chunk : SqlUtils.partition(authDataList, SqlUtils.DEFAULT_CHUNK_SIZE)) {
+                    String sql = INSERT_PREFIX + SqlUtils.rowPlaceholders(chunk.size(), INSERT_COLUMNS);
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        int index = 1;
+                        for (AuthData authData : chunk) {
+                            index = prepareStatementForAuthData(stmt, index, authData);
+                        }
+                        stmt.executeUpdate();
+                    }
+                }
+                connectionManager.commitTransaction(conn);
+                authDataList.forEach(this::markWritten);
+                return new ArrayList<>(authDataList);
+            } catch (SQLException e) {
+                connectionManager.rollbackTransaction(conn);
+                throw e;
+            } finally {
+                connectionManager.resetConnection(conn);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to create " + authDataList.size() + " auth data records", e);
         }
-        return null;
     }
 
     /**
@@ -108,28 +256,62 @@ public class SqlAuthDataDao implements AuthDataDao {
      *
      * @param authData The AuthData object to update.
      * @return The updated AuthData object.
+     * @throws DataAccessException If the statement failed.
      */
     @Override
     public AuthData update(AuthData authData) {
         // SQL query to update AuthData record
-        String sql = "UPDATE auth_data SET ign = ?, username = ?, token = ?, verified = ? WHERE id = ?";
         try (Connection conn = connectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
 
-            prepareStatementForAuthData(stmt, authData);
-            stmt.setObject(5, authData.getId());
+            prepareUpdateForAuthData(stmt, authData);
             stmt.executeUpdate();
+            markWritten(authData);
             return authData;
         } catch (SQLException e) {
-            e.printStackTrace();  // Replace with proper error handling
+            throw new DataAccessException("Failed to update auth data " + authData.getId(), e);
+        }
+    }
+
+    /**
+     * Updates several AuthData records with a single JDBC batch, on one connection and in one transaction.
+     *
+     * @param authDataList The AuthData objects to update.
+     * @return The updated AuthData objects.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public List<AuthData> updateAll(Collection<AuthData> authDataList) {
+        if (authDataList.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try (Connection conn = connectionManager.getConnection()) {
+            connectionManager.beginTransaction(conn);
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
+                for (AuthData authData : authDataList) {
+                    prepareUpdateForAuthData(stmt, authData);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                connectionManager.commitTransaction(conn);
+                authDataList.forEach(this::markWritten);
+                return new ArrayList<>(authDataList);
+            } catch (SQLException e) {
+                connectionManager.rollbackTransaction(conn);
+                throw e;
+            } finally {
+                connectionManager.resetConnection(conn);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to update " + authDataList.size() + " auth data records", e);
         }
-        return null;
     }
 
     /**
      * Deletes an existing AuthData record by its ID.
      *
      * @param id The ID of the AuthData record to delete.
+     * @throws DataAccessException If the statement failed.
      */
     @Override
     public void deleteById(UUID id) {
@@ -138,42 +320,210 @@ public class SqlAuthDataDao implements AuthDataDao {
         try (Connection conn = connectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setObject(1, id);
+            uuids.bind(stmt, 1, id);
             stmt.executeUpdate();
+            connectionManager.markWritten(id);
         } catch (SQLException e) {
-            e.printStackTrace();  // Replace with proper error handling
+            throw new DataAccessException("Failed to delete auth data " + id, e);
         }
     }
 
     /**
-     * Maps a ResultSet to an AuthData object.
+     * Deletes several AuthData records using chunked {@code IN (...)} statements on one connection.
      *
-     * @param rs The ResultSet from which to map.
-     * @return An AuthData object.
+     * @param ids The IDs of the AuthData records to delete.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public void deleteAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try (Connection conn = connectionManager.getConnection()) {
+            for (List<UUID> chunk : SqlUtils.partitionDistinct(ids, SqlUtils.DEFAULT_CHUNK_SIZE)) {
+                String sql = "DELETE FROM auth_data WHERE id IN (" + SqlUtils.placeholders(chunk.size()) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    bindIds(stmt, chunk);
+                    stmt.executeUpdate();
+                    chunk.forEach(connectionManager::markWritten);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to delete " + ids.size() + " auth data records", e);
+        }
+    }
+
+    /**
+     * Finds several AuthData records using chunked {@code IN (...)} queries on one connection.
+     *
+     * @param ids The IDs of the AuthData records to find.
+     * @return The AuthData records found, in no particular order.
+     */
+    @Override
+    public List<AuthData> findAllById(Collection<UUID> ids) {
+        return findAllById(ids, fullProjection);
+    }
+
+    /**
+     * Finds the projected columns of several AuthData records using chunked {@code IN (...)} queries on one connection.
+     *
+     * @param ids        The IDs of the AuthData records to find.
+     * @param projection The columns to select and how to map them.
+     * @param <R>        The type of the mapped rows.
+     * @return The mapped rows found, in no particular order.
+     * @throws DataAccessException If the query failed.
+     */
+    public <R> List<R> findAllById(Collection<UUID> ids, Projection<R> projection) {
+        List<R> authDataList = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return authDataList;
+        }
+        try (Connection conn = connectionManager.getBatchReadConnection(ids)) {
+            for (List<UUID> chunk : SqlUtils.partitionDistinct(ids, SqlUtils.DEFAULT_CHUNK_SIZE)) {
+                String sql = "SELECT " + projection.getSelectList() + " FROM auth_data WHERE id IN ("
+                        + SqlUtils.placeholders(chunk.size()) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    bindIds(stmt, chunk);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            authDataList.add(projection.mapRow(rs));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load " + ids.size() + " auth data records", e);
+        }
+        return authDataList;
+    }
+
+    /**
+     * Finds the AuthData holding a verification token.
+     *
+     * @param token The verification token.
+     * @return The AuthData with the token, or an empty Optional if there is none.
+     * @throws DataAccessException If the query failed.
+     */
+    @Override
+    public Optional<AuthData> findByToken(UUID token) {
+        String sql = "SELECT " + fullProjection.getSelectList() + " FROM auth_data WHERE token = ?";
+        try (Connection conn = connectionManager.getReadConnection(token);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            uuids.bind(stmt, 1, token);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(fullProjection.mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load auth data by token", e);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the AuthData of a player by in-game name.
+     *
+     * @param ign The in-game name of the player.
+     * @return The AuthData of the player, or an empty Optional if there is none.
+     * @throws DataAccessException If the query failed.
+     */
+    @Override
+    public Optional<AuthData> findByIgn(String ign) {
+        String sql = "SELECT " + fullProjection.getSelectList() + " FROM auth_data WHERE ign = ?";
+        try (Connection conn = connectionManager.getReadConnection(ign);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, ign);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(fullProjection.mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load the auth data of " + ign, e);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Stores AuthData as verified with a single upsert, whether or not the player already has a record.
+     *
+     * @param authData The AuthData to store. Its verified flag is set to true.
+     * @return The stored AuthData.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public AuthData saveVerified(AuthData authData) {
+        authData.setVerified(true);
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(upsertVerifiedSql)) {
+
+            prepareStatementForAuthData(stmt, 1, authData);
+            stmt.executeUpdate();
+            markWritten(authData);
+            return authData;
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to save verified auth data " + authData.getId(), e);
+        }
+    }
+
+    /**
+     * Pins reads of the player, token and in-game name of written AuthData to the primary for the
+     * read-your-writes window.
+     *
+     * @param authData The written AuthData.
+     */
+    private void markWritten(AuthData authData) {
+        connectionManager.markWritten(authData.getId());
+        connectionManager.markWritten(authData.getToken());
+        connectionManager.markWritten(authData.getIGN());
+    }
+
+    /**
+     * Prepares a PreparedStatement with AuthData fields, starting at the given parameter index.
+     *
+     * @param stmt     The PreparedStatement to prepare.
+     * @param index    The index of the first parameter to bind.
+     * @param authData The AuthData object from which to take the data.
+     * @return The index of the next unbound parameter.
      * @throws SQLException If a database access error occurs.
      */
-    private AuthData mapResultSetToAuthData(ResultSet rs) throws SQLException {
-        return new AuthData(
-                UUID.fromString(rs.getString("id")),
-                rs.getString("ign"),
-                rs.getString("username"),
-                UUID.fromString(rs.getString("token")),
-                rs.getBoolean("verified")
-        );
+    private int prepareStatementForAuthData(PreparedStatement stmt, int index, AuthData authData) throws SQLException {
+        uuids.bind(stmt, index, authData.getId());
+        stmt.setString(index + 1, authData.getIGN());
+        stmt.setString(index + 2, authData.getUsername());
+        uuids.bind(stmt, index + 3, authData.getToken());
+        stmt.setBoolean(index + 4, authData.isVerified());
+        return index + INSERT_COLUMNS;
     }
 
     /**
-     * Prepares a PreparedStatement with AuthData fields.
+     * Prepares the parameters of {@link #UPDATE_SQL} with AuthData fields.
      *
      * @param stmt     The PreparedStatement to prepare.
      * @param authData The AuthData object from which to take the data.
      * @throws SQLException If a database access error occurs.
      */
-    private void prepareStatementForAuthData(PreparedStatement stmt, AuthData authData) throws SQLException {
-        stmt.setObject(1, authData.getId());
-        stmt.setString(2, authData.getIGN());
-        stmt.setString(3, authData.getUsername());
-        stmt.setObject(4, authData.getToken());
-        stmt.setBoolean(5, authData.isVerified());
+    private void prepareUpdateForAuthData(PreparedStatement stmt, AuthData authData) throws SQLException {
+        stmt.setString(1, authData.getIGN());
+        stmt.setString(2, authData.getUsername());
+        uuids.bind(stmt, 3, authData.getToken());
+        stmt.setBoolean(4, authData.isVerified());
+        uuids.bind(stmt, 5, authData.getId());
+    }
+
+    /**
+     * Binds a list of ids to consecutive parameters starting at 1.
+     *
+     * @param stmt The PreparedStatement to prepare.
+     * @param ids  The ids to bind.
+     * @throws SQLException If a database access error occurs.
+     */
+    private void bindIds(PreparedStatement stmt, List<UUID> ids) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            uuids.bind(stmt, i + 1, ids.get(i));
+        }
     }
 }
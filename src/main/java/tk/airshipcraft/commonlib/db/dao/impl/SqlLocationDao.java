@@ -0,0 +1,200 @@
+package tk.airshipcraft.commonlib.db.dao.impl;
+
+import tk.airshipcraft.commonlib.db.ChunkKey;
+import tk.airshipcraft.commonlib.db.DataAccessException;
+import tk.airshipcraft.commonlib.db.SqlConnectionManager;
+import tk.airshipcraft.commonlib.db.dao.LocationDao;
+import tk.airshipcraft.commonlib.db.mapping.SqlDao;
+import tk.airshipcraft.commonlib.db.model.LocationObj;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * <p>Provides SQL-specific data access operations for LocationObj objects.
+ * Implements the LocationDao interface using a SQL database.</p>
+ *
+ * <p>Every row stores the {@link ChunkKey} of its world and chunk in the indexed {@code chunk_key} column.
+ * A chunk lookup is a single index probe. A box or radius lookup scans one key range per chunk column the box
+ * covers, or a single range from its first to its last chunk when the box spans more than
+ * {@value #MAX_KEY_RANGES} chunk columns, and then filters the rows on the exact world and coordinates.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class SqlLocationDao extends SqlDao<LocationObj, UUID> implements LocationDao {
+
+    /**
+     * The largest number of chunk columns a box lookup scans as separate key ranges.
+     */
+    public static final int MAX_KEY_RANGES = 32;
+
+    private final String selectPrefix;
+
+    /**
+     * Constructs a SqlLocationDao with a given SqlConnectionManager.
+     *
+     * @param connectionManager The connection manager for database connections.
+     */
+    public SqlLocationDao(SqlConnectionManager connectionManager) {
+        super(connectionManager, LocationObj.class);
+        this.selectPrefix = "SELECT " + getProjection().getSelectList() + " FROM " + getMapping().getTable() + " WHERE ";
+    }
+
+    /**
+     * Retrieves all locations within a chunk with a single probe of the chunk key index.
+     *
+     * @param worldName The name of the world.
+     * @param chunkX    The chunk X coordinate.
+     * @param chunkZ    The chunk Z coordinate.
+     * @return The locations in the chunk.
+     */
+    @Override
+    public List<LocationObj> findInChunk(String worldName, int chunkX, int chunkZ) {
+        if (chunkX < ChunkKey.MIN_CHUNK || chunkX > ChunkKey.MAX_CHUNK
+                || chunkZ < ChunkKey.MIN_CHUNK || chunkZ > ChunkKey.MAX_CHUNK) {
+            return new ArrayList<>();
+        }
+        return query(selectPrefix + "chunk_key = ? AND world_name = ?",
+                List.of(ChunkKey.of(worldName, chunkX, chunkZ), worldName));
+    }
+
+    /**
+     * Retrieves all locations whose horizontal distance to a point is at most the given radius,
+     * filtering the chunks of the enclosing square in the database.
+     *
+     * @param worldName The name of the world.
+     * @param x         The X coordinate of the center.
+     * @param z         The Z coordinate of the center.
+     * @param radius    The radius in blocks.
+     * @return The locations within the radius, in no particular order.
+     */
+    @Override
+    public List<LocationObj> findWithinRadius(String worldName, double x, double z, double radius) {
+        if (!(radius >= 0)) {
+            return new ArrayList<>();
+        }
+        List<Object> parameters = new ArrayList<>();
+        String sql = boxQuery(worldName, x - radius, z - radius, x + radius, z + radius, parameters)
+                + " AND (x - ?) * (x - ?) + (z - ?) * (z - ?) <= ?";
+        parameters.add(x);
+        parameters.add(x);
+        parameters.add(z);
+        parameters.add(z);
+        parameters.add(radius * radius);
+        return query(sql, parameters);
+    }
+
+    /**
+     * Retrieves all locations within a horizontal box, bounds included.
+     *
+     * @param worldName The name of the world.
+     * @param minX      The smallest X coordinate.
+     * @param minZ      The smallest Z coordinate.
+     * @param maxX      The largest X coordinate.
+     * @param maxZ      The largest Z coordinate.
+     * @return The locations within the box, in no particular order.
+     */
+    @Override
+    public List<LocationObj> findInBox(String worldName, double minX, double minZ, double maxX, double maxZ) {
+        if (!(minX <= maxX && minZ <= maxZ)) {
+            return new ArrayList<>();
+        }
+        List<Object> parameters = new ArrayList<>();
+        return query(boxQuery(worldName, minX, minZ, maxX, maxZ, parameters), parameters);
+    }
+
+    /**
+     * Retrieves all locations of a world by scanning the world's chunk key range.
+     *
+     * @param worldName The name of the world.
+     * @return The locations of the world.
+     */
+    @Override
+    public List<LocationObj> findByWorld(String worldName) {
+        return query(selectPrefix + "chunk_key BETWEEN ? AND ? AND world_name = ?", List.of(
+                ChunkKey.of(worldName, ChunkKey.MIN_CHUNK, ChunkKey.MIN_CHUNK),
+                ChunkKey.of(worldName, ChunkKey.MAX_CHUNK, ChunkKey.MAX_CHUNK), worldName));
+    }
+
+    /**
+     * Builds the query of a box lookup and collects its parameters.
+     *
+     * @param worldName  The name of the world.
+     * @param minX       The smallest X coordinate.
+     * @param minZ       The smallest Z coordinate.
+     * @param maxX       The largest X coordinate.
+     * @param maxZ       The largest Z coordinate.
+     * @param parameters The list the parameters are added to.
+     * @return The SQL statement.
+     */
+    private String boxQuery(String worldName, double minX, double minZ, double maxX, double maxZ, List<Object> parameters) {
+        int minChunkX = clampChunk(ChunkKey.toChunk(minX));
+        int maxChunkX = clampChunk(ChunkKey.toChunk(maxX));
+        int minChunkZ = clampChunk(ChunkKey.toChunk(minZ));
+        int maxChunkZ = clampChunk(ChunkKey.toChunk(maxZ));
+
+        StringJoiner ranges = new StringJoiner(" OR ", "(", ")");
+        if (maxChunkX - minChunkX < MAX_KEY_RANGES) {
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                ranges.add("chunk_key BETWEEN ? AND ?");
+                parameters.add(ChunkKey.of(worldName, chunkX, minChunkZ));
+                parameters.add(ChunkKey.of(worldName, chunkX, maxChunkZ));
+            }
+        } else {
+            ranges.add("chunk_key BETWEEN ? AND ?");
+            parameters.add(ChunkKey.of(worldName, minChunkX, minChunkZ));
+            parameters.add(ChunkKey.of(worldName, maxChunkX, maxChunkZ));
+        }
+        parameters.add(worldName);
+        parameters.add(minX);
+        parameters.add(maxX);
+        parameters.add(minZ);
+        parameters.add(maxZ);
+        return selectPrefix + ranges + " AND world_name = ? AND x BETWEEN ? AND ? AND z BETWEEN ? AND ?";
+    }
+
+    /**
+     * Runs a location query on a read connection.
+     *
+     * @param sql        The SQL statement.
+     * @param parameters The parameters, in order.
+     * @return The locations found.
+     * @throws DataAccessException If the query failed.
+     */
+    private List<LocationObj> query(String sql, List<Object> parameters) {
+        List<LocationObj> locations = new ArrayList<>();
+        try (Connection conn = getConnectionManager().getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < parameters.size(); i++) {
+                stmt.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    locations.add(getProjection().mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to query locations", e);
+        }
+        return locations;
+    }
+
+    /**
+     * Limits a chunk coordinate to the range a chunk key can hold.
+     *
+     * @param chunk The chunk coordinate.
+     * @return The clamped coordinate.
+     */
+    private static int clampChunk(int chunk) {
+        return Math.max(ChunkKey.MIN_CHUNK, Math.min(ChunkKey.MAX_CHUNK, chunk));
+    }
+}
@@ -1,17 +1,35 @@
 package tk.airshipcraft.commonlib.db.dao.impl;
 
+import tk.airshipcraft.commonlib.db.DataAccessException;
+import tk.airshipcraft.commonlib.db.Projection;
 import tk.airshipcraft.commonlib.db.SqlConnectionManager;
+import tk.airshipcraft.commonlib.db.SqlDialect;
+import tk.airshipcraft.commonlib.db.SqlUtils;
+import tk.airshipcraft.commonlib.db.UuidCodec;
 import tk.airshipcraft.commonlib.db.dao.UserDao;
+import tk.airshipcraft.commonlib.db.mapping.EntityMapping;
 import tk.airshipcraft.commonlib.db.model.User;
+import tk.airshipcraft.commonlib.db.model.UserNameView;
+import tk.airshipcraft.commonlib.db.model.UserStat;
+import tk.airshipcraft.commonlib.db.model.UserStatDelta;
+import tk.airshipcraft.commonlib.db.model.UserStatView;
 
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * <p>SQL implementation of the UserDao interface for accessing and manipulating user data in a database.</p>
@@ -24,7 +42,21 @@ import java.util.UUID;
  */
 public class SqlUserDao implements UserDao {
 
+    private static final String INSERT_PREFIX = "INSERT INTO users (id, username, join_date, last_join, last_seen, total_playtime, total_deaths, total_kills, total_blocks_broken, fish_caught) VALUES ";
+    private static final int INSERT_COLUMNS = 10;
+    private static final String UPDATE_SQL = "UPDATE users SET username = ?, join_date = ?, last_join = ?, last_seen = ?, total_playtime = ?, total_deaths = ?, total_kills = ?, total_blocks_broken = ?, fish_caught = ? WHERE id = ?";
+    private static final UserStat[] STATS = UserStat.values();
+    private static final String INCREMENT_SQL = buildIncrementSql();
+    private static final String SEQUENCE_TABLE = "user_stat_sequences";
+    private static final List<String> SEQUENCE_COLUMNS = List.of("source", "id", "seq");
+    private static final List<String> SEQUENCE_KEY = List.of("source", "id");
+
     private final SqlConnectionManager connectionManager;
+    private final UuidCodec uuids;
+    private final Projection<User> fullProjection;
+    private final Projection<UserNameView> nameProjection;
+    private final Map<UserStat, Projection<UserStatView>> statProjections = new EnumMap<>(UserStat.class);
+    private volatile boolean sequenceTableCreated;
 
     /**
      * Constructs a new SqlUserDao with a specified SqlConnectionManager.
@@ -33,6 +65,15 @@ public class SqlUserDao implements UserDao {
      */
     public SqlUserDao(SqlConnectionManager connectionManager) {
         this.connectionManager = connectionManager;
+        this.uuids = connectionManager.getUuidCodec();
+        this.fullProjection = EntityMapping.of(User.class).projection(uuids);
+        this.nameProjection = Projection.of(rs -> new UserNameView(uuids.read(rs, "id"), rs.getString("username")),
+                "id", "username");
+        for (UserStat stat : STATS) {
+            statProjections.put(stat, Projection.of(
+                    rs -> new UserStatView(uuids.read(rs, "id"), stat, rs.getLong(stat.getColumn())),
+                    "id", stat.getColumn()));
+        }
     }
 
     /**
@@ -43,18 +84,31 @@ public class SqlUserDao implements UserDao {
      */
     @Override
     public Optional<User> findById(UUID id) {
-        final String sql = "SELECT * FROM users WHERE id = ?";
-        try (Connection conn = connectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        return findById(id, fullProjection);
+    }
 
-            stmt.setObject(1, id);
-            ResultSet rs = stmt.executeQuery();
+    /**
+     * Retrieves only the projected columns of a user.
+     *
+     * @param id         The unique identifier of the user.
+     * @param projection The columns to select and how to map them.
+     * @param <R>        The type of the mapped row.
+     * @return The mapped row if the user exists, otherwise empty.
+     * @throws DataAccessException If the query failed.
+     */
+    public <R> Optional<R> findById(UUID id, Projection<R> projection) {
+        final String sql = "SELECT " + projection.getSelectList() + " FROM users WHERE id = ?";
+        try (Connection conn = connectionManager.getReadConnection(id);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            if (rs.next()) {
-                return Optional.of(mapResultSetToUser(rs));
+            uuids.bind(stmt, 1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.ofNullable(projection.mapRow(rs));
+                }
             }
         } catch (SQLException e) {
-            // Log and handle the exception
+            throw new DataAccessException("Failed to load user " + id, e);
         }
         return Optional.empty();
     }
@@ -63,91 +117,440 @@ public class SqlUserDao implements UserDao {
      * Retrieves all users from the database.
      *
      * @return A {@code List<User>} containing all users.
+     * @throws DataAccessException If the query failed.
      */
     @Override
     public List<User> findAll() {
-        final String sql = "SELECT * FROM users";
+        final String sql = "SELECT " + fullProjection.getSelectList() + " FROM users";
         List<User> users = new ArrayList<>();
-        try (Connection conn = connectionManager.getConnection();
+        try (Connection conn = connectionManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             ResultSet rs = stmt.executeQuery();
 
             while (rs.next()) {
-                users.add(mapResultSetToUser(rs));
+                users.add(fullProjection.mapRow(rs));
             }
         } catch (SQLException e) {
-            // Log and handle the exception
-            e.printStackTrace();
+            throw new DataAccessException("Failed to load users", e);
         }
         return users;
     }
 
+    /**
+     * Streams all users through a forward-only cursor instead of loading the whole table into memory.
+     * The stream holds a pooled connection until it is closed, so use it in a try-with-resources block.
+     *
+     * @return A stream of all users.
+     */
+    @Override
+    public Stream<User> streamAll() {
+        return streamAll(fullProjection);
+    }
+
+    /**
+     * Streams the projected columns of all users through a forward-only cursor.
+     * The stream holds a pooled connection until it is closed, so use it in a try-with-resources block.
+     *
+     * @param projection The columns to select and how to map them.
+     * @param <R>        The type of the mapped rows.
+     * @return A stream of mapped rows.
+     * @throws DataAccessException If the query failed.
+     */
+    public <R> Stream<R> streamAll(Projection<R> projection) {
+        try {
+            return SqlUtils.streamQuery(connectionManager, "SELECT " + projection.getSelectList() + " FROM users",
+                    projection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to stream users", e);
+        }
+    }
+
+    /**
+     * Retrieves the next page of users ordered by id, starting after the given id.
+     *
+     * @param afterId The id of the last user of the previous page, or {@code null} for the first page.
+     * @param limit   The maximum number of users to return.
+     * @return The users of the page, ordered by id.
+     */
+    @Override
+    public List<User> findPage(UUID afterId, int limit) {
+        return findPage(afterId, limit, fullProjection);
+    }
+
+    /**
+     * Retrieves the projected columns of the next page of users ordered by id, starting after the given id.
+     *
+     * @param afterId    The id of the last user of the previous page, or {@code null} for the first page.
+     * @param limit      The maximum number of rows to return.
+     * @param projection The columns to select and how to map them.
+     * @param <R>        The type of the mapped rows.
+     * @return The mapped rows of the page, ordered by id.
+     * @throws DataAccessException If the query failed.
+     */
+    public <R> List<R> findPage(UUID afterId, int limit, Projection<R> projection) {
+        String select = "SELECT " + projection.getSelectList() + " FROM users";
+        String sql = afterId == null
+                ? select + " ORDER BY id LIMIT ?"
+                : select + " WHERE id > ? ORDER BY id LIMIT ?";
+        List<R> page = new ArrayList<>(Math.max(0, limit));
+        try (Connection conn = connectionManager.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (afterId != null) {
+                uuids.bind(stmt, index++, afterId);
+            }
+            stmt.setInt(index, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(projection.mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load a page of users", e);
+        }
+        return page;
+    }
+
+    /**
+     * Retrieves the projected columns of the users with the highest value of a statistic.
+     * The counter columns are not indexed, because they are incremented far more often than they are ranked,
+     * so this sorts the table; for rankings that are read often, use a
+     * {@link tk.airshipcraft.commonlib.db.leaderboard.Leaderboard} instead.
+     *
+     * @param stat       The statistic to rank by.
+     * @param limit      The maximum number of rows to return.
+     * @param projection The columns to select and how to map them, e.g. {@link #statProjection(UserStat)}.
+     * @param <R>        The type of the mapped rows.
+     * @return The mapped rows, highest value first.
+     * @throws DataAccessException If the query failed.
+     */
+    public <R> List<R> findTop(UserStat stat, int limit, Projection<R> projection) {
+        final String sql = "SELECT " + projection.getSelectList() + " FROM users ORDER BY " + stat.getColumn()
+                + " DESC LIMIT ?";
+        List<R> top = new ArrayList<>(Math.max(0, limit));
+        try (Connection conn = connectionManager.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    top.add(projection.mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to rank users by " + stat, e);
+        }
+        return top;
+    }
+
+    /**
+     * Returns the projection of a user's id and username.
+     *
+     * @return The name projection.
+     */
+    public Projection<UserNameView> nameProjection() {
+        return nameProjection;
+    }
+
+    /**
+     * Returns the projection of a user's id and a single statistic.
+     *
+     * @param stat The statistic to select.
+     * @return The statistic projection.
+     */
+    public Projection<UserStatView> statProjection(UserStat stat) {
+        return statProjections.get(stat);
+    }
+
     /**
      * Inserts a new user into the database.
      *
      * @param user The {@code User} object to insert.
      * @return The {@code User} object after insertion, with any auto-generated keys filled in.
+     * @throws DataAccessException If the statement failed.
      */
     @Override
     public User create(User user) {
-        final String sql = "INSERT INTO users (id, username, join_date, last_join, last_seen, total_playtime, total_deaths, total_kills, total_blocks_broken, fish_caught) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        final String sql = INSERT_PREFIX + SqlUtils.rowPlaceholders(1, INSERT_COLUMNS);
         try (Connection conn = connectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setObject(1, user.getId());
-            stmt.setString(2, user.getUsername());
-            stmt.setTimestamp(3, user.getJoinDate());
-            stmt.setTimestamp(4, user.getLastJoin());
-            stmt.setTimestamp(5, user.getLastSeen());
-            stmt.setLong(6, user.getTotalPlaytime());
-            stmt.setInt(7, user.getTotalDeaths());
-            stmt.setInt(8, user.getTotalKills());
-            stmt.setInt(9, user.getTotalBlocksBroken());
-            stmt.setInt(10, user.getFishCaught());
+            bindInsert(stmt, 1, user);
             stmt.executeUpdate();
+            markWritten(user);
 
             // Optionally retrieve and set any auto-generated keys
         } catch (SQLException e) {
-            e.printStackTrace(); // Replace with proper error handling
+            throw new DataAccessException("Failed to create user " + user.getId(), e);
         }
         return user;
     }
 
+    /**
+     * Inserts several users using multi-row INSERT statements of up to {@link SqlUtils#DEFAULT_CHUNK_SIZE} rows,
+     * all on one connection and in one transaction.
+     *
+     * @param users The users to insert.
+     * @return The inserted users.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public List<User> createAll(Collection<User> users) {
+        if (users.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try (Connection conn = connectionManager.getConnection()) {
+            connectionManager.beginTransaction(conn);
+            try {
+                for (List<User> chunk : SqlUtils.partition(users, SqlUtils.DEFAULT_CHUNK_SIZE)) {
+                    String sql = INSERT_PREFIX + SqlUtils.rowPlaceholders(chunk.size(), INSERT_COLUMNS);
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        int index = 1;
+                        for (User user : chunk) {
+                            index = bindInsert(stmt, index, user);
+                        }
+                        stmt.executeUpdate();
+                    }
+                }
+                connectionManager.commitTransaction(conn);
+                users.forEach(this::markWritten);
+            } catch (SQLException e) {
+                connectionManager.rollbackTransaction(conn);
+                throw e;
+            } finally {
+                connectionManager.resetConnection(conn);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to create " + users.size() + " users", e);
+        }
+        return new ArrayList<>(users);
+    }
 
     /**
      * Updates an existing user in the database.
      *
      * @param user The {@code User} object to update.
      * @return The {@code User} object after it has been updated.
+     * @throws DataAccessException If the statement failed.
      */
     @Override
     public User update(User user) {
-        final String sql = "UPDATE users SET username = ?, join_date = ?, last_join = ?, last_seen = ?, total_playtime = ?, total_deaths = ?, total_kills = ?, total_blocks_broken = ?, fish_caught = ? WHERE id = ?";
         try (Connection conn = connectionManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
 
-            stmt.setString(1, user.getUsername());
-            stmt.setTimestamp(2, user.getJoinDate());
-            stmt.setTimestamp(3, user.getLastJoin());
-            stmt.setTimestamp(4, user.getLastSeen());
-            stmt.setLong(5, user.getTotalPlaytime());
-            stmt.setInt(6, user.getTotalDeaths());
-            stmt.setInt(7, user.getTotalKills());
-            stmt.setInt(8, user.getTotalBlocksBroken());
-            stmt.setInt(9, user.getFishCaught());
-            stmt.setObject(10, user.getId());
+            bindUpdate(stmt, user);
             stmt.executeUpdate();
+            markWritten(user);
         } catch (SQLException e) {
-            e.printStackTrace(); // Replace with proper error handling
+            throw new DataAccessException("Failed to update user " + user.getId(), e);
         }
         return user;
     }
 
+    /**
+     * Updates a batch of users on the given connection using a single JDBC batch.
+     * This is intended for {@link tk.airshipcraft.commonlib.db.WriteBehindQueue} and other callers that manage
+     * the connection and transaction themselves; exceptions are propagated rather than swallowed.
+     *
+     * @param conn  The connection to execute the batch on.
+     * @param users The users to update.
+     * @throws SQLException If the batch could not be executed.
+     */
+    public void updateBatch(Connection conn, List<User> users) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
+            for (User user : users) {
+                bindUpdate(stmt, user);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Updates several users with a single JDBC batch on one connection and in one transaction.
+     *
+     * @param users The users to update.
+     * @return The updated users.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public List<User> updateAll(Collection<User> users) {
+        if (users.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<User> batch = new ArrayList<>(users);
+        try (Connection conn = connectionManager.getConnection()) {
+            connectionManager.beginTransaction(conn);
+            try {
+                updateBatch(conn, batch);
+                connectionManager.commitTransaction(conn);
+                batch.forEach(this::markWritten);
+            } catch (SQLException e) {
+                connectionManager.rollbackTransaction(conn);
+                throw e;
+            } finally {
+                connectionManager.resetConnection(conn);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to update " + batch.size() + " users", e);
+        }
+        return batch;
+    }
+
+    /**
+     * Atomically adds the given deltas to the users' counters with a single JDBC batch of
+     * {@code SET col = col + ?} statements, on one connection and in one transaction.
+     *
+     * @param deltas The deltas to apply.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public void incrementStats(Collection<UserStatDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try (Connection conn = connectionManager.getConnection()) {
+            connectionManager.beginTransaction(conn);
+            try {
+                incrementBatch(conn, new ArrayList<>(deltas));
+                connectionManager.commitTransaction(conn);
+                deltas.forEach(delta -> connectionManager.markWritten(delta.getId()));
+            } catch (SQLException e) {
+                connectionManager.rollbackTransaction(conn);
+                throw e;
+            } finally {
+                connectionManager.resetConnection(conn);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to increment the stats of " + deltas.size() + " users", e);
+        }
+    }
+
+    /**
+     * Applies a batch of counter deltas on the given connection using a single JDBC batch.
+     * This is intended for {@link tk.airshipcraft.commonlib.db.UserStatBuffer} and other callers that manage
+     * the connection and transaction themselves; exceptions are propagated rather than swallowed.
+     *
+     * @param conn   The connection to execute the batch on.
+     * @param deltas The deltas to apply.
+     * @throws SQLException If the batch could not be executed.
+     */
+    public void incrementBatch(Connection conn, List<UserStatDelta> deltas) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INCREMENT_SQL)) {
+            for (UserStatDelta delta : deltas) {
+                if (delta.isEmpty()) {
+                    continue;
+                }
+                for (UserStat stat : STATS) {
+                    stmt.setLong(stat.ordinal() + 1, delta.get(stat));
+                }
+                uuids.bind(stmt, STATS.length + 1, delta.getId());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * <p>Applies a batch of sequenced counter deltas on the given connection, skipping those the database has
+     * already applied. The highest sequence applied per user and source is kept in the
+     * {@code user_stat_sequences} table, see {@link tk.airshipcraft.commonlib.db.UserStatBuffer}; deltas at or below
+     * it are skipped and the rest are summed per user, in order, before they are added. Deltas without a sequence
+     * are always applied.</p>
+     *
+     * <p>The caller must run this in a transaction, so the counters and the sequences are committed together. The
+     * sequence table is created first if {@link #createSequenceTable()} has not succeeded yet.</p>
+     *
+     * @param conn   The connection to execute the batch on.
+     * @param deltas The deltas to apply, oldest first; several may belong to the same user.
+     * @param source The id of the journal the sequences were assigned for.
+     * @throws SQLException If the batch could not be executed.
+     */
+    public void incrementBatch(Connection conn, List<UserStatDelta> deltas, UUID source) throws SQLException {
+        if (!sequenceTableCreated) {
+            createSequenceTable();
+        }
+        Map<UUID, Long> applied = new HashMap<>();
+        for (List<UUID> chunk : SqlUtils.partitionDistinct(deltas.stream().map(UserStatDelta::getId).toList(),
+                SqlUtils.DEFAULT_CHUNK_SIZE)) {
+            String sql = "SELECT id, seq FROM " + SEQUENCE_TABLE + " WHERE source = ? AND id IN ("
+                    + SqlUtils.placeholders(chunk.size()) + ")";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                uuids.bind(stmt, 1, source);
+                for (int i = 0; i < chunk.size(); i++) {
+                    uuids.bind(stmt, i + 2, chunk.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        applied.put(uuids.read(rs, "id"), rs.getLong("seq"));
+                    }
+                }
+            }
+        }
+
+        Map<UUID, UserStatDelta> sums = new LinkedHashMap<>();
+        Map<UUID, Long> sequences = new LinkedHashMap<>();
+        for (UserStatDelta delta : deltas) {
+            long sequence = delta.getSequence();
+            if (sequence > 0) {
+                if (sequence <= applied.getOrDefault(delta.getId(), 0L)) {
+                    continue; // applied before the journal could discard it
+                }
+                applied.put(delta.getId(), sequence);
+                sequences.put(delta.getId(), sequence);
+            }
+            sums.merge(delta.getId(), delta, UserStatDelta::plus);
+        }
+        incrementBatch(conn, new ArrayList<>(sums.values()));
+
+        SqlDialect dialect = connectionManager.getDialect();
+        for (List<Map.Entry<UUID, Long>> chunk : SqlUtils.partition(sequences.entrySet(), SqlUtils.DEFAULT_CHUNK_SIZE)) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    dialect.upsert(SEQUENCE_TABLE, SEQUENCE_COLUMNS, SEQUENCE_KEY, chunk.size()))) {
+                int index = 1;
+                for (Map.Entry<UUID, Long> entry : chunk) {
+                    uuids.bind(stmt, index++, source);
+                    uuids.bind(stmt, index++, entry.getKey());
+                    stmt.setLong(index++, entry.getValue());
+                }
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Creates the {@code user_stat_sequences} table read and written by
+     * {@link #incrementBatch(Connection, List, UUID)} if it does not exist yet. Its id columns use the column type of
+     * the connection manager's {@link UuidCodec}. This runs on its own connection, because DDL would commit an open
+     * transaction on MySQL.
+     *
+     * @throws SQLException If the table could not be created.
+     */
+    public void createSequenceTable() throws SQLException {
+        try (Connection conn = connectionManager.getConnection()) {
+            DatabaseMetaData metaData = conn.getMetaData();
+            try (ResultSet tables = metaData.getTables(conn.getCatalog(), null, SEQUENCE_TABLE, null)) {
+                if (!tables.next()) {
+                    try (Statement statement = conn.createStatement()) {
+                        statement.execute("CREATE TABLE IF NOT EXISTS " + SEQUENCE_TABLE + " ("
+                                + "source " + uuids.getColumnType() + " NOT NULL, "
+                                + "id " + uuids.getColumnType() + " NOT NULL, "
+                                + "seq BIGINT NOT NULL, "
+                                + "PRIMARY KEY (source, id))");
+                    }
+                }
+            }
+        }
+        sequenceTableCreated = true;
+    }
+
     /**
      * Deletes a user from the database by their UUID.
      *
      * @param id The UUID of the user to delete.
+     * @throws DataAccessException If the statement failed.
      */
     @Override
     public void deleteById(UUID id) {
@@ -155,58 +558,208 @@ public class SqlUserDao implements UserDao {
         try (Connection conn = connectionManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setObject(1, id);
+            uuids.bind(stmt, 1, id);
             stmt.executeUpdate();
+            connectionManager.markWritten(id);
         } catch (SQLException e) {
-            // Log and handle the exception
-            e.printStackTrace();
+            throw new DataAccessException("Failed to delete user " + id, e);
         }
     }
 
     /**
-     * Finds a user by their username.
+     * Deletes several users using chunked {@code DELETE ... WHERE id IN (...)} statements on one connection.
+     *
+     * @param ids The UUIDs of the users to delete.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public void deleteAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try (Connection conn = connectionManager.getConnection()) {
+            for (List<UUID> chunk : SqlUtils.partitionDistinct(ids, SqlUtils.DEFAULT_CHUNK_SIZE)) {
+                String sql = "DELETE FROM users WHERE id IN (" + SqlUtils.placeholders(chunk.size()) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    bindIds(stmt, chunk);
+                    stmt.executeUpdate();
+                    chunk.forEach(connectionManager::markWritten);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to delete " + ids.size() + " users", e);
+        }
+    }
+
+    /**
+     * Retrieves several users using chunked {@code SELECT ... WHERE id IN (...)} queries on one connection.
+     *
+     * @param ids The UUIDs of the users to retrieve.
+     * @return The users found, in no particular order.
+     */
+    @Override
+    public List<User> findAllById(Collection<UUID> ids) {
+        return findAllById(ids, fullProjection);
+    }
+
+    /**
+     * Retrieves the projected columns of several users using chunked {@code SELECT ... WHERE id IN (...)}
+     * queries on one connection.
+     *
+     * @param ids        The UUIDs of the users to retrieve.
+     * @param projection The columns to select and how to map them.
+     * @param <R>        The type of the mapped rows.
+     * @return The mapped rows found, in no particular order.
+     * @throws DataAccessException If the query failed.
+     */
+    public <R> List<R> findAllById(Collection<UUID> ids, Projection<R> projection) {
+        List<R> rows = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return rows;
+        }
+        try (Connection conn = connectionManager.getBatchReadConnection(ids)) {
+            for (List<UUID> chunk : SqlUtils.partitionDistinct(ids, SqlUtils.DEFAULT_CHUNK_SIZE)) {
+                String sql = "SELECT " + projection.getSelectList() + " FROM users WHERE id IN ("
+                        + SqlUtils.placeholders(chunk.size()) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    bindIds(stmt, chunk);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            rows.add(projection.mapRow(rs));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load " + ids.size() + " users", e);
+        }
+        return rows;
+    }
+
+    /**
+     * Finds a user by their username. The read goes to the primary if the username was written within the
+     * read-your-writes window; if a replica returns a user whose UUID was written within the window, for example
+     * renamed or deleted, the lookup is repeated on the primary.
      *
      * @param username The username to search for.
      * @return The {@code User} object if found, otherwise null.
+     * @throws DataAccessException If the query failed.
      */
     @Override
     public User findByUsername(String username) {
-        final String sql = "SELECT * FROM users WHERE username = ?";
-        try (Connection conn = connectionManager.getConnection();
+        User user = findByUsername(username, username);
+        if (user != null && !connectionManager.getReplicaRouter().isPinned(username)
+                && connectionManager.getReplicaRouter().isPinned(user.getId())) {
+            user = findByUsername(username, user.getId());
+        }
+        return user;
+    }
+
+    /**
+     * Finds a user by their username on a connection routed by the given read-your-writes key.
+     *
+     * @param username The username to search for.
+     * @param key      The key to route the read by.
+     * @return The {@code User} object if found, otherwise null.
+     * @throws DataAccessException If the query failed.
+     */
+    private User findByUsername(String username, Object key) {
+        final String sql = "SELECT " + fullProjection.getSelectList() + " FROM users WHERE username = ?";
+        try (Connection conn = connectionManager.getReadConnection(key);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, username);
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                return mapResultSetToUser(rs);
+                return fullProjection.mapRow(rs);
             }
         } catch (SQLException e) {
-            // Log and handle the exception
-            e.printStackTrace();
+            throw new DataAccessException("Failed to load user " + username, e);
         }
         return null;
     }
 
     /**
-     * Maps a row in a ResultSet to a User object.
+     * Pins reads of a written user, by UUID and by username, to the primary for the read-your-writes window.
+     *
+     * @param user The written user.
+     */
+    private void markWritten(User user) {
+        connectionManager.markWritten(user.getId());
+        connectionManager.markWritten(user.getUsername());
+    }
+
+    /**
+     * Binds the ten insert columns of a user starting at the given parameter index.
+     *
+     * @param stmt  The statement to bind.
+     * @param index The index of the first parameter to bind.
+     * @param user  The user whose values to bind.
+     * @return The index of the next unbound parameter.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    private int bindInsert(PreparedStatement stmt, int index, User user) throws SQLException {
+        uuids.bind(stmt, index, user.getId());
+        stmt.setString(index + 1, user.getUsername());
+        stmt.setTimestamp(index + 2, user.getJoinDate());
+        stmt.setTimestamp(index + 3, user.getLastJoin());
+        stmt.setTimestamp(index + 4, user.getLastSeen());
+        stmt.setLong(index + 5, user.getTotalPlaytime());
+        stmt.setInt(index + 6, user.getTotalDeaths());
+        stmt.setInt(index + 7, user.getTotalKills());
+        stmt.setInt(index + 8, user.getTotalBlocksBroken());
+        stmt.setInt(index + 9, user.getFishCaught());
+        return index + INSERT_COLUMNS;
+    }
+
+    /**
+     * Builds the statement adding a delta to every counter column of a user, so that one prepared statement
+     * can be batched for any combination of changed counters.
+     *
+     * @return The increment statement.
+     */
+    private static String buildIncrementSql() {
+        StringBuilder sql = new StringBuilder("UPDATE users SET ");
+        for (UserStat stat : STATS) {
+            if (stat.ordinal() > 0) {
+                sql.append(", ");
+            }
+            sql.append(stat.getColumn()).append(" = ").append(stat.getColumn()).append(" + ?");
+        }
+        return sql.append(" WHERE id = ?").toString();
+    }
+
+    /**
+     * Binds a list of ids to consecutive parameters starting at 1.
+     *
+     * @param stmt The statement to bind.
+     * @param ids  The ids to bind.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    private void bindIds(PreparedStatement stmt, List<UUID> ids) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            uuids.bind(stmt, i + 1, ids.get(i));
+        }
+    }
+
+    /**
+     * Binds the parameters of {@link #UPDATE_SQL} for the given user.
      *
-     * @param rs The ResultSet containing user data.
-     * @return A User object populated with data from the ResultSet row.
-     * @throws SQLException If an error occurs while accessing the ResultSet.
+     * @param stmt The statement to bind.
+     * @param user The user whose values to bind.
+     * @throws SQLException If a parameter cannot be set.
      */
-    private User mapResultSetToUser(ResultSet rs) throws SQLException {
-        return new User(
-                (UUID) rs.getObject("id"),
-                rs.getString("username"),
-                rs.getTimestamp("join_date"),
-                rs.getTimestamp("last_join"),
-                rs.getTimestamp("last_seen"),
-                rs.getLong("total_playtime"),
-                rs.getInt("total_deaths"),
-                rs.getInt("total_kills"),
-                rs.getInt("total_blocks_broken"),
-                rs.getInt("fish_caught")
-        );
+    private void bindUpdate(PreparedStatement stmt, User user) throws SQLException {
+        stmt.setString(1, user.getUsername());
+        stmt.setTimestamp(2, user.getJoinDate());
+        stmt.setTimestamp(3, user.getLastJoin());
+        stmt.setTimestamp(4, user.getLastSeen());
+        stmt.setLong(5, user.getTotalPlaytime());
+        stmt.setInt(6, user.getTotalDeaths());
+        stmt.setInt(7, user.getTotalKills());
+        stmt.setInt(8, user.getTotalBlocksBroken());
+        stmt.setInt(9, user.getFishCaught());
+        uuids.bind(stmt, 10, user.getId());
     }
 }
@@ -1,7 +1,12 @@
 package tk.airshipcraft.commonlib.db.dao.impl;
 
+import tk.airshipcraft.commonlib.db.DataAccessException;
+import tk.airshipcraft.commonlib.db.Projection;
 import tk.airshipcraft.commonlib.db.SqlConnectionManager;
+import tk.airshipcraft.commonlib.db.SqlUtils;
+import tk.airshipcraft.commonlib.db.UuidCodec;
 import tk.airshipcraft.commonlib.db.dao.WarningDao;
+import tk.airshipcraft.commonlib.db.mapping.EntityMapping;
 import tk.airshipcraft.commonlib.db.model.Warning;
 
 import java.sql.Connection;
@@ -9,9 +14,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.StringJoiner;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Provides SQL-specific data access operations for Warning objects.
@@ -23,7 +33,13 @@ import java.util.UUID;
  */
 public class SqlWarningDao implements WarningDao {
 
+    private static final String INSERT_PREFIX = "INSERT INTO warnings (id, issuer, minecraft_recipient, discord_recipient, reason, timestamp) VALUES ";
+    private static final int INSERT_COLUMNS = 6;
+    private static final String UPDATE_SQL = "UPDATE warnings SET issuer = ?, minecraft_recipient = ?, discord_recipient = ?, reason = ?, timestamp = ? WHERE id = ?";
+
     private final SqlConnectionManager connectionManager;
+    private final UuidCodec uuids;
+    private final Projection<Warning> fullProjection;
 
     /**
      * Constructs a SqlWarningDao with a given SqlConnectionManager.
@@ -32,6 +48,8 @@ public class SqlWarningDao implements WarningDao {
      */
     public SqlWarningDao(SqlConnectionManager connectionManager) {
         this.connectionManager = connectionManager;
+        this.uuids = connectionManager.getUuidCodec();
+        this.fullProjection = EntityMapping.of(Warning.class).projection(uuids);
     }
 
     /**
@@ -42,17 +60,31 @@ public class SqlWarningDao implements WarningDao {
      */
     @Override
     public Optional<Warning> findById(UUID id) {
-        String sql = "SELECT * FROM warnings WHERE id = ?";
-        try (Connection connection = connectionManager.getConnection();
+        return findById(id, fullProjection);
+    }
+
+    /**
+     * Retrieves only the projected columns of a Warning.
+     *
+     * @param id         The UUID of the Warning.
+     * @param projection The columns to select and how to map them.
+     * @param <R>        The type of the mapped row.
+     * @return An Optional containing the mapped row if the Warning exists, or an empty Optional otherwise.
+     * @throws DataAccessException If the query failed.
+     */
+    public <R> Optional<R> findById(UUID id, Projection<R> projection) {
+        String sql = "SELECT " + projection.getSelectList() + " FROM warnings WHERE id = ?";
+        try (Connection connection = connectionManager.getReadConnection(id);
              PreparedStatement statement = connection.prepareStatement(sql)) {
 
-            statement.setObject(1, id);
-            ResultSet resultSet = statement.executeQuery();
-            if (resultSet.next()) {
-                return Optional.of(mapRowToWarning(resultSet));
+            uuids.bind(statement, 1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    return Optional.ofNullable(projection.mapRow(resultSet));
+                }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            throw new DataAccessException("Failed to load warning " + id, e);
         }
         return Optional.empty();
     }
@@ -61,80 +93,222 @@ public class SqlWarningDao implements WarningDao {
      * Retrieves all Warnings from the database.
      *
      * @return A List of all Warnings.
+     * @throws DataAccessException If the query failed.
      */
     @Override
     public List<Warning> findAll() {
-        String sql = "SELECT * FROM warnings";
+        String sql = "SELECT " + fullProjection.getSelectList() + " FROM warnings";
         List<Warning> warnings = new ArrayList<>();
-        try (Connection connection = connectionManager.getConnection();
+        try (Connection connection = connectionManager.getReadConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
 
             ResultSet resultSet = statement.executeQuery();
             while (resultSet.next()) {
-                warnings.add(mapRowToWarning(resultSet));
+                warnings.add(fullProjection.mapRow(resultSet));
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            throw new DataAccessException("Failed to load warnings", e);
         }
         return warnings;
     }
 
+    /**
+     * Streams all Warnings through a forward-only cursor instead of loading the whole table into memory.
+     * The stream holds a pooled connection until it is closed, so use it in a try-with-resources block.
+     *
+     * @return A stream of all Warnings.
+     */
+    @Override
+    public Stream<Warning> streamAll() {
+        return streamAll(fullProjection);
+    }
+
+    /**
+     * Streams the projected columns of all Warnings through a forward-only cursor.
+     * The stream holds a pooled connection until it is closed, so use it in a try-with-resources block.
+     *
+     * @param projection The columns to select and how to map them.
+     * @param <R>        The type of the mapped rows.
+     * @return A stream of mapped rows.
+     * @throws DataAccessException If the query failed.
+     */
+    public <R> Stream<R> streamAll(Projection<R> projection) {
+        try {
+            return SqlUtils.streamQuery(connectionManager,
+                    "SELECT " + projection.getSelectList() + " FROM warnings", projection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to stream warnings", e);
+        }
+    }
+
+    /**
+     * Retrieves the next page of Warnings ordered by id, starting after the given id.
+     *
+     * @param afterId The id of the last Warning of the previous page, or {@code null} for the first page.
+     * @param limit   The maximum number of Warnings to return.
+     * @return The Warnings of the page, ordered by id.
+     */
+    @Override
+    public List<Warning> findPage(UUID afterId, int limit) {
+        return findPage(afterId, limit, fullProjection);
+    }
+
+    /**
+     * Retrieves the projected columns of the next page of Warnings ordered by id, starting after the given id.
+     *
+     * @param afterId    The id of the last Warning of the previous page, or {@code null} for the first page.
+     * @param limit      The maximum number of rows to return.
+     * @param projection The columns to select and how to map them.
+     * @param <R>        The type of the mapped rows.
+     * @return The mapped rows of the page, ordered by id.
+     * @throws DataAccessException If the query failed.
+     */
+    public <R> List<R> findPage(UUID afterId, int limit, Projection<R> projection) {
+        String select = "SELECT " + projection.getSelectList() + " FROM warnings";
+        String sql = afterId == null
+                ? select + " ORDER BY id LIMIT ?"
+                : select + " WHERE id > ? ORDER BY id LIMIT ?";
+        List<R> page = new ArrayList<>(Math.max(0, limit));
+        try (Connection connection = connectionManager.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            int index = 1;
+            if (afterId != null) {
+                uuids.bind(statement, index++, afterId);
+            }
+            statement.setInt(index, limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    page.add(projection.mapRow(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load a page of warnings", e);
+        }
+        return page;
+    }
+
     /**
      * Creates a new Warning in the database.
      *
      * @param entity The Warning to be created.
      * @return The created Warning.
+     * @throws DataAccessException If the statement failed.
      */
     @Override
     public Warning create(Warning entity) {
-        String sql = "INSERT INTO warnings (id, issuer, minecraft_recipient, discord_recipient, reason, timestamp) VALUES (?, ?, ?, ?, ?, ?)";
+        String sql = INSERT_PREFIX + SqlUtils.rowPlaceholders(1, INSERT_COLUMNS);
         try (Connection connection = connectionManager.getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
 
-            statement.setObject(1, entity.getId());
-            statement.setObject(2, entity.getIssuer());
-            statement.setObject(3, entity.getMinecraftRecipient());
-            statement.setString(4, entity.getDiscordRecipient());
-            statement.setString(5, entity.getReason());
-            statement.setLong(6, entity.getTimestamp());
+            bindInsert(statement, 1, entity);
             statement.executeUpdate();
+            markWritten(entity);
         } catch (SQLException e) {
-            // Log and handle exception
-            e.printStackTrace();
+            throw new DataAccessException("Failed to create warning " + entity.getId(), e);
         }
         return entity;
     }
 
+    /**
+     * Creates several Warnings using multi-row INSERT statements, on one connection and in one transaction.
+     *
+     * @param entities The Warnings to be created.
+     * @return The created Warnings.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public List<Warning> createAll(Collection<Warning> entities) {
+        if (entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try (Connection connection = connectionManager.getConnection()) {
+            connectionManager.beginTransaction(connection);
+            try {
+                for (List<Warning> chunk : SqlUtils.partition(entities, SqlUtils.DEFAULT_CHUNK_SIZE)) {
+                    String sql = INSERT_PREFIX + SqlUtils.rowPlaceholders(chunk.size(), INSERT_COLUMNS);
+                    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                        int index = 1;
+                        for (Warning warning : chunk) {
+                            index = bindInsert(statement, index, warning);
+                        }
+                        statement.executeUpdate();
+                    }
+                }
+                connectionManager.commitTransaction(connection);
+                entities.forEach(this::markWritten);
+            } catch (SQLException e) {
+                connectionManager.rollbackTransaction(connection);
+                throw e;
+            } finally {
+                connectionManager.resetConnection(connection);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to create " + entities.size() + " warnings", e);
+        }
+        return new ArrayList<>(entities);
+    }
+
     /**
      * Updates an existing Warning in the database.
      *
      * @param entity The Warning to be updated.
      * @return The updated Warning.
+     * @throws DataAccessException If the statement failed.
      */
     @Override
     public Warning update(Warning entity) {
-        String sql = "UPDATE warnings SET issuer = ?, minecraft_recipient = ?, discord_recipient = ?, reason = ?, timestamp = ? WHERE id = ?";
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+             PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
 
-            statement.setObject(1, entity.getIssuer());
-            statement.setObject(2, entity.getMinecraftRecipient());
-            statement.setString(3, entity.getDiscordRecipient());
-            statement.setString(4, entity.getReason());
-            statement.setLong(5, entity.getTimestamp());
-            statement.setObject(6, entity.getId());
+            bindUpdate(statement, entity);
             statement.executeUpdate();
+            markWritten(entity);
         } catch (SQLException e) {
-            // Log and handle exception
-            e.printStackTrace();
+            throw new DataAccessException("Failed to update warning " + entity.getId(), e);
         }
         return entity;
     }
 
+    /**
+     * Updates several Warnings with a single JDBC batch, on one connection and in one transaction.
+     *
+     * @param entities The Warnings to be updated.
+     * @return The updated Warnings.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public List<Warning> updateAll(Collection<Warning> entities) {
+        if (entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try (Connection connection = connectionManager.getConnection()) {
+            connectionManager.beginTransaction(connection);
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
+                for (Warning warning : entities) {
+                    bindUpdate(statement, warning);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connectionManager.commitTransaction(connection);
+                entities.forEach(this::markWritten);
+            } catch (SQLException e) {
+                connectionManager.rollbackTransaction(connection);
+                throw e;
+            } finally {
+                connectionManager.resetConnection(connection);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to update " + entities.size() + " warnings", e);
+        }
+        return new ArrayList<>(entities);
+    }
+
     /**
      * Deletes a Warning from the database by its UUID.
      *
      * @param uuid The UUID of the Warning to be deleted.
+     * @throws DataAccessException If the statement failed.
      */
     @Override
     public void deleteById(UUID uuid) {
@@ -142,14 +316,83 @@ public class SqlWarningDao implements WarningDao {
         try (Connection connection = connectionManager.getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
 
-            statement.setObject(1, uuid);
+            uuids.bind(statement, 1, uuid);
             statement.executeUpdate();
+            connectionManager.markWritten(uuid);
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to delete warning " + uuid, e);
+        }
+    }
+
+    /**
+     * Deletes several Warnings using chunked {@code IN (...)} statements on one connection.
+     *
+     * @param ids The UUIDs of the Warnings to be deleted.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public void deleteAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try (Connection connection = connectionManager.getConnection()) {
+            for (List<UUID> chunk : SqlUtils.partitionDistinct(ids, SqlUtils.DEFAULT_CHUNK_SIZE)) {
+                String sql = "DELETE FROM warnings WHERE id IN (" + SqlUtils.placeholders(chunk.size()) + ")";
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    bindIds(statement, chunk);
+                    statement.executeUpdate();
+                    chunk.forEach(connectionManager::markWritten);
+                }
+            }
         } catch (SQLException e) {
-            // Log and handle exception
-            e.printStackTrace();
+            throw new DataAccessException("Failed to delete " + ids.size() + " warnings", e);
         }
     }
 
+    /**
+     * Retrieves several Warnings using chunked {@code IN (...)} queries on one connection.
+     *
+     * @param ids The UUIDs of the Warnings to retrieve.
+     * @return The Warnings found, in no particular order.
+     */
+    @Override
+    public List<Warning> findAllById(Collection<UUID> ids) {
+        return findAllById(ids, fullProjection);
+    }
+
+    /**
+     * Retrieves the projected columns of several Warnings using chunked {@code IN (...)} queries on one connection.
+     *
+     * @param ids        The UUIDs of the Warnings to retrieve.
+     * @param projection The columns to select and how to map them.
+     * @param <R>        The type of the mapped rows.
+     * @return The mapped rows found, in no particular order.
+     * @throws DataAccessException If the query failed.
+     */
+    public <R> List<R> findAllById(Collection<UUID> ids, Projection<R> projection) {
+        List<R> warnings = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return warnings;
+        }
+        try (Connection connection = connectionManager.getBatchReadConnection(ids)) {
+            for (List<UUID> chunk : SqlUtils.partitionDistinct(ids, SqlUtils.DEFAULT_CHUNK_SIZE)) {
+                String sql = "SELECT " + projection.getSelectList() + " FROM warnings WHERE id IN ("
+                        + SqlUtils.placeholders(chunk.size()) + ")";
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    bindIds(statement, chunk);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            warnings.add(projection.mapRow(resultSet));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load " + ids.size() + " warnings", e);
+        }
+        return warnings;
+    }
+
     /**
      * Retrieves all Warnings issued to a specific Minecraft or Discord user.
      *
@@ -159,39 +402,339 @@ public class SqlWarningDao implements WarningDao {
      */
     @Override
     public List<Warning> findByUser(UUID minecraftId, String discordId) {
-        String sql = "SELECT * FROM warnings WHERE minecraft_recipient = ? OR discord_recipient = ?";
-        List<Warning> warnings = new ArrayList<>();
-        try (Connection connection = connectionManager.getConnection();
+        return findByUser(minecraftId, discordId, fullProjection);
+    }
+
+    /**
+     * Retrieves the projected columns of all Warnings issued to a specific Minecraft or Discord user.
+     * Each recipient is looked up through its own index, see {@link #recipientBranches(UUID, String)}.
+     *
+     * @param minecraftId The UUID of the Minecraft user.
+     * @param discordId   The Discord ID of the user.
+     * @param projection  The columns to select and how to map them.
+     * @param <R>         The type of the mapped rows.
+     * @return The mapped rows of the Warnings associated with the given user.
+     * @throws DataAccessException If the query failed.
+     */
+    public <R> List<R> findByUser(UUID minecraftId, String discordId, Projection<R> projection) {
+        List<RecipientBranch> branches = recipientBranches(minecraftId, discordId);
+        List<R> warnings = new ArrayList<>();
+        if (branches.isEmpty()) {
+            return warnings;
+        }
+        StringBuilder sql = new StringBuilder();
+        for (RecipientBranch branch : branches) {
+            if (sql.length() > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append("SELECT ").append(projection.getSelectList()).append(" FROM warnings WHERE ").append(branch.condition());
+        }
+        try (Connection connection = connectionManager.getReadConnection(recipientKey(minecraftId, discordId));
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+
+            int index = 1;
+            for (RecipientBranch branch : branches) {
+                index = branch.bind(statement, index);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    warnings.add(projection.mapRow(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load the warnings of " + (minecraftId != null ? minecraftId : discordId), e);
+        }
+        return warnings;
+    }
+
+    /**
+     * Counts the Warnings issued to a specific Minecraft or Discord user without loading them,
+     * summing one indexed count per recipient.
+     *
+     * @param minecraftId The UUID of the Minecraft user, or null.
+     * @param discordId   The Discord ID of the user, or null.
+     * @return The number of Warnings.
+     * @throws DataAccessException If the query failed.
+     */
+    @Override
+    public int countByUser(UUID minecraftId, String discordId) {
+        List<RecipientBranch> branches = recipientBranches(minecraftId, discordId);
+        if (branches.isEmpty()) {
+            return 0;
+        }
+        StringJoiner sql = new StringJoiner(" + ", "SELECT ", "");
+        for (RecipientBranch branch : branches) {
+            sql.add("(SELECT COUNT(*) FROM warnings WHERE " + branch.condition() + ")");
+        }
+        try (Connection connection = connectionManager.getReadConnection(recipientKey(minecraftId, discordId));
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+
+            int index = 1;
+            for (RecipientBranch branch : branches) {
+                index = branch.bind(statement, index);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    return resultSet.getInt(1);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to count the warnings of " + (minecraftId != null ? minecraftId : discordId), e);
+        }
+        return 0;
+    }
+
+    /**
+     * Retrieves a page of the Warnings issued to a specific Minecraft or Discord user, newest first.
+     *
+     * @param minecraftId The UUID of the Minecraft user, or null.
+     * @param discordId   The Discord ID of the user, or null.
+     * @param offset      The number of newer Warnings to skip.
+     * @param limit       The maximum number of Warnings to return.
+     * @return The Warnings of the page, newest first.
+     */
+    @Override
+    public List<Warning> findRecentByUser(UUID minecraftId, String discordId, int offset, int limit) {
+        return findRecentByUser(minecraftId, discordId, offset, limit, fullProjection);
+    }
+
+    /**
+     * Retrieves the projected columns of a page of the Warnings issued to a specific Minecraft or Discord user,
+     * newest first. Each recipient lookup only reads the newest {@code offset + limit} rows of its
+     * {@code (recipient, timestamp)} index before the results are merged.
+     *
+     * @param minecraftId The UUID of the Minecraft user, or null.
+     * @param discordId   The Discord ID of the user, or null.
+     * @param offset      The number of newer Warnings to skip.
+     * @param limit       The maximum number of rows to return.
+     * @param projection  The columns to select and how to map them.
+     * @param <R>         The type of the mapped rows.
+     * @return The mapped rows of the page, newest first.
+     * @throws DataAccessException If the query failed.
+     */
+    public <R> List<R> findRecentByUser(UUID minecraftId, String discordId, int offset, int limit,
+                                        Projection<R> projection) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+        List<RecipientBranch> branches = recipientBranches(minecraftId, discordId);
+        List<R> warnings = new ArrayList<>(Math.min(limit, SqlUtils.DEFAULT_CHUNK_SIZE));
+        if (branches.isEmpty() || limit == 0) {
+            return warnings;
+        }
+
+        String sql;
+        if (branches.size() == 1) {
+            sql = "SELECT " + projection.getSelectList() + " FROM warnings WHERE " + branches.get(0).condition()
+                    + " ORDER BY timestamp DESC, id DESC LIMIT ? OFFSET ?";
+        } else {
+            // The outer query sorts on timestamp and id, so the branches must select them even if the projection does not
+            StringBuilder inner = new StringBuilder(projection.getSelectList());
+            for (String column : List.of("timestamp", "id")) {
+                if (!projection.getColumns().contains(column)) {
+                    inner.append(", ").append(column);
+                }
+            }
+            StringBuilder union = new StringBuilder();
+            for (RecipientBranch branch : branches) {
+                if (union.length() > 0) {
+                    union.append(" UNION ALL ");
+                }
+                union.append("(SELECT ").append(inner).append(" FROM warnings WHERE ").append(branch.condition())
+                        .append(" ORDER BY timestamp DESC, id DESC LIMIT ?)");
+            }
+            sql = "SELECT " + projection.getSelectList() + " FROM (" + union
+                    + ") recent ORDER BY timestamp DESC, id DESC LIMIT ? OFFSET ?";
+        }
+
+        try (Connection connection = connectionManager.getReadConnection(recipientKey(minecraftId, discordId));
              PreparedStatement statement = connection.prepareStatement(sql)) {
 
-            statement.setObject(1, minecraftId);
-            statement.setString(2, discordId);
-            ResultSet resultSet = statement.executeQuery();
-            while (resultSet.next()) {
-                warnings.add(mapRowToWarning(resultSet));
+            int index = 1;
+            for (RecipientBranch branch : branches) {
+                index = branch.bind(statement, index);
+                if (branches.size() > 1) {
+                    statement.setLong(index++, (long) offset + limit);
+                }
+            }
+            statement.setInt(index, limit);
+            statement.setInt(index + 1, offset);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    warnings.add(projection.mapRow(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load the recent warnings of " + (minecraftId != null ? minecraftId : discordId), e);
+        }
+        return warnings;
+    }
+
+    /**
+     * Retrieves the most recent Warnings issued to each of several Minecraft users, newest first, with one
+     * {@code IN (...)} query per chunk of users. {@code ROW_NUMBER()} ranks each user's warnings on the
+     * {@code (minecraft_recipient, timestamp)} index, so only the newest {@code limit} rows per user are returned.
+     *
+     * @param minecraftIds The UUIDs of the Minecraft users.
+     * @param limit        The maximum number of Warnings per user.
+     * @return The Warnings by user UUID, newest first; users without Warnings are left out.
+     * @throws DataAccessException If the query failed.
+     */
+    @Override
+    public Map<UUID, List<Warning>> findRecentByUsers(Collection<UUID> minecraftIds, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative");
+        }
+        Map<UUID, List<Warning>> warnings = new HashMap<>();
+        if (minecraftIds.isEmpty() || limit == 0) {
+            return warnings;
+        }
+        String columns = fullProjection.getSelectList();
+        try (Connection connection = connectionManager.getBatchReadConnection(minecraftIds)) {
+            for (List<UUID> chunk : SqlUtils.partitionDistinct(minecraftIds, SqlUtils.DEFAULT_CHUNK_SIZE)) {
+                String sql = "SELECT " + columns + " FROM (SELECT " + columns + ", ROW_NUMBER() OVER ("
+                        + "PARTITION BY minecraft_recipient ORDER BY timestamp DESC, id DESC) AS recent_rank"
+                        + " FROM warnings WHERE minecraft_recipient IN (" + SqlUtils.placeholders(chunk.size())
+                        + ")) ranked WHERE recent_rank <= ? ORDER BY minecraft_recipient, recent_rank";
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        uuids.bind(statement, i + 1, chunk.get(i));
+                    }
+                    statement.setInt(chunk.size() + 1, limit);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            Warning warning = fullProjection.mapRow(resultSet);
+                            warnings.computeIfAbsent(warning.getMinecraftRecipient(), id -> new ArrayList<>()).add(warning);
+                        }
+                    }
+                }
             }
         } catch (SQLException e) {
-            // Log and handle exception
-            e.printStackTrace();
+            throw new DataAccessException("Failed to load the recent warnings of " + minecraftIds.size() + " users", e);
         }
         return warnings;
     }
 
     /**
-     * Maps a row from the ResultSet to a Warning object.
+     * <p>Splits a recipient lookup into one condition per recipient, so each can use the index on its own column.
+     * A single {@code minecraft_recipient = ? OR discord_recipient = ?} usually cannot, and scans the table.</p>
+     *
+     * <p>The Discord branch excludes rows already matched by the Minecraft branch, so the branches can be combined
+     * with {@code UNION ALL} without duplicates. Null recipients match nothing and get no branch.</p>
+     *
+     * @param minecraftId The UUID of the Minecraft user, or null.
+     * @param discordId   The Discord ID of the user, or null.
+     * @return The branches, empty if both recipients are null.
+     */
+    private List<RecipientBranch> recipientBranches(UUID minecraftId, String discordId) {
+        List<RecipientBranch> branches = new ArrayList<>(2);
+        if (minecraftId != null) {
+            branches.add(new RecipientBranch("minecraft_recipient = ?", List.of(uuids.toParameter(minecraftId))));
+        }
+        if (discordId != null) {
+            branches.add(minecraftId == null
+                    ? new RecipientBranch("discord_recipient = ?", List.of(discordId))
+                    : new RecipientBranch("discord_recipient = ? AND (minecraft_recipient IS NULL OR minecraft_recipient <> ?)",
+                    List.of(discordId, uuids.toParameter(minecraftId))));
+        }
+        return branches;
+    }
+
+    /**
+     * Returns the read-your-writes key of a recipient lookup: the Discord ID if it was written recently or is
+     * the only recipient, the Minecraft UUID otherwise. Reads are pinned to the primary if either was written.
+     *
+     * @param minecraftId The UUID of the Minecraft user, or null.
+     * @param discordId   The Discord ID of the user, or null.
+     * @return The key to route the read by.
+     */
+    private Object recipientKey(UUID minecraftId, String discordId) {
+        if (discordId != null && (minecraftId == null || connectionManager.getReplicaRouter().isPinned(discordId))) {
+            return discordId;
+        }
+        return minecraftId;
+    }
+
+    /**
+     * Pins reads of a written warning and of its recipients to the primary for the read-your-writes window.
      *
-     * @param resultSet The ResultSet containing the data.
-     * @return The Warning object mapped from the ResultSet.
-     * @throws SQLException If an SQL error occurs.
+     * @param warning The written warning.
      */
-    private Warning mapRowToWarning(ResultSet resultSet) throws SQLException {
-        return new Warning(
-                (UUID) resultSet.getObject("id"),
-                (UUID) resultSet.getObject("issuer"),
-                (UUID) resultSet.getObject("minecraft_recipient"),
-                resultSet.getString("discord_recipient"),
-                resultSet.getString("reason"),
-                resultSet.getLong("timestamp")
-        );
+    private void markWritten(Warning warning) {
+        connectionManager.markWritten(warning.getId());
+        connectionManager.markWritten(warning.getMinecraftRecipient());
+        connectionManager.markWritten(warning.getDiscordRecipient());
+    }
+
+    /**
+     * Binds the six insert columns of a Warning starting at the given parameter index.
+     *
+     * @param statement The statement to bind.
+     * @param index     The index of the first parameter to bind.
+     * @param entity    The Warning whose values to bind.
+     * @return The index of the next unbound parameter.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    private int bindInsert(PreparedStatement statement, int index, Warning entity) throws SQLException {
+        uuids.bind(statement, index, entity.getId());
+        uuids.bind(statement, index + 1, entity.getIssuer());
+        uuids.bind(statement, index + 2, entity.getMinecraftRecipient());
+        statement.setString(index + 3, entity.getDiscordRecipient());
+        statement.setString(index + 4, entity.getReason());
+        statement.setLong(index + 5, entity.getTimestamp());
+        return index + INSERT_COLUMNS;
+    }
+
+    /**
+     * Binds the parameters of {@link #UPDATE_SQL} for the given Warning.
+     *
+     * @param statement The statement to bind.
+     * @param entity    The Warning whose values to bind.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    private void bindUpdate(PreparedStatement statement, Warning entity) throws SQLException {
+        uuids.bind(statement, 1, entity.getIssuer());
+        uuids.bind(statement, 2, entity.getMinecraftRecipient());
+        statement.setString(3, entity.getDiscordRecipient());
+        statement.setString(4, entity.getReason());
+        statement.setLong(5, entity.getTimestamp());
+        uuids.bind(statement, 6, entity.getId());
+    }
+
+    /**
+     * Binds a list of ids to consecutive parameters starting at 1.
+     *
+     * @param statement The statement to bind.
+     * @param ids       The ids to bind.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    private void bindIds(PreparedStatement statement, List<UUID> ids) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            uuids.bind(statement, i + 1, ids.get(i));
+        }
+    }
+
+    /**
+     * One indexed lookup of a recipient query.
+     *
+     * @param condition  The WHERE condition.
+     * @param parameters The values of the condition's parameters, in order.
+     */
+    private record RecipientBranch(String condition, List<Object> parameters) {
+
+        /**
+         * Binds the parameters of this branch starting at the given index.
+         *
+         * @param statement The statement to bind.
+         * @param index     The index of the first parameter to bind.
+         * @return The index of the next unbound parameter.
+         * @throws SQLException If a parameter cannot be set.
+         */
+        int bind(PreparedStatement statement, int index) throws SQLException {
+            for (Object parameter : parameters) {
+                statement.setObject(index++, parameter);
+            }
+            return index;
+        }
     }
 }
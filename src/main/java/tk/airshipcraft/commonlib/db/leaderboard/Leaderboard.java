@@ -0,0 +1,326 @@
+package tk.airshipcraft.commonlib.db.leaderboard;
+
+import tk.airshipcraft.commonlib.db.GenericDao;
+import tk.airshipcraft.commonlib.db.model.User;
+import tk.airshipcraft.commonlib.db.model.UserStat;
+import tk.airshipcraft.commonlib.db.model.UserStatDelta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * <p>In-memory leaderboards for every {@link UserStat}, kept current as users are written.</p>
+ *
+ * <p>Each statistic is indexed in an order-statistic tree, so top-N lists and the rank of any player are answered
+ * in O(log n) without touching the database. The leaderboard is seeded once with {@link #seed(GenericDao)},
+ * which streams the {@code users} table, and is then updated incrementally: wrap the user DAO in a
+ * {@link LeaderboardUserDao} so every create, update, delete and counter increment made through it is
+ * reflected, and register {@link #apply(UserStatDelta)} as a listener of a
+ * {@link tk.airshipcraft.commonlib.db.UserStatBuffer}. Writes made while a seed is running are kept and replayed
+ * onto the seeded leaderboard, so the seed can run while players are online.</p>
+ *
+ * <p>Every player is indexed, which costs roughly 60 bytes per player and statistic.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * Leaderboard leaderboard = new Leaderboard();
+ * leaderboard.seed(sqlUserDao);                       // once, off the main thread
+ * UserDao users = new LeaderboardUserDao(sqlUserDao, leaderboard);
+ *
+ * List<LeaderboardEntry> top = leaderboard.getTop(UserStat.TOTAL_KILLS, 10);
+ * leaderboard.getRank(UserStat.TOTAL_KILLS, player.getUniqueId())
+ *         .ifPresent(entry -> player.sendMessage("You are #" + entry.rank()));
+ * }</pre>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class Leaderboard {
+
+    private static final UserStat[] STATS = UserStat.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<UserStat, RankedIndex> indexes = createIndexes();
+    // While a seed runs, the writes to replay onto the seeded indexes before they replace the current ones
+    private List<Consumer<Map<UserStat, RankedIndex>>> pendingWrites;
+    // While a seed streams the table, the players whose counters changed and must be read again
+    private Set<UUID> pendingReloads;
+
+    /**
+     * <p>Replaces the contents of the leaderboard with every user of the given DAO, streaming them so the whole
+     * table is never held in memory at once. Call it once at startup, off the main thread.</p>
+     *
+     * <p>The current leaderboard keeps answering queries and taking writes while the seed runs. Users written or
+     * removed in the meantime are replayed onto the seeded leaderboard before it replaces the current one. Players
+     * whose counters change while the table is streamed are read again afterwards, because their streamed row may or
+     * may not include the change.</p>
+     *
+     * @param userDao The DAO to read the users from.
+     * @return The number of users indexed.
+     * @throws IllegalStateException If another seed is running.
+     */
+    public int seed(GenericDao<User, UUID> userDao) {
+        lock.writeLock().lock();
+        try {
+            if (pendingWrites != null) {
+                throw new IllegalStateException("The leaderboard is already being seeded");
+            }
+            pendingWrites = new ArrayList<>();
+            pendingReloads = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Map<UserStat, RankedIndex> seeded = createIndexes();
+            try (Stream<User> users = userDao.streamAll()) {
+                users.forEach(user -> index(seeded, user.getId(), scoresOf(user)));
+            }
+
+            List<Consumer<Map<UserStat, RankedIndex>>> streamedWrites;
+            Set<UUID> reloads;
+            lock.writeLock().lock();
+            try {
+                streamedWrites = pendingWrites;
+                reloads = pendingReloads;
+                // From here on counter changes are replayed as deltas
+                pendingWrites = new ArrayList<>();
+                pendingReloads = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            streamedWrites.forEach(write -> write.accept(seeded));
+            if (!reloads.isEmpty()) {
+                for (User user : userDao.findAllById(reloads)) {
+                    index(seeded, user.getId(), scoresOf(user));
+                }
+            }
+
+            lock.writeLock().lock();
+            try {
+                pendingWrites.forEach(write -> write.accept(seeded));
+                indexes = seeded;
+                return seeded.get(UserStat.TOTAL_KILLS).size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+                pendingReloads = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Updates every statistic of a user with its current values.
+     *
+     * @param user The user that was written.
+     */
+    public void update(User user) {
+        UUID id = user.getId();
+        long[] scores = scoresOf(user);
+        lock.writeLock().lock();
+        try {
+            index(indexes, id, scores);
+            if (pendingWrites != null) {
+                pendingWrites.add(target -> index(target, id, scores));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Updates every statistic of several users with their current values.
+     *
+     * @param users The users that were written.
+     */
+    public void updateAll(Collection<User> users) {
+        for (User user : users) {
+            update(user);
+        }
+    }
+
+    /**
+     * Adds a counter delta to a player's scores. Players that are not on the leaderboard are left out, because the
+     * delta alone is not their score; they are added by the next {@link #update(User)} or {@link #seed(GenericDao)}.
+     *
+     * @param delta The delta that was applied to the player.
+     */
+    public void apply(UserStatDelta delta) {
+        lock.writeLock().lock();
+        try {
+            add(indexes, delta);
+            if (pendingReloads != null) {
+                pendingReloads.add(delta.getId());
+            } else if (pendingWrites != null) {
+                pendingWrites.add(target -> add(target, delta));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a player from every leaderboard.
+     *
+     * @param id The player's id.
+     */
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            remove(indexes, id);
+            if (pendingWrites != null) {
+                pendingWrites.add(target -> remove(target, id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the highest ranked players for a statistic.
+     *
+     * @param stat  The statistic.
+     * @param limit The maximum number of entries.
+     * @return Up to {@code limit} entries, best first.
+     */
+    public List<LeaderboardEntry> getTop(UserStat stat, int limit) {
+        lock.readLock().lock();
+        try {
+            return indexes.get(stat).top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a player's rank and score for a statistic.
+     *
+     * @param stat The statistic.
+     * @param id   The player's id.
+     * @return The player's entry, or an empty Optional if the player is not ranked.
+     */
+    public Optional<LeaderboardEntry> getRank(UserStat stat, UUID id) {
+        lock.readLock().lock();
+        try {
+            RankedIndex index = indexes.get(stat);
+            int rank = index.rankOf(id);
+            return rank == 0 ? Optional.empty() : index.entryAt(rank);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the player at a rank for a statistic.
+     *
+     * @param stat The statistic.
+     * @param rank The 1-based rank.
+     * @return The entry, or an empty Optional if fewer players are ranked.
+     */
+    public Optional<LeaderboardEntry> getEntryAt(UserStat stat, int rank) {
+        lock.readLock().lock();
+        try {
+            return indexes.get(stat).entryAt(rank);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of ranked players.
+     *
+     * @return The number of players on the leaderboards.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexes.get(UserStat.TOTAL_KILLS).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads every statistic of a user, in {@link UserStat} order.
+     *
+     * @param user The user.
+     * @return The scores.
+     */
+    private static long[] scoresOf(User user) {
+        long[] scores = new long[STATS.length];
+        for (UserStat stat : STATS) {
+            scores[stat.ordinal()] = stat.get(user);
+        }
+        return scores;
+    }
+
+    /**
+     * Sets every statistic of a player.
+     *
+     * @param target The indexes to update.
+     * @param id     The player's id.
+     * @param scores The scores, in {@link UserStat} order.
+     */
+    private static void index(Map<UserStat, RankedIndex> target, UUID id, long[] scores) {
+        for (UserStat stat : STATS) {
+            target.get(stat).put(id, scores[stat.ordinal()]);
+        }
+    }
+
+    /**
+     * Adds a delta to the statistics of a player, if the player is indexed.
+     *
+     * @param target The indexes to update.
+     * @param delta  The delta.
+     */
+    private static void add(Map<UserStat, RankedIndex> target, UserStatDelta delta) {
+        for (Map.Entry<UserStat, Long> change : delta.asMap().entrySet()) {
+            if (!target.get(change.getKey()).add(delta.getId(), change.getValue())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes a player from every index.
+     *
+     * @param target The indexes to update.
+     * @param id     The player's id.
+     */
+    private static void remove(Map<UserStat, RankedIndex> target, UUID id) {
+        for (RankedIndex index : target.values()) {
+            index.remove(id);
+        }
+    }
+
+    /**
+     * Creates an empty index for every statistic.
+     *
+     * @return The indexes.
+     */
+    private static Map<UserStat, RankedIndex> createIndexes() {
+        Map<UserStat, RankedIndex> created = new EnumMap<>(UserStat.class);
+        for (UserStat stat : STATS) {
+            created.put(stat, new RankedIndex());
+        }
+        return created;
+    }
+}
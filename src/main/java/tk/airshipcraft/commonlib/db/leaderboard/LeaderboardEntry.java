@@ -0,0 +1,16 @@
+package tk.airshipcraft.commonlib.db.leaderboard;
+
+import java.util.UUID;
+
+/**
+ * A player's position on a leaderboard.
+ *
+ * @param id    The player's id.
+ * @param score The player's value of the ranked statistic.
+ * @param rank  The player's 1-based rank; players with equal scores are ordered by id.
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public record LeaderboardEntry(UUID id, long score, int rank) {
+}
@@ -0,0 +1,134 @@
+package tk.airshipcraft.commonlib.db.leaderboard;
+
+import tk.airshipcraft.commonlib.db.TransactionSynchronization;
+import tk.airshipcraft.commonlib.db.dao.UserDao;
+import tk.airshipcraft.commonlib.db.model.User;
+import tk.airshipcraft.commonlib.db.model.UserStatDelta;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * A {@link UserDao} decorator that keeps a {@link Leaderboard} current with every user written through it. Inside a
+ * transaction the leaderboard is only changed once the transaction commits, see {@link TransactionSynchronization}.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class LeaderboardUserDao implements UserDao {
+
+    private final UserDao delegate;
+    private final Leaderboard leaderboard;
+
+    /**
+     * Creates a decorator updating the given leaderboard.
+     *
+     * @param delegate    The DAO to wrap.
+     * @param leaderboard The leaderboard to keep current.
+     */
+    public LeaderboardUserDao(UserDao delegate, Leaderboard leaderboard) {
+        this.delegate = delegate;
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Returns the leaderboard kept current by this DAO.
+     *
+     * @return The leaderboard.
+     */
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    @Override
+    public Optional<User> findById(UUID id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<User> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public List<User> findPage(UUID afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public List<User> findAllById(Collection<UUID> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        return delegate.findByUsername(username);
+    }
+
+    @Override
+    public User create(User user) {
+        User created = delegate.create(user);
+        if (created != null) {
+            TransactionSynchronization.afterCommit(() -> leaderboard.update(created));
+        }
+        return created;
+    }
+
+    @Override
+    public List<User> createAll(Collection<User> users) {
+        List<User> created = delegate.createAll(users);
+        TransactionSynchronization.afterCommit(() -> leaderboard.updateAll(created));
+        return created;
+    }
+
+    @Override
+    public User update(User user) {
+        User updated = delegate.update(user);
+        if (updated != null) {
+            TransactionSynchronization.afterCommit(() -> leaderboard.update(updated));
+        }
+        return updated;
+    }
+
+    @Override
+    public List<User> updateAll(Collection<User> users) {
+        List<User> updated = delegate.updateAll(users);
+        TransactionSynchronization.afterCommit(() -> leaderboard.updateAll(updated));
+        return updated;
+    }
+
+    @Override
+    public void incrementStats(Collection<UserStatDelta> deltas) {
+        delegate.incrementStats(deltas);
+        TransactionSynchronization.afterCommit(() -> {
+            for (UserStatDelta delta : deltas) {
+                leaderboard.apply(delta);
+            }
+        });
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        delegate.deleteById(id);
+        TransactionSynchronization.afterCommit(() -> leaderboard.remove(id));
+    }
+
+    @Override
+    public void deleteAllById(Collection<UUID> ids) {
+        delegate.deleteAllById(ids);
+        TransactionSynchronization.afterCommit(() -> {
+            for (UUID id : ids) {
+                leaderboard.remove(id);
+            }
+        });
+    }
+}
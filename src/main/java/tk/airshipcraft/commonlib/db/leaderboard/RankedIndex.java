@@ -0,0 +1,259 @@
+package tk.airshipcraft.commonlib.db.leaderboard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * <p>An order-statistic tree of players sorted by score, highest first.</p>
+ *
+ * <p>The tree is a treap whose nodes know the size of their subtree, so updating a score, looking up a
+ * player's rank and fetching the entry at a rank all take O(log n) expected time, and the top N entries
+ * take O(log n + N). Players with equal scores are ordered by id so ranks are stable.</p>
+ *
+ * <p>This class is not thread-safe; {@link Leaderboard} guards it with a read-write lock.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+final class RankedIndex {
+
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    /**
+     * Returns the number of ranked players.
+     *
+     * @return The index size.
+     */
+    int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Sets a player's score, inserting the player if needed.
+     *
+     * @param id    The player's id.
+     * @param score The new score.
+     */
+    void put(UUID id, long score) {
+        Node existing = nodes.get(id);
+        if (existing != null) {
+            if (existing.score == score) {
+                return;
+            }
+            root = delete(root, existing.score, id);
+        }
+        Node node = new Node(id, score, random.nextInt());
+        nodes.put(id, node);
+        Node[] parts = split(root, score, id);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    /**
+     * Adds a delta to the score of a ranked player. Unknown players are left out, because the delta alone is not
+     * their score.
+     *
+     * @param id    The player's id.
+     * @param delta The amount to add.
+     * @return False if the player is not ranked.
+     */
+    boolean add(UUID id, long delta) {
+        Node existing = nodes.get(id);
+        if (existing == null) {
+            return false;
+        }
+        put(id, existing.score + delta);
+        return true;
+    }
+
+    /**
+     * Removes a player.
+     *
+     * @param id The player's id.
+     */
+    void remove(UUID id) {
+        Node existing = nodes.remove(id);
+        if (existing != null) {
+            root = delete(root, existing.score, id);
+        }
+    }
+
+    /**
+     * Returns a player's 1-based rank.
+     *
+     * @param id The player's id.
+     * @return The rank, or 0 if the player is not ranked.
+     */
+    int rankOf(UUID id) {
+        Node target = nodes.get(id);
+        if (target == null) {
+            return 0;
+        }
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int comparison = compare(target.score, id, node.score, node.id);
+            if (comparison == 0) {
+                return before + size(node.left) + 1;
+            }
+            if (comparison < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the entry at a 1-based rank.
+     *
+     * @param rank The rank.
+     * @return The entry, or an empty Optional if the rank is out of range.
+     */
+    Optional<LeaderboardEntry> entryAt(int rank) {
+        if (rank < 1 || rank > size()) {
+            return Optional.empty();
+        }
+        int remaining = rank;
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (remaining <= leftSize) {
+                node = node.left;
+            } else if (remaining == leftSize + 1) {
+                return Optional.of(new LeaderboardEntry(node.id, node.score, rank));
+            } else {
+                remaining -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the highest ranked entries.
+     *
+     * @param limit The maximum number of entries.
+     * @return Up to {@code limit} entries, best first.
+     */
+    List<LeaderboardEntry> top(int limit) {
+        List<LeaderboardEntry> entries = new ArrayList<>(Math.max(0, Math.min(limit, size())));
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        while ((node != null || !stack.isEmpty()) && entries.size() < limit) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            entries.add(new LeaderboardEntry(node.id, node.score, entries.size() + 1));
+            node = node.right;
+        }
+        return entries;
+    }
+
+    /**
+     * Orders players by score descending, then by id.
+     */
+    private static int compare(long scoreA, UUID idA, long scoreB, UUID idB) {
+        int byScore = Long.compare(scoreB, scoreA);
+        return byScore != 0 ? byScore : idA.compareTo(idB);
+    }
+
+    /**
+     * Splits a subtree into the nodes ordered before the given key and the rest.
+     */
+    private static Node[] split(Node node, long score, UUID id) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(node.score, node.id, score, id) < 0) {
+            Node[] parts = split(node.right, score, id);
+            node.right = parts[0];
+            node.update();
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, score, id);
+        node.left = parts[1];
+        node.update();
+        return new Node[]{parts[0], node};
+    }
+
+    /**
+     * Merges two subtrees where every node of {@code left} is ordered before every node of {@code right}.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    /**
+     * Deletes the node with the given key from a subtree.
+     */
+    private static Node delete(Node node, long score, UUID id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(score, id, node.score, node.id);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = delete(node.left, score, id);
+        } else {
+            node.right = delete(node.right, score, id);
+        }
+        node.update();
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * A treap node holding one player.
+     */
+    private static final class Node {
+
+        private final UUID id;
+        private final long score;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        Node(UUID id, long score, int priority) {
+            this.id = id;
+            this.score = score;
+            this.priority = priority;
+        }
+
+        void update() {
+            size = 1 + RankedIndex.size(left) + RankedIndex.size(right);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * Provides in-memory leaderboards for the player statistics stored in the {@code users} table.
+ *
+ * <ul>
+ *   <li>{@link tk.airshipcraft.commonlib.db.leaderboard.Leaderboard} - Ranked indexes of every UserStat with O(log n) queries.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.leaderboard.LeaderboardUserDao} - Keeps a Leaderboard current with writes made through a UserDao.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.leaderboard.LeaderboardEntry} - A player's rank and score.</li>
+ * </ul>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+package tk.airshipcraft.commonlib.db.leaderboard;
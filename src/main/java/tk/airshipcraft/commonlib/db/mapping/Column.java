@@ -0,0 +1,34 @@
+package tk.airshipcraft.commonlib.db.mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Marks a field of a {@link Table} entity as a column. The field is read and written through its
+ * JavaBean getter ({@code getX}, or {@code isX} for booleans) and setter ({@code setX}), which must be public.</p>
+ *
+ * <p>On a public getter instead of a field, it marks a derived column whose value is computed from other
+ * properties: the column is written on inserts and updates but never read back, so it needs no field or setter.</p>
+ *
+ * <p>Supported field types are {@code int}, {@code long}, {@code double}, {@code float}, {@code boolean},
+ * {@link String}, {@link java.sql.Timestamp} and {@link java.util.UUID}. UUIDs are stored with the
+ * {@link tk.airshipcraft.commonlib.db.UuidCodec} of the connection manager.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface Column {
+
+    /**
+     * The name of the column.
+     *
+     * @return The column name. If not specified, the field or property name in snake case, e.g. {@code join_date}
+     * for {@code joinDate}.
+     */
+    String value() default "";
+}
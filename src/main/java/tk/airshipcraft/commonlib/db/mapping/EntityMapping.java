@@ -0,0 +1,841 @@
+package tk.airshipcraft.commonlib.db.mapping;
+
+import tk.airshipcraft.commonlib.db.Projection;
+import tk.airshipcraft.commonlib.db.RowMapper;
+import tk.airshipcraft.commonlib.db.UuidCodec;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>Maps an entity class annotated with {@link Table}, {@link Column} and {@link Id} to its table, so rows can be
+ * read and statements bound without hand-written mappers.</p>
+ *
+ * <p>All reflection happens once, when the mapping is created: the constructor, getters and setters are turned
+ * into lambdas with {@link LambdaMetafactory}, using the primitive functional interfaces for primitive fields.
+ * Mapping a row then calls the no-argument constructor and one setter per column, reading columns by index with
+ * the primitive {@link ResultSet} getters, much like a hand-written mapper.</p>
+ *
+ * <p>A {@link Column} on a public getter instead of a field declares a derived column, such as an index key computed
+ * from other properties: it is bound on inserts and updates, but never selected or read back.</p>
+ *
+ * <p>Column indexes are resolved once per query: {@link #projection(UuidCodec)} selects the columns in mapping
+ * order and reads them by position, and {@link #rowMapper(ResultSet, UuidCodec)} looks the labels of any other
+ * result set up once before its rows are mapped.</p>
+ *
+ * <p>The generated lambdas are defined next to the class of the lookup they are created with. Entities of other
+ * plugins must therefore be mapped with the plugin's own lookup, which can see both the entity and CommonLib:</p>
+ * <pre>{@code
+ * EntityMapping<Home> homes = EntityMapping.of(Home.class, MethodHandles.lookup());
+ * }</pre>
+ *
+ * @param <T> the type of the mapped entity
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public final class EntityMapping<T> {
+
+    /**
+     * The mappings of classes visible to CommonLib, created with CommonLib's own lookup.
+     */
+    private static final ClassValue<EntityMapping<?>> MAPPINGS = new ClassValue<>() {
+        @Override
+        protected EntityMapping<?> computeValue(Class<?> type) {
+            return new EntityMapping<>(type, MethodHandles.lookup());
+        }
+    };
+
+    private final Class<T> type;
+    private final String table;
+    private final Supplier<T> constructor;
+    private final Property<T>[] properties;
+    private final Property<T>[] stored;
+    private final Property<T> id;
+    private final List<String> columns;
+    private final String[] storedColumns;
+    private final int[] positions;
+
+    /**
+     * Creates the mapping of an entity class.
+     *
+     * @param type   The entity class.
+     * @param lookup A lookup with full privilege access whose class loader can see the entity class.
+     * @throws IllegalArgumentException If the class is not a valid entity.
+     */
+    @SuppressWarnings("unchecked")
+    private EntityMapping(Class<T> type, MethodHandles.Lookup lookup) {
+        Table tableAnnotation = type.getAnnotation(Table.class);
+        if (tableAnnotation == null) {
+            throw new IllegalArgumentException(type.getName() + " is not annotated with @Table");
+        }
+        if (!lookup.hasFullPrivilegeAccess()) {
+            throw new IllegalArgumentException("Mapping " + type.getName() + " requires a full privilege lookup");
+        }
+        this.type = type;
+        this.table = tableAnnotation.value();
+        try {
+            this.constructor = lambda(lookup, Supplier.class, lookup.findConstructor(type, MethodType.methodType(void.class)));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(type.getName() + " needs a public no-argument constructor", e);
+        }
+
+        List<Property<T>> mapped = new ArrayList<>();
+        Property<T> idProperty = null;
+        for (Field field : fieldsOf(type)) {
+            Column column = field.getAnnotation(Column.class);
+            if (column == null || Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            String name = column.value().isEmpty() ? toSnakeCase(field.getName()) : column.value();
+            Property<T> property = createProperty(lookup, type, field, name);
+            if (field.isAnnotationPresent(Id.class)) {
+                if (idProperty != null) {
+                    throw new IllegalArgumentException(type.getName() + " has more than one @Id column");
+                }
+                idProperty = property;
+            }
+            mapped.add(property);
+        }
+        if (idProperty == null) {
+            throw new IllegalArgumentException(type.getName() + " has no @Id column");
+        }
+        this.stored = mapped.toArray(new Property[0]);
+        this.id = idProperty;
+
+        List<Method> getters = new ArrayList<>();
+        for (Method method : type.getMethods()) {
+            if (method.isAnnotationPresent(Column.class) && !Modifier.isStatic(method.getModifiers())) {
+                getters.add(method);
+            }
+        }
+        getters.sort(Comparator.comparing(Method::getName));
+        for (Method getter : getters) {
+            String property = propertyName(getter);
+            if (property == null || getter.isAnnotationPresent(Id.class)) {
+                throw new IllegalArgumentException("Derived column " + type.getName() + "." + getter.getName()
+                        + " must be a getter without parameters and cannot be the @Id");
+            }
+            Column column = getter.getAnnotation(Column.class);
+            String name = column.value().isEmpty() ? toSnakeCase(property) : column.value();
+            try {
+                mapped.add(createProperty(lookup, type, property, getter.getReturnType(), lookup.unreflect(getter), null, name));
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Derived column " + type.getName() + "." + getter.getName()
+                        + " needs a public getter", e);
+            }
+        }
+        this.properties = mapped.toArray(new Property[0]);
+
+        List<String> names = new ArrayList<>(properties.length);
+        for (Property<T> property : properties) {
+            names.add(property.column);
+        }
+        this.columns = List.copyOf(names);
+        this.storedColumns = new String[stored.length];
+        this.positions = new int[stored.length];
+        for (int i = 0; i < stored.length; i++) {
+            storedColumns[i] = stored[i].column;
+            positions[i] = i + 1;
+        }
+    }
+
+    /**
+     * Returns the mapping of an entity class visible to CommonLib, such as the models shipped with it.
+     * Mappings are created once per class.
+     *
+     * @param type The entity class.
+     * @param <T>  The type of the entity.
+     * @return The mapping.
+     * @throws IllegalArgumentException If the class is not a valid entity or not visible to CommonLib's class loader.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityMapping<T> of(Class<T> type) {
+        try {
+            if (Class.forName(type.getName(), false, EntityMapping.class.getClassLoader()) != type) {
+                throw new ClassNotFoundException(type.getName());
+            }
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException(type.getName()
+                    + " is not visible to CommonLib, map it with EntityMapping.of(type, MethodHandles.lookup())", e);
+        }
+        return (EntityMapping<T>) MAPPINGS.get(type);
+    }
+
+    /**
+     * Creates the mapping of an entity class using the caller's lookup. Keep the result, as every call generates
+     * new accessors.
+     *
+     * @param type   The entity class.
+     * @param lookup The caller's {@link MethodHandles#lookup()}, which must be able to see the entity class.
+     * @param <T>    The type of the entity.
+     * @return The mapping.
+     * @throws IllegalArgumentException If the class is not a valid entity.
+     */
+    public static <T> EntityMapping<T> of(Class<T> type, MethodHandles.Lookup lookup) {
+        return new EntityMapping<>(type, lookup);
+    }
+
+    /**
+     * Returns the entity class.
+     *
+     * @return The mapped class.
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the table name.
+     *
+     * @return The table of the entity.
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the primary key column.
+     *
+     * @return The name of the {@link Id} column.
+     */
+    public String getIdColumn() {
+        return id.column;
+    }
+
+    /**
+     * Returns the mapped columns, including derived columns, in the order they are bound by
+     * {@link #bind(PreparedStatement, int, Object, UuidCodec)}.
+     *
+     * @return An unmodifiable list of column names.
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Creates an empty entity with the no-argument constructor.
+     *
+     * @return The new entity.
+     */
+    public T newInstance() {
+        return constructor.get();
+    }
+
+    /**
+     * Creates a projection of all mapped columns except derived columns, read by position.
+     *
+     * @param uuids The codec of the UUID columns.
+     * @return The projection.
+     */
+    public Projection<T> projection(UuidCodec uuids) {
+        return Projection.of(rs -> read(rs, positions, uuids), storedColumns.clone());
+    }
+
+    /**
+     * Creates a mapper for the rows of a result set whose columns are not in mapping order, e.g. a query
+     * selecting {@code *}. The column labels are looked up once, here, instead of on every row.
+     *
+     * @param rs    The result set.
+     * @param uuids The codec of the UUID columns.
+     * @return The mapper, valid for this result set only.
+     * @throws SQLException If a mapped column other than a derived column is missing from the result set.
+     */
+    public RowMapper<T> rowMapper(ResultSet rs, UuidCodec uuids) throws SQLException {
+        int[] indexes = new int[stored.length];
+        for (int i = 0; i < stored.length; i++) {
+            indexes[i] = rs.findColumn(stored[i].column);
+        }
+        return row -> read(row, indexes, uuids);
+    }
+
+    /**
+     * Binds every mapped column of an entity, including derived columns, in {@link #getColumns()} order, starting at the given parameter index.
+     *
+     * @param stmt   The statement to bind.
+     * @param index  The index of the first parameter to bind.
+     * @param entity The entity whose values to bind.
+     * @param uuids  The codec of the UUID columns.
+     * @return The index of the next unbound parameter.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    public int bind(PreparedStatement stmt, int index, T entity, UuidCodec uuids) throws SQLException {
+        for (Property<T> property : properties) {
+            property.bind(stmt, index++, entity, uuids);
+        }
+        return index;
+    }
+
+    /**
+     * Binds every column except the primary key, in mapping order, followed by the primary key, matching an
+     * {@code UPDATE ... SET ... WHERE id = ?} statement.
+     *
+     * @param stmt   The statement to bind.
+     * @param index  The index of the first parameter to bind.
+     * @param entity The entity whose values to bind.
+     * @param uuids  The codec of the UUID columns.
+     * @return The index of the next unbound parameter.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    public int bindForUpdate(PreparedStatement stmt, int index, T entity, UuidCodec uuids) throws SQLException {
+        for (Property<T> property : properties) {
+            if (property != id) {
+                property.bind(stmt, index++, entity, uuids);
+            }
+        }
+        id.bind(stmt, index++, entity, uuids);
+        return index;
+    }
+
+    /**
+     * Binds a primary key value.
+     *
+     * @param stmt  The statement to bind.
+     * @param index The 1-based parameter index.
+     * @param value The primary key, of the type of the {@link Id} field.
+     * @param uuids The codec of the UUID columns.
+     * @throws SQLException If the parameter cannot be set.
+     */
+    public void bindId(PreparedStatement stmt, int index, Object value, UuidCodec uuids) throws SQLException {
+        id.bindValue(stmt, index, value, uuids);
+    }
+
+    /**
+     * Returns the primary key of an entity.
+     *
+     * @param entity The entity.
+     * @return The value of the {@link Id} field, boxed if primitive.
+     */
+    public Object getId(T entity) {
+        return id.get(entity);
+    }
+
+    /**
+     * Maps the current row using the given column indexes.
+     *
+     * @param rs      The result set, positioned on the row to map.
+     * @param indexes The column index of each stored property.
+     * @param uuids   The codec of the UUID columns.
+     * @return The mapped entity.
+     * @throws SQLException If a column cannot be read.
+     */
+    private T read(ResultSet rs, int[] indexes, UuidCodec uuids) throws SQLException {
+        T entity = constructor.get();
+        for (int i = 0; i < stored.length; i++) {
+            stored[i].read(rs, indexes[i], entity, uuids);
+        }
+        return entity;
+    }
+
+    /**
+     * Collects the fields of a class and its superclasses, superclass fields first.
+     *
+     * @param type The class.
+     * @return The declared fields.
+     */
+    private static List<Field> fieldsOf(Class<?> type) {
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.push(current);
+        }
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current : hierarchy) {
+            fields.addAll(List.of(current.getDeclaredFields()));
+        }
+        return fields;
+    }
+
+    /**
+     * Returns the property name of a getter, e.g. {@code chunkKey} for {@code getChunkKey()}.
+     *
+     * @param method The method.
+     * @return The property name, or null if the method is not a getter without parameters.
+     */
+    private static String propertyName(Method method) {
+        String name = method.getName();
+        int prefix = name.startsWith("get") ? 3 : name.startsWith("is") && method.getReturnType() == boolean.class ? 2 : 0;
+        if (prefix == 0 || name.length() == prefix || method.getParameterCount() != 0) {
+            return null;
+        }
+        return Character.toLowerCase(name.charAt(prefix)) + name.substring(prefix + 1);
+    }
+
+    /**
+     * Converts a field name to a column name, e.g. {@code joinDate} to {@code join_date} and {@code IGN} to
+     * {@code ign}.
+     *
+     * @param name The field name.
+     * @return The column name.
+     */
+    static String toSnakeCase(String name) {
+        StringBuilder column = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                if (i > 0 && !Character.isUpperCase(name.charAt(i - 1))) {
+                    column.append('_');
+                }
+                column.append(Character.toLowerCase(c));
+            } else {
+                column.append(c);
+            }
+        }
+        return column.toString();
+    }
+
+    /**
+     * Generates the accessors of a column field.
+     *
+     * @param lookup The lookup the accessors are defined with.
+     * @param type   The entity class.
+     * @param field  The column field.
+     * @param column The column name.
+     * @param <T>    The type of the entity.
+     * @return The property.
+     * @throws IllegalArgumentException If the field type is not supported or an accessor is missing.
+     */
+    private static <T> Property<T> createProperty(MethodHandles.Lookup lookup, Class<T> type, Field field, String column) {
+        Class<?> fieldType = field.getType();
+        String suffix = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        MethodHandle getter;
+        MethodHandle setter;
+        try {
+            Method getMethod = type.getMethod((fieldType == boolean.class ? "is" : "get") + suffix);
+            Method setMethod = type.getMethod("set" + suffix, fieldType);
+            if (getMethod.getReturnType() != fieldType) {
+                throw new NoSuchMethodException(getMethod + " does not return " + fieldType.getName());
+            }
+            getter = lookup.unreflect(getMethod);
+            setter = lookup.unreflect(setMethod);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Column " + type.getName() + "." + field.getName()
+                    + " needs a public getter and setter", e);
+        }
+        return createProperty(lookup, type, field.getName(), fieldType, getter, setter, column);
+    }
+
+    /**
+     * Generates the accessors of a column property.
+     *
+     * @param lookup    The lookup the accessors are defined with.
+     * @param type      The entity class.
+     * @param name      The property name, for error messages.
+     * @param valueType The type of the property.
+     * @param getter    The getter.
+     * @param setter    The setter, or null for a derived column, which is never read.
+     * @param column    The column name.
+     * @param <T>       The type of the entity.
+     * @return The property.
+     * @throws IllegalArgumentException If the property type is not supported.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Property<T> createProperty(MethodHandles.Lookup lookup, Class<T> type, String name,
+                                                  Class<?> valueType, MethodHandle getter, MethodHandle setter,
+                                                  String column) {
+        if (valueType == int.class) {
+            return new IntProperty<>(column, lambda(lookup, ToIntFunction.class, getter),
+                    setter == null ? null : lambda(lookup, ObjIntConsumer.class, setter));
+        } else if (valueType == long.class) {
+            return new LongProperty<>(column, lambda(lookup, ToLongFunction.class, getter),
+                    setter == null ? null : lambda(lookup, ObjLongConsumer.class, setter));
+        } else if (valueType == double.class) {
+            return new DoubleProperty<>(column, lambda(lookup, ToDoubleFunction.class, getter),
+                    setter == null ? null : lambda(lookup, ObjDoubleConsumer.class, setter));
+        } else if (valueType == float.class) {
+            return new FloatProperty<>(column, lambda(lookup, FloatGetter.class, getter),
+                    setter == null ? null : lambda(lookup, FloatSetter.class, setter));
+        } else if (valueType == boolean.class) {
+            return new BooleanProperty<>(column, lambda(lookup, Predicate.class, getter),
+                    setter == null ? null : lambda(lookup, BooleanSetter.class, setter));
+        } else if (valueType == String.class || valueType == Timestamp.class || valueType == UUID.class) {
+            return new ReferenceProperty<>(column, valueType, lambda(lookup, Function.class, getter),
+                    setter == null ? null : lambda(lookup, BiConsumer.class, setter));
+        }
+        throw new IllegalArgumentException("Unsupported column type " + valueType.getName() + " of "
+                + type.getName() + "." + name);
+    }
+
+    /**
+     * Turns a method handle into an instance of a functional interface.
+     *
+     * @param lookup              The lookup the lambda class is defined with.
+     * @param functionalInterface The functional interface.
+     * @param target              The method the lambda calls.
+     * @param <F>                 The type of the functional interface.
+     * @return The lambda.
+     */
+    @SuppressWarnings("unchecked")
+    private static <F> F lambda(MethodHandles.Lookup lookup, Class<? super F> functionalInterface, MethodHandle target) {
+        Method method = null;
+        for (Method candidate : functionalInterface.getMethods()) {
+            if (Modifier.isAbstract(candidate.getModifiers())) {
+                method = candidate;
+                break;
+            }
+        }
+        if (method == null) {
+            throw new IllegalArgumentException(functionalInterface.getName() + " is not a functional interface");
+        }
+        try {
+            CallSite site = LambdaMetafactory.metafactory(lookup, method.getName(),
+                    MethodType.methodType(functionalInterface),
+                    MethodType.methodType(method.getReturnType(), method.getParameterTypes()),
+                    target, target.type());
+            return (F) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("Cannot generate an accessor for " + target, e);
+        }
+    }
+
+    /**
+     * Reads a {@code float} property without boxing.
+     *
+     * @param <T> the type of the entity
+     */
+    @FunctionalInterface
+    public interface FloatGetter<T> {
+
+        /**
+         * Reads the property.
+         *
+         * @param entity The entity.
+         * @return The value.
+         */
+        float get(T entity);
+    }
+
+    /**
+     * Writes a {@code float} property without boxing.
+     *
+     * @param <T> the type of the entity
+     */
+    @FunctionalInterface
+    public interface FloatSetter<T> {
+
+        /**
+         * Writes the property.
+         *
+         * @param entity The entity.
+         * @param value  The value.
+         */
+        void set(T entity, float value);
+    }
+
+    /**
+     * Writes a {@code boolean} property without boxing.
+     *
+     * @param <T> the type of the entity
+     */
+    @FunctionalInterface
+    public interface BooleanSetter<T> {
+
+        /**
+         * Writes the property.
+         *
+         * @param entity The entity.
+         * @param value  The value.
+         */
+        void set(T entity, boolean value);
+    }
+
+    /**
+     * A mapped column and the accessors of its field.
+     *
+     * @param <T> the type of the entity
+     */
+    private abstract static class Property<T> {
+
+        final String column;
+
+        Property(String column) {
+            this.column = column;
+        }
+
+        /**
+         * Reads the column at the given index into the entity.
+         */
+        abstract void read(ResultSet rs, int index, T entity, UuidCodec uuids) throws SQLException;
+
+        /**
+         * Binds the entity's value to the parameter at the given index.
+         */
+        abstract void bind(PreparedStatement stmt, int index, T entity, UuidCodec uuids) throws SQLException;
+
+        /**
+         * Returns the entity's value, boxed if primitive.
+         */
+        abstract Object get(T entity);
+
+        /**
+         * Binds a value of the field's type to the parameter at the given index.
+         */
+        abstract void bindValue(PreparedStatement stmt, int index, Object value, UuidCodec uuids) throws SQLException;
+    }
+
+    /**
+     * A column of an {@code int} field. NULL is read as the default value, like the primitive {@link ResultSet} getters do.
+     *
+     * @param <T> the type of the entity
+     */
+    private static final class IntProperty<T> extends Property<T> {
+
+        private final ToIntFunction<T> getter;
+        private final ObjIntConsumer<T> setter;
+
+        IntProperty(String column, ToIntFunction<T> getter, ObjIntConsumer<T> setter) {
+            super(column);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        void read(ResultSet rs, int index, T entity, UuidCodec uuids) throws SQLException {
+            setter.accept(entity, rs.getInt(index));
+        }
+
+        @Override
+        void bind(PreparedStatement stmt, int index, T entity, UuidCodec uuids) throws SQLException {
+            stmt.setInt(index, getter.applyAsInt(entity));
+        }
+
+        @Override
+        Object get(T entity) {
+            return getter.applyAsInt(entity);
+        }
+
+        @Override
+        void bindValue(PreparedStatement stmt, int index, Object value, UuidCodec uuids) throws SQLException {
+            stmt.setInt(index, ((Number) value).intValue());
+        }
+    }
+
+    /**
+     * A column of a {@code long} field. NULL is read as the default value, like the primitive {@link ResultSet} getters do.
+     *
+     * @param <T> the type of the entity
+     */
+    private static final class LongProperty<T> extends Property<T> {
+
+        private final ToLongFunction<T> getter;
+        private final ObjLongConsumer<T> setter;
+
+        LongProperty(String column, ToLongFunction<T> getter, ObjLongConsumer<T> setter) {
+            super(column);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        void read(ResultSet rs, int index, T entity, UuidCodec uuids) throws SQLException {
+            setter.accept(entity, rs.getLong(index));
+        }
+
+        @Override
+        void bind(PreparedStatement stmt, int index, T entity, UuidCodec uuids) throws SQLException {
+            stmt.setLong(index, getter.applyAsLong(entity));
+        }
+
+        @Override
+        Object get(T entity) {
+            return getter.applyAsLong(entity);
+        }
+
+        @Override
+        void bindValue(PreparedStatement stmt, int index, Object value, UuidCodec uuids) throws SQLException {
+            stmt.setLong(index, ((Number) value).longValue());
+        }
+    }
+
+    /**
+     * A column of a {@code double} field. NULL is read as the default value, like the primitive {@link ResultSet} getters do.
+     *
+     * @param <T> the type of the entity
+     */
+    private static final class DoubleProperty<T> extends Property<T> {
+
+        private final ToDoubleFunction<T> getter;
+        private final ObjDoubleConsumer<T> setter;
+
+        DoubleProperty(String column, ToDoubleFunction<T> getter, ObjDoubleConsumer<T> setter) {
+            super(column);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        void read(ResultSet rs, int index, T entity, UuidCodec uuids) throws SQLException {
+            setter.accept(entity, rs.getDouble(index));
+        }
+
+        @Override
+        void bind(PreparedStatement stmt, int index, T entity, UuidCodec uuids) throws SQLException {
+            stmt.setDouble(index, getter.applyAsDouble(entity));
+        }
+
+        @Override
+        Object get(T entity) {
+            return getter.applyAsDouble(entity);
+        }
+
+        @Override
+        void bindValue(PreparedStatement stmt, int index, Object value, UuidCodec uuids) throws SQLException {
+            stmt.setDouble(index, ((Number) value).doubleValue());
+        }
+    }
+
+    /**
+     * A column of a {@code float} field. NULL is read as the default value, like the primitive {@link ResultSet} getters do.
+     *
+     * @param <T> the type of the entity
+     */
+    private static final class FloatProperty<T> extends Property<T> {
+
+        private final FloatGetter<T> getter;
+        private final FloatSetter<T> setter;
+
+        FloatProperty(String column, FloatGetter<T> getter, FloatSetter<T> setter) {
+            super(column);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        void read(ResultSet rs, int index, T entity, UuidCodec uuids) throws SQLException {
+            setter.set(entity, rs.getFloat(index));
+        }
+
+        @Override
+        void bind(PreparedStatement stmt, int index, T entity, UuidCodec uuids) throws SQLException {
+            stmt.setFloat(index, getter.get(entity));
+        }
+
+        @Override
+        Object get(T entity) {
+            return getter.get(entity);
+        }
+
+        @Override
+        void bindValue(PreparedStatement stmt, int index, Object value, UuidCodec uuids) throws SQLException {
+            stmt.setFloat(index, ((Number) value).floatValue());
+        }
+    }
+
+    /**
+     * A column of a {@code boolean} field. NULL is read as the default value, like the primitive {@link ResultSet} getters do.
+     *
+     * @param <T> the type of the entity
+     */
+    private static final class BooleanProperty<T> extends Property<T> {
+
+        private final Predicate<T> getter;
+        private final BooleanSetter<T> setter;
+
+        BooleanProperty(String column, Predicate<T> getter, BooleanSetter<T> setter) {
+            super(column);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        void read(ResultSet rs, int index, T entity, UuidCodec uuids) throws SQLException {
+            setter.set(entity, rs.getBoolean(index));
+        }
+
+        @Override
+        void bind(PreparedStatement stmt, int index, T entity, UuidCodec uuids) throws SQLException {
+            stmt.setBoolean(index, getter.test(entity));
+        }
+
+        @Override
+        Object get(T entity) {
+            return getter.test(entity);
+        }
+
+        @Override
+        void bindValue(PreparedStatement stmt, int index, Object value, UuidCodec uuids) throws SQLException {
+            stmt.setBoolean(index, (Boolean) value);
+        }
+    }
+
+    /**
+     * A nullable {@link String}, {@link Timestamp} or {@link UUID} column.
+     *
+     * @param <T> the type of the entity
+     */
+    private static final class ReferenceProperty<T> extends Property<T> {
+
+        private final Class<?> valueType;
+        private final Function<T, Object> getter;
+        private final BiConsumer<T, Object> setter;
+
+        ReferenceProperty(String column, Class<?> valueType, Function<T, Object> getter, BiConsumer<T, Object> setter) {
+            super(column);
+            this.valueType = valueType;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        void read(ResultSet rs, int index, T entity, UuidCodec uuids) throws SQLException {
+            Object value;
+            if (valueType == UUID.class) {
+                value = uuids.read(rs, index);
+            } else if (valueType == Timestamp.class) {
+                value = rs.getTimestamp(index);
+            } else {
+                value = rs.getString(index);
+            }
+            setter.accept(entity, value);
+        }
+
+        @Override
+        void bind(PreparedStatement stmt, int index, T entity, UuidCodec uuids) throws SQLException {
+            bindValue(stmt, index, getter.apply(entity), uuids);
+        }
+
+        @Override
+        Object get(T entity) {
+            return getter.apply(entity);
+        }
+
+        @Override
+        void bindValue(PreparedStatement stmt, int index, Object value, UuidCodec uuids) throws SQLException {
+            if (valueType == UUID.class) {
+                uuids.bind(stmt, index, (UUID) value);
+            } else if (valueType == Timestamp.class) {
+                stmt.setTimestamp(index, (Timestamp) value);
+            } else if (value == null) {
+                stmt.setNull(index, Types.VARCHAR);
+            } else {
+                stmt.setString(index, (String) value);
+            }
+        }
+    }
+}
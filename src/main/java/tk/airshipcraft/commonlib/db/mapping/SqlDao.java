@@ -0,0 +1,454 @@
+package tk.airshipcraft.commonlib.db.mapping;
+
+import tk.airshipcraft.commonlib.db.DataAccessException;
+import tk.airshipcraft.commonlib.db.GenericDao;
+import tk.airshipcraft.commonlib.db.Projection;
+import tk.airshipcraft.commonlib.db.SqlConnectionManager;
+import tk.airshipcraft.commonlib.db.SqlUtils;
+import tk.airshipcraft.commonlib.db.UuidCodec;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+/**
+ * <p>A {@link GenericDao} for any entity mapped with {@link EntityMapping}, issuing the same statements as the
+ * hand-written DAOs: single-row lookups by primary key, keyset pages, chunked {@code IN (...)} lists, multi-row
+ * inserts and batched updates, with reads routed through {@link SqlConnectionManager#getReadConnection(Object)}
+ * and its batch and keyless variants so that they see this DAO's recent writes.</p>
+ *
+ * <p>Plugins get a complete DAO for their own tables from an annotated class, and can extend this class to add
+ * finders of their own using {@link #getMapping()} and {@link #getProjection()}:</p>
+ * <pre>{@code
+ * @Table("homes")
+ * public class Home {
+ *     @Id @Column private UUID id;
+ *     @Column private UUID owner;
+ *     @Column private String name;
+ *     // no-argument constructor, getters and setters
+ * }
+ *
+ * SqlDao<Home, UUID> homes = new SqlDao<>(connectionManager, EntityMapping.of(Home.class, MethodHandles.lookup()));
+ * }</pre>
+ *
+ * <p>Like the other DAOs, SQL errors are thrown as {@link DataAccessException}.</p>
+ *
+ * @param <T>  the type of the entity
+ * @param <ID> the type of the entity's primary key
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class SqlDao<T, ID> implements GenericDao<T, ID> {
+
+    private final SqlConnectionManager connectionManager;
+    private final EntityMapping<T> mapping;
+    private final UuidCodec uuids;
+    private final Projection<T> projection;
+    private final String table;
+    private final String idColumn;
+    private final String insertPrefix;
+    private final String updateSql;
+
+    /**
+     * Creates a DAO for an entity class visible to CommonLib, see {@link EntityMapping#of(Class)}.
+     *
+     * @param connectionManager The connection manager responsible for managing database connections.
+     * @param type              The entity class.
+     */
+    public SqlDao(SqlConnectionManager connectionManager, Class<T> type) {
+        this(connectionManager, EntityMapping.of(type));
+    }
+
+    /**
+     * Creates a DAO for a mapped entity.
+     *
+     * @param connectionManager The connection manager responsible for managing database connections.
+     * @param mapping           The mapping of the entity.
+     */
+    public SqlDao(SqlConnectionManager connectionManager, EntityMapping<T> mapping) {
+        this.connectionManager = connectionManager;
+        this.mapping = mapping;
+        this.uuids = connectionManager.getUuidCodec();
+        this.projection = mapping.projection(uuids);
+        this.table = mapping.getTable();
+        this.idColumn = mapping.getIdColumn();
+        this.insertPrefix = "INSERT INTO " + table + " (" + String.join(", ", mapping.getColumns()) + ") VALUES ";
+
+        StringJoiner assignments = new StringJoiner(", ", "UPDATE " + table + " SET ", " WHERE " + idColumn + " = ?");
+        for (String column : mapping.getColumns()) {
+            if (!column.equals(idColumn)) {
+                assignments.add(column + " = ?");
+            }
+        }
+        this.updateSql = assignments.toString();
+    }
+
+    /**
+     * Finds an entity by its primary key.
+     *
+     * @param id the entity's identifier.
+     * @return The entity if found, otherwise empty.
+     * @throws DataAccessException If the query failed.
+     */
+    @Override
+    public Optional<T> findById(ID id) {
+        String sql = "SELECT " + projection.getSelectList() + " FROM " + table + " WHERE " + idColumn + " = ?";
+        try (Connection conn = connectionManager.getReadConnection(id);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            mapping.bindId(stmt, 1, id, uuids);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(projection.mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load from " + table, e);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Retrieves all entities of the table.
+     *
+     * @return All entities.
+     * @throws DataAccessException If the query failed.
+     */
+    @Override
+    public List<T> findAll() {
+        String sql = "SELECT " + projection.getSelectList() + " FROM " + table;
+        List<T> entities = new ArrayList<>();
+        try (Connection conn = connectionManager.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                entities.add(projection.mapRow(rs));
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load " + table, e);
+        }
+        return entities;
+    }
+
+    /**
+     * Streams all entities through a forward-only cursor instead of loading the whole table into memory.
+     * The stream holds a pooled connection until it is closed, so use it in a try-with-resources block.
+     *
+     * @return A stream of all entities.
+     * @throws DataAccessException If the query failed.
+     */
+    @Override
+    public Stream<T> streamAll() {
+        try {
+            return SqlUtils.streamQuery(connectionManager, "SELECT " + projection.getSelectList() + " FROM " + table,
+                    projection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to stream " + table, e);
+        }
+    }
+
+    /**
+     * Retrieves the next page of entities ordered by primary key, starting after the given key.
+     *
+     * @param afterId The primary key of the last entity of the previous page, or {@code null} for the first page.
+     * @param limit   The maximum number of entities to return.
+     * @return The entities of the page, ordered by primary key.
+     * @throws DataAccessException If the query failed.
+     */
+    @Override
+    public List<T> findPage(ID afterId, int limit) {
+        String select = "SELECT " + projection.getSelectList() + " FROM " + table;
+        String sql = afterId == null
+                ? select + " ORDER BY " + idColumn + " LIMIT ?"
+                : select + " WHERE " + idColumn + " > ? ORDER BY " + idColumn + " LIMIT ?";
+        List<T> page = new ArrayList<>(Math.max(0, limit));
+        try (Connection conn = connectionManager.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (afterId != null) {
+                mapping.bindId(stmt, index++, afterId, uuids);
+            }
+            stmt.setInt(index, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(projection.mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load a page of " + table, e);
+        }
+        return page;
+    }
+
+    /**
+     * Retrieves several entities using chunked {@code SELECT ... WHERE id IN (...)} queries on one connection.
+     *
+     * @param ids The primary keys of the entities to retrieve.
+     * @return The entities found, in no particular order.
+     * @throws DataAccessException If the query failed.
+     */
+    @Override
+    public List<T> findAllById(Collection<ID> ids) {
+        List<T> found = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return found;
+        }
+        try (Connection conn = connectionManager.getBatchReadConnection(ids)) {
+            for (List<ID> chunk : SqlUtils.partitionDistinct(ids, SqlUtils.DEFAULT_CHUNK_SIZE)) {
+                String sql = "SELECT " + projection.getSelectList() + " FROM " + table + " WHERE " + idColumn
+                        + " IN (" + SqlUtils.placeholders(chunk.size()) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    bindIds(stmt, chunk);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            found.add(projection.mapRow(rs));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load " + ids.size() + " rows of " + table, e);
+        }
+        return found;
+    }
+
+    /**
+     * Inserts a new entity.
+     *
+     * @param entity The entity to insert.
+     * @return The inserted entity.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public T create(T entity) {
+        String sql = insertPrefix + SqlUtils.rowPlaceholders(1, mapping.getColumns().size());
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            mapping.bind(stmt, 1, entity, uuids);
+            stmt.executeUpdate();
+            connectionManager.markWritten(mapping.getId(entity));
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to insert into " + table, e);
+        }
+        return entity;
+    }
+
+    /**
+     * Inserts several entities using multi-row INSERT statements of up to {@link SqlUtils#DEFAULT_CHUNK_SIZE} rows,
+     * all on one connection and in one transaction.
+     *
+     * @param entities The entities to insert.
+     * @return The inserted entities.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public List<T> createAll(Collection<T> entities) {
+        if (entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int columns = mapping.getColumns().size();
+        try (Connection conn = connectionManager.getConnection()) {
+            connectionManager.beginTransaction(conn);
+            try {
+                for (List<T> chunk : SqlUtils.partition(entities, SqlUtils.DEFAULT_CHUNK_SIZE)) {
+                    String sql = insertPrefix + SqlUtils.rowPlaceholders(chunk.size(), columns);
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        int index = 1;
+                        for (T entity : chunk) {
+                            index = mapping.bind(stmt, index, entity, uuids);
+                        }
+                        stmt.executeUpdate();
+                    }
+                }
+                connectionManager.commitTransaction(conn);
+                entities.forEach(entity -> connectionManager.markWritten(mapping.getId(entity)));
+            } catch (SQLException e) {
+                connectionManager.rollbackTransaction(conn);
+                throw e;
+            } finally {
+                connectionManager.resetConnection(conn);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to insert " + entities.size() + " rows into " + table, e);
+        }
+        return new ArrayList<>(entities);
+    }
+
+    /**
+     * Updates every column of an existing entity.
+     *
+     * @param entity The entity to update.
+     * @return The updated entity.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public T update(T entity) {
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(updateSql)) {
+
+            mapping.bindForUpdate(stmt, 1, entity, uuids);
+            stmt.executeUpdate();
+            connectionManager.markWritten(mapping.getId(entity));
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to update " + table, e);
+        }
+        return entity;
+    }
+
+    /**
+     * Updates a batch of entities on the given connection using a single JDBC batch.
+     * This is intended for {@link tk.airshipcraft.commonlib.db.WriteBehindQueue} and other callers that manage
+     * the connection and transaction themselves; exceptions are propagated rather than swallowed.
+     *
+     * @param conn     The connection to execute the batch on.
+     * @param entities The entities to update.
+     * @throws SQLException If the batch could not be executed.
+     */
+    public void updateBatch(Connection conn, List<T> entities) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(updateSql)) {
+            for (T entity : entities) {
+                mapping.bindForUpdate(stmt, 1, entity, uuids);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Updates several entities with a single JDBC batch on one connection and in one transaction.
+     *
+     * @param entities The entities to update.
+     * @return The updated entities.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public List<T> updateAll(Collection<T> entities) {
+        if (entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<T> batch = new ArrayList<>(entities);
+        try (Connection conn = connectionManager.getConnection()) {
+            connectionManager.beginTransaction(conn);
+            try {
+                updateBatch(conn, batch);
+                connectionManager.commitTransaction(conn);
+                batch.forEach(entity -> connectionManager.markWritten(mapping.getId(entity)));
+            } catch (SQLException e) {
+                connectionManager.rollbackTransaction(conn);
+                throw e;
+            } finally {
+                connectionManager.resetConnection(conn);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to update " + entities.size() + " rows of " + table, e);
+        }
+        return batch;
+    }
+
+    /**
+     * Deletes an entity by its primary key.
+     *
+     * @param id The primary key of the entity to delete.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public void deleteById(ID id) {
+        String sql = "DELETE FROM " + table + " WHERE " + idColumn + " = ?";
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            mapping.bindId(stmt, 1, id, uuids);
+            stmt.executeUpdate();
+            connectionManager.markWritten(id);
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to delete from " + table, e);
+        }
+    }
+
+    /**
+     * Deletes several entities using chunked {@code DELETE ... WHERE id IN (...)} statements on one connection.
+     *
+     * @param ids The primary keys of the entities to delete.
+     * @throws DataAccessException If the statement failed.
+     */
+    @Override
+    public void deleteAllById(Collection<ID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try (Connection conn = connectionManager.getConnection()) {
+            for (List<ID> chunk : SqlUtils.partitionDistinct(ids, SqlUtils.DEFAULT_CHUNK_SIZE)) {
+                String sql = "DELETE FROM " + table + " WHERE " + idColumn + " IN ("
+                        + SqlUtils.placeholders(chunk.size()) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    bindIds(stmt, chunk);
+                    stmt.executeUpdate();
+                    chunk.forEach(connectionManager::markWritten);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to delete " + ids.size() + " rows from " + table, e);
+        }
+    }
+
+    /**
+     * Returns the connection manager, for finders added by subclasses.
+     *
+     * @return The connection manager.
+     */
+    protected SqlConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    /**
+     * Returns the table of the entity.
+     *
+     * @return The table name.
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the mapping of the entity, for binding and reading in finders added by subclasses.
+     *
+     * @return The entity mapping.
+     */
+    protected EntityMapping<T> getMapping() {
+        return mapping;
+    }
+
+    /**
+     * Returns the projection of all mapped columns, to select with {@link Projection#getSelectList()} and map
+     * with {@link Projection#mapRow(ResultSet)}.
+     *
+     * @return The full projection.
+     */
+    protected Projection<T> getProjection() {
+        return projection;
+    }
+
+    /**
+     * Binds a list of primary keys to consecutive parameters starting at 1.
+     *
+     * @param stmt The statement to bind.
+     * @param ids  The primary keys to bind.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    private void bindIds(PreparedStatement stmt, List<ID> ids) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            mapping.bindId(stmt, i + 1, ids.get(i), uuids);
+        }
+    }
+}
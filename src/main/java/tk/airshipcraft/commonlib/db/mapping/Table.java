@@ -0,0 +1,26 @@
+package tk.airshipcraft.commonlib.db.mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Marks a class as an entity stored in a database table, so {@link EntityMapping} can map its
+ * {@link Column} fields and {@link SqlDao} can read and write it.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Table {
+
+    /**
+     * The name of the table.
+     *
+     * @return The table name.
+     */
+    String value();
+}
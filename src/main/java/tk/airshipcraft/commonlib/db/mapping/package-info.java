@@ -0,0 +1,16 @@
+/**
+ * Provides annotation-driven mapping of entity classes to tables, so DAOs need no hand-written row mappers.
+ *
+ * <ul>
+ *   <li>{@link tk.airshipcraft.commonlib.db.mapping.Table}, {@link tk.airshipcraft.commonlib.db.mapping.Column} and
+ *   {@link tk.airshipcraft.commonlib.db.mapping.Id} - Mark an entity, its columns and its primary key.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.mapping.EntityMapping} - Reads rows and binds statements through
+ *   accessors generated once per entity class.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.mapping.SqlDao} - Implements GenericDao for any mapped entity.</li>
+ * </ul>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+package tk.airshipcraft.commonlib.db.mapping;
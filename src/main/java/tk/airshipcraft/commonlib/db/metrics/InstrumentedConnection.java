@@ -0,0 +1,246 @@
+package tk.airshipcraft.commonlib.db.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Dynamic proxies that time statement executions and count rows for {@link StatementMetrics}.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+final class InstrumentedConnection {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private InstrumentedConnection() {
+        // Utility class
+    }
+
+    /**
+     * Wraps a connection so that statements created from it report to the given metrics.
+     *
+     * @param connection The connection to wrap.
+     * @param metrics    The metrics to report to.
+     * @return The instrumented connection.
+     */
+    static Connection wrap(Connection connection, StatementMetrics metrics) {
+        return (Connection) Proxy.newProxyInstance(InstrumentedConnection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection, metrics));
+    }
+
+    /**
+     * Invokes a method on the proxied object, rethrowing the method's own exception.
+     *
+     * @param target The proxied object.
+     * @param method The method to invoke.
+     * @param args   The arguments.
+     * @return The method's result.
+     * @throws Throwable The exception thrown by the method.
+     */
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Wraps statements returned by the connection.
+     */
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private final StatementMetrics metrics;
+
+        ConnectionHandler(Connection connection, StatementMetrics metrics) {
+            this.connection = connection;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedConnection.invoke(connection, method, args);
+            if (result instanceof Statement statement && STATEMENT_FACTORIES.contains(method.getName())) {
+                StatementStats prepared = args != null && args.length > 0 && args[0] instanceof String sql
+                        ? metrics.statsFor(sql) : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(InstrumentedConnection.class.getClassLoader(),
+                        new Class<?>[]{type}, new StatementHandler(statement, (Connection) proxy, metrics, prepared));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Times executions and wraps result sets to count the rows read.
+     */
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final Connection connection;
+        private final StatementMetrics metrics;
+        private final StatementStats prepared;
+        private StatementStats lastExecuted;
+        private RowCounter openResultSet;
+
+        StatementHandler(Statement statement, Connection connection, StatementMetrics metrics, StatementStats prepared) {
+            this.statement = statement;
+            this.connection = connection;
+            this.metrics = metrics;
+            this.prepared = prepared;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (EXECUTE_METHODS.contains(name)) {
+                return execute(proxy, method, args);
+            }
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            if (name.equals("close")) {
+                closeResultSet();
+            }
+            Object result = InstrumentedConnection.invoke(statement, method, args);
+            if (result instanceof ResultSet resultSet && lastExecuted != null
+                    && (name.equals("getResultSet") || name.equals("getGeneratedKeys"))) {
+                return wrapResultSet(resultSet, proxy, name.equals("getResultSet") ? lastExecuted : null);
+            }
+            if (name.equals("getUpdateCount") && result instanceof Integer count && lastExecuted != null) {
+                lastExecuted.recordRows(count);
+            }
+            return result;
+        }
+
+        /**
+         * Runs an execute method, recording its duration and the rows it affected.
+         *
+         * @param proxy  The statement proxy.
+         * @param method The execute method.
+         * @param args   The arguments.
+         * @return The execute method's result, with result sets wrapped.
+         * @throws Throwable The exception thrown by the execution.
+         */
+        private Object execute(Object proxy, Method method, Object[] args) throws Throwable {
+            StatementStats stats = args != null && args.length > 0 && args[0] instanceof String sql
+                    ? metrics.statsFor(sql) : prepared;
+            if (stats == null) {
+                stats = metrics.statsFor(null);
+            }
+            closeResultSet();
+            lastExecuted = stats;
+
+            long start = System.nanoTime();
+            boolean failed = true;
+            Object result;
+            try {
+                result = InstrumentedConnection.invoke(statement, method, args);
+                failed = false;
+            } finally {
+                metrics.recordExecution(stats, System.nanoTime() - start, failed);
+            }
+
+            if (result instanceof ResultSet resultSet) {
+                return wrapResultSet(resultSet, proxy, stats);
+            }
+            if (result instanceof Number count) {
+                stats.recordRows(count.longValue());
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    stats.recordRows(count);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    stats.recordRows(count);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Wraps a result set to count the rows read from it.
+         *
+         * @param resultSet      The result set.
+         * @param statementProxy The statement proxy returned by {@link ResultSet#getStatement()}.
+         * @param stats          The statistics to record rows under, or null to leave the result set unwrapped.
+         * @return The result set to hand to the caller.
+         */
+        private ResultSet wrapResultSet(ResultSet resultSet, Object statementProxy, StatementStats stats) {
+            if (stats == null) {
+                return resultSet;
+            }
+            RowCounter counter = new RowCounter(resultSet, (Statement) statementProxy, stats);
+            openResultSet = counter;
+            return (ResultSet) Proxy.newProxyInstance(InstrumentedConnection.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, counter);
+        }
+
+        /**
+         * Records the rows of the previous result set, which is closed implicitly by re-executing or closing the statement.
+         */
+        private void closeResultSet() {
+            if (openResultSet != null) {
+                openResultSet.flush();
+                openResultSet = null;
+            }
+        }
+    }
+
+    /**
+     * Counts the rows read from a result set and records them once it, or its statement, is closed.
+     */
+    private static final class RowCounter implements InvocationHandler {
+
+        private final ResultSet resultSet;
+        private final Statement statement;
+        private final StatementStats stats;
+        private long rows;
+        private boolean flushed;
+
+        RowCounter(ResultSet resultSet, Statement statement, StatementStats stats) {
+            this.resultSet = resultSet;
+            this.statement = statement;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("getStatement")) {
+                return statement;
+            }
+            Object result = InstrumentedConnection.invoke(resultSet, method, args);
+            if (name.equals("next") && Boolean.TRUE.equals(result)) {
+                rows++;
+            } else if (name.equals("close")) {
+                flush();
+            }
+            return result;
+        }
+
+        /**
+         * Records the rows read so far, at most once.
+         */
+        void flush() {
+            if (!flushed) {
+                flushed = true;
+                stats.recordRows(rows);
+            }
+        }
+    }
+}
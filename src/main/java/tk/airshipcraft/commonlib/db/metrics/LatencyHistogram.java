@@ -0,0 +1,144 @@
+package tk.airshipcraft.commonlib.db.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>A lock-free histogram of durations with power-of-two buckets.</p>
+ *
+ * <p>Bucket {@code i} counts durations between 2<sup>i-1</sup> and 2<sup>i</sup> microseconds, so a recording
+ * costs two atomic increments and percentiles are accurate to within a factor of two, which is plenty for
+ * telling a 1 ms pool wait from a 50 ms one. Durations are recorded in nanoseconds.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Returns the number of recorded durations.
+     *
+     * @return The sample count.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the mean of the recorded durations.
+     *
+     * @param unit The unit of the result.
+     * @return The mean duration, or 0 if nothing was recorded.
+     */
+    public double getMean(TimeUnit unit) {
+        long samples = count.get();
+        return samples == 0 ? 0.0 : (double) totalNanos.get() / samples / unit.toNanos(1);
+    }
+
+    /**
+     * Returns the longest recorded duration.
+     *
+     * @param unit The unit of the result.
+     * @return The maximum duration.
+     */
+    public long getMax(TimeUnit unit) {
+        return unit.convert(maxNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns an upper bound of the given percentile, i.e. the upper edge of the bucket it falls into.
+     *
+     * @param percentile The percentile between 0 and 100, e.g. 99.
+     * @param unit       The unit of the result.
+     * @return The percentile's upper bound, or 0 if nothing was recorded.
+     */
+    public long getPercentile(double percentile, TimeUnit unit) {
+        long[] snapshot = getBucketCounts();
+        long total = 0;
+        for (long bucketCount : snapshot) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(unit.convert(getBucketUpperBoundMicros(i), TimeUnit.MICROSECONDS), getMax(unit));
+            }
+        }
+        return getMax(unit);
+    }
+
+    /**
+     * Returns a copy of the bucket counts. Bucket {@code i} has the upper bound
+     * {@link #getBucketUpperBoundMicros(int)}.
+     *
+     * @return The count of every bucket.
+     */
+    public long[] getBucketCounts() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the inclusive upper bound of a bucket, in microseconds.
+     *
+     * @param bucket The bucket index.
+     * @return The largest duration counted in the bucket.
+     */
+    public static long getBucketUpperBoundMicros(int bucket) {
+        return bucket == 0 ? 0 : (1L << bucket) - 1;
+    }
+
+    /**
+     * Clears all recorded durations. Recordings racing with the reset may be partially kept.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.2fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                getCount(), getMean(TimeUnit.MICROSECONDS) / 1000.0,
+                getPercentile(50, TimeUnit.MICROSECONDS) / 1000.0, getPercentile(95, TimeUnit.MICROSECONDS) / 1000.0,
+                getPercentile(99, TimeUnit.MICROSECONDS) / 1000.0, getMax(TimeUnit.MICROSECONDS) / 1000.0);
+    }
+}
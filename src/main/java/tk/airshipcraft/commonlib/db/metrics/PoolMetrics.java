@@ -0,0 +1,175 @@
+package tk.airshipcraft.commonlib.db.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Live metrics of a HikariCP connection pool.</p>
+ *
+ * <p>An instance is installed as the pool's {@link MetricsTrackerFactory} by
+ * {@link tk.airshipcraft.commonlib.db.SqlConnectionManager} and is available through
+ * {@link tk.airshipcraft.commonlib.db.SqlConnectionManager#getPoolMetrics()}. It exposes the current
+ * active, idle and pending connection counts, histograms of how long callers waited for a connection and
+ * how long they held it, and the number of acquisitions that timed out.</p>
+ *
+ * <p>A sustained pending count above zero or a growing wait-time p99 means the pool is too small for the load;
+ * a usage p99 close to the connection timeout points at slow queries holding connections.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram usageTime = new LatencyHistogram();
+    private final LatencyHistogram creationTime = new LatencyHistogram();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new Tracker();
+    }
+
+    /**
+     * Returns the number of connections currently checked out.
+     *
+     * @return The active connection count.
+     */
+    public int getActiveConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getActiveConnections();
+    }
+
+    /**
+     * Returns the number of connections waiting in the pool.
+     *
+     * @return The idle connection count.
+     */
+    public int getIdleConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getIdleConnections();
+    }
+
+    /**
+     * Returns the number of open connections, active or idle.
+     *
+     * @return The total connection count.
+     */
+    public int getTotalConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getTotalConnections();
+    }
+
+    /**
+     * Returns the number of threads blocked waiting for a connection.
+     *
+     * @return The pending thread count.
+     */
+    public int getPendingThreads() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getPendingThreads();
+    }
+
+    /**
+     * Returns the configured maximum pool size.
+     *
+     * @return The maximum connection count.
+     */
+    public int getMaxConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getMaxConnections();
+    }
+
+    /**
+     * Returns the histogram of how long callers waited to acquire a connection.
+     *
+     * @return The wait-time histogram.
+     */
+    public LatencyHistogram getWaitTime() {
+        return waitTime;
+    }
+
+    /**
+     * Returns the histogram of how long connections were held before being returned to the pool.
+     *
+     * @return The usage-time histogram.
+     */
+    public LatencyHistogram getUsageTime() {
+        return usageTime;
+    }
+
+    /**
+     * Returns the histogram of how long it took to open new physical connections.
+     *
+     * @return The connection creation-time histogram.
+     */
+    public LatencyHistogram getCreationTime() {
+        return creationTime;
+    }
+
+    /**
+     * Returns the number of connection requests that timed out.
+     *
+     * @return The timeout count.
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * Clears the histograms and the timeout count, e.g. before measuring a load test.
+     */
+    public void reset() {
+        waitTime.reset();
+        usageTime.reset();
+        creationTime.reset();
+        timeoutCount.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "PoolMetrics{" +
+                "active=" + getActiveConnections() +
+                ", idle=" + getIdleConnections() +
+                ", total=" + getTotalConnections() +
+                ", max=" + getMaxConnections() +
+                ", pending=" + getPendingThreads() +
+                ", timeouts=" + getTimeoutCount() +
+                ", wait=[" + waitTime + "]" +
+                ", usage=[" + usageTime + "]" +
+                '}';
+    }
+
+    /**
+     * Forwards HikariCP's per-pool callbacks to the histograms.
+     */
+    private class Tracker implements IMetricsTracker {
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            creationTime.record(TimeUnit.MILLISECONDS.toNanos(connectionCreatedMillis));
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            waitTime.record(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usageTime.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeoutCount.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package tk.airshipcraft.commonlib.db.metrics;
+
+import org.bukkit.Bukkit;
+import tk.airshipcraft.commonlib.db.DatabaseConfig;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Per-statement latency instrumentation and slow-query log.</p>
+ *
+ * <p>When {@link DatabaseConfig#isStatementMetricsEnabled()} is set,
+ * {@link tk.airshipcraft.commonlib.db.SqlConnectionManager} wraps every connection it hands out with
+ * {@link #wrap(Connection)}. Each statement execution is then timed and recorded under its SQL template
+ * (the prepared SQL, or the literal SQL with numbers and strings replaced by {@code ?}), together with the
+ * number of rows read or affected. When the feature is disabled connections are returned unwrapped, so it
+ * costs nothing.</p>
+ *
+ * <p>Executions slower than {@link DatabaseConfig#getSlowQueryThresholdMillis()} are logged with the calling
+ * thread. A slow query on a server tick thread stalls the whole server (or region, on Folia), so those are
+ * logged at SEVERE with a stack trace pointing at the caller.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class StatementMetrics {
+
+    private static final Logger LOGGER = Logger.getLogger(StatementMetrics.class.getName());
+
+    /**
+     * The maximum number of distinct templates tracked; further templates are recorded under {@link #OTHER}.
+     */
+    static final int MAX_TEMPLATES = 1000;
+
+    /**
+     * The template under which statements are recorded once {@link #MAX_TEMPLATES} is reached.
+     */
+    static final String OTHER = "<other>";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.?])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, StatementStats> statistics = new ConcurrentHashMap<>();
+    private final long slowQueryThresholdNanos;
+
+    /**
+     * Creates statement metrics using the slow-query threshold of the given configuration.
+     *
+     * @param config The database configuration.
+     */
+    public StatementMetrics(DatabaseConfig config) {
+        this(config.getSlowQueryThresholdMillis());
+    }
+
+    /**
+     * Creates statement metrics.
+     *
+     * @param slowQueryThresholdMillis The execution time above which a statement is logged, or 0 to disable the log.
+     */
+    public StatementMetrics(long slowQueryThresholdMillis) {
+        this.slowQueryThresholdNanos = slowQueryThresholdMillis <= 0
+                ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMillis);
+    }
+
+    /**
+     * Wraps a connection so that all statements created from it are instrumented.
+     *
+     * @param connection The connection to wrap.
+     * @return The instrumented connection. Closing it closes the wrapped connection.
+     */
+    public Connection wrap(Connection connection) {
+        return InstrumentedConnection.wrap(connection, this);
+    }
+
+    /**
+     * Returns the statistics of every recorded SQL template.
+     *
+     * @return A snapshot of the statistics, keyed by SQL template.
+     */
+    public Map<String, StatementStats> getStatistics() {
+        return Map.copyOf(statistics);
+    }
+
+    /**
+     * Returns the templates that took the most total time, which are usually the best candidates for tuning.
+     *
+     * @param limit The maximum number of templates to return.
+     * @return The most expensive templates, most expensive first.
+     */
+    public List<StatementStats> getTopByTotalTime(int limit) {
+        List<StatementStats> sorted = new ArrayList<>(statistics.values());
+        sorted.sort(Comparator.comparingDouble((StatementStats stats) -> stats.getTotalTime(TimeUnit.NANOSECONDS))
+                .reversed());
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    /**
+     * Clears all recorded statistics.
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    /**
+     * Records a statement execution and logs it if it was slow.
+     *
+     * @param stats  The statistics of the executed statement's template, see {@link #statsFor(String)}.
+     * @param nanos  The execution time in nanoseconds.
+     * @param failed True if the execution threw an exception.
+     */
+    void recordExecution(StatementStats stats, long nanos, boolean failed) {
+        boolean slow = nanos >= slowQueryThresholdNanos;
+        stats.recordExecution(nanos, failed, slow);
+        if (slow) {
+            logSlowQuery(stats.getSql(), nanos);
+        }
+    }
+
+    /**
+     * Returns the statistics for a SQL statement, creating them if needed.
+     *
+     * @param sql The executed SQL.
+     * @return The statistics of the statement's template.
+     */
+    StatementStats statsFor(String sql) {
+        String template = normalize(sql);
+        StatementStats stats = statistics.get(template);
+        if (stats != null) {
+            return stats;
+        }
+        if (statistics.size() >= MAX_TEMPLATES) {
+            template = OTHER;
+        }
+        return statistics.computeIfAbsent(template, StatementStats::new);
+    }
+
+    /**
+     * Logs a slow statement, loudly if it ran on a server tick thread.
+     *
+     * @param sql   The SQL template.
+     * @param nanos The execution time in nanoseconds.
+     */
+    private void logSlowQuery(String sql, long nanos) {
+        Thread thread = Thread.currentThread();
+        String message = String.format("Slow query (%.1f ms) on thread '%s': %s",
+                nanos / 1_000_000.0, thread.getName(), sql);
+        if (isTickThread()) {
+            LOGGER.log(Level.SEVERE, "!!! BLOCKING THE SERVER TICK !!! " + message,
+                    new Throwable("Slow query called from here"));
+        } else {
+            LOGGER.warning(message);
+        }
+    }
+
+    /**
+     * Checks whether the current thread is the server's main thread, or a region thread on Folia.
+     *
+     * @return True if the current thread runs server ticks.
+     */
+    private static boolean isTickThread() {
+        return Bukkit.getServer() != null && Bukkit.isPrimaryThread();
+    }
+
+    /**
+     * Turns a SQL statement into a template by replacing literals with {@code ?} and collapsing whitespace,
+     * so that statements built by concatenation are grouped together.
+     *
+     * @param sql The SQL statement.
+     * @return The SQL template.
+     */
+    static String normalize(String sql) {
+        if (sql == null) {
+            return OTHER;
+        }
+        String template = STRING_LITERAL.matcher(sql).replaceAll("?");
+        template = NUMBER_LITERAL.matcher(template).replaceAll("?");
+        return WHITESPACE.matcher(template).replaceAll(" ").trim();
+    }
+}
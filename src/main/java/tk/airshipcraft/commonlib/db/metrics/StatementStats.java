@@ -0,0 +1,132 @@
+package tk.airshipcraft.commonlib.db.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Execution statistics of a single SQL template, collected by {@link StatementMetrics}.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class StatementStats {
+
+    private final String sql;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong rowCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicLong slowCount = new AtomicLong();
+
+    /**
+     * Creates empty statistics for a SQL template.
+     *
+     * @param sql The SQL template.
+     */
+    StatementStats(String sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * Returns the SQL template, with literals replaced by {@code ?}.
+     *
+     * @return The SQL template.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Returns the number of executions.
+     *
+     * @return The execution count.
+     */
+    public long getExecutionCount() {
+        return latency.getCount();
+    }
+
+    /**
+     * Returns the execution time histogram.
+     *
+     * @return The latency histogram.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Returns the total number of rows read from result sets or affected by updates.
+     *
+     * @return The row count.
+     */
+    public long getRowCount() {
+        return rowCount.get();
+    }
+
+    /**
+     * Returns the number of executions that threw an exception.
+     *
+     * @return The error count.
+     */
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    /**
+     * Returns the number of executions slower than the slow-query threshold.
+     *
+     * @return The slow execution count.
+     */
+    public long getSlowCount() {
+        return slowCount.get();
+    }
+
+    /**
+     * Returns the approximate total time spent executing this template.
+     *
+     * @param unit The unit of the result.
+     * @return The total execution time.
+     */
+    public double getTotalTime(TimeUnit unit) {
+        return latency.getMean(unit) * latency.getCount();
+    }
+
+    /**
+     * Records one execution.
+     *
+     * @param nanos  The execution time in nanoseconds.
+     * @param failed True if the execution threw an exception.
+     * @param slow   True if the execution exceeded the slow-query threshold.
+     */
+    void recordExecution(long nanos, boolean failed, boolean slow) {
+        latency.record(nanos);
+        if (failed) {
+            errorCount.incrementAndGet();
+        }
+        if (slow) {
+            slowCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Adds to the number of rows read or affected.
+     *
+     * @param rows The number of rows.
+     */
+    void recordRows(long rows) {
+        if (rows > 0) {
+            rowCount.addAndGet(rows);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StatementStats{" +
+                "sql='" + sql + '\'' +
+                ", rows=" + rowCount +
+                ", errors=" + errorCount +
+                ", slow=" + slowCount +
+                ", " + latency +
+                '}';
+    }
+}
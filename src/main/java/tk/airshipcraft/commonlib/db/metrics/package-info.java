@@ -0,0 +1,15 @@
+/**
+ * Provides runtime metrics for the database layer, used to tune the connection pool and find slow queries.
+ *
+ * <ul>
+ *   <li>{@link tk.airshipcraft.commonlib.db.metrics.LatencyHistogram} - Lock-free histogram of durations.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.metrics.PoolMetrics} - Live HikariCP pool gauges and wait-time histogram.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.metrics.StatementMetrics} - Per-SQL-template latency, row counts and slow-query log.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.metrics.StatementStats} - Statistics of a single SQL template.</li>
+ * </ul>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+package tk.airshipcraft.commonlib.db.metrics;
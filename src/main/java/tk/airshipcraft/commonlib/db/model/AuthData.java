@@ -1,5 +1,9 @@
 package tk.airshipcraft.commonlib.db.model;
 
+import tk.airshipcraft.commonlib.db.mapping.Column;
+import tk.airshipcraft.commonlib.db.mapping.Id;
+import tk.airshipcraft.commonlib.db.mapping.Table;
+
 import java.util.UUID;
 
 /**
@@ -18,26 +22,35 @@ import java.util.UUID;
  *     CREATE UNIQUE INDEX IF NOT EXISTS auth_data_IGN_index ON auth_data (IGN);
  *     CREATE UNIQUE INDEX IF NOT EXISTS auth_data_username_index ON auth_data (username);
  *     CREATE UNIQUE INDEX IF NOT EXISTS auth_data_token_index ON auth_data (token);
- *     CREATE UNIQUE INDEX IF NOT EXISTS auth_data_verified_index ON auth_data (verified);
- *     CREATE UNIQUE INDEX IF NOT EXISTS auth_data_IGN_username_index ON auth_data (IGN, username);
- *     CREATE UNIQUE INDEX IF NOT EXISTS auth_data_IGN_token_index ON auth_data (IGN, token);
- *     CREATE UNIQUE INDEX IF NOT EXISTS auth_data_IGN_verified_index ON auth_data (IGN, verified);
- *     CREATE UNIQUE INDEX IF NOT EXISTS auth_data_username_token_index ON auth_data (username, token);
- *     CREATE UNIQUE INDEX IF NOT EXISTS auth_data_username_verified_index ON auth_data (username, verified);
  * </pre>
  *
  * @author notzune
  * @version 1.0.0
  * @since 2024-01-05
  */
+@Table("auth_data")
 public class AuthData {
 
+    @Id
+    @Column
     private UUID id;
+    @Column("ign")
     private String IGN;
+    @Column
     private String username;
+    @Column
     private UUID token;
+    @Column
     private boolean verified;
 
+    /**
+     * Default constructor, used when mapping rows.
+     *
+     * @see #AuthData(UUID, String, String, UUID, boolean)
+     */
+    public AuthData() {
+    }
+
     /**
      * Constructs an AuthData object with the specified details.
      *
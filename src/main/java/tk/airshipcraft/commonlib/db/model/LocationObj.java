@@ -3,6 +3,10 @@ package tk.airshipcraft.commonlib.db.model;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
+import tk.airshipcraft.commonlib.db.ChunkKey;
+import tk.airshipcraft.commonlib.db.mapping.Column;
+import tk.airshipcraft.commonlib.db.mapping.Id;
+import tk.airshipcraft.commonlib.db.mapping.Table;
 
 import java.util.UUID;
 
@@ -22,22 +26,35 @@ import java.util.UUID;
  *     y DOUBLE PRECISION NOT NULL,
  *     z DOUBLE PRECISION NOT NULL,
  *     pitch FLOAT,
- *     yaw FLOAT
+ *     yaw FLOAT,
+ *     chunk_key BIGINT NOT NULL,
+ *     INDEX idx_locations_chunk_key (chunk_key)
  * );
  * </pre>
+ * <p>The {@code chunk_key} column is derived from the world and coordinates and is only written, never read back,
+ * see {@link #getChunkKey()}.</p>
  *
  * @author notzune
  * @version 1.0.0
  * @since 2024-01-06
  */
+@Table("locations")
 public class LocationObj {
 
+    @Id
+    @Column
     private UUID id; // Unique identifier for the location record
+    @Column
     private String worldName; // Name of the world
+    @Column
     private double x; // X-coordinate
+    @Column
     private double y; // Y-coordinate
+    @Column
     private double z; // Z-coordinate
+    @Column
     private float pitch; // Pitch (optional)
+    @Column
     private float yaw; // Yaw (optional)
 
     /**
@@ -213,6 +230,17 @@ public class LocationObj {
         this.yaw = yaw;
     }
 
+    /**
+     * Gets the key of the world and chunk containing this location, see {@link ChunkKey}.
+     * The key is always computed from the current world name and coordinates.
+     *
+     * @return The chunk key.
+     */
+    @Column("chunk_key")
+    public long getChunkKey() {
+        return ChunkKey.ofPosition(worldName, x, z);
+    }
+
     /**
      * Gets the hash code for this object.
      *
@@ -1,5 +1,9 @@
 package tk.airshipcraft.commonlib.db.model;
 
+import tk.airshipcraft.commonlib.db.mapping.Column;
+import tk.airshipcraft.commonlib.db.mapping.Id;
+import tk.airshipcraft.commonlib.db.mapping.Table;
+
 import java.sql.Timestamp;
 import java.util.UUID;
 
@@ -43,17 +47,29 @@ import java.util.UUID;
  * @version 1.0.0
  * @since 2023-12-27
  */
+@Table("users")
 public class User {
 
+    @Id
+    @Column
     private UUID id;
+    @Column
     private String username;
+    @Column
     private Timestamp joinDate;
+    @Column
     private Timestamp lastJoin;
+    @Column
     private Timestamp lastSeen;
+    @Column
     private long totalPlaytime;
+    @Column
     private int totalDeaths;
+    @Column
     private int totalKills;
+    @Column
     private int totalBlocksBroken;
+    @Column
     private int fishCaught;
 
     /**
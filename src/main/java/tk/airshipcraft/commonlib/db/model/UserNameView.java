@@ -0,0 +1,16 @@
+package tk.airshipcraft.commonlib.db.model;
+
+import java.util.UUID;
+
+/**
+ * A read-only view of a user's id and name, for tab lists, name lookups and other callers that do not need
+ * the full {@link User}.
+ *
+ * @param id       The UUID of the user.
+ * @param username The last known username.
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public record UserNameView(UUID id, String username) {
+}
@@ -0,0 +1,108 @@
+package tk.airshipcraft.commonlib.db.model;
+
+/**
+ * The numeric counters of a {@link User} that can be incremented atomically in the database.
+ *
+ * <p>Each counter has a stable {@link #getId() id} that serialized deltas refer to it by, so constants may be
+ * reordered without remapping stored data. Give new counters a new id and never reuse the id of a removed one.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public enum UserStat {
+
+    TOTAL_PLAYTIME(0, "total_playtime"),
+    TOTAL_DEATHS(1, "total_deaths"),
+    TOTAL_KILLS(2, "total_kills"),
+    TOTAL_BLOCKS_BROKEN(3, "total_blocks_broken"),
+    FISH_CAUGHT(4, "fish_caught");
+
+    private static final UserStat[] BY_ID;
+
+    static {
+        int max = 0;
+        for (UserStat stat : values()) {
+            max = Math.max(max, stat.id);
+        }
+        BY_ID = new UserStat[max + 1];
+        for (UserStat stat : values()) {
+            if (BY_ID[stat.id] != null) {
+                throw new ExceptionInInitializerError("Duplicate UserStat id " + stat.id);
+            }
+            BY_ID[stat.id] = stat;
+        }
+    }
+
+    private final int id;
+    private final String column;
+
+    UserStat(int id, String column) {
+        this.id = id;
+        this.column = column;
+    }
+
+    /**
+     * Looks a counter up by its stable id.
+     *
+     * @param id The id.
+     * @return The counter.
+     * @throws IllegalArgumentException If no counter has the id.
+     */
+    public static UserStat byId(int id) {
+        if (id < 0 || id >= BY_ID.length || BY_ID[id] == null) {
+            throw new IllegalArgumentException("Unknown statistic id " + id);
+        }
+        return BY_ID[id];
+    }
+
+    /**
+     * Returns the stable id of this counter, which does not change when constants are reordered.
+     *
+     * @return The id.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the name of the column holding this counter in the {@code users} table.
+     *
+     * @return The column name.
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Reads this counter from a user.
+     *
+     * @param user The user.
+     * @return The counter's value.
+     */
+    public long get(User user) {
+        return switch (this) {
+            case TOTAL_PLAYTIME -> user.getTotalPlaytime();
+            case TOTAL_DEATHS -> user.getTotalDeaths();
+            case TOTAL_KILLS -> user.getTotalKills();
+            case TOTAL_BLOCKS_BROKEN -> user.getTotalBlocksBroken();
+            case FISH_CAUGHT -> user.getFishCaught();
+        };
+    }
+
+    /**
+     * Adds a delta to this counter of a user, in memory only.
+     *
+     * @param user  The user.
+     * @param delta The amount to add, may be negative.
+     */
+    public void add(User user, long delta) {
+        switch (this) {
+            case TOTAL_PLAYTIME -> user.setTotalPlaytime(user.getTotalPlaytime() + delta);
+            case TOTAL_DEATHS -> user.setTotalDeaths((int) (user.getTotalDeaths() + delta));
+            case TOTAL_KILLS -> user.setTotalKills((int) (user.getTotalKills() + delta));
+            case TOTAL_BLOCKS_BROKEN -> user.setTotalBlocksBroken((int) (user.getTotalBlocksBroken() + delta));
+            case FISH_CAUGHT -> user.setFishCaught((int) (user.getFishCaught() + delta));
+        }
+    }
+}
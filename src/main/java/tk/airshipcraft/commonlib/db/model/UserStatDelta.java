@@ -0,0 +1,184 @@
+package tk.airshipcraft.commonlib.db.model;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * <p>Pending increments to the counters of one user.</p>
+ *
+ * <p>Deltas are immutable; {@link #plus(UserStatDelta)} merges two deltas for the same user by adding them,
+ * so any number of events can be folded into a single {@code UPDATE users SET col = col + ?} statement.</p>
+ *
+ * <p>A delta may carry a sequence number, assigned by {@link tk.airshipcraft.commonlib.db.UserStatBuffer} when it
+ * is journaled. A merged delta keeps the highest sequence of its parts, so the database can skip journaled
+ * deltas it already applied before a crash.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public final class UserStatDelta {
+
+    private static final UserStat[] STATS = UserStat.values();
+
+    private final UUID id;
+    private final long[] deltas;
+    private final long sequence;
+
+    private UserStatDelta(UUID id, long[] deltas, long sequence) {
+        this.id = Objects.requireNonNull(id, "id");
+        this.deltas = deltas;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Creates a delta changing a single counter.
+     *
+     * @param id    The user's id.
+     * @param stat  The counter to change.
+     * @param delta The amount to add, may be negative.
+     * @return The delta.
+     */
+    public static UserStatDelta of(UUID id, UserStat stat, long delta) {
+        long[] deltas = new long[STATS.length];
+        deltas[stat.ordinal()] = delta;
+        return new UserStatDelta(id, deltas, 0L);
+    }
+
+    /**
+     * Creates a delta changing several counters.
+     *
+     * @param id     The user's id.
+     * @param deltas The amounts to add by counter.
+     * @return The delta.
+     */
+    public static UserStatDelta of(UUID id, Map<UserStat, Long> deltas) {
+        long[] values = new long[STATS.length];
+        deltas.forEach((stat, delta) -> values[stat.ordinal()] += delta);
+        return new UserStatDelta(id, values, 0L);
+    }
+
+    /**
+     * Returns the id of the user this delta applies to.
+     *
+     * @return The user's id.
+     */
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Returns the sequence number of this delta.
+     *
+     * @return The highest sequence merged into this delta, 0 if it carries none.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns a copy of this delta carrying the given sequence number.
+     *
+     * @param sequence The sequence number, positive.
+     * @return The sequenced delta.
+     */
+    public UserStatDelta withSequence(long sequence) {
+        return new UserStatDelta(id, deltas, sequence);
+    }
+
+    /**
+     * Returns the amount to add to a counter.
+     *
+     * @param stat The counter.
+     * @return The delta, 0 if the counter is unchanged.
+     */
+    public long get(UserStat stat) {
+        return deltas[stat.ordinal()];
+    }
+
+    /**
+     * Returns the non-zero deltas by counter.
+     *
+     * @return The changed counters.
+     */
+    public Map<UserStat, Long> asMap() {
+        Map<UserStat, Long> map = new EnumMap<>(UserStat.class);
+        for (UserStat stat : STATS) {
+            if (deltas[stat.ordinal()] != 0) {
+                map.put(stat, deltas[stat.ordinal()]);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Checks whether this delta changes nothing.
+     *
+     * @return True if every counter delta is 0.
+     */
+    public boolean isEmpty() {
+        for (long delta : deltas) {
+            if (delta != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Merges another delta for the same user into a new delta, keeping the higher sequence number.
+     *
+     * @param other The delta to add.
+     * @return The combined delta.
+     * @throws IllegalArgumentException If the deltas belong to different users.
+     */
+    public UserStatDelta plus(UserStatDelta other) {
+        if (!id.equals(other.id)) {
+            throw new IllegalArgumentException("Cannot merge deltas of " + id + " and " + other.id);
+        }
+        long[] sum = deltas.clone();
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] += other.deltas[i];
+        }
+        return new UserStatDelta(id, sum, Math.max(sequence, other.sequence));
+    }
+
+    /**
+     * Applies this delta to a user in memory, e.g. to keep a cached copy current.
+     *
+     * @param user The user to change.
+     */
+    public void applyTo(User user) {
+        for (UserStat stat : STATS) {
+            long delta = deltas[stat.ordinal()];
+            if (delta != 0) {
+                stat.add(user, delta);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "UserStatDelta{" +
+                "id=" + id +
+                ", deltas=" + asMap() +
+                ", sequence=" + sequence +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof UserStatDelta other) {
+            return id.equals(other.id) && Arrays.equals(deltas, other.deltas) && sequence == other.sequence;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return (id.hashCode() * 31 + Arrays.hashCode(deltas)) * 31 + Long.hashCode(sequence);
+    }
+}
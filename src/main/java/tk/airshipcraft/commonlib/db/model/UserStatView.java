@@ -0,0 +1,16 @@
+package tk.airshipcraft.commonlib.db.model;
+
+import java.util.UUID;
+
+/**
+ * A read-only view of a single statistic of a user, for scoreboard lines and leaderboards.
+ *
+ * @param id    The UUID of the user.
+ * @param stat  The statistic.
+ * @param value The value of the statistic.
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public record UserStatView(UUID id, UserStat stat, long value) {
+}
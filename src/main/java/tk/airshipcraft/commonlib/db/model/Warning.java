@@ -1,5 +1,9 @@
 package tk.airshipcraft.commonlib.db.model;
 
+import tk.airshipcraft.commonlib.db.mapping.Column;
+import tk.airshipcraft.commonlib.db.mapping.Id;
+import tk.airshipcraft.commonlib.db.mapping.Table;
+
 import java.util.Objects;
 import java.util.UUID;
 
@@ -18,21 +22,39 @@ import java.util.UUID;
  *     reason VARCHAR(255) NOT NULL,
  *     timestamp BIGINT NOT NULL
  *     );
+ *     CREATE INDEX IF NOT EXISTS warnings_minecraft_recipient_index ON warnings (minecraft_recipient, timestamp);
+ *     CREATE INDEX IF NOT EXISTS warnings_discord_recipient_index ON warnings (discord_recipient, timestamp);
  * </pre>
  *
  * @author notzune
  * @version 1.0.0
  * @since 2024-01-06
  */
+@Table("warnings")
 public class Warning {
 
+    @Id
+    @Column
     private UUID id; // Unique identifier for the warning
+    @Column
     private UUID issuer; // UUID of the person who issued the warning
+    @Column
     private UUID minecraftRecipient; // Nullable, UUID of the Minecraft player
+    @Column
     private String discordRecipient; // Nullable, Discord ID of the user
+    @Column
     private String reason; // Reason for the warning
+    @Column
     private long timestamp; // Timestamp when the warning was issued
 
+    /**
+     * Default constructor, used when mapping rows.
+     *
+     * @see #Warning(UUID, UUID, UUID, String, String, long)
+     */
+    public Warning() {
+    }
+
     /**
      * Constructs a new Warning instance.
      *
@@ -7,6 +7,7 @@
  * <p>Define contracts for CRUD operations on specific models:</p>
  * <ul>
  *   <li>{@link tk.airshipcraft.commonlib.db.dao.AuthDataDao} - Access and modify authentication data.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.dao.LocationDao} - Store locations and find them by chunk, box or radius.</li>
  *   <li>{@link tk.airshipcraft.commonlib.db.dao.UserDao} - Retrieve and manage user information.</li>
  *   <li>{@link tk.airshipcraft.commonlib.db.dao.WarningDao} - Handle warnings issued to users.</li>
  * </ul>
@@ -15,16 +16,22 @@
  * <p>Provide SQL-based implementations of the DAO interfaces:</p>
  * <ul>
  *   <li>{@link tk.airshipcraft.commonlib.db.dao.impl.SqlAuthDataDao} - Implements AuthDataDao with SQL operations.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.dao.impl.SqlLocationDao} - Answers spatial lookups through an indexed chunk key column.</li>
  *   <li>{@link tk.airshipcraft.commonlib.db.dao.impl.SqlUserDao} - Implements UserDao for SQL databases.</li>
  *   <li>{@link tk.airshipcraft.commonlib.db.dao.impl.SqlWarningDao} - Manages Warning records in an SQL context.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.cache.CachingUserDao} - Caches users in memory in front of another UserDao.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.cache.GridIndexedLocationDao} - Answers spatial lookups of selected worlds from an in-memory chunk grid.</li>
  * </ul>
  *
  * <h2>Model Classes:</h2>
  * <p>Represent entities within the database:</p>
  * <ul>
  *   <li>{@link tk.airshipcraft.commonlib.db.model.AuthData} - Stores authentication-related information.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.model.LocationObj} - A position in a world, such as a home or waypoint.</li>
  *   <li>{@link tk.airshipcraft.commonlib.db.model.User} - Represents a user in the system.</li>
  *   <li>{@link tk.airshipcraft.commonlib.db.model.Warning} - Tracks warnings assigned to users.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.model.UserNameView} and {@link tk.airshipcraft.commonlib.db.model.UserStatView}
+ *   - Lightweight projections of a user.</li>
  * </ul>
  *
  * <h2>Utility Classes:</h2>
@@ -32,14 +39,34 @@
  * <ul>
  *   <li>{@link tk.airshipcraft.commonlib.db.DatabaseConfig} - Manages database settings for connection setup.</li>
  *   <li>{@link tk.airshipcraft.commonlib.db.SqlConnectionManager} - Handles pooled connections for efficient database access.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.SqlDialect} - MySQL and embedded H2 differences such as upserts and driver settings.</li>
  *   <li>{@link tk.airshipcraft.commonlib.db.ITableConfiguration} - Interface for defining table schemas and migrations.</li>
- *   <li>{@link tk.airshipcraft.commonlib.db.TableManager} - Registers and initializes plugin-specific tables in the database.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.TableManager} - Registers plugin-specific tables and sets up or migrates them, in parallel, as recorded in a schema ledger.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.ConnectionGuard} - Bounds connection waits, per-caller limits and fails fast during outages.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.ReplicaRouter} - Sends reads to read replicas, with read-your-writes pinning and fallback to the primary.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.CircuitBreaker} - Opens after repeated failed or slow connection checkouts.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.DatabaseExecutor} - Bounded executor that keeps blocking JDBC work off server threads.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.WriteBehindQueue} - Merges repeated entity updates and flushes them in JDBC batches.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.WriteJournal} - Memory-mapped journal keeping write-behind updates on disk during outages.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.session.PlayerSessionManager} - Loads all player data at pre-login and writes it back on quit.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.UserStatBuffer} - Buffers player counter increments and flushes them atomically.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.leaderboard.Leaderboard} - In-memory ranked indexes of player statistics.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.ChunkKey} - Packs a world and chunk coordinates into one indexable long.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.UuidCodec} - Stores UUID columns as text or as 16-byte binary.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.UuidColumnMigration} - Converts existing text UUID columns to BINARY(16).</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.metrics.PoolMetrics} - Live connection pool gauges and wait-time histograms.</li>
  * </ul>
  *
  * <h2>Core Interfaces:</h2>
  * <p>Define a generic template for DAOs:</p>
  * <ul>
  *   <li>{@link tk.airshipcraft.commonlib.db.GenericDao} - Generic interface for CRUD operations applicable to all models.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.AsyncGenericDao} - Non-blocking counterpart of GenericDao returning CompletableFutures.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.AsyncDao} - Runs any GenericDao on a DatabaseExecutor.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.Projection} - Selects specific columns and maps them to a view type.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.mapping.EntityMapping} - Generated row mappers and statement binders for annotated entities.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.mapping.SqlDao} - GenericDao implementation for any annotated entity.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.TransactionCallback} - Unit of work run by SqlConnectionManager#inTransaction.</li>
  * </ul>
  *
  * <h2>Example Usage:</h2>
@@ -61,6 +88,19 @@
  * User user = userDao.findById(userId).orElseThrow();
  * user.setUsername("newUsername");
  * userDao.update(user);
+ *
+ * // Or run the same DAO off the main thread and continue on it once the query is done
+ * DatabaseExecutor executor = new DatabaseExecutor(dbConfig);
+ * AsyncDao<User, UUID> asyncUsers = new AsyncDao<>(userDao, executor)
+ *         .withCallbackExecutor(DatabaseExecutor.mainThread(plugin));
+ * asyncUsers.findById(userId).thenAccept(found -> found.ifPresent(this::showProfile));
+ *
+ * // Several DAO calls sharing one connection and one commit
+ * connectionManager.inTransaction(connection -> {
+ *     userDao.create(newUser);
+ *     authDataDao.create(newAuthData);
+ *     return null;
+ * });
  * }</pre>
  *
  * <p>The above usage demonstrates initializing the database connection, registering table configurations,
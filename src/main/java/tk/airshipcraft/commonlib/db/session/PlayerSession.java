@@ -0,0 +1,127 @@
+package tk.airshipcraft.commonlib.db.session;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>The data of one online player, loaded at pre-login by {@link PlayerSessionManager} and kept in memory until
+ * the player quits.</p>
+ *
+ * <p>Values are read with the registered {@link SessionPart} as key. A value that is changed in place must be
+ * marked with {@link #markDirty(SessionPart)}; values replaced with {@link #set(SessionPart, Object)} are marked
+ * automatically. Dirty values are written when the player quits, or on {@link PlayerSessionManager#flushAll()}.
+ * Sessions may be read and changed from any thread.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * PlayerSession session = sessions.getSession(player).orElseThrow();
+ * session.get(USERS).ifPresent(user -> {
+ *     user.setLastSeen(new Timestamp(System.currentTimeMillis()));
+ *     session.markDirty(USERS);
+ * });
+ * }</pre>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public final class PlayerSession {
+
+    private final UUID playerId;
+    private final Map<SessionPart<?>, Object> values = new ConcurrentHashMap<>();
+    private final Set<SessionPart<?>> dirty = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates an empty session.
+     *
+     * @param playerId The UUID of the player.
+     */
+    PlayerSession(UUID playerId) {
+        this.playerId = playerId;
+    }
+
+    /**
+     * Gets the UUID of the player.
+     *
+     * @return The player's UUID.
+     */
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * Gets the data of a part.
+     *
+     * @param part The registered part.
+     * @param <T>  The type of the data.
+     * @return The data, or empty if the player has none.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> get(SessionPart<T> part) {
+        return Optional.ofNullable((T) values.get(part));
+    }
+
+    /**
+     * Replaces the data of a part and marks it dirty.
+     *
+     * @param part  The registered part.
+     * @param value The new data.
+     * @param <T>   The type of the data.
+     */
+    public <T> void set(SessionPart<T> part, T value) {
+        values.put(part, value);
+        dirty.add(part);
+    }
+
+    /**
+     * Marks the data of a part as changed, so it is written on the next flush.
+     *
+     * @param part The registered part.
+     */
+    public void markDirty(SessionPart<?> part) {
+        if (values.containsKey(part)) {
+            dirty.add(part);
+        }
+    }
+
+    /**
+     * Checks whether any data of this session has not been written yet.
+     *
+     * @return True if a part is dirty.
+     */
+    public boolean isDirty() {
+        return !dirty.isEmpty();
+    }
+
+    /**
+     * Stores loaded data without marking it dirty.
+     *
+     * @param part  The part.
+     * @param value The loaded data.
+     */
+    void putLoaded(SessionPart<?> part, Object value) {
+        values.put(part, value);
+    }
+
+    /**
+     * Takes the dirty values for a flush and clears their dirty marks.
+     *
+     * @return The dirty values by part.
+     */
+    Map<SessionPart<?>, Object> drainDirty() {
+        Map<SessionPart<?>, Object> drained = new HashMap<>();
+        for (SessionPart<?> part : dirty) {
+            if (dirty.remove(part)) {
+                Object value = values.get(part);
+                if (value != null) {
+                    drained.put(part, value);
+                }
+            }
+        }
+        return drained;
+    }
+}
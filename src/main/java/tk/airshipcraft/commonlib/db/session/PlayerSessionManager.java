@@ -0,0 +1,425 @@
+package tk.airshipcraft.commonlib.db.session;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import tk.airshipcraft.commonlib.db.DataAccessException;
+import tk.airshipcraft.commonlib.db.DatabaseConfig;
+import tk.airshipcraft.commonlib.db.DatabaseExecutor;
+import tk.airshipcraft.commonlib.db.SqlConnectionManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Loads all registered per-player data when a player connects and keeps it in a {@link PlayerSession} until the
+ * player quits, so that join handlers and gameplay code read player data from memory instead of querying the
+ * database on the main thread.</p>
+ *
+ * <p>Loading happens in {@link AsyncPlayerPreLoginEvent}, which runs on a network thread before the player is in
+ * the world. Every registered {@link SessionPart} is loaded in parallel on the {@link DatabaseExecutor}, each with
+ * one query, and the login is refused if the data cannot be loaded within
+ * {@link DatabaseConfig#getSessionLoadTimeoutMillis()}. By the time {@code PlayerJoinEvent} fires, the session is
+ * available from {@link #getSession(Player)}.</p>
+ *
+ * <p>When the player quits, the dirty parts of the session are written off the main thread in a single
+ * transaction. If that write fails, the session is kept and written again with the next quit, by
+ * {@link #flushAll()} or on {@link #close()}. A player who reconnects before their session is written waits for
+ * the write, retrying it if it failed, and their login is refused rather than loaded from stale rows if it fails
+ * again. {@link #close()} writes the sessions of all online players, so register the manager with
+ * {@link tk.airshipcraft.commonlib.CommonLib#registerDatabaseResource(AutoCloseable)} after the connection pool
+ * and the executor.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * PlayerSessionManager sessions = new PlayerSessionManager(connectionManager, executor, dbConfig);
+ * SessionPart<User> users = sessions.register(SessionParts.users(sqlUserDao));
+ * Bukkit.getPluginManager().registerEvents(sessions, plugin);
+ * sessions.preload(onlinePlayerIds); // players already online after a reload
+ *
+ * @EventHandler
+ * public void onJoin(PlayerJoinEvent event) {
+ *     sessions.getSession(event.getPlayer()).flatMap(session -> session.get(users)).ifPresent(this::greet);
+ * }
+ * }</pre>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public class PlayerSessionManager implements Listener, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(PlayerSessionManager.class.getName());
+
+    private final SqlConnectionManager connectionManager;
+    private final DatabaseExecutor executor;
+    private final long loadTimeoutMillis;
+    private final List<SessionPart<?>> parts = new CopyOnWriteArrayList<>();
+    private final Map<UUID, PlayerSession> sessions = new ConcurrentHashMap<>();
+    private final Map<UUID, PlayerSession> ending = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<Void>> pendingFlushes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a session manager using the timeout of the given configuration.
+     *
+     * @param connectionManager The connection manager the flush transactions run on.
+     * @param executor          The executor loads and flushes run on.
+     * @param config            The database configuration.
+     */
+    public PlayerSessionManager(SqlConnectionManager connectionManager, DatabaseExecutor executor, DatabaseConfig config) {
+        this.connectionManager = connectionManager;
+        this.executor = executor;
+        this.loadTimeoutMillis = config.getSessionLoadTimeoutMillis();
+    }
+
+    /**
+     * Registers a part loaded into every session. Register all parts before players connect.
+     *
+     * @param part The part.
+     * @param <T>  The type of the part's data.
+     * @return The part, the key its data is read with.
+     */
+    public <T> SessionPart<T> register(SessionPart<T> part) {
+        parts.add(part);
+        return part;
+    }
+
+    /**
+     * Gets the session of an online player.
+     *
+     * @param playerId The UUID of the player.
+     * @return The session, or empty if the player is not online.
+     */
+    public Optional<PlayerSession> getSession(UUID playerId) {
+        return Optional.ofNullable(sessions.get(playerId));
+    }
+
+    /**
+     * Gets the session of an online player.
+     *
+     * @param player The player.
+     * @return The session, or empty if none was loaded.
+     */
+    public Optional<PlayerSession> getSession(Player player) {
+        return getSession(player.getUniqueId());
+    }
+
+    /**
+     * Gets the sessions of all online players.
+     *
+     * @return A snapshot of the sessions.
+     */
+    public Collection<PlayerSession> getSessions() {
+        return new ArrayList<>(sessions.values());
+    }
+
+    /**
+     * Loads the sessions of players who are already online, e.g. after the plugin was reloaded, with one query
+     * per part for all of them.
+     *
+     * @param playerIds The UUIDs of the players.
+     * @return A future completed once the sessions are available.
+     */
+    public CompletableFuture<Void> preload(Collection<UUID> playerIds) {
+        return load(playerIds).thenAccept(sessions::putAll);
+    }
+
+    /**
+     * Loads the session of a connecting player, refusing the login if the data cannot be loaded in time.
+     *
+     * @param event The pre-login event.
+     */
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        UUID playerId = event.getUniqueId();
+        try {
+            PlayerSession session = load(List.of(playerId)).get(loadTimeoutMillis, TimeUnit.MILLISECONDS).get(playerId);
+            sessions.put(playerId, session);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            refuse(event, e);
+        } catch (ExecutionException | TimeoutException e) {
+            refuse(event, e);
+        }
+    }
+
+    /**
+     * Drops the session of a player whose login was refused after pre-login, e.g. by a whitelist or ban.
+     *
+     * @param event The login event.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLogin(PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            end(event.getPlayer().getUniqueId());
+        }
+    }
+
+    /**
+     * Ends the session of a leaving player and writes its dirty parts.
+     *
+     * @param event The quit event.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        end(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Writes the dirty parts of all sessions in one transaction, e.g. periodically or before a restart, including
+     * the sessions of players who left and whose data could not be written yet.
+     *
+     * @return A future completed once the changes are written.
+     */
+    public CompletableFuture<Void> flushAll() {
+        List<PlayerSession> all = new ArrayList<>(sessions.values());
+        all.addAll(ending.values());
+        return flush(all);
+    }
+
+    /**
+     * Writes the dirty parts of the given sessions in one transaction, on the database executor. The sessions of
+     * players who left are kept until they are written.
+     *
+     * @param toFlush The sessions to write.
+     * @return A future completed once the changes are written, or failed if the transaction was rolled back.
+     */
+    public CompletableFuture<Void> flush(Collection<PlayerSession> toFlush) {
+        List<PlayerSession> batch = new ArrayList<>(toFlush);
+        batch.removeIf(session -> !session.isDirty());
+        if (batch.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> flush = new CompletableFuture<>();
+        for (PlayerSession session : batch) {
+            pendingFlushes.put(session.getPlayerId(), flush);
+        }
+        flush.whenComplete((ignored, error) -> batch.forEach(session -> {
+            pendingFlushes.remove(session.getPlayerId(), flush);
+            if (error == null && !session.isDirty()) {
+                ending.remove(session.getPlayerId(), session);
+            }
+        }));
+        try {
+            executor.execute(() -> {
+                try {
+                    write(batch);
+                    flush.complete(null);
+                } catch (RuntimeException e) {
+                    flush.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            flush.completeExceptionally(e);
+        }
+        return flush;
+    }
+
+    /**
+     * Writes the sessions of all online players and of players whose data could not be written yet, and waits
+     * for every pending write.
+     */
+    @Override
+    public void close() {
+        flushAll();
+        List<CompletableFuture<Void>> pending = new ArrayList<>(pendingFlushes.values());
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Failed to write player sessions on shutdown", e);
+        }
+        if (!ending.isEmpty()) {
+            LOGGER.severe("The data of " + ending.size() + " players who left could not be written and is lost");
+        }
+        sessions.clear();
+        ending.clear();
+    }
+
+    /**
+     * Loads the sessions of several players, running every part in parallel once earlier writes of these
+     * players are done.
+     *
+     * @param playerIds The UUIDs of the players.
+     * @return A future completed with the sessions by player UUID, or failed if an earlier session of one of the
+     * players could not be written.
+     */
+    private CompletableFuture<Map<UUID, PlayerSession>> load(Collection<UUID> playerIds) {
+        List<UUID> ids = List.copyOf(playerIds);
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (UUID playerId : ids) {
+            pending.add(awaitWritten(playerId));
+        }
+
+        return CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0]))
+                .thenCompose(ignored -> {
+                    Map<UUID, PlayerSession> loaded = new HashMap<>();
+                    for (UUID playerId : ids) {
+                        loaded.put(playerId, new PlayerSession(playerId));
+                    }
+                    List<CompletableFuture<Void>> loads = new ArrayList<>(parts.size());
+                    for (SessionPart<?> part : parts) {
+                        loads.add(executor.run(() -> loadPart(part, ids, loaded)));
+                    }
+                    return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]))
+                            .thenApply(done -> loaded);
+                });
+    }
+
+    /**
+     * Waits until the last session of a player is written. If its write failed, it is retried once.
+     *
+     * @param playerId The UUID of the player.
+     * @return A future completed once the player's data in the database is current, or failed if the retry failed.
+     */
+    private CompletableFuture<Void> awaitWritten(UUID playerId) {
+        CompletableFuture<Void> flush = pendingFlushes.get(playerId);
+        CompletableFuture<Void> settled = flush == null
+                ? CompletableFuture.completedFuture(null)
+                : flush.handle((ignored, error) -> null);
+        return settled.thenCompose(ignored -> {
+            PlayerSession unwritten = ending.get(playerId);
+            return unwritten == null ? CompletableFuture.completedFuture(null) : flush(List.of(unwritten));
+        });
+    }
+
+    /**
+     * Loads one part into the given sessions.
+     *
+     * @param part     The part.
+     * @param ids      The UUIDs of the players.
+     * @param sessions The sessions to fill, by player UUID.
+     */
+    private static void loadPart(SessionPart<?> part, List<UUID> ids, Map<UUID, PlayerSession> sessions) {
+        long started = System.nanoTime();
+        try {
+            part.load(ids).forEach((playerId, value) -> {
+                PlayerSession session = sessions.get(playerId);
+                if (session != null && value != null) {
+                    session.putLoaded(part, value);
+                }
+            });
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to load the " + part.getName() + " session data", e);
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine(String.format("Loaded %s of %d players in %d ms", part.getName(), ids.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)));
+        }
+    }
+
+    /**
+     * Writes the dirty parts of the given sessions in one transaction. Parts are written in registration order.
+     * If the transaction fails, the parts are marked dirty again.
+     *
+     * @param batch The sessions to write.
+     * @throws DataAccessException If the transaction was rolled back.
+     */
+    private void write(List<PlayerSession> batch) {
+        Map<SessionPart<?>, Map<UUID, Object>> byPart = new LinkedHashMap<>();
+        for (SessionPart<?> part : parts) {
+            byPart.put(part, new LinkedHashMap<>());
+        }
+        for (PlayerSession session : batch) {
+            session.drainDirty().forEach((part, value) ->
+                    byPart.computeIfAbsent(part, key -> new LinkedHashMap<>()).put(session.getPlayerId(), value));
+        }
+        byPart.values().removeIf(Map::isEmpty);
+        if (byPart.isEmpty()) {
+            return;
+        }
+
+        try {
+            connectionManager.inTransaction(connection -> {
+                for (Map.Entry<SessionPart<?>, Map<UUID, Object>> entry : byPart.entrySet()) {
+                    save(entry.getKey(), connection, entry.getValue());
+                }
+                return null;
+            });
+            for (PlayerSession session : batch) {
+                connectionManager.markWritten(session.getPlayerId());
+            }
+        } catch (SQLException | RuntimeException e) {
+            for (PlayerSession session : batch) {
+                byPart.forEach((part, values) -> {
+                    if (values.containsKey(session.getPlayerId())) {
+                        session.markDirty(part);
+                    }
+                });
+            }
+            LOGGER.log(Level.SEVERE, "Failed to write the sessions of " + batch.size() + " players", e);
+            throw new DataAccessException("Failed to write player sessions", e);
+        }
+    }
+
+    /**
+     * Writes the values of one part.
+     *
+     * @param part       The part.
+     * @param connection The connection of the flush transaction.
+     * @param values     The values by player UUID, all of the part's type.
+     * @param <T>        The type of the part's data.
+     * @throws SQLException If the values could not be written.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void save(SessionPart<T> part, Connection connection, Map<UUID, Object> values) throws SQLException {
+        part.save(connection, (Map<UUID, T>) (Map<UUID, ?>) values);
+    }
+
+    /**
+     * Removes a session and writes its dirty parts, together with those of earlier sessions whose write failed
+     * and is not being retried. The session is kept until it is written.
+     *
+     * @param playerId The UUID of the player.
+     */
+    private void end(UUID playerId) {
+        PlayerSession session = sessions.remove(playerId);
+        if (session == null || !session.isDirty()) {
+            return;
+        }
+        List<PlayerSession> batch = new ArrayList<>();
+        for (PlayerSession unwritten : ending.values()) {
+            if (!pendingFlushes.containsKey(unwritten.getPlayerId())) {
+                batch.add(unwritten);
+            }
+        }
+        ending.put(playerId, session);
+        batch.add(session);
+        flush(batch);
+    }
+
+    /**
+     * Refuses a login whose data could not be loaded.
+     *
+     * @param event The pre-login event.
+     * @param cause The failure.
+     */
+    private static void refuse(AsyncPlayerPreLoginEvent event, Exception cause) {
+        LOGGER.log(Level.WARNING, "Could not load the session of " + event.getName() + ", refusing the login", cause);
+        event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER, "Your player data could not be loaded, please try again.");
+    }
+}
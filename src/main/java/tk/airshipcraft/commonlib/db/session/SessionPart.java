@@ -0,0 +1,54 @@
+package tk.airshipcraft.commonlib.db.session;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * <p>One kind of per-player data kept in a {@link PlayerSession}, such as the player's {@code User} row or their
+ * preferences. Parts are registered with {@link PlayerSessionManager#register(SessionPart)}, and the registered
+ * instance is the key its value is read with.</p>
+ *
+ * <p>Parts load the data of several players at once, so that a part costs one query per login, and the players
+ * online when the server starts are loaded with one query per part as well. {@link SessionParts} provides parts
+ * for the built-in DAOs.</p>
+ *
+ * @param <T> the type of the data
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public interface SessionPart<T> {
+
+    /**
+     * Loads the data of several players. Runs on a database worker thread, in parallel with the other parts.
+     *
+     * @param playerIds The UUIDs of the players.
+     * @return The data by player UUID; players without data may be left out.
+     * @throws SQLException If the data could not be loaded, which refuses the login.
+     */
+    Map<UUID, T> load(Collection<UUID> playerIds) throws SQLException;
+
+    /**
+     * Writes the changed data of several players, inside the transaction all parts are flushed in.
+     * Exceptions must be propagated, so the transaction is rolled back. The default implementation does nothing,
+     * for read-only parts.
+     *
+     * @param connection The connection of the flush transaction.
+     * @param values     The changed data by player UUID.
+     * @throws SQLException If the data could not be written.
+     */
+    default void save(Connection connection, Map<UUID, T> values) throws SQLException {
+    }
+
+    /**
+     * Returns the name of this part, used in log messages.
+     *
+     * @return The name.
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
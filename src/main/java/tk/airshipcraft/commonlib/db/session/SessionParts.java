@@ -0,0 +1,204 @@
+package tk.airshipcraft.commonlib.db.session;
+
+import tk.airshipcraft.commonlib.configuration.IPlayerPreference;
+import tk.airshipcraft.commonlib.configuration.impl.PreferenceProcessor;
+import tk.airshipcraft.commonlib.db.SqlConnectionManager;
+import tk.airshipcraft.commonlib.db.dao.AuthDataDao;
+import tk.airshipcraft.commonlib.db.dao.WarningDao;
+import tk.airshipcraft.commonlib.db.dao.impl.SqlUserDao;
+import tk.airshipcraft.commonlib.db.mapping.SqlDao;
+import tk.airshipcraft.commonlib.db.model.AuthData;
+import tk.airshipcraft.commonlib.db.model.User;
+import tk.airshipcraft.commonlib.db.model.Warning;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Provides {@link SessionPart}s for the built-in DAOs and for plugin tables mapped with {@link SqlDao}.
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * SessionPart<User> users = sessions.register(SessionParts.users(sqlUserDao));
+ * SessionPart<List<Warning>> warnings = sessions.register(SessionParts.recentWarnings(warningDao, 5));
+ * SessionPart<MyPreferences> preferences = sessions.register(SessionParts.preferences(connectionManager, MyPreferences::new));
+ * }</pre>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+public final class SessionParts {
+
+    private SessionParts() {
+        // Utility class
+    }
+
+    /**
+     * Creates a part holding each player's {@link User}, loaded with one {@code IN (...)} query and written
+     * with one JDBC batch.
+     *
+     * @param userDao The user DAO.
+     * @return The part.
+     */
+    public static SessionPart<User> users(SqlUserDao userDao) {
+        return new SessionPart<>() {
+            @Override
+            public Map<UUID, User> load(Collection<UUID> playerIds) {
+                return byId(userDao.findAllById(playerIds), User::getId);
+            }
+
+            @Override
+            public void save(Connection connection, Map<UUID, User> values) throws SQLException {
+                userDao.updateBatch(connection, new ArrayList<>(values.values()));
+            }
+
+            @Override
+            public String getName() {
+                return "users";
+            }
+        };
+    }
+
+    /**
+     * Creates a read-only part holding each player's {@link AuthData}, loaded with one {@code IN (...)} query.
+     * Account linking keeps writing through the DAO.
+     *
+     * @param authDataDao The auth data DAO.
+     * @return The part.
+     */
+    public static SessionPart<AuthData> authData(AuthDataDao authDataDao) {
+        return new SessionPart<>() {
+            @Override
+            public Map<UUID, AuthData> load(Collection<UUID> playerIds) {
+                return byId(authDataDao.findAllById(playerIds), AuthData::getId);
+            }
+
+            @Override
+            public String getName() {
+                return "auth data";
+            }
+        };
+    }
+
+    /**
+     * Creates a read-only part holding the most recent warnings issued to each player, newest first, loaded with
+     * {@link WarningDao#findRecentByUsers(Collection, int)}, one {@code IN (...)} query for the SQL DAO.
+     * Warnings are issued through the DAO, not through the session.
+     *
+     * @param warningDao The warning DAO.
+     * @param limit      The number of warnings to load per player.
+     * @return The part.
+     */
+    public static SessionPart<List<Warning>> recentWarnings(WarningDao warningDao, int limit) {
+        return new SessionPart<>() {
+            @Override
+            public Map<UUID, List<Warning>> load(Collection<UUID> playerIds) {
+                Map<UUID, List<Warning>> warnings = new HashMap<>();
+                warningDao.findRecentByUsers(playerIds, limit).forEach((playerId, recent) ->
+                        warnings.put(playerId, List.copyOf(recent)));
+                for (UUID playerId : playerIds) {
+                    warnings.putIfAbsent(playerId, List.of());
+                }
+                return warnings;
+            }
+
+            @Override
+            public String getName() {
+                return "recent warnings";
+            }
+        };
+    }
+
+    /**
+     * Creates a part holding each player's preferences through {@link PreferenceProcessor}: loaded from the primary
+     * with one {@code IN (...)} query and written with one upsert per player. Every player gets a preference object,
+     * with defaults for unset fields. If the preferences cannot be read the load fails and the login is refused,
+     * so defaults are never written over stored preferences.
+     *
+     * @param connectionManager The connection manager used for loading.
+     * @param factory           Creates a preference object with default values.
+     * @param <P>               The type of the preferences.
+     * @return The part.
+     */
+    public static <P extends IPlayerPreference> SessionPart<P> preferences(SqlConnectionManager connectionManager,
+                                                                          Supplier<P> factory) {
+        return new SessionPart<>() {
+            @Override
+            public Map<UUID, P> load(Collection<UUID> playerIds) throws SQLException {
+                Map<UUID, P> preferences = new HashMap<>();
+                for (UUID playerId : playerIds) {
+                    preferences.put(playerId, factory.get());
+                }
+                try (Connection connection = connectionManager.getConnection()) {
+                    PreferenceProcessor.loadAllFromDatabase(preferences, connection);
+                }
+                return preferences;
+            }
+
+            @Override
+            public void save(Connection connection, Map<UUID, P> values) throws SQLException {
+                for (Map.Entry<UUID, P> entry : values.entrySet()) {
+                    PreferenceProcessor.saveToDatabase(entry.getKey(), entry.getValue(), connection);
+                }
+            }
+
+            @Override
+            public String getName() {
+                return "preferences";
+            }
+        };
+    }
+
+    /**
+     * Creates a part holding one entity per player from a plugin table keyed by player UUID, loaded with one
+     * {@code IN (...)} query and written with one JDBC batch.
+     *
+     * @param dao        The DAO of the table.
+     * @param idFunction Returns the player UUID of an entity.
+     * @param <T>        The type of the entity.
+     * @return The part.
+     */
+    public static <T> SessionPart<T> entities(SqlDao<T, UUID> dao, Function<T, UUID> idFunction) {
+        return new SessionPart<>() {
+            @Override
+            public Map<UUID, T> load(Collection<UUID> playerIds) {
+                return byId(dao.findAllById(playerIds), idFunction);
+            }
+
+            @Override
+            public void save(Connection connection, Map<UUID, T> values) throws SQLException {
+                dao.updateBatch(connection, new ArrayList<>(values.values()));
+            }
+
+            @Override
+            public String getName() {
+                return dao.getTable();
+            }
+        };
+    }
+
+    /**
+     * Indexes entities by player UUID.
+     *
+     * @param entities   The entities.
+     * @param idFunction Returns the player UUID of an entity.
+     * @param <T>        The type of the entity.
+     * @return The entities by player UUID.
+     */
+    private static <T> Map<UUID, T> byId(List<T> entities, Function<T, UUID> idFunction) {
+        Map<UUID, T> byId = new HashMap<>();
+        for (T entity : entities) {
+            byId.put(idFunction.apply(entity), entity);
+        }
+        return byId;
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * Provides per-player sessions: all registered player data is loaded in parallel at pre-login, kept in memory
+ * while the player is online and written in one transaction when they quit.
+ *
+ * <ul>
+ *   <li>{@link tk.airshipcraft.commonlib.db.session.PlayerSessionManager} - Listener loading and writing player sessions.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.session.PlayerSession} - The in-memory data of one online player.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.session.SessionPart} - One kind of per-player data, loaded for many players at once.</li>
+ *   <li>{@link tk.airshipcraft.commonlib.db.session.SessionParts} - Parts for users, auth data, warnings, preferences and SqlDao tables.</li>
+ * </ul>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+package tk.airshipcraft.commonlib.db.session;
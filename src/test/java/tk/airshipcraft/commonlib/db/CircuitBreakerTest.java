@@ -0,0 +1,62 @@
+package tk.airshipcraft.commonlib.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that statements only feed the circuit breaker's window and never decide a half-open probe.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+class CircuitBreakerTest {
+
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(5);
+
+    @Test
+    void ignoresStatementsWithoutAStatementThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 4, 2, 50, 1000L, 60_000L, 1);
+        assertFalse(breaker.isRecordingStatements());
+
+        for (int i = 0; i < 4; i++) {
+            breaker.onStatement(SLOW, true);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getFailureRatePercent());
+    }
+
+    @Test
+    void opensOnSlowStatementsAboveTheStatementThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 4, 2, 50, 1000L, 60_000L, 1, 2000L);
+        assertTrue(breaker.isRecordingStatements());
+
+        breaker.onStatement(TimeUnit.MILLISECONDS.toNanos(1500), false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onStatement(SLOW, false);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void onlyCheckoutsDecideAHalfOpenProbe() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 1, 50, 1000L, 0L, 1, 2000L);
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        // Statements still running on connections checked out before the breaker opened
+        breaker.onStatement(0L, false);
+        breaker.onStatement(SLOW, true);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onSuccess(0L);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
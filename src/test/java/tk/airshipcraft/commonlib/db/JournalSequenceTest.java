@@ -0,0 +1,89 @@
+package tk.airshipcraft.commonlib.db;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tk.airshipcraft.commonlib.db.codec.UserStatDeltaCodec;
+import tk.airshipcraft.commonlib.db.model.UserStat;
+import tk.airshipcraft.commonlib.db.model.UserStatDelta;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that journal sequences never repeat across restarts, independently of the system clock.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+class JournalSequenceTest {
+
+    private static final int JOURNAL_SIZE = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void continuesAboveIssuedSequencesAfterTheJournalWasEmptied() throws IOException {
+        Path path = directory.resolve("user-stats.journal");
+        long last;
+        try (WriteJournal<UserStatDelta> journal = open(path)) {
+            JournalSequence sequence = new JournalSequence(journal, 1L, 4L);
+            last = 0L;
+            for (int i = 0; i < 10; i++) {
+                long next = sequence.next();
+                assertTrue(next > last);
+                last = next;
+            }
+            // Everything reached the database, so no record is left to seed the next start from
+            journal.clear();
+        }
+
+        // A clock-seeded sequence restarted here after the clock was set back would repeat numbers the database
+        // already recorded for this journal, and their deltas would be skipped
+        try (WriteJournal<UserStatDelta> journal = open(path)) {
+            JournalSequence sequence = new JournalSequence(journal, 1L, 4L);
+            assertTrue(sequence.next() > last);
+        }
+    }
+
+    @Test
+    void continuesAboveRecoveredRecords() throws IOException {
+        Path path = directory.resolve("user-stats.journal");
+        try (WriteJournal<UserStatDelta> journal = open(path)) {
+            assertEquals(1L, new JournalSequence(journal, 1L, 4L).next());
+            journal.append(UserStatDelta.of(UUID.randomUUID(), UserStat.TOTAL_BLOCKS_BROKEN, 1).withSequence(100L));
+        }
+
+        try (WriteJournal<UserStatDelta> journal = open(path)) {
+            long minimum = journal.readAll().get(0).getSequence() + 1;
+            assertEquals(101L, new JournalSequence(journal, minimum, 4L).next());
+        }
+    }
+
+    @Test
+    void reservesBlocksInTheJournalHeader() throws IOException {
+        Path path = directory.resolve("user-stats.journal");
+        try (WriteJournal<UserStatDelta> journal = open(path)) {
+            JournalSequence sequence = new JournalSequence(journal, 1L, 4L);
+            sequence.next();
+            assertEquals(5L, journal.getHighWaterMark());
+            for (int i = 0; i < 4; i++) {
+                sequence.next();
+            }
+            assertEquals(9L, journal.getHighWaterMark());
+        }
+
+        try (WriteJournal<UserStatDelta> journal = open(path)) {
+            assertEquals(9L, journal.getHighWaterMark());
+        }
+    }
+
+    private static WriteJournal<UserStatDelta> open(Path path) throws IOException {
+        return new WriteJournal<>(path, new UserStatDeltaCodec(), JOURNAL_SIZE, JOURNAL_SIZE);
+    }
+}
@@ -0,0 +1,160 @@
+package tk.airshipcraft.commonlib.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tk.airshipcraft.commonlib.db.TableManager.Outcome;
+import tk.airshipcraft.commonlib.db.TableManager.SetupResult;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link TableManager#setupPluginTables()} against an in-memory H2 database to check when the schema ledger
+ * lets it skip a configuration.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+class TableManagerTest {
+
+    private SqlConnectionManager connectionManager;
+
+    @BeforeEach
+    void open() {
+        DatabaseConfig config = new DatabaseConfig();
+        // The same compatibility settings as SqlDialect.embeddedH2Url, in memory
+        config.setJdbcUrl("jdbc:h2:mem:table-manager-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        connectionManager = new SqlConnectionManager(config);
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        try (Connection connection = connectionManager.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+        connectionManager.close();
+    }
+
+    @Test
+    void skipsConfigurationsWhoseChecksumIsUnchanged() {
+        // Without IF NOT EXISTS the creation command fails if it is ever run a second time
+        Configuration homes = new Configuration("homes", 1, "CREATE TABLE homes (id INT PRIMARY KEY)");
+
+        assertEquals(List.of(Outcome.CREATED), outcomes(setup(homes)));
+        assertEquals(List.of(Outcome.UP_TO_DATE), outcomes(setup(homes)));
+    }
+
+    @Test
+    void rerunsCreationCommandsWhenTheirChecksumChanged() throws SQLException {
+        Configuration homes = new Configuration("homes", 1, "CREATE TABLE IF NOT EXISTS homes (id INT PRIMARY KEY)");
+        setup(homes);
+
+        Configuration changed = new Configuration("homes", 1, "CREATE TABLE IF NOT EXISTS homes (id INT PRIMARY KEY)",
+                "CREATE TABLE IF NOT EXISTS home_invites (home INT NOT NULL, player UUID NOT NULL)");
+        List<SetupResult> results = setup(changed);
+
+        assertEquals(List.of(Outcome.REAPPLIED), outcomes(results));
+        assertEquals(1, results.get(0).fromVersion());
+        assertEquals(1, results.get(0).toVersion());
+        assertTrue(tableExists("home_invites"));
+        assertEquals(List.of(Outcome.UP_TO_DATE), outcomes(setup(changed)));
+    }
+
+    @Test
+    void rejectsConfigurationsInADependencyCycle() throws SQLException {
+        Configuration towns = new Configuration("towns", 1, "CREATE TABLE towns (id INT PRIMARY KEY)")
+                .dependingOn("nations");
+        Configuration nations = new Configuration("nations", 1, "CREATE TABLE nations (id INT PRIMARY KEY)")
+                .dependingOn("towns");
+        Configuration homes = new Configuration("homes", 1, "CREATE TABLE homes (id INT PRIMARY KEY)");
+
+        List<SetupResult> results = setup(towns, nations, homes);
+
+        assertEquals(List.of("towns", "nations", "homes"),
+                results.stream().map(SetupResult::configurationId).toList());
+        assertEquals(List.of(Outcome.FAILED, Outcome.FAILED, Outcome.CREATED), outcomes(results));
+        assertFalse(tableExists("towns"));
+        assertFalse(tableExists("nations"));
+        assertTrue(tableExists("homes"));
+    }
+
+    private List<SetupResult> setup(Configuration... configurations) {
+        TableManager tableManager = new TableManager(connectionManager);
+        for (Configuration configuration : configurations) {
+            tableManager.registerPluginTableConfiguration(configuration);
+        }
+        return tableManager.setupPluginTables();
+    }
+
+    private static List<Outcome> outcomes(List<SetupResult> results) {
+        return results.stream().map(SetupResult::outcome).toList();
+    }
+
+    private boolean tableExists(String table) throws SQLException {
+        try (Connection connection = connectionManager.getConnection();
+             ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, table, null)) {
+            return tables.next();
+        }
+    }
+
+    /**
+     * A table configuration without migrations.
+     */
+    private static final class Configuration implements ITableConfiguration {
+
+        private final String id;
+        private final int version;
+        private final List<String> creationCommands;
+        private final List<String> dependencies = new ArrayList<>();
+
+        Configuration(String id, int version, String... creationCommands) {
+            this.id = id;
+            this.version = version;
+            this.creationCommands = List.of(creationCommands);
+        }
+
+        Configuration dependingOn(String dependency) {
+            dependencies.add(dependency);
+            return this;
+        }
+
+        @Override
+        public List<String> getTableCreationCommands() {
+            return creationCommands;
+        }
+
+        @Override
+        public List<String> getMigrationCommands(int currentVersion) {
+            return List.of();
+        }
+
+        @Override
+        public int getLatestVersion() {
+            return version;
+        }
+
+        @Override
+        public String getConfigurationId() {
+            return id;
+        }
+
+        @Override
+        public Collection<String> getDependencies() {
+            return dependencies;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package tk.airshipcraft.commonlib.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks when the completion actions registered through {@link TransactionSynchronization} run.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+class TransactionContextTest {
+
+    private Connection connection;
+    private TransactionContext transaction;
+    private TransactionContext enclosing;
+    private final List<String> events = new ArrayList<>();
+
+    @BeforeEach
+    void begin() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:transaction-context");
+        connection.setAutoCommit(false);
+        transaction = new TransactionContext(connection);
+        enclosing = TransactionSynchronization.bind(transaction);
+    }
+
+    @AfterEach
+    void end() throws SQLException {
+        TransactionSynchronization.restore(enclosing);
+        connection.close();
+    }
+
+    @Test
+    void runsActionsAtOnceOutsideATransaction() {
+        TransactionSynchronization.restore(enclosing);
+        TransactionSynchronization.afterCommit(() -> events.add("commit"));
+        TransactionSynchronization.afterRollback(() -> events.add("rollback"));
+        assertEquals(List.of("commit"), events);
+    }
+
+    @Test
+    void defersCommitActionsUntilTheTransactionCommits() {
+        TransactionSynchronization.afterCommit(() -> events.add("commit"));
+        TransactionSynchronization.afterRollback(() -> events.add("rollback"));
+        assertTrue(events.isEmpty());
+
+        transaction.complete(true);
+        assertEquals(List.of("commit"), events);
+    }
+
+    @Test
+    void runsRollbackActionsWhenTheTransactionRollsBack() {
+        TransactionSynchronization.afterCommit(() -> events.add("commit"));
+        TransactionSynchronization.afterRollback(() -> events.add("rollback"));
+
+        transaction.complete(false);
+        assertEquals(List.of("rollback"), events);
+    }
+
+    @Test
+    void releasedSavepointsHandTheirActionsToTheEnclosingScope() throws SQLException {
+        transaction.pushSavepoint();
+        TransactionSynchronization.afterCommit(() -> events.add("nested commit"));
+        transaction.popSavepoint(true);
+        assertTrue(events.isEmpty());
+
+        transaction.complete(true);
+        assertEquals(List.of("nested commit"), events);
+    }
+
+    @Test
+    void rolledBackSavepointsRunTheirRollbackActionsAndDropTheirCommitActions() throws SQLException {
+        TransactionSynchronization.afterCommit(() -> events.add("outer commit"));
+        transaction.pushSavepoint();
+        TransactionSynchronization.afterCommit(() -> events.add("nested commit"));
+        TransactionSynchronization.afterRollback(() -> events.add("nested rollback"));
+        transaction.popSavepoint(false);
+        assertEquals(List.of("nested rollback"), events);
+
+        transaction.complete(true);
+        assertEquals(List.of("nested rollback", "outer commit"), events);
+    }
+
+    @Test
+    void failingActionsDoNotStopTheOthers() {
+        TransactionSynchronization.afterCommit(() -> {
+            throw new IllegalStateException("cache unavailable");
+        });
+        TransactionSynchronization.afterCommit(() -> events.add("commit"));
+
+        transaction.complete(true);
+        assertEquals(List.of("commit"), events);
+    }
+}
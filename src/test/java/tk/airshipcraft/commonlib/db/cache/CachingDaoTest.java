@@ -0,0 +1,171 @@
+package tk.airshipcraft.commonlib.db.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tk.airshipcraft.commonlib.db.GenericDao;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Interleaves cache misses with writes to check that a row loaded before a write never replaces the written one.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+class CachingDaoTest {
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor();
+    private final PausingDao database = new PausingDao();
+    private final CachingDao<Row, String> dao = new CachingDao<>(database, Row::id, 100,
+            Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    @AfterEach
+    void stop() {
+        loader.shutdownNow();
+    }
+
+    @Test
+    void loadStartedBeforeAnUpdateDoesNotOverwriteIt() throws Exception {
+        database.rows.put("a", new Row("a", 1));
+
+        Future<Optional<Row>> load = database.pauseNextLoad(() -> loader.submit(() -> dao.findById("a")));
+        dao.update(new Row("a", 2));
+        database.resume();
+
+        assertEquals(1, load.get(5, TimeUnit.SECONDS).orElseThrow().version());
+        assertEquals(2, dao.getCached("a").orElseThrow().version());
+        assertEquals(2, dao.findById("a").orElseThrow().version());
+    }
+
+    @Test
+    void loadStartedBeforeADeleteDoesNotBringTheRowBack() throws Exception {
+        database.rows.put("a", new Row("a", 1));
+
+        Future<Optional<Row>> load = database.pauseNextLoad(() -> loader.submit(() -> dao.findById("a")));
+        dao.deleteById("a");
+        database.resume();
+
+        assertTrue(load.get(5, TimeUnit.SECONDS).isPresent());
+        assertTrue(dao.getCached("a").isEmpty());
+        assertTrue(dao.findById("a").isEmpty());
+    }
+
+    @Test
+    void missStartedBeforeACreateIsNotRememberedAsMissing() throws Exception {
+        Future<Optional<Row>> load = database.pauseNextLoad(() -> loader.submit(() -> dao.findById("a")));
+        dao.create(new Row("a", 1));
+        // Drop the created row from the cache, so the next lookup has to get past the negative cache
+        dao.invalidate("a");
+        database.resume();
+
+        assertTrue(load.get(5, TimeUnit.SECONDS).isEmpty());
+        assertEquals(1, dao.findById("a").orElseThrow().version());
+    }
+
+    @Test
+    void loadWithoutConcurrentWritesIsCached() {
+        database.rows.put("a", new Row("a", 1));
+
+        assertEquals(1, dao.findById("a").orElseThrow().version());
+        assertEquals(1, dao.getCached("a").orElseThrow().version());
+        assertEquals(1, database.loads);
+    }
+
+    /**
+     * A cached entity.
+     *
+     * @param id      The identifier.
+     * @param version The version of the row.
+     */
+    private record Row(String id, int version) {
+    }
+
+    /**
+     * An in-memory DAO whose next lookup can be held after it read the row, as if the result were still in transit.
+     */
+    private static final class PausingDao implements GenericDao<Row, String> {
+
+        private final Map<String, Row> rows = new ConcurrentHashMap<>();
+        private volatile CountDownLatch loaded;
+        private volatile CountDownLatch resume;
+        private volatile boolean pauseNext;
+        private volatile int loads;
+
+        /**
+         * Starts a lookup and waits until it has read the row.
+         *
+         * @param start Starts the lookup on another thread.
+         * @param <R>   The result type.
+         * @return The result of {@code start}.
+         * @throws Exception If the lookup could not be started or waiting was interrupted.
+         */
+        <R> R pauseNextLoad(Callable<R> start) throws Exception {
+            loaded = new CountDownLatch(1);
+            resume = new CountDownLatch(1);
+            pauseNext = true;
+            R result = start.call();
+            assertTrue(loaded.await(5, TimeUnit.SECONDS));
+            return result;
+        }
+
+        /**
+         * Lets the held lookup return.
+         */
+        void resume() {
+            resume.countDown();
+        }
+
+        @Override
+        public Optional<Row> findById(String id) {
+            loads++;
+            Optional<Row> row = Optional.ofNullable(rows.get(id));
+            if (pauseNext) {
+                pauseNext = false;
+                loaded.countDown();
+                try {
+                    resume.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return row;
+        }
+
+        @Override
+        public List<Row> findAll() {
+            return new ArrayList<>(rows.values());
+        }
+
+        @Override
+        public Row create(Row entity) {
+            rows.put(entity.id(), entity);
+            return entity;
+        }
+
+        @Override
+        public Row update(Row entity) {
+            rows.put(entity.id(), entity);
+            return entity;
+        }
+
+        @Override
+        public void deleteById(String id) {
+            rows.remove(id);
+        }
+    }
+}
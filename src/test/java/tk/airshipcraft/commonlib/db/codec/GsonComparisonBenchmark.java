@@ -0,0 +1,79 @@
+package tk.airshipcraft.commonlib.db.codec;
+
+import org.junit.jupiter.api.Test;
+import tk.airshipcraft.commonlib.db.model.LocationObj;
+import tk.airshipcraft.commonlib.db.model.User;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static tk.airshipcraft.commonlib.db.codec.GsonComparisonTest.GSON;
+import static tk.airshipcraft.commonlib.db.codec.GsonComparisonTest.LOCATION;
+import static tk.airshipcraft.commonlib.db.codec.GsonComparisonTest.USER;
+
+/**
+ * <p>Compares the encode/decode throughput of the compact codecs with Gson and prints the results.</p>
+ *
+ * <p>This is a plain timing loop rather than a JMH harness, so treat its numbers as relative. Its name does not
+ * match the test classes surefire runs by default; run it with {@code mvn test -Pbenchmark}.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+class GsonComparisonBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+
+    private static volatile long sink;
+
+    @Test
+    void throughput() {
+        UserCodec users = new UserCodec();
+        LocationObjCodec locations = new LocationObjCodec();
+        byte[] userBytes = users.encode(USER);
+        byte[] locationBytes = locations.encode(LOCATION);
+        String userJson = GSON.toJson(USER);
+        String locationJson = GSON.toJson(LOCATION);
+
+        System.out.printf("%-28s %10s %12s%n", "operation", "bytes", "ops/s");
+        report("User encode (codec)", userBytes.length, USER, value -> users.encode(value).length);
+        report("User encode (Gson)", userJson.getBytes(StandardCharsets.UTF_8).length, USER,
+                value -> GSON.toJson(value).getBytes(StandardCharsets.UTF_8).length);
+        report("User decode (codec)", userBytes.length, userBytes, bytes -> users.decode(bytes).getTotalKills());
+        report("User decode (Gson)", userJson.getBytes(StandardCharsets.UTF_8).length, userJson,
+                json -> GSON.fromJson(json, User.class).getTotalKills());
+        report("LocationObj encode (codec)", locationBytes.length, LOCATION, value -> locations.encode(value).length);
+        report("LocationObj encode (Gson)", locationJson.getBytes(StandardCharsets.UTF_8).length, LOCATION,
+                value -> GSON.toJson(value).getBytes(StandardCharsets.UTF_8).length);
+        report("LocationObj decode (codec)", locationBytes.length, locationBytes,
+                bytes -> (int) locations.decode(bytes).getX());
+        report("LocationObj decode (Gson)", locationJson.getBytes(StandardCharsets.UTF_8).length, locationJson,
+                json -> (int) GSON.fromJson(json, LocationObj.class).getX());
+    }
+
+    /**
+     * Times an operation after a warm-up and prints its throughput.
+     *
+     * @param name      The name of the operation.
+     * @param size      The payload size in bytes.
+     * @param input     The input of every call.
+     * @param operation The operation, returning a value that is consumed so it cannot be optimized away.
+     * @param <I>       The type of the input.
+     */
+    private static <I> void report(String name, int size, I input, Function<I, Integer> operation) {
+        long consumed = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            consumed += operation.apply(input);
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            consumed += operation.apply(input);
+        }
+        long elapsed = System.nanoTime() - started;
+        sink = consumed;
+        System.out.printf("%-28s %10d %12.0f%n", name, size, MEASURED_ITERATIONS * (double) TimeUnit.SECONDS.toNanos(1) / elapsed);
+    }
+}
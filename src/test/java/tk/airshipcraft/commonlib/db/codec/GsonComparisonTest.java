@@ -0,0 +1,56 @@
+package tk.airshipcraft.commonlib.db.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import org.junit.jupiter.api.Test;
+import tk.airshipcraft.commonlib.db.model.LocationObj;
+import tk.airshipcraft.commonlib.db.model.User;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <p>Compares the compact codecs with Gson, the JSON serializer already in the build, on payload size. The
+ * encode/decode throughput is measured separately by {@link GsonComparisonBenchmark}.</p>
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+class GsonComparisonTest {
+
+    static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(Timestamp.class, (JsonSerializer<Timestamp>) (timestamp, type, context) ->
+                    new JsonPrimitive(timestamp.getTime()))
+            .registerTypeAdapter(Timestamp.class, (JsonDeserializer<Timestamp>) (json, type, context) ->
+                    new Timestamp(json.getAsLong()))
+            .create();
+
+    static final User USER = new User(UUID.randomUUID(), "Notch", new Timestamp(1_700_000_000_000L),
+            new Timestamp(1_760_000_000_000L), new Timestamp(1_760_000_360_000L), 3_600_000L, 12, 340, 25_000, 17);
+    static final LocationObj LOCATION = new LocationObj(UUID.randomUUID(), "world", 1024.5, 64.0, -2048.25,
+            12.5f, -90f);
+
+    @Test
+    void compactPayloadsAreSmallerThanJson() {
+        UserCodec users = new UserCodec();
+        LocationObjCodec locations = new LocationObjCodec();
+
+        byte[] userJson = GSON.toJson(USER).getBytes(StandardCharsets.UTF_8);
+        byte[] locationJson = GSON.toJson(LOCATION).getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(USER.toString(), users.decode(users.encode(USER)).toString());
+        assertEquals(USER.toString(), GSON.fromJson(new String(userJson, StandardCharsets.UTF_8), User.class).toString());
+        assertEquals(LOCATION, locations.decode(locations.encode(LOCATION)));
+        assertEquals(LOCATION, GSON.fromJson(new String(locationJson, StandardCharsets.UTF_8), LocationObj.class));
+        assertTrue(users.encode(USER).length < userJson.length);
+        assertTrue(locations.encode(LOCATION).length < locationJson.length);
+    }
+}
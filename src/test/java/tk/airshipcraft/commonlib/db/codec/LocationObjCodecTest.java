@@ -0,0 +1,119 @@
+package tk.airshipcraft.commonlib.db.codec;
+
+import org.junit.jupiter.api.Test;
+import tk.airshipcraft.commonlib.db.model.LocationObj;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Round-trip tests for {@link LocationObjCodec}.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+class LocationObjCodecTest {
+
+    private final LocationObjCodec codec = new LocationObjCodec();
+
+    @Test
+    void roundTripsAllFields() {
+        LocationObj location = new LocationObj(UUID.randomUUID(), "world_nether", -1234.5678901, 64.0, 9876.54321,
+                -45.5f, 179.25f);
+
+        assertEquals(location, codec.decode(codec.encode(location)));
+    }
+
+    @Test
+    void roundTripsNullIdAndWorld() {
+        LocationObj location = new LocationObj(null, null, 1.0, 2.0, 3.0);
+
+        LocationObj decoded = codec.decode(codec.encode(location));
+
+        assertNull(decoded.getId());
+        assertNull(decoded.getWorldName());
+        assertEquals(1.0, decoded.getX());
+        assertEquals(2.0, decoded.getY());
+        assertEquals(3.0, decoded.getZ());
+    }
+
+    @Test
+    void keepsFullPrecisionAndNonAsciiWorldNames() {
+        LocationObj location = new LocationObj(UUID.randomUUID(), "wörld_ñ", Math.PI, Double.MIN_VALUE,
+                -Double.MAX_VALUE, Float.MIN_VALUE, Float.NaN);
+
+        LocationObj decoded = codec.decode(codec.encode(location));
+
+        assertEquals(location.getWorldName(), decoded.getWorldName());
+        assertEquals(Double.doubleToRawLongBits(location.getX()), Double.doubleToRawLongBits(decoded.getX()));
+        assertEquals(Double.doubleToRawLongBits(location.getY()), Double.doubleToRawLongBits(decoded.getY()));
+        assertEquals(Double.doubleToRawLongBits(location.getZ()), Double.doubleToRawLongBits(decoded.getZ()));
+        assertEquals(Float.floatToRawIntBits(location.getPitch()), Float.floatToRawIntBits(decoded.getPitch()));
+        assertEquals(Float.floatToRawIntBits(location.getYaw()), Float.floatToRawIntBits(decoded.getYaw()));
+    }
+
+    @Test
+    void decodesTheSameWorldNameInstance() {
+        byte[] first = codec.encode(new LocationObj(UUID.randomUUID(), new String("world"), 0, 0, 0));
+        byte[] second = codec.encode(new LocationObj(UUID.randomUUID(), new String("world"), 1, 1, 1));
+
+        LocationObjCodec reader = new LocationObjCodec();
+        assertSame(reader.decode(first).getWorldName(), reader.decode(second).getWorldName());
+    }
+
+    @Test
+    void encodesInternedWorldsLikeNewOnes() {
+        LocationObj location = new LocationObj(UUID.randomUUID(), "world", 1, 2, 3);
+        byte[] first = codec.encode(location);
+
+        assertArrayEquals(first, codec.encode(location));
+        assertArrayEquals(first, new LocationObjCodec().encode(location));
+    }
+
+    @Test
+    void roundTripsThroughDirectBuffers() {
+        LocationObj location = new LocationObj(UUID.randomUUID(), "world_the_end", 5, 6, 7, 8f, 9f);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+        buffer.position(17);
+
+        codec.encode(location, buffer);
+        buffer.flip().position(17);
+
+        assertEquals(location, codec.decode(buffer));
+        assertEquals(location, codec.decode(buffer.flip().position(17)));
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    void writesTheCurrentVersion() {
+        byte[] bytes = codec.encode(new LocationObj(UUID.randomUUID(), "world", 0, 0, 0));
+
+        assertEquals(CompactBinaryCodec.MAGIC, bytes[0]);
+        assertEquals(codec.getVersion(), bytes[1]);
+    }
+
+    @Test
+    void rejectsNewerVersions() {
+        byte[] bytes = codec.encode(new LocationObj(UUID.randomUUID(), "world", 0, 0, 0));
+        bytes[1] = (byte) (codec.getVersion() + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(ByteBuffer.wrap(bytes)));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(bytes));
+    }
+
+    @Test
+    void rejectsTruncatedPayloads() {
+        byte[] bytes = codec.encode(new LocationObj(UUID.randomUUID(), "world", 0, 0, 0));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(truncated));
+    }
+}
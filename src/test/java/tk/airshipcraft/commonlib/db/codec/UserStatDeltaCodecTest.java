@@ -0,0 +1,147 @@
+package tk.airshipcraft.commonlib.db.codec;
+
+import org.junit.jupiter.api.Test;
+import tk.airshipcraft.commonlib.db.model.UserStat;
+import tk.airshipcraft.commonlib.db.model.UserStatDelta;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round-trip tests for {@link UserStatDeltaCodec}, including payloads of earlier format versions.
+ *
+ * @author notzune
+ * @version 1.0.0
+ * @since 2026-10-17
+ */
+class UserStatDeltaCodecTest {
+
+    private static final UUID ID = UUID.fromString("4f0d5c0e-8a4b-4c1e-9d0b-2f5e6a7b8c9d");
+
+    private final UserStatDeltaCodec codec = new UserStatDeltaCodec();
+
+    @Test
+    void roundTripsDeltasAndSequence() {
+        Map<UserStat, Long> changes = new EnumMap<>(UserStat.class);
+        changes.put(UserStat.TOTAL_PLAYTIME, 86_400_000L);
+        changes.put(UserStat.TOTAL_DEATHS, -3L);
+        changes.put(UserStat.FISH_CAUGHT, Long.MIN_VALUE);
+        UserStatDelta delta = UserStatDelta.of(ID, changes).withSequence(1_760_000_000_000_123L);
+
+        assertEquals(delta, codec.decode(codec.encode(delta)));
+    }
+
+    @Test
+    void roundTripsEveryStat() {
+        for (UserStat stat : UserStat.values()) {
+            UserStatDelta delta = UserStatDelta.of(ID, stat, Long.MAX_VALUE).withSequence(7);
+
+            assertEquals(delta, codec.decode(codec.encode(delta)), stat.name());
+        }
+    }
+
+    @Test
+    void roundTripsEmptyDeltas() {
+        UserStatDelta delta = UserStatDelta.of(ID, new EnumMap<>(UserStat.class));
+
+        assertEquals(delta, codec.decode(codec.encode(delta)));
+    }
+
+    @Test
+    void writesStableIdsInsteadOfOrdinals() {
+        byte[] bytes = codec.encode(UserStatDelta.of(ID, UserStat.FISH_CAUGHT, 1));
+
+        // magic, version, 16 UUID bytes, count, stat id, zig-zag delta, sequence
+        assertEquals(22, bytes.length);
+        assertEquals(1, bytes[18]);
+        assertEquals(UserStat.FISH_CAUGHT.getId(), bytes[19]);
+    }
+
+    @Test
+    void keepsStatIdsUniqueAndResolvable() {
+        Set<Integer> ids = new HashSet<>();
+        for (UserStat stat : UserStat.values()) {
+            assertTrue(ids.add(stat.getId()), "Duplicate id " + stat.getId());
+            assertSame(stat, UserStat.byId(stat.getId()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> UserStat.byId(-1));
+        assertThrows(IllegalArgumentException.class, () -> UserStat.byId(UserStat.values().length + 100));
+    }
+
+    @Test
+    void decodesVersionOnePayloadsWithoutSequence() {
+        UserStatDelta delta = UserStatDelta.of(ID, UserStat.TOTAL_KILLS, 12);
+        byte[] current = codec.encode(delta);
+        // Version 1 is version 2 without the trailing sequence, a single zero byte here
+        byte[] versionOne = Arrays.copyOf(current, current.length - 1);
+        versionOne[1] = 1;
+
+        UserStatDelta decoded = codec.decode(versionOne);
+
+        assertEquals(delta, decoded);
+        assertEquals(0, decoded.getSequence());
+    }
+
+    @Test
+    void decodesLegacyPayloads() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(ID.getMostSignificantBits());
+            out.writeLong(ID.getLeastSignificantBits());
+            out.writeByte(2);
+            out.writeByte(UserStat.TOTAL_DEATHS.getId());
+            out.writeLong(5);
+            out.writeByte(UserStat.TOTAL_BLOCKS_BROKEN.getId());
+            out.writeLong(-40);
+        }
+        Map<UserStat, Long> changes = new EnumMap<>(UserStat.class);
+        changes.put(UserStat.TOTAL_DEATHS, 5L);
+        changes.put(UserStat.TOTAL_BLOCKS_BROKEN, -40L);
+
+        assertEquals(UserStatDelta.of(ID, changes), codec.decode(bytes.toByteArray()));
+    }
+
+    @Test
+    void decodesFromCallerBuffers() {
+        UserStatDelta first = UserStatDelta.of(ID, UserStat.TOTAL_PLAYTIME, 1000).withSequence(1);
+        UserStatDelta second = UserStatDelta.of(UUID.randomUUID(), UserStat.TOTAL_KILLS, -1).withSequence(2);
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+
+        codec.encode(first, buffer);
+        codec.encode(second, buffer);
+        buffer.flip();
+
+        assertEquals(first, codec.decode(buffer));
+        assertEquals(second, codec.decode(buffer));
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    void rejectsUnknownStatIds() {
+        byte[] bytes = codec.encode(UserStatDelta.of(ID, UserStat.TOTAL_KILLS, 1));
+        bytes[19] = 120;
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    void rejectsNewerVersions() {
+        byte[] bytes = codec.encode(UserStatDelta.of(ID, UserStat.TOTAL_KILLS, 1));
+        bytes[1] = (byte) (codec.getVersion() + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(ByteBuffer.wrap(bytes)));
+    }
+}